@@ -0,0 +1,842 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.cluster.impl;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import io.atomix.cluster.ClusterEvent;
+import io.atomix.cluster.ClusterEvent.Type;
+import io.atomix.cluster.ClusterEventListener;
+import io.atomix.cluster.ClusterMetadata;
+import io.atomix.cluster.ClusterService;
+import io.atomix.cluster.ManagedClusterService;
+import io.atomix.cluster.Node;
+import io.atomix.cluster.Node.State;
+import io.atomix.cluster.NodeId;
+import io.atomix.cluster.impl.SwimMember.Status;
+import io.atomix.messaging.Endpoint;
+import io.atomix.messaging.MessagingService;
+import io.atomix.protocols.phi.PhiAccrualFailureDetector;
+import io.atomix.serializer.Serializer;
+import io.atomix.serializer.kryo.KryoNamespace;
+import io.atomix.serializer.kryo.KryoNamespaces;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.atomix.utils.concurrent.Threads.namedThreads;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * SWIM based cluster implementation.
+ * <p>
+ * Rather than sending heartbeats to every peer, each node probes a single peer per probe interval, visiting peers in
+ * a randomized round-robin order. If a peer does not acknowledge a probe within the probe timeout, a number of other
+ * peers are asked to probe it indirectly before it's suspected. Suspected peers that don't refute the suspicion by
+ * incrementing their incarnation number within the suspicion timeout are declared dead. Membership changes are
+ * disseminated by piggybacking them on probes and acknowledgements, so each node sends a constant number of messages
+ * per probe interval regardless of the size of the cluster. Nodes periodically exchange their full membership state
+ * with a random peer to speed convergence when joining.
+ * <p>
+ * Probes and acknowledgements received from each peer are reported to a {@link PhiAccrualFailureDetector}, and peers
+ * are also suspected once their phi value reaches the failure threshold. As with {@link DefaultClusterService},
+ * failed core nodes are deactivated while failed client nodes are removed from the cluster.
+ */
+public class SwimClusterService implements ManagedClusterService {
+
+  /**
+   * Returns a new SWIM cluster service builder.
+   *
+   * @return a new SWIM cluster service builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  private static final Logger LOGGER = getLogger(SwimClusterService.class);
+
+  private static final String PROBE_MESSAGE = "atomix-cluster-swim-probe";
+  private static final String PROBE_REQUEST_MESSAGE = "atomix-cluster-swim-probe-request";
+  private static final String SYNC_MESSAGE = "atomix-cluster-swim-sync";
+  private static final String GOSSIP_MESSAGE = "atomix-cluster-swim-gossip";
+
+  private static final int RETRANSMIT_MULTIPLIER = 4;
+  private static final int MAX_GOSSIP_UPDATES = 16;
+
+  private static final Serializer SERIALIZER = Serializer.using(
+      KryoNamespace.builder()
+          .register(KryoNamespaces.BASIC)
+          .nextId(KryoNamespaces.BEGIN_USER_CUSTOM_ID)
+          .register(NodeId.class)
+          .register(Node.Type.class)
+          .register(SwimMember.class)
+          .register(SwimMember.Status.class)
+          .register(SwimMessage.class)
+          .build("SwimClusterService"));
+
+  private final MessagingService messagingService;
+  private final Duration probeInterval;
+  private final Duration probeTimeout;
+  private final int indirectProbes;
+  private final int suspicionMultiplier;
+  private final Duration syncInterval;
+  private final int phiFailureThreshold;
+  private final AtomicBoolean open = new AtomicBoolean();
+  private final DefaultNode localNode;
+  private final Set<NodeId> bootstrapNodes;
+  private final Map<NodeId, DefaultNode> nodes = Maps.newConcurrentMap();
+  private final Set<ClusterEventListener> eventListeners = Sets.newCopyOnWriteArraySet();
+
+  // The following state is only accessed on the SWIM thread.
+  private final Map<NodeId, SwimMember> members = new HashMap<>();
+  private final Map<NodeId, Long> suspicions = new HashMap<>();
+  private final Map<NodeId, PhiAccrualFailureDetector> failureDetectors = new HashMap<>();
+  private final Map<NodeId, Gossip> gossips = new LinkedHashMap<>();
+  private final List<NodeId> probeOrder = new ArrayList<>();
+  private final Random random = new Random();
+  private int probeIndex;
+  private long incarnation;
+
+  // The SWIM thread is created when the service is opened and shut down when it is closed.
+  private volatile ScheduledExecutorService swimScheduler;
+  private ScheduledFuture<?> probeFuture;
+  private ScheduledFuture<?> syncFuture;
+
+  public SwimClusterService(ClusterMetadata clusterMetadata, MessagingService messagingService) {
+    this(clusterMetadata, messagingService, Builder.DEFAULT_PROBE_INTERVAL, Builder.DEFAULT_PROBE_TIMEOUT,
+        Builder.DEFAULT_INDIRECT_PROBES, Builder.DEFAULT_SUSPICION_MULTIPLIER, Builder.DEFAULT_SYNC_INTERVAL,
+        Builder.DEFAULT_PHI_FAILURE_THRESHOLD);
+  }
+
+  public SwimClusterService(
+      ClusterMetadata clusterMetadata,
+      MessagingService messagingService,
+      Duration probeInterval,
+      Duration probeTimeout,
+      int indirectProbes,
+      int suspicionMultiplier,
+      Duration syncInterval,
+      int phiFailureThreshold) {
+    this.messagingService = checkNotNull(messagingService, "messagingService cannot be null");
+    this.probeInterval = checkNotNull(probeInterval, "probeInterval cannot be null");
+    this.probeTimeout = checkNotNull(probeTimeout, "probeTimeout cannot be null");
+    this.indirectProbes = indirectProbes;
+    this.suspicionMultiplier = suspicionMultiplier;
+    this.syncInterval = checkNotNull(syncInterval, "syncInterval cannot be null");
+    this.phiFailureThreshold = phiFailureThreshold;
+    this.localNode = (DefaultNode) clusterMetadata.localNode();
+    if (clusterMetadata.bootstrapNodes().contains(localNode)) {
+      localNode.setType(Node.Type.CORE);
+    } else {
+      localNode.setType(Node.Type.CLIENT);
+    }
+    nodes.put(localNode.id(), localNode);
+    clusterMetadata.bootstrapNodes().forEach(n -> nodes.putIfAbsent(n.id(), ((DefaultNode) n).setType(Node.Type.CORE)));
+    this.bootstrapNodes = clusterMetadata.bootstrapNodes().stream()
+        .map(Node::id)
+        .filter(id -> !id.equals(localNode.id()))
+        .collect(Collectors.toSet());
+
+    // Bootstrap nodes are probed until they join, and are treated as dead until then.
+    clusterMetadata.bootstrapNodes().stream()
+        .filter(node -> !node.id().equals(localNode.id()))
+        .forEach(node -> members.put(node.id(), new SwimMember(node.id(), node.endpoint(), Node.Type.CORE, Status.DEAD, 0)));
+  }
+
+  @Override
+  public Node getLocalNode() {
+    return localNode;
+  }
+
+  @Override
+  public Set<Node> getNodes() {
+    return ImmutableSet.copyOf(nodes.values());
+  }
+
+  @Override
+  public Node getNode(NodeId nodeId) {
+    return nodes.get(nodeId);
+  }
+
+  /**
+   * Returns the local member state.
+   */
+  private SwimMember localMember() {
+    return new SwimMember(localNode.id(), localNode.endpoint(), localNode.type(), Status.ALIVE, incarnation);
+  }
+
+  /**
+   * Probes the next member in the probe order.
+   */
+  private void probe() {
+    try {
+      checkSuspicions();
+      SwimMember member = nextProbeTarget();
+      if (member != null) {
+        probe(member).thenAccept(acknowledged -> {
+          if (!acknowledged && open.get()) {
+            probeIndirect(member);
+          }
+        });
+      }
+    } catch (Exception e) {
+      LOGGER.debug("Failed to probe member", e);
+    }
+  }
+
+  /**
+   * Returns the next member to probe.
+   * <p>
+   * Members are probed in a random order that is reshuffled once every member has been probed. Dead client members
+   * are not probed, but dead core members are so that the cluster can recover from partitions.
+   */
+  private SwimMember nextProbeTarget() {
+    if (probeIndex >= probeOrder.size()) {
+      probeOrder.clear();
+      probeOrder.addAll(members.keySet());
+      Collections.shuffle(probeOrder, random);
+      probeIndex = 0;
+    }
+
+    while (probeIndex < probeOrder.size()) {
+      SwimMember member = members.get(probeOrder.get(probeIndex++));
+      if (member != null && (member.status() != Status.DEAD || member.type() == Node.Type.CORE)) {
+        return member;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Sends a probe to the given member.
+   *
+   * @return a future to be completed with a boolean indicating whether the probe was acknowledged
+   */
+  private CompletableFuture<Boolean> probe(SwimMember member) {
+    SwimMessage message = new SwimMessage(localMember(), null, false, selectUpdates(member.id()));
+    return sendAndReceive(member.endpoint(), PROBE_MESSAGE, message, probeTimeout).thenApply(response -> {
+      if (response != null && response.acknowledged()) {
+        handleMessage(response);
+        return true;
+      }
+      return false;
+    });
+  }
+
+  /**
+   * Requests that other members probe the given member, suspecting the member if none of the probes is acknowledged.
+   */
+  private void probeIndirect(SwimMember member) {
+    List<SwimMember> peers = members.values().stream()
+        .filter(m -> m.status() == Status.ALIVE && !m.id().equals(member.id()))
+        .collect(Collectors.toList());
+    Collections.shuffle(peers, random);
+    peers = peers.subList(0, Math.min(indirectProbes, peers.size()));
+    if (peers.isEmpty()) {
+      suspect(member);
+      return;
+    }
+
+    // Allow the intermediate member to wait for its own probe to time out.
+    Duration timeout = probeTimeout.multipliedBy(2);
+    List<CompletableFuture<SwimMessage>> futures = peers.stream()
+        .map(peer -> sendAndReceive(peer.endpoint(), PROBE_REQUEST_MESSAGE,
+            new SwimMessage(localMember(), member.id(), false, selectUpdates(peer.id())), timeout))
+        .collect(Collectors.toList());
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).thenRunAsync(() -> {
+      boolean acknowledged = false;
+      for (CompletableFuture<SwimMessage> future : futures) {
+        SwimMessage response = future.join();
+        if (response != null) {
+          handleMessage(response);
+          acknowledged |= response.acknowledged();
+        }
+      }
+
+      if (acknowledged) {
+        failureDetectors.computeIfAbsent(member.id(), n -> new PhiAccrualFailureDetector()).report();
+      } else {
+        suspect(member);
+      }
+    }, swimScheduler);
+  }
+
+  /**
+   * Suspects the given member if it's believed to be alive.
+   */
+  private void suspect(SwimMember member) {
+    SwimMember current = members.get(member.id());
+    if (current != null && current.status() == Status.ALIVE) {
+      LOGGER.debug("Suspecting {}", current.id());
+      updateMember(current.withStatus(Status.SUSPECT));
+    }
+  }
+
+  /**
+   * Declares dead suspected members whose suspicion has timed out, and suspects alive members whose phi value has
+   * reached the failure threshold.
+   */
+  private void checkSuspicions() {
+    long currentTime = System.currentTimeMillis();
+    long suspicionTimeout = suspicionTimeout();
+    for (Map.Entry<NodeId, Long> entry : new ArrayList<>(suspicions.entrySet())) {
+      if (currentTime - entry.getValue() >= suspicionTimeout) {
+        SwimMember member = members.get(entry.getKey());
+        LOGGER.debug("Suspicion of {} timed out", member.id());
+        updateMember(member.withStatus(Status.DEAD));
+      }
+    }
+
+    for (SwimMember member : new ArrayList<>(members.values())) {
+      if (member.status() == Status.ALIVE) {
+        PhiAccrualFailureDetector failureDetector = failureDetectors.get(member.id());
+        if (failureDetector != null && failureDetector.phi() >= phiFailureThreshold) {
+          suspect(member);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the time after which a suspected member is declared dead.
+   * <p>
+   * The timeout is scaled with the logarithm of the cluster size to allow time for the suspicion to be disseminated
+   * to and refuted by the suspected member.
+   */
+  private long suspicionTimeout() {
+    return suspicionMultiplier * scale() * probeInterval.toMillis();
+  }
+
+  /**
+   * Returns the number of times each membership update is piggybacked on outgoing messages.
+   */
+  private int retransmitLimit() {
+    return RETRANSMIT_MULTIPLIER * scale();
+  }
+
+  /**
+   * Returns the logarithmic scale of the cluster size.
+   */
+  private int scale() {
+    return (int) Math.ceil(Math.log10(members.size() + 2));
+  }
+
+  /**
+   * Synchronizes the full membership state with a random member.
+   */
+  private void sync() {
+    try {
+      List<SwimMember> peers = members.values().stream()
+          .filter(m -> m.status() != Status.DEAD)
+          .collect(Collectors.toList());
+      if (!peers.isEmpty()) {
+        sync(peers.get(random.nextInt(peers.size())));
+      }
+    } catch (Exception e) {
+      LOGGER.debug("Failed to synchronize membership", e);
+    }
+  }
+
+  /**
+   * Synchronizes the full membership state with the given member.
+   */
+  private void sync(SwimMember member) {
+    SwimMessage message = new SwimMessage(localMember(), null, false, fullState());
+    sendAndReceive(member.endpoint(), SYNC_MESSAGE, message, probeTimeout).thenAccept(response -> {
+      if (response != null) {
+        handleMessage(response);
+      }
+    });
+  }
+
+  /**
+   * Returns the full membership state.
+   */
+  private List<SwimMember> fullState() {
+    return new ArrayList<>(members.values());
+  }
+
+  /**
+   * Sends the given message to the given endpoint, returning a future to be completed on the SWIM thread with the
+   * response or {@code null} if the request failed or timed out.
+   */
+  private CompletableFuture<SwimMessage> sendAndReceive(Endpoint endpoint, String type, SwimMessage message, Duration timeout) {
+    CompletableFuture<SwimMessage> future = new CompletableFuture<>();
+    ScheduledFuture<?> timeoutFuture = swimScheduler.schedule(() -> {
+      future.complete(null);
+    }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+    messagingService.sendAndReceive(endpoint, type, SERIALIZER.encode(message), swimScheduler)
+        .whenComplete((response, error) -> {
+          timeoutFuture.cancel(false);
+          if (error == null) {
+            future.complete(SERIALIZER.decode(response));
+          } else {
+            LOGGER.trace("Sending {} to {} failed", type, endpoint, error);
+            future.complete(null);
+          }
+        });
+    return future;
+  }
+
+  /**
+   * Handles a probe.
+   */
+  private byte[] handleProbe(Endpoint endpoint, byte[] payload) {
+    SwimMessage message = SERIALIZER.decode(payload);
+    handleMessage(message);
+    return SERIALIZER.encode(new SwimMessage(localMember(), null, true, selectUpdates(message.sender().id())));
+  }
+
+  /**
+   * Handles a request to probe another member.
+   */
+  private CompletableFuture<byte[]> handleProbeRequest(SwimMessage message) {
+    handleMessage(message);
+    SwimMember member = members.get(message.target());
+    if (member == null) {
+      return CompletableFuture.completedFuture(SERIALIZER.encode(
+          new SwimMessage(localMember(), message.target(), false, selectUpdates(message.sender().id()))));
+    }
+    return probe(member).thenApply(acknowledged -> SERIALIZER.encode(
+        new SwimMessage(localMember(), message.target(), acknowledged, selectUpdates(message.sender().id()))));
+  }
+
+  /**
+   * Handles a membership synchronization request.
+   */
+  private byte[] handleSync(Endpoint endpoint, byte[] payload) {
+    handleMessage(SERIALIZER.decode(payload));
+    return SERIALIZER.encode(new SwimMessage(localMember(), null, true, fullState()));
+  }
+
+  /**
+   * Handles a one-way gossip message.
+   */
+  private void handleGossip(Endpoint endpoint, byte[] payload) {
+    handleMessage(SERIALIZER.decode(payload));
+  }
+
+  /**
+   * Applies the sender's state and the membership updates in the given message.
+   */
+  private void handleMessage(SwimMessage message) {
+    SwimMember sender = message.sender();
+    if (sender.status() == Status.ALIVE) {
+      failureDetectors.computeIfAbsent(sender.id(), n -> new PhiAccrualFailureDetector()).report();
+    }
+    updateMember(sender);
+    message.updates().forEach(this::updateMember);
+  }
+
+  /**
+   * Applies the given membership update, disseminating it if it changes the local membership state.
+   */
+  private void updateMember(SwimMember update) {
+    // If another member suspects the local member, refute the suspicion by incrementing the incarnation number.
+    if (update.id().equals(localNode.id())) {
+      if (update.status() != Status.ALIVE && update.incarnation() >= incarnation && open.get()) {
+        incarnation = update.incarnation() + 1;
+        LOGGER.debug("Refuting {} with incarnation {}", update, incarnation);
+        gossip(localMember());
+      }
+      return;
+    }
+
+    SwimMember member = members.get(update.id());
+    if (member == null) {
+      // Don't add members only known to have failed.
+      if (update.status() == Status.DEAD) {
+        return;
+      }
+      members.put(update.id(), update);
+      if (update.status() == Status.SUSPECT) {
+        suspicions.put(update.id(), System.currentTimeMillis());
+      }
+      activateNode(update);
+      gossip(update);
+      return;
+    }
+
+    if (!update.supersedes(member)) {
+      return;
+    }
+
+    members.put(update.id(), update);
+    switch (update.status()) {
+      case ALIVE:
+        suspicions.remove(update.id());
+        activateNode(update);
+        break;
+      case SUSPECT:
+        suspicions.putIfAbsent(update.id(), System.currentTimeMillis());
+        activateNode(update);
+        break;
+      case DEAD:
+        suspicions.remove(update.id());
+        failureDetectors.remove(update.id());
+        deactivateNode(update);
+        break;
+      default:
+        throw new AssertionError();
+    }
+    gossip(update);
+  }
+
+  /**
+   * Queues the given membership update for dissemination.
+   */
+  private void gossip(SwimMember member) {
+    gossips.remove(member.id());
+    gossips.put(member.id(), new Gossip(member, retransmitLimit()));
+  }
+
+  /**
+   * Selects membership updates to piggyback on a message to the given member.
+   * <p>
+   * Updates that have been disseminated the fewest times are selected first, and each update is dropped once it has
+   * been sent the retransmit limit. If the recipient is not believed to be alive, its own state is always included so
+   * that it can refute a suspicion.
+   */
+  private List<SwimMember> selectUpdates(NodeId recipient) {
+    List<SwimMember> updates = new ArrayList<>();
+    SwimMember member = members.get(recipient);
+    if (member != null && member.status() != Status.ALIVE) {
+      updates.add(member);
+    }
+
+    if (!gossips.isEmpty()) {
+      List<Gossip> selected = gossips.values().stream()
+          .sorted(Comparator.comparingInt(gossip -> -gossip.remaining))
+          .limit(MAX_GOSSIP_UPDATES)
+          .collect(Collectors.toList());
+      for (Gossip gossip : selected) {
+        updates.add(gossip.member);
+        if (--gossip.remaining == 0) {
+          gossips.remove(gossip.member.id());
+
+          // Forget failed clients once their failure has been disseminated.
+          if (gossip.member.status() == Status.DEAD && gossip.member.type() == Node.Type.CLIENT
+              && members.get(gossip.member.id()) == gossip.member) {
+            members.remove(gossip.member.id());
+          }
+        }
+      }
+    }
+    return updates;
+  }
+
+  /**
+   * Activates the node for the given member.
+   */
+  private void activateNode(SwimMember member) {
+    DefaultNode existingNode = nodes.get(member.id());
+    if (existingNode == null) {
+      DefaultNode node = new DefaultNode(member.id(), member.endpoint()).setType(member.type());
+      node.setState(State.ACTIVE);
+      nodes.put(node.id(), node);
+      eventListeners.forEach(l -> l.onEvent(new ClusterEvent(Type.NODE_ADDED, node)));
+    } else if (existingNode.state() == State.INACTIVE) {
+      existingNode.setState(State.ACTIVE);
+      eventListeners.forEach(l -> l.onEvent(new ClusterEvent(Type.NODE_ACTIVATED, existingNode)));
+    }
+  }
+
+  /**
+   * Deactivates the node for the given member.
+   */
+  private void deactivateNode(SwimMember member) {
+    DefaultNode existingNode = nodes.get(member.id());
+    if (existingNode != null && existingNode.state() == State.ACTIVE) {
+      existingNode.setState(State.INACTIVE);
+      switch (existingNode.type()) {
+        case CORE:
+          eventListeners.forEach(l -> l.onEvent(new ClusterEvent(Type.NODE_DEACTIVATED, existingNode)));
+          break;
+        case CLIENT:
+          nodes.remove(member.id());
+          eventListeners.forEach(l -> l.onEvent(new ClusterEvent(Type.NODE_REMOVED, existingNode)));
+          break;
+        default:
+          throw new AssertionError();
+      }
+    }
+  }
+
+  @Override
+  public void addListener(ClusterEventListener listener) {
+    eventListeners.add(listener);
+  }
+
+  @Override
+  public void removeListener(ClusterEventListener listener) {
+    eventListeners.remove(listener);
+  }
+
+  @Override
+  public synchronized CompletableFuture<ClusterService> open() {
+    if (!open.compareAndSet(false, true)) {
+      return CompletableFuture.completedFuture(this);
+    }
+
+    swimScheduler = Executors.newSingleThreadScheduledExecutor(namedThreads("atomix-cluster-swim", LOGGER));
+    return CompletableFuture.runAsync(() -> {
+      incarnation++;
+      localNode.setState(State.ACTIVE);
+      messagingService.registerHandler(PROBE_MESSAGE, this::handleProbe, swimScheduler);
+      messagingService.registerHandler(PROBE_REQUEST_MESSAGE, (endpoint, payload) ->
+          CompletableFuture.supplyAsync(() -> SERIALIZER.<SwimMessage>decode(payload), swimScheduler)
+              .thenCompose(this::handleProbeRequest));
+      messagingService.registerHandler(SYNC_MESSAGE, this::handleSync, swimScheduler);
+      messagingService.registerHandler(GOSSIP_MESSAGE, this::handleGossip, swimScheduler);
+
+      // Join the cluster by exchanging membership state with a few random bootstrap nodes.
+      List<NodeId> joinNodes = new ArrayList<>(bootstrapNodes);
+      Collections.shuffle(joinNodes, random);
+      joinNodes.stream()
+          .limit(Math.max(indirectProbes, 1))
+          .forEach(id -> sync(members.get(id)));
+      probeFuture = swimScheduler.scheduleWithFixedDelay(
+          this::probe, probeInterval.toMillis(), probeInterval.toMillis(), TimeUnit.MILLISECONDS);
+      syncFuture = swimScheduler.scheduleWithFixedDelay(
+          this::sync, syncInterval.toMillis(), syncInterval.toMillis(), TimeUnit.MILLISECONDS);
+      LOGGER.info("Started");
+    }, swimScheduler).thenApply(v -> this);
+  }
+
+  @Override
+  public boolean isOpen() {
+    return open.get();
+  }
+
+  @Override
+  public synchronized CompletableFuture<Void> close() {
+    if (!open.compareAndSet(true, false)) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    ScheduledExecutorService scheduler = swimScheduler;
+    return CompletableFuture.runAsync(() -> {
+      localNode.setState(State.INACTIVE);
+      probeFuture.cancel(false);
+      syncFuture.cancel(false);
+      messagingService.unregisterHandler(PROBE_MESSAGE);
+      messagingService.unregisterHandler(PROBE_REQUEST_MESSAGE);
+      messagingService.unregisterHandler(SYNC_MESSAGE);
+      messagingService.unregisterHandler(GOSSIP_MESSAGE);
+
+      // Notify a few random members that the local member is leaving to be disseminated to the rest of the cluster.
+      List<SwimMember> peers = members.values().stream()
+          .filter(m -> m.status() != Status.DEAD)
+          .collect(Collectors.toList());
+      Collections.shuffle(peers, random);
+      byte[] payload = SERIALIZER.encode(
+          new SwimMessage(localMember().withStatus(Status.DEAD), null, false, Collections.emptyList()));
+      peers.stream()
+          .limit(Math.max(indirectProbes, 1))
+          .forEach(peer -> messagingService.sendAsync(peer.endpoint(), GOSSIP_MESSAGE, payload));
+      LOGGER.info("Stopped");
+    }, scheduler).whenComplete((result, error) -> scheduler.shutdown());
+  }
+
+  @Override
+  public boolean isClosed() {
+    return !open.get();
+  }
+
+  /**
+   * Membership update queued for dissemination.
+   */
+  private static class Gossip {
+    private final SwimMember member;
+    private int remaining;
+
+    Gossip(SwimMember member, int remaining) {
+      this.member = member;
+      this.remaining = remaining;
+    }
+  }
+
+  /**
+   * SWIM cluster service builder.
+   */
+  public static class Builder implements io.atomix.utils.Builder<ManagedClusterService> {
+    private static final Duration DEFAULT_PROBE_INTERVAL = Duration.ofMillis(250);
+    private static final Duration DEFAULT_PROBE_TIMEOUT = Duration.ofMillis(100);
+    private static final int DEFAULT_INDIRECT_PROBES = 3;
+    private static final int DEFAULT_SUSPICION_MULTIPLIER = 5;
+    private static final Duration DEFAULT_SYNC_INTERVAL = Duration.ofSeconds(10);
+    private static final int DEFAULT_PHI_FAILURE_THRESHOLD = 10;
+
+    private ClusterMetadata clusterMetadata;
+    private MessagingService messagingService;
+    private Duration probeInterval = DEFAULT_PROBE_INTERVAL;
+    private Duration probeTimeout = DEFAULT_PROBE_TIMEOUT;
+    private int indirectProbes = DEFAULT_INDIRECT_PROBES;
+    private int suspicionMultiplier = DEFAULT_SUSPICION_MULTIPLIER;
+    private Duration syncInterval = DEFAULT_SYNC_INTERVAL;
+    private int phiFailureThreshold = DEFAULT_PHI_FAILURE_THRESHOLD;
+
+    /**
+     * Sets the cluster metadata.
+     *
+     * @param clusterMetadata the cluster metadata
+     * @return the cluster service builder
+     * @throws NullPointerException if the cluster metadata is null
+     */
+    public Builder withClusterMetadata(ClusterMetadata clusterMetadata) {
+      this.clusterMetadata = checkNotNull(clusterMetadata, "clusterMetadata cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the messaging service.
+     *
+     * @param messagingService the messaging service
+     * @return the cluster service builder
+     * @throws NullPointerException if the messaging service is null
+     */
+    public Builder withMessagingService(MessagingService messagingService) {
+      this.messagingService = checkNotNull(messagingService, "messagingService cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the interval at which a member is probed.
+     * <p>
+     * By default, the probe interval is {@code 250} milliseconds.
+     *
+     * @param probeInterval the probe interval
+     * @return the cluster service builder
+     * @throws IllegalArgumentException if the probe interval is not positive
+     */
+    public Builder withProbeInterval(Duration probeInterval) {
+      checkNotNull(probeInterval, "probeInterval cannot be null");
+      checkArgument(!probeInterval.isNegative() && !probeInterval.isZero(), "probeInterval must be positive");
+      this.probeInterval = probeInterval;
+      return this;
+    }
+
+    /**
+     * Sets the time to wait for a probe to be acknowledged before probing the member indirectly.
+     * <p>
+     * By default, the probe timeout is {@code 100} milliseconds.
+     *
+     * @param probeTimeout the probe timeout
+     * @return the cluster service builder
+     * @throws IllegalArgumentException if the probe timeout is not positive
+     */
+    public Builder withProbeTimeout(Duration probeTimeout) {
+      checkNotNull(probeTimeout, "probeTimeout cannot be null");
+      checkArgument(!probeTimeout.isNegative() && !probeTimeout.isZero(), "probeTimeout must be positive");
+      this.probeTimeout = probeTimeout;
+      return this;
+    }
+
+    /**
+     * Sets the number of members asked to probe a member that fails to acknowledge a direct probe.
+     * <p>
+     * By default, {@code 3} members are asked to probe the member indirectly.
+     *
+     * @param indirectProbes the number of indirect probes
+     * @return the cluster service builder
+     * @throws IllegalArgumentException if the number of indirect probes is negative
+     */
+    public Builder withIndirectProbes(int indirectProbes) {
+      checkArgument(indirectProbes >= 0, "indirectProbes cannot be negative");
+      this.indirectProbes = indirectProbes;
+      return this;
+    }
+
+    /**
+     * Sets the suspicion timeout multiplier.
+     * <p>
+     * A suspected member is declared dead once it has been suspected for the multiplier times the probe interval
+     * times the logarithm of the cluster size. By default, the multiplier is {@code 5}.
+     *
+     * @param suspicionMultiplier the suspicion timeout multiplier
+     * @return the cluster service builder
+     * @throws IllegalArgumentException if the multiplier is not positive
+     */
+    public Builder withSuspicionMultiplier(int suspicionMultiplier) {
+      checkArgument(suspicionMultiplier > 0, "suspicionMultiplier must be positive");
+      this.suspicionMultiplier = suspicionMultiplier;
+      return this;
+    }
+
+    /**
+     * Sets the interval at which the full membership state is exchanged with a random member.
+     * <p>
+     * By default, the sync interval is {@code 10} seconds.
+     *
+     * @param syncInterval the sync interval
+     * @return the cluster service builder
+     * @throws IllegalArgumentException if the sync interval is not positive
+     */
+    public Builder withSyncInterval(Duration syncInterval) {
+      checkNotNull(syncInterval, "syncInterval cannot be null");
+      checkArgument(!syncInterval.isNegative() && !syncInterval.isZero(), "syncInterval must be positive");
+      this.syncInterval = syncInterval;
+      return this;
+    }
+
+    /**
+     * Sets the phi value at which a member is suspected.
+     * <p>
+     * By default, the phi failure threshold is {@code 10}.
+     *
+     * @param phiFailureThreshold the phi failure threshold
+     * @return the cluster service builder
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public Builder withPhiFailureThreshold(int phiFailureThreshold) {
+      checkArgument(phiFailureThreshold > 0, "phiFailureThreshold must be positive");
+      this.phiFailureThreshold = phiFailureThreshold;
+      return this;
+    }
+
+    @Override
+    public ManagedClusterService build() {
+      return new SwimClusterService(
+          checkNotNull(clusterMetadata, "clusterMetadata cannot be null"),
+          checkNotNull(messagingService, "messagingService cannot be null"),
+          probeInterval,
+          probeTimeout,
+          indirectProbes,
+          suspicionMultiplier,
+          syncInterval,
+          phiFailureThreshold);
+    }
+  }
+}
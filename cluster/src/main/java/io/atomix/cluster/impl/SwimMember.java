@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.cluster.impl;
+
+import io.atomix.cluster.Node;
+import io.atomix.cluster.NodeId;
+import io.atomix.messaging.Endpoint;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * SWIM membership state for a single member.
+ * <p>
+ * Member states are versioned by an incarnation number that may only be incremented by the member itself, allowing
+ * a member to refute suspicion of its failure. A state supersedes another state for the same member if it has a
+ * higher incarnation number, or the same incarnation number and a more severe {@link Status}.
+ */
+final class SwimMember {
+
+  /**
+   * Member status.
+   */
+  enum Status {
+
+    /**
+     * Indicates that the member is alive.
+     */
+    ALIVE,
+
+    /**
+     * Indicates that the member is suspected to have failed.
+     */
+    SUSPECT,
+
+    /**
+     * Indicates that the member has failed or left the cluster.
+     */
+    DEAD,
+  }
+
+  private final NodeId id;
+  private final String host;
+  private final int port;
+  private final Node.Type type;
+  private final Status status;
+  private final long incarnation;
+  private transient Endpoint endpoint;
+
+  SwimMember(NodeId id, Endpoint endpoint, Node.Type type, Status status, long incarnation) {
+    this.id = id;
+    this.host = endpoint.host().getHostAddress();
+    this.port = endpoint.port();
+    this.type = type;
+    this.status = status;
+    this.incarnation = incarnation;
+    this.endpoint = endpoint;
+  }
+
+  /**
+   * Returns the member identifier.
+   *
+   * @return the member identifier
+   */
+  NodeId id() {
+    return id;
+  }
+
+  /**
+   * Returns the member endpoint.
+   *
+   * @return the member endpoint
+   */
+  Endpoint endpoint() {
+    Endpoint endpoint = this.endpoint;
+    if (endpoint == null) {
+      endpoint = Endpoint.from(host, port);
+      this.endpoint = endpoint;
+    }
+    return endpoint;
+  }
+
+  /**
+   * Returns the member type.
+   *
+   * @return the member type
+   */
+  Node.Type type() {
+    return type;
+  }
+
+  /**
+   * Returns the member status.
+   *
+   * @return the member status
+   */
+  Status status() {
+    return status;
+  }
+
+  /**
+   * Returns the member incarnation number.
+   *
+   * @return the member incarnation number
+   */
+  long incarnation() {
+    return incarnation;
+  }
+
+  /**
+   * Returns a copy of the member state with the given status.
+   *
+   * @param status the status of the copy
+   * @return a copy of the member state with the given status
+   */
+  SwimMember withStatus(Status status) {
+    return new SwimMember(id, endpoint(), type, status, incarnation);
+  }
+
+  /**
+   * Returns whether this state supersedes the given state for the same member.
+   *
+   * @param member the state to compare
+   * @return whether this state supersedes the given state
+   */
+  boolean supersedes(SwimMember member) {
+    return incarnation > member.incarnation
+        || (incarnation == member.incarnation && status.ordinal() > member.status.ordinal());
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("id", id)
+        .add("endpoint", host + ":" + port)
+        .add("type", type)
+        .add("status", status)
+        .add("incarnation", incarnation)
+        .toString();
+  }
+}
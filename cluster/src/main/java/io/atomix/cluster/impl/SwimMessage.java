@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.cluster.impl;
+
+import io.atomix.cluster.NodeId;
+
+import java.util.List;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * SWIM protocol message.
+ * <p>
+ * Every message carries the sender's own membership state along with a list of membership updates piggybacked
+ * for dissemination.
+ */
+final class SwimMessage {
+  private final SwimMember sender;
+  private final NodeId target;
+  private final boolean acknowledged;
+  private final List<SwimMember> updates;
+
+  SwimMessage(SwimMember sender, NodeId target, boolean acknowledged, List<SwimMember> updates) {
+    this.sender = sender;
+    this.target = target;
+    this.acknowledged = acknowledged;
+    this.updates = updates;
+  }
+
+  /**
+   * Returns the sender's membership state.
+   *
+   * @return the sender's membership state
+   */
+  SwimMember sender() {
+    return sender;
+  }
+
+  /**
+   * Returns the target of an indirect probe request.
+   *
+   * @return the target of an indirect probe request or {@code null} if the message is not a probe request
+   */
+  NodeId target() {
+    return target;
+  }
+
+  /**
+   * Returns whether the probe was acknowledged.
+   *
+   * @return whether the probe was acknowledged
+   */
+  boolean acknowledged() {
+    return acknowledged;
+  }
+
+  /**
+   * Returns the piggybacked membership updates.
+   *
+   * @return the piggybacked membership updates
+   */
+  List<SwimMember> updates() {
+    return updates;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("sender", sender)
+        .add("target", target)
+        .add("acknowledged", acknowledged)
+        .add("updates", updates)
+        .toString();
+  }
+}
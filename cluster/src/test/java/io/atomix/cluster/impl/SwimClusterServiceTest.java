@@ -0,0 +1,352 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.cluster.impl;
+
+import io.atomix.cluster.ClusterEventListener;
+import io.atomix.cluster.ClusterMetadata;
+import io.atomix.cluster.ClusterService;
+import io.atomix.cluster.ManagedClusterService;
+import io.atomix.cluster.Node;
+import io.atomix.cluster.Node.State;
+import io.atomix.cluster.Node.Type;
+import io.atomix.cluster.NodeId;
+import io.atomix.cluster.messaging.impl.TestMessagingServiceFactory;
+import io.atomix.messaging.Endpoint;
+import io.atomix.messaging.MessagingService;
+import io.atomix.utils.concurrent.Futures;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * SWIM cluster service test.
+ */
+public class SwimClusterServiceTest {
+  private final InetAddress localhost;
+
+  public SwimClusterServiceTest() {
+    try {
+      localhost = InetAddress.getByName("127.0.0.1");
+    } catch (UnknownHostException e) {
+      throw new AssertionError();
+    }
+  }
+
+  private ClusterMetadata buildClusterMetadata(int nodeId, int... bootstrapNodes) {
+    ClusterMetadata.Builder metadataBuilder = ClusterMetadata.builder()
+        .withLocalNode(Node.builder()
+            .withId(NodeId.from(String.valueOf(nodeId)))
+            .withEndpoint(new Endpoint(localhost, nodeId))
+            .build());
+    List<Node> bootstrap = new ArrayList<>();
+    for (int bootstrapNode : bootstrapNodes) {
+      bootstrap.add(Node.builder()
+          .withId(NodeId.from(String.valueOf(bootstrapNode)))
+          .withEndpoint(new Endpoint(localhost, bootstrapNode))
+          .build());
+    }
+    return metadataBuilder.withBootstrapNodes(bootstrap).build();
+  }
+
+  private ManagedClusterService buildClusterService(ClusterMetadata clusterMetadata, MessagingService messagingService) {
+    return SwimClusterService.builder()
+        .withClusterMetadata(clusterMetadata)
+        .withMessagingService(messagingService)
+        .withProbeInterval(Duration.ofMillis(100))
+        .withProbeTimeout(Duration.ofMillis(50))
+        .withSuspicionMultiplier(3)
+        .withSyncInterval(Duration.ofSeconds(1))
+        .build();
+  }
+
+  /**
+   * Waits for the given condition to be met, re-evaluating it whenever one of the given services publishes an event.
+   */
+  private void await(Collection<? extends ClusterService> clusterServices, BooleanSupplier condition)
+      throws InterruptedException {
+    Object lock = new Object();
+    ClusterEventListener listener = event -> {
+      synchronized (lock) {
+        lock.notifyAll();
+      }
+    };
+    clusterServices.forEach(clusterService -> clusterService.addListener(listener));
+    try {
+      long timeout = System.currentTimeMillis() + 60000;
+      synchronized (lock) {
+        while (!condition.getAsBoolean()) {
+          long remaining = timeout - System.currentTimeMillis();
+          assertTrue("condition not met within timeout", remaining > 0);
+          lock.wait(remaining);
+        }
+      }
+    } finally {
+      clusterServices.forEach(clusterService -> clusterService.removeListener(listener));
+    }
+  }
+
+  private boolean isActive(ClusterService clusterService, int nodeId) {
+    Node node = clusterService.getNode(NodeId.from(String.valueOf(nodeId)));
+    return node != null && node.state() == State.ACTIVE;
+  }
+
+  private boolean isInactive(ClusterService clusterService, int nodeId) {
+    Node node = clusterService.getNode(NodeId.from(String.valueOf(nodeId)));
+    return node != null && node.state() == State.INACTIVE;
+  }
+
+  private boolean isRemoved(ClusterService clusterService, int nodeId) {
+    return clusterService.getNode(NodeId.from(String.valueOf(nodeId))) == null;
+  }
+
+  @Test
+  public void testClusterService() throws Exception {
+    TestMessagingServiceFactory messagingServiceFactory = new TestMessagingServiceFactory();
+
+    ClusterMetadata clusterMetadata1 = buildClusterMetadata(1, 1, 2, 3);
+    ManagedClusterService clusterService1 = buildClusterService(
+        clusterMetadata1, messagingServiceFactory.newMessagingService(clusterMetadata1.localNode().endpoint()).open().join());
+    ClusterMetadata clusterMetadata2 = buildClusterMetadata(2, 1, 2, 3);
+    ManagedClusterService clusterService2 = buildClusterService(
+        clusterMetadata2, messagingServiceFactory.newMessagingService(clusterMetadata2.localNode().endpoint()).open().join());
+    ClusterMetadata clusterMetadata3 = buildClusterMetadata(3, 1, 2, 3);
+    ManagedClusterService clusterService3 = buildClusterService(
+        clusterMetadata3, messagingServiceFactory.newMessagingService(clusterMetadata3.localNode().endpoint()).open().join());
+
+    assertEquals(State.INACTIVE, clusterService1.getNode(NodeId.from("1")).state());
+    assertEquals(State.INACTIVE, clusterService1.getNode(NodeId.from("2")).state());
+    assertEquals(State.INACTIVE, clusterService1.getNode(NodeId.from("3")).state());
+
+    CompletableFuture<ClusterService>[] futures = new CompletableFuture[3];
+    futures[0] = clusterService1.open();
+    futures[1] = clusterService2.open();
+    futures[2] = clusterService3.open();
+
+    CompletableFuture.allOf(futures).join();
+
+    await(Arrays.asList(clusterService1, clusterService2, clusterService3),
+        () -> isActive(clusterService1, 2) && isActive(clusterService1, 3)
+        && isActive(clusterService2, 1) && isActive(clusterService2, 3)
+        && isActive(clusterService3, 1) && isActive(clusterService3, 2));
+
+    assertEquals(3, clusterService1.getNodes().size());
+    assertEquals(Type.CORE, clusterService1.getLocalNode().type());
+    assertEquals(Type.CORE, clusterService1.getNode(NodeId.from("2")).type());
+    assertEquals(State.ACTIVE, clusterService1.getLocalNode().state());
+
+    ClusterMetadata clientMetadata = buildClusterMetadata(4, 1, 2, 3);
+    ManagedClusterService clientClusterService = buildClusterService(
+        clientMetadata, messagingServiceFactory.newMessagingService(clientMetadata.localNode().endpoint()).open().join());
+
+    assertEquals(State.INACTIVE, clientClusterService.getLocalNode().state());
+    assertEquals(State.INACTIVE, clientClusterService.getNode(NodeId.from("1")).state());
+
+    clientClusterService.open().join();
+
+    await(Arrays.asList(clusterService1, clusterService2, clusterService3, clientClusterService),
+        () -> isActive(clusterService1, 4) && isActive(clusterService2, 4) && isActive(clusterService3, 4)
+        && isActive(clientClusterService, 1) && isActive(clientClusterService, 2) && isActive(clientClusterService, 3));
+
+    assertEquals(4, clientClusterService.getNodes().size());
+    assertEquals(Type.CLIENT, clientClusterService.getLocalNode().type());
+    assertEquals(Type.CORE, clientClusterService.getNode(NodeId.from("1")).type());
+    assertEquals(Type.CLIENT, clusterService1.getNode(NodeId.from("4")).type());
+    assertEquals(State.ACTIVE, clientClusterService.getLocalNode().state());
+
+    clusterService1.close().join();
+
+    await(Arrays.asList(clusterService2, clusterService3, clientClusterService),
+        () -> isInactive(clusterService2, 1) && isInactive(clusterService3, 1) && isInactive(clientClusterService, 1));
+
+    assertEquals(4, clusterService2.getNodes().size());
+    assertEquals(Type.CORE, clusterService2.getNode(NodeId.from("1")).type());
+    assertEquals(State.ACTIVE, clusterService2.getNode(NodeId.from("3")).state());
+    assertEquals(State.ACTIVE, clusterService2.getNode(NodeId.from("4")).state());
+
+    clientClusterService.close().join();
+
+    await(Arrays.asList(clusterService2, clusterService3),
+        () -> isRemoved(clusterService2, 4) && isRemoved(clusterService3, 4));
+
+    assertEquals(3, clusterService2.getNodes().size());
+    assertEquals(State.INACTIVE, clusterService2.getNode(NodeId.from("1")).state());
+    assertNull(clusterService2.getNode(NodeId.from("4")));
+
+    // Reopening a node should refute its failure.
+    clusterService1.open().join();
+
+    await(Arrays.asList(clusterService2, clusterService3),
+        () -> isActive(clusterService2, 1) && isActive(clusterService3, 1));
+
+    clusterService1.close().join();
+    clusterService2.close().join();
+    clusterService3.close().join();
+  }
+
+  @Test
+  public void testLargeCluster() throws Exception {
+    int numNodes = 200;
+    TestMessagingServiceFactory messagingServiceFactory = new TestMessagingServiceFactory();
+
+    List<CrashableMessagingService> messagingServices = new ArrayList<>();
+    List<ManagedClusterService> clusterServices = new ArrayList<>();
+    for (int i = 1; i <= numNodes; i++) {
+      ClusterMetadata clusterMetadata = buildClusterMetadata(i, 1, 2, 3);
+      CrashableMessagingService messagingService = new CrashableMessagingService(
+          messagingServiceFactory.newMessagingService(clusterMetadata.localNode().endpoint()).open().join());
+      messagingServices.add(messagingService);
+      clusterServices.add(buildClusterService(clusterMetadata, messagingService));
+    }
+
+    for (ManagedClusterService clusterService : clusterServices) {
+      clusterService.open().join();
+    }
+
+    await(clusterServices, () -> clusterServices.stream().allMatch(clusterService -> clusterService.getNodes().size() == numNodes
+        && clusterService.getNodes().stream().allMatch(node -> node.state() == State.ACTIVE)));
+
+    // Crash a core node and a few clients, and shut down a few other clients gracefully.
+    List<Integer> crashedNodes = new ArrayList<>();
+    crashedNodes.add(3);
+    for (int i = 10; i < 15; i++) {
+      crashedNodes.add(i);
+    }
+    List<Integer> closedNodes = new ArrayList<>();
+    for (int i = 20; i < 25; i++) {
+      closedNodes.add(i);
+    }
+    crashedNodes.forEach(i -> messagingServices.get(i - 1).crash());
+    closedNodes.forEach(i -> clusterServices.get(i - 1).close().join());
+
+    List<ManagedClusterService> liveServices = new ArrayList<>();
+    for (int i = 1; i <= numNodes; i++) {
+      if (!crashedNodes.contains(i) && !closedNodes.contains(i)) {
+        liveServices.add(clusterServices.get(i - 1));
+      }
+    }
+
+    await(liveServices, () -> liveServices.stream().allMatch(clusterService ->
+        isInactive(clusterService, 3)
+            && crashedNodes.stream().filter(i -> i != 3).allMatch(i -> isRemoved(clusterService, i))
+            && closedNodes.stream().allMatch(i -> isRemoved(clusterService, i))
+            && clusterService.getNodes().size() == liveServices.size() + 1));
+
+    // Ensure live nodes were not falsely declared dead.
+    for (ManagedClusterService clusterService : liveServices) {
+      assertTrue(isActive(clusterService, 1));
+      assertTrue(isActive(clusterService, 2));
+      assertTrue(isActive(clusterService, numNodes));
+    }
+
+    for (ManagedClusterService clusterService : clusterServices) {
+      clusterService.close().join();
+    }
+  }
+
+  /**
+   * Messaging service that can be crashed, failing all incoming and outgoing messages.
+   */
+  private static class CrashableMessagingService implements MessagingService {
+    private final MessagingService delegate;
+    private volatile boolean crashed;
+
+    CrashableMessagingService(MessagingService delegate) {
+      this.delegate = delegate;
+    }
+
+    /**
+     * Crashes the messaging service.
+     */
+    void crash() {
+      crashed = true;
+    }
+
+    @Override
+    public CompletableFuture<Void> sendAsync(Endpoint ep, String type, byte[] payload) {
+      if (crashed) {
+        return Futures.exceptionalFuture(new IllegalStateException("crashed"));
+      }
+      return delegate.sendAsync(ep, type, payload);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> sendAndReceive(Endpoint ep, String type, byte[] payload) {
+      if (crashed) {
+        return Futures.exceptionalFuture(new IllegalStateException("crashed"));
+      }
+      return delegate.sendAndReceive(ep, type, payload);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> sendAndReceive(Endpoint ep, String type, byte[] payload, Executor executor) {
+      if (crashed) {
+        return Futures.exceptionalFuture(new IllegalStateException("crashed"));
+      }
+      return delegate.sendAndReceive(ep, type, payload, executor);
+    }
+
+    @Override
+    public void registerHandler(String type, BiConsumer<Endpoint, byte[]> handler, Executor executor) {
+      delegate.registerHandler(type, (endpoint, payload) -> {
+        if (!crashed) {
+          handler.accept(endpoint, payload);
+        }
+      }, executor);
+    }
+
+    @Override
+    public void registerHandler(String type, BiFunction<Endpoint, byte[], byte[]> handler, Executor executor) {
+      delegate.registerHandler(type, (endpoint, payload) -> {
+        if (crashed) {
+          return Futures.exceptionalFuture(new IllegalStateException("crashed"));
+        }
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        executor.execute(() -> future.complete(handler.apply(endpoint, payload)));
+        return future;
+      });
+    }
+
+    @Override
+    public void registerHandler(String type, BiFunction<Endpoint, byte[], CompletableFuture<byte[]>> handler) {
+      delegate.registerHandler(type, (endpoint, payload) -> {
+        if (crashed) {
+          return Futures.exceptionalFuture(new IllegalStateException("crashed"));
+        }
+        return handler.apply(endpoint, payload);
+      });
+    }
+
+    @Override
+    public void unregisterHandler(String type) {
+      delegate.unregisterHandler(type);
+    }
+  }
+}
@@ -22,6 +22,7 @@ import io.atomix.cluster.ManagedClusterService;
 import io.atomix.cluster.Node;
 import io.atomix.cluster.NodeId;
 import io.atomix.cluster.impl.DefaultClusterService;
+import io.atomix.cluster.impl.SwimClusterService;
 import io.atomix.cluster.messaging.ClusterCommunicationService;
 import io.atomix.cluster.messaging.ClusterEventService;
 import io.atomix.cluster.messaging.ManagedClusterCommunicationService;
@@ -41,6 +42,7 @@ import io.atomix.primitives.DistributedPrimitive.Type;
 import io.atomix.primitives.DistributedPrimitiveCreator;
 import io.atomix.primitives.PrimitiveService;
 import io.atomix.primitives.counter.AtomicCounterBuilder;
+import io.atomix.primitives.counter.StripedCounterBuilder;
 import io.atomix.primitives.generator.AtomicIdGeneratorBuilder;
 import io.atomix.primitives.impl.FederatedPrimitiveService;
 import io.atomix.primitives.leadership.LeaderElectorBuilder;
@@ -55,6 +57,7 @@ import io.atomix.primitives.tree.DocumentTreeBuilder;
 import io.atomix.primitives.value.AtomicValueBuilder;
 import io.atomix.rest.ManagedRestService;
 import io.atomix.rest.impl.VertxRestService;
+import io.atomix.rest.utils.EventLog;
 import io.atomix.utils.Managed;
 import io.atomix.utils.concurrent.SingleThreadContext;
 import io.atomix.utils.concurrent.ThreadContext;
@@ -211,6 +214,11 @@ public class Atomix implements PrimitiveService, Managed<Atomix> {
     return primitives.atomicCounterBuilder();
   }
 
+  @Override
+  public StripedCounterBuilder stripedCounterBuilder() {
+    return primitives.stripedCounterBuilder();
+  }
+
   @Override
   public AtomicIdGeneratorBuilder atomicIdGeneratorBuilder() {
     return primitives.atomicIdGeneratorBuilder();
@@ -296,6 +304,8 @@ public class Atomix implements PrimitiveService, Managed<Atomix> {
     private static final int DEFAULT_NUM_BUCKETS = 128;
     private String name = DEFAULT_CLUSTER_NAME;
     private int httpPort;
+    private int httpEventBufferSize = EventLog.DEFAULT_CAPACITY;
+    private EventLog.OverflowPolicy httpEventOverflowPolicy = EventLog.DEFAULT_OVERFLOW_POLICY;
     private Node localNode;
     private Collection<Node> bootstrapNodes;
     private int numPartitions;
@@ -303,6 +313,7 @@ public class Atomix implements PrimitiveService, Managed<Atomix> {
     private int numBuckets = DEFAULT_NUM_BUCKETS;
     private Collection<PartitionMetadata> partitions;
     private File dataDir = new File(System.getProperty("user.dir"), "data");
+    private boolean swimMembership;
 
     /**
      * Sets the cluster name.
@@ -327,6 +338,31 @@ public class Atomix implements PrimitiveService, Managed<Atomix> {
       return this;
     }
 
+    /**
+     * Sets the maximum number of events to buffer for each HTTP event subscriber.
+     *
+     * @param httpEventBufferSize the maximum number of events to buffer for each HTTP event subscriber
+     * @return the Atomix builder
+     * @throws IllegalArgumentException if the buffer size is not positive
+     */
+    public Builder withHttpEventBufferSize(int httpEventBufferSize) {
+      checkArgument(httpEventBufferSize > 0, "httpEventBufferSize must be positive");
+      this.httpEventBufferSize = httpEventBufferSize;
+      return this;
+    }
+
+    /**
+     * Sets the policy to apply when an HTTP event subscriber's buffer overflows.
+     *
+     * @param httpEventOverflowPolicy the policy to apply when an HTTP event subscriber's buffer overflows
+     * @return the Atomix builder
+     * @throws NullPointerException if the overflow policy is null
+     */
+    public Builder withHttpEventOverflowPolicy(EventLog.OverflowPolicy httpEventOverflowPolicy) {
+      this.httpEventOverflowPolicy = checkNotNull(httpEventOverflowPolicy, "httpEventOverflowPolicy cannot be null");
+      return this;
+    }
+
     /**
      * Sets the local node metadata.
      *
@@ -422,6 +458,30 @@ public class Atomix implements PrimitiveService, Managed<Atomix> {
       return this;
     }
 
+    /**
+     * Enables SWIM based cluster membership, returning the builder for method chaining.
+     *
+     * @return the Atomix builder
+     */
+    public Builder withSwimMembership() {
+      return withSwimMembership(true);
+    }
+
+    /**
+     * Sets whether to use SWIM based cluster membership, returning the builder for method chaining.
+     * <p>
+     * By default, each node sends heartbeats to every other node in the cluster. When SWIM membership is enabled,
+     * each node instead probes a single random peer per interval and membership changes are disseminated by gossip,
+     * which scales to larger clusters.
+     *
+     * @param swimMembership whether to use SWIM based cluster membership
+     * @return the Atomix builder
+     */
+    public Builder withSwimMembership(boolean swimMembership) {
+      this.swimMembership = swimMembership;
+      return this;
+    }
+
     @Override
     public Atomix build() {
       ManagedMessagingService messagingService = buildMessagingService();
@@ -455,10 +515,14 @@ public class Atomix implements PrimitiveService, Managed<Atomix> {
      * Builds a cluster service.
      */
     private ManagedClusterService buildClusterService(MessagingService messagingService) {
-      return new DefaultClusterService(ClusterMetadata.builder()
+      ClusterMetadata clusterMetadata = ClusterMetadata.builder()
           .withLocalNode(localNode)
           .withBootstrapNodes(bootstrapNodes)
-          .build(), messagingService);
+          .build();
+      if (swimMembership) {
+        return new SwimClusterService(clusterMetadata, messagingService);
+      }
+      return new DefaultClusterService(clusterMetadata, messagingService);
     }
 
     /**
@@ -505,7 +569,15 @@ public class Atomix implements PrimitiveService, Managed<Atomix> {
         ClusterCommunicationService communicationService,
         ClusterEventService eventService,
         PrimitiveService primitiveService) {
-      return httpPort > 0 ? new VertxRestService(localNode.endpoint().host().getHostAddress(), httpPort, clusterService, communicationService, eventService, primitiveService) : null;
+      return httpPort > 0 ? new VertxRestService(
+          localNode.endpoint().host().getHostAddress(),
+          httpPort,
+          clusterService,
+          communicationService,
+          eventService,
+          primitiveService,
+          httpEventBufferSize,
+          httpEventOverflowPolicy) : null;
     }
 
     /**
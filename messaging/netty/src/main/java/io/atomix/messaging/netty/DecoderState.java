@@ -26,6 +26,7 @@ public enum DecoderState {
   READ_SENDER_PORT,
   READ_SUBJECT_LENGTH,
   READ_SUBJECT,
+  READ_SUBJECT_ID,
   READ_STATUS,
   READ_CONTENT_LENGTH,
   READ_CONTENT
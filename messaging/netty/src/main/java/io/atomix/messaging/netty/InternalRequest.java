@@ -25,6 +25,7 @@ import io.atomix.utils.ArraySizeHashPrinter;
 public final class InternalRequest extends InternalMessage {
     private final Endpoint sender;
     private final String subject;
+    private final int subjectId;
 
     public InternalRequest(
         int preamble,
@@ -32,9 +33,20 @@ public final class InternalRequest extends InternalMessage {
         Endpoint sender,
         String subject,
         byte[] payload) {
+        this(preamble, id, sender, subject, -1, payload);
+    }
+
+    public InternalRequest(
+        int preamble,
+        long id,
+        Endpoint sender,
+        String subject,
+        int subjectId,
+        byte[] payload) {
         super(preamble, id, payload);
         this.sender = sender;
         this.subject = subject;
+        this.subjectId = subjectId;
     }
 
     @Override
@@ -46,6 +58,15 @@ public final class InternalRequest extends InternalMessage {
         return subject;
     }
 
+    /**
+     * Returns the connection-local ID of the request subject.
+     *
+     * @return the subject ID or {@code -1} if the request was received with a subject string
+     */
+    public int subjectId() {
+        return subjectId;
+    }
+
     public Endpoint sender() {
         return sender;
     }
@@ -24,6 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.InetAddress;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.google.common.base.Preconditions.checkState;
@@ -47,6 +48,8 @@ public class MessageDecoder extends ReplayingDecoder<DecoderState> {
   private byte[] content;
   private int subjectLength;
   private String subject;
+  private boolean subjectIdRequest;
+  private String[] subjects = new String[16];
   private InternalReply.Status status;
 
   public MessageDecoder() {
@@ -71,7 +74,9 @@ public class MessageDecoder extends ReplayingDecoder<DecoderState> {
         senderPort = buffer.readInt();
         checkpoint(DecoderState.READ_TYPE);
       case READ_TYPE:
-        type = InternalMessage.Type.forId(buffer.readByte());
+        byte typeId = buffer.readByte();
+        subjectIdRequest = typeId == MessageEncoder.SUBJECT_ID_REQUEST;
+        type = subjectIdRequest ? InternalMessage.Type.REQUEST : InternalMessage.Type.forId(typeId);
         checkpoint(DecoderState.READ_PREAMBLE);
       case READ_PREAMBLE:
         preamble = buffer.readInt();
@@ -93,7 +98,7 @@ public class MessageDecoder extends ReplayingDecoder<DecoderState> {
 
         switch (type) {
           case REQUEST:
-            checkpoint(DecoderState.READ_SUBJECT_LENGTH);
+            checkpoint(subjectIdRequest ? DecoderState.READ_SUBJECT_ID : DecoderState.READ_SUBJECT_LENGTH);
             break;
           case REPLY:
             checkpoint(DecoderState.READ_STATUS);
@@ -125,6 +130,17 @@ public class MessageDecoder extends ReplayingDecoder<DecoderState> {
             out.add(message);
             checkpoint(DecoderState.READ_TYPE);
             break;
+          case READ_SUBJECT_ID:
+            int subjectId = readSubjectId(buffer);
+            out.add(new InternalRequest(
+                preamble,
+                messageId,
+                new Endpoint(senderIp, senderPort),
+                subjects[subjectId],
+                subjectId,
+                content));
+            checkpoint(DecoderState.READ_TYPE);
+            break;
           default:
             break;
         }
@@ -149,6 +165,36 @@ public class MessageDecoder extends ReplayingDecoder<DecoderState> {
     }
   }
 
+  /**
+   * Reads a subject ID, registering the subject if the ID is being defined or redefined.
+   *
+   * @param buffer the buffer from which to read the subject ID
+   * @return the subject ID
+   */
+  private int readSubjectId(ByteBuf buffer) {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = buffer.readByte();
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+
+    int subjectId = value >>> 1;
+    checkState(subjectId < MessageEncoder.MAX_SUBJECT_IDS, "Invalid subject ID " + subjectId);
+    if ((value & 1) == 1) {
+      byte[] messageTypeBytes = new byte[buffer.readShort()];
+      buffer.readBytes(messageTypeBytes);
+      if (subjectId >= subjects.length) {
+        subjects = Arrays.copyOf(subjects, Math.max(subjects.length * 2, subjectId + 1));
+      }
+      subjects[subjectId] = new String(messageTypeBytes, Charsets.UTF_8);
+    }
+    checkState(subjectId < subjects.length && subjects[subjectId] != null, "Unknown subject ID " + subjectId);
+    return subjectId;
+  }
+
   @Override
   public void exceptionCaught(ChannelHandlerContext context, Throwable cause) {
     log.error("Exception inside channel handling pipeline.", cause);
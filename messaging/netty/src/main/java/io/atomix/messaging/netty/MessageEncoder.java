@@ -25,6 +25,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Encode InternalMessage out into a byte buffer.
@@ -33,11 +36,23 @@ public class MessageEncoder extends MessageToByteEncoder<Object> {
 // Effectively MessageToByteEncoder<InternalMessage>,
 // had to specify <Object> to avoid Class Loader not being able to find some classes.
 
+  /**
+   * Wire type for requests that carry an interned subject ID rather than the subject string.
+   */
+  static final byte SUBJECT_ID_REQUEST = 3;
+
+  /**
+   * Maximum number of subject IDs defined on a connection at any time.
+   */
+  static final int MAX_SUBJECT_IDS = 1024;
+
   private final Logger log = LoggerFactory.getLogger(getClass());
 
   private final Endpoint endpoint;
   private final int preamble;
   private boolean endpointWritten;
+  private volatile boolean subjectIdsEnabled;
+  private final Map<String, Integer> subjectIds = new LinkedHashMap<>(16, 0.75f, true);
 
   public MessageEncoder(Endpoint endpoint, int preamble) {
     super();
@@ -45,6 +60,18 @@ public class MessageEncoder extends MessageToByteEncoder<Object> {
     this.preamble = preamble;
   }
 
+  /**
+   * Enables interned subject IDs for requests written to the channel.
+   * <p>
+   * Subject IDs must only be enabled once the remote endpoint has indicated that it can decode them.
+   * Once enabled, the first request for each subject defines a connection-local ID for the subject,
+   * and subsequent requests carry only the ID. At most {@link #MAX_SUBJECT_IDS} IDs are defined at a
+   * time; once all IDs are in use, the ID of the least recently used subject is redefined.
+   */
+  public void enableSubjectIds() {
+    subjectIdsEnabled = true;
+  }
+
   @Override
   protected void encode(
       ChannelHandlerContext context,
@@ -57,7 +84,7 @@ public class MessageEncoder extends MessageToByteEncoder<Object> {
     }
   }
 
-  private void encodeMessage(InternalMessage message, ByteBuf out) {
+  private void encodeMessage(InternalMessage message, int type, ByteBuf out) {
     // If the endpoint hasn't been written to the channel, write it.
     if (!endpointWritten) {
       InetAddress senderIp = endpoint.host();
@@ -71,7 +98,7 @@ public class MessageEncoder extends MessageToByteEncoder<Object> {
       endpointWritten = true;
     }
 
-    out.writeByte(message.type().id());
+    out.writeByte(type);
     out.writeInt(this.preamble);
 
     // write message id
@@ -87,7 +114,12 @@ public class MessageEncoder extends MessageToByteEncoder<Object> {
   }
 
   private void encodeRequest(InternalRequest request, ByteBuf out) {
-    encodeMessage(request, out);
+    if (subjectIdsEnabled) {
+      encodeSubjectIdRequest(request, out);
+      return;
+    }
+
+    encodeMessage(request, request.type().id(), out);
 
     byte[] messageTypeBytes = request.subject().getBytes(Charsets.UTF_8);
 
@@ -99,8 +131,40 @@ public class MessageEncoder extends MessageToByteEncoder<Object> {
 
   }
 
+  private void encodeSubjectIdRequest(InternalRequest request, ByteBuf out) {
+    encodeMessage(request, SUBJECT_ID_REQUEST, out);
+
+    // The low bit of the subject ID indicates whether the subject is being defined by this message.
+    Integer subjectId = subjectIds.get(request.subject());
+    if (subjectId != null) {
+      writeVarInt(subjectId << 1, out);
+    } else {
+      if (subjectIds.size() < MAX_SUBJECT_IDS) {
+        subjectId = subjectIds.size();
+      } else {
+        Iterator<Map.Entry<String, Integer>> iterator = subjectIds.entrySet().iterator();
+        subjectId = iterator.next().getValue();
+        iterator.remove();
+      }
+      subjectIds.put(request.subject(), subjectId);
+      writeVarInt(subjectId << 1 | 1, out);
+
+      byte[] messageTypeBytes = request.subject().getBytes(Charsets.UTF_8);
+      out.writeShort(messageTypeBytes.length);
+      out.writeBytes(messageTypeBytes);
+    }
+  }
+
+  private static void writeVarInt(int value, ByteBuf out) {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
   private void encodeReply(InternalReply reply, ByteBuf out) {
-    encodeMessage(reply, out);
+    encodeMessage(reply, reply.type().id(), out);
 
     // write message status value
     out.writeByte(reply.status().id());
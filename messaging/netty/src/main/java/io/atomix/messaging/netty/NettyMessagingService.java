@@ -65,6 +65,7 @@ import java.security.MessageDigest;
 import java.security.cert.Certificate;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
@@ -161,6 +162,12 @@ public class NettyMessagingService implements ManagedMessagingService {
 
   private static final byte[] EMPTY_PAYLOAD = new byte[0];
 
+  /**
+   * Subject used to negotiate interned subject IDs on a new connection. Endpoints that do not register a
+   * handler for the subject reply with an error, and requests to them continue to be sent with subject strings.
+   */
+  private static final String SUBJECT_IDS_HANDSHAKE = "atomix-messaging-subject-ids";
+
   private final Logger log = LoggerFactory.getLogger(getClass());
 
   private final ClientConnection localClientConnection = new LocalClientConnection();
@@ -175,7 +182,7 @@ public class NettyMessagingService implements ManagedMessagingService {
   private final Endpoint localEndpoint;
   private final int preamble;
   private final AtomicBoolean started = new AtomicBoolean(false);
-  private final Map<String, BiConsumer<InternalRequest, ServerConnection>> handlers = new ConcurrentHashMap<>();
+  private final Map<String, HandlerSlot> handlers = new ConcurrentHashMap<>();
   private final Map<Channel, RemoteClientConnection> clientConnections = Maps.newConcurrentMap();
   private final Map<Channel, RemoteServerConnection> serverConnections = Maps.newConcurrentMap();
   private final AtomicLong messageIdGenerator = new AtomicLong(0);
@@ -211,6 +218,8 @@ public class NettyMessagingService implements ManagedMessagingService {
     }
 
     initEventLoopGroup();
+    registerInternalHandler(SUBJECT_IDS_HANDSHAKE, (message, connection) ->
+        connection.reply(message, InternalReply.Status.OK, Optional.of(EMPTY_PAYLOAD)));
     return startAcceptingConnections().thenRun(() -> {
       timeoutExecutor = Executors.newSingleThreadScheduledExecutor(
           namedThreads("netty-messaging-timeout-%d", log));
@@ -470,13 +479,13 @@ public class NettyMessagingService implements ManagedMessagingService {
 
   @Override
   public void registerHandler(String type, BiConsumer<Endpoint, byte[]> handler, Executor executor) {
-    handlers.put(type, (message, connection) -> executor.execute(() ->
+    registerInternalHandler(type, (message, connection) -> executor.execute(() ->
         handler.accept(message.sender(), message.payload())));
   }
 
   @Override
   public void registerHandler(String type, BiFunction<Endpoint, byte[], byte[]> handler, Executor executor) {
-    handlers.put(type, (message, connection) -> executor.execute(() -> {
+    registerInternalHandler(type, (message, connection) -> executor.execute(() -> {
       byte[] responsePayload = null;
       InternalReply.Status status = InternalReply.Status.OK;
       try {
@@ -491,7 +500,7 @@ public class NettyMessagingService implements ManagedMessagingService {
 
   @Override
   public void registerHandler(String type, BiFunction<Endpoint, byte[], CompletableFuture<byte[]>> handler) {
-    handlers.put(type, (message, connection) -> {
+    registerInternalHandler(type, (message, connection) -> {
       handler.apply(message.sender(), message.payload()).whenComplete((result, error) -> {
         InternalReply.Status status;
         if (error == null) {
@@ -507,7 +516,35 @@ public class NettyMessagingService implements ManagedMessagingService {
 
   @Override
   public void unregisterHandler(String type) {
-    handlers.remove(type);
+    handlers.computeIfPresent(type, (t, slot) -> {
+      slot.handler = null;
+      return null;
+    });
+  }
+
+  /**
+   * Registers an internal handler for the given subject.
+   *
+   * @param type the message subject
+   * @param handler the internal handler
+   */
+  private void registerInternalHandler(String type, BiConsumer<InternalRequest, ServerConnection> handler) {
+    handlers.compute(type, (t, slot) -> {
+      HandlerSlot newSlot = slot != null ? slot : new HandlerSlot(t);
+      newSlot.handler = handler;
+      return newSlot;
+    });
+  }
+
+  /**
+   * Returns the handler for the given subject.
+   *
+   * @param type the message subject
+   * @return the handler for the subject or {@code null} if no handler is registered
+   */
+  private BiConsumer<InternalRequest, ServerConnection> getHandler(String type) {
+    HandlerSlot slot = handlers.get(type);
+    return slot != null ? slot.handler : null;
   }
 
   private Bootstrap bootstrapClient(Endpoint endpoint) {
@@ -571,6 +608,7 @@ public class NettyMessagingService implements ManagedMessagingService {
 
     f.addListener(future -> {
       if (future.isSuccess()) {
+        negotiateSubjectIds(f.channel());
         retFuture.complete(f.channel());
       } else {
         retFuture.completeExceptionally(future.cause());
@@ -580,6 +618,32 @@ public class NettyMessagingService implements ManagedMessagingService {
     return retFuture;
   }
 
+  /**
+   * Negotiates interned subject IDs for a new channel.
+   * <p>
+   * Requests are sent with subject strings until the remote endpoint acknowledges the handshake, so the
+   * channel can be used immediately and endpoints that do not support subject IDs continue to work.
+   *
+   * @param channel the channel for which to negotiate subject IDs
+   */
+  private void negotiateSubjectIds(Channel channel) {
+    InternalRequest handshake = new InternalRequest(preamble,
+        messageIdGenerator.incrementAndGet(),
+        localEndpoint,
+        SUBJECT_IDS_HANDSHAKE,
+        EMPTY_PAYLOAD);
+    clientConnections.computeIfAbsent(channel, RemoteClientConnection::new)
+        .sendAndReceive(handshake)
+        .whenComplete((result, error) -> {
+          MessageEncoder encoder = channel.pipeline().get(MessageEncoder.class);
+          if (error == null && encoder != null) {
+            encoder.enableSubjectIds();
+          } else {
+            log.debug("Subject IDs not supported by {}", channel.remoteAddress());
+          }
+        });
+  }
+
   @Override
   public CompletableFuture<Void> close() {
     if (started.get()) {
@@ -792,7 +856,7 @@ public class NettyMessagingService implements ManagedMessagingService {
   private final class LocalClientConnection implements ClientConnection {
     @Override
     public CompletableFuture<Void> sendAsync(InternalRequest message) {
-      BiConsumer<InternalRequest, ServerConnection> handler = handlers.get(message.subject());
+      BiConsumer<InternalRequest, ServerConnection> handler = getHandler(message.subject());
       if (handler != null) {
         handler.accept(message, localServerConnection);
       } else {
@@ -804,7 +868,7 @@ public class NettyMessagingService implements ManagedMessagingService {
     @Override
     public CompletableFuture<byte[]> sendAndReceive(InternalRequest message) {
       CompletableFuture<byte[]> future = new CompletableFuture<>();
-      BiConsumer<InternalRequest, ServerConnection> handler = handlers.get(message.subject());
+      BiConsumer<InternalRequest, ServerConnection> handler = getHandler(message.subject());
       if (handler != null) {
         handler.accept(message, new LocalServerConnection(future));
       } else {
@@ -969,6 +1033,7 @@ public class NettyMessagingService implements ManagedMessagingService {
    */
   private final class RemoteServerConnection implements ServerConnection {
     private final Channel channel;
+    private HandlerSlot[] slots = new HandlerSlot[16];
 
     RemoteServerConnection(Channel channel) {
       this.channel = channel;
@@ -986,7 +1051,9 @@ public class NettyMessagingService implements ManagedMessagingService {
         return;
       }
 
-      BiConsumer<InternalRequest, ServerConnection> handler = handlers.get(message.subject());
+      BiConsumer<InternalRequest, ServerConnection> handler = message.subjectId() >= 0
+          ? getCachedHandler(message)
+          : getHandler(message.subject());
       if (handler != null) {
         handler.accept(message, this);
       } else {
@@ -995,6 +1062,34 @@ public class NettyMessagingService implements ManagedMessagingService {
       }
     }
 
+    /**
+     * Returns the handler for a request carrying an interned subject ID.
+     * <p>
+     * Subject IDs are assigned densely per connection, so slots are cached in an array indexed by ID.
+     * A cached slot is only used while its subject matches the request subject, since the sender may
+     * redefine an ID for a different subject, and while a handler is registered in it, since unregistered
+     * slots are replaced when the subject is registered again. Messages for a channel are dispatched on
+     * the channel's event loop, so no synchronization is required.
+     *
+     * @param message the request for which to return the handler
+     * @return the handler for the request subject or {@code null} if no handler is registered
+     */
+    private BiConsumer<InternalRequest, ServerConnection> getCachedHandler(InternalRequest message) {
+      int subjectId = message.subjectId();
+      if (subjectId >= slots.length) {
+        slots = Arrays.copyOf(slots, Math.max(slots.length * 2, subjectId + 1));
+      }
+      HandlerSlot slot = slots[subjectId];
+      BiConsumer<InternalRequest, ServerConnection> handler =
+          slot != null && slot.subject.equals(message.subject()) ? slot.handler : null;
+      if (handler == null) {
+        slot = handlers.get(message.subject());
+        slots[subjectId] = slot;
+        handler = slot != null ? slot.handler : null;
+      }
+      return handler;
+    }
+
     @Override
     public void reply(InternalRequest message, InternalReply.Status status, Optional<byte[]> payload) {
       InternalReply response = new InternalReply(preamble,
@@ -1005,6 +1100,18 @@ public class NettyMessagingService implements ManagedMessagingService {
     }
   }
 
+  /**
+   * Holder for the handler registered for a subject.
+   */
+  private static final class HandlerSlot {
+    private final String subject;
+    private volatile BiConsumer<InternalRequest, ServerConnection> handler;
+
+    HandlerSlot(String subject) {
+      this.subject = subject;
+    }
+  }
+
   /**
    * Request-reply timeout history tracker.
    */
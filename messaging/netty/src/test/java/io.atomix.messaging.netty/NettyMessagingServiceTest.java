@@ -19,6 +19,7 @@ import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.Uninterruptibles;
 import io.atomix.messaging.Endpoint;
 import io.atomix.messaging.ManagedMessagingService;
+import io.atomix.messaging.MessagingException;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -156,6 +157,56 @@ public class NettyMessagingServiceTest {
     }
   }
 
+  @Test
+  public void testSendAndReceiveWithSubjectIds() {
+    String[] subjects = new String[40];
+    for (int i = 0; i < subjects.length; i++) {
+      String subject = nextSubject();
+      subjects[i] = subject;
+      BiFunction<Endpoint, byte[], byte[]> handler = (ep, data) -> subject.getBytes();
+      netty2.registerHandler(subject, handler, MoreExecutors.directExecutor());
+    }
+
+    // Send enough requests that later requests are sent after subject IDs have been negotiated.
+    for (int i = 0; i < 500; i++) {
+      String subject = subjects[i % subjects.length];
+      assertTrue(Arrays.equals(subject.getBytes(), netty1.sendAndReceive(ep2, subject, new byte[0]).join()));
+    }
+
+    netty2.unregisterHandler(subjects[0]);
+    try {
+      netty1.sendAndReceive(ep2, subjects[0], new byte[0]).join();
+      fail();
+    } catch (CompletionException e) {
+      assertTrue(e.getCause() instanceof MessagingException.NoRemoteHandler);
+    }
+
+    BiFunction<Endpoint, byte[], byte[]> handler = (ep, data) -> "again".getBytes();
+    netty2.registerHandler(subjects[0], handler, MoreExecutors.directExecutor());
+    assertTrue(Arrays.equals("again".getBytes(), netty1.sendAndReceive(ep2, subjects[0], new byte[0]).join()));
+  }
+
+  @Test
+  public void testSendAndReceiveWithEvictedSubjectIds() {
+    String subject = nextSubject();
+    BiFunction<Endpoint, byte[], byte[]> handler = (ep, data) -> subject.getBytes();
+    netty2.registerHandler(subject, handler, MoreExecutors.directExecutor());
+    for (int i = 0; i < 100; i++) {
+      assertTrue(Arrays.equals(subject.getBytes(), netty1.sendAndReceive(ep2, subject, new byte[0]).join()));
+    }
+
+    // Send requests for more unique subjects than a connection can define, evicting the registered subject's ID.
+    for (int i = 0; i < MessageEncoder.MAX_SUBJECT_IDS; i++) {
+      try {
+        netty1.sendAndReceive(ep2, nextSubject(), new byte[0]).join();
+        fail();
+      } catch (CompletionException e) {
+        assertTrue(e.getCause() instanceof MessagingException.NoRemoteHandler);
+      }
+    }
+    assertTrue(Arrays.equals(subject.getBytes(), netty1.sendAndReceive(ep2, subject, new byte[0]).join()));
+  }
+
   /*
    * Supplies executors when registering a handler and calling sendAndReceive and verifies the request handling
    * and response completion occurs on the expected thread.
@@ -70,6 +70,8 @@ import io.atomix.protocols.raft.protocol.PublishRequest;
 import io.atomix.protocols.raft.protocol.QueryRequest;
 import io.atomix.protocols.raft.protocol.QueryResponse;
 import io.atomix.protocols.raft.protocol.RaftResponse;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexResponse;
 import io.atomix.protocols.raft.protocol.ReconfigureRequest;
 import io.atomix.protocols.raft.protocol.ReconfigureResponse;
 import io.atomix.protocols.raft.protocol.ResetRequest;
@@ -184,6 +186,8 @@ public final class RaftNamespaces {
       .register(RaftAtomicValueOperations.class)
       .register(RaftDistributedLockEvents.class)
       .register(RaftDistributedLockOperations.class)
+      .register(ReadIndexRequest.class)
+      .register(ReadIndexResponse.class)
       .build("RaftProtocol");
 
   /**
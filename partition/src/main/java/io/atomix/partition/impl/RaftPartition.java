@@ -27,7 +27,9 @@ import io.atomix.primitives.DistributedPrimitive;
 import io.atomix.primitives.DistributedPrimitiveCreator;
 import io.atomix.primitives.Ordering;
 import io.atomix.primitives.counter.AtomicCounterBuilder;
+import io.atomix.primitives.counter.StripedCounterBuilder;
 import io.atomix.primitives.counter.impl.DefaultAtomicCounterBuilder;
+import io.atomix.primitives.counter.impl.DefaultStripedCounterBuilder;
 import io.atomix.primitives.counter.impl.RaftAtomicCounterService;
 import io.atomix.primitives.generator.AtomicIdGeneratorBuilder;
 import io.atomix.primitives.generator.impl.DefaultAtomicIdGeneratorBuilder;
@@ -44,6 +46,7 @@ import io.atomix.primitives.map.impl.DefaultAtomicCounterMapBuilder;
 import io.atomix.primitives.map.impl.DefaultConsistentMapBuilder;
 import io.atomix.primitives.map.impl.DefaultConsistentTreeMapBuilder;
 import io.atomix.primitives.map.impl.RaftAtomicCounterMapService;
+import io.atomix.primitives.map.impl.RaftBinaryConsistentMapService;
 import io.atomix.primitives.map.impl.RaftConsistentMapService;
 import io.atomix.primitives.map.impl.RaftConsistentTreeMapService;
 import io.atomix.primitives.multimap.ConsistentMultimapBuilder;
@@ -86,9 +89,16 @@ public class RaftPartition implements ManagedPartition {
   private final RaftPartitionClient client;
   private final RaftPartitionServer server;
 
+  /**
+   * Service type for consistent maps that store serialized keys in binary form.
+   */
+  public static final String BINARY_CONSISTENT_MAP =
+      String.format("%s-%s", DistributedPrimitive.Type.CONSISTENT_MAP.name(), "BINARY");
+
   public static final Map<String, Supplier<RaftService>> RAFT_SERVICES =
       ImmutableMap.<String, Supplier<RaftService>>builder()
           .put(DistributedPrimitive.Type.CONSISTENT_MAP.name(), RaftConsistentMapService::new)
+          .put(BINARY_CONSISTENT_MAP, RaftBinaryConsistentMapService::new)
           .put(DistributedPrimitive.Type.CONSISTENT_TREEMAP.name(), RaftConsistentTreeMapService::new)
           .put(DistributedPrimitive.Type.CONSISTENT_MULTIMAP.name(), RaftConsistentSetMultimapService::new)
           .put(DistributedPrimitive.Type.COUNTER_MAP.name(), RaftAtomicCounterMapService::new)
@@ -203,6 +213,11 @@ public class RaftPartition implements ManagedPartition {
     return new DefaultAtomicCounterBuilder(getPrimitiveCreator());
   }
 
+  @Override
+  public StripedCounterBuilder stripedCounterBuilder() {
+    return new DefaultStripedCounterBuilder(getPrimitiveCreator());
+  }
+
   @Override
   public AtomicIdGeneratorBuilder atomicIdGeneratorBuilder() {
     return new DefaultAtomicIdGeneratorBuilder(getPrimitiveCreator());
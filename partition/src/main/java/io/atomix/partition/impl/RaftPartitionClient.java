@@ -24,7 +24,7 @@ import io.atomix.primitives.Ordering;
 import io.atomix.primitives.counter.AsyncAtomicCounter;
 import io.atomix.primitives.counter.impl.RaftAtomicCounter;
 import io.atomix.primitives.generator.AsyncAtomicIdGenerator;
-import io.atomix.primitives.generator.impl.RaftIdGenerator;
+import io.atomix.primitives.generator.impl.PrefetchingIdGenerator;
 import io.atomix.primitives.leadership.AsyncLeaderElector;
 import io.atomix.primitives.leadership.impl.RaftLeaderElector;
 import io.atomix.primitives.leadership.impl.TranscodingAsyncLeaderElector;
@@ -33,7 +33,9 @@ import io.atomix.primitives.lock.impl.RaftDistributedLock;
 import io.atomix.primitives.map.AsyncAtomicCounterMap;
 import io.atomix.primitives.map.AsyncConsistentMap;
 import io.atomix.primitives.map.AsyncConsistentTreeMap;
+import io.atomix.primitives.map.impl.ByteArrayKey;
 import io.atomix.primitives.map.impl.RaftAtomicCounterMap;
+import io.atomix.primitives.map.impl.RaftBinaryConsistentMap;
 import io.atomix.primitives.map.impl.RaftConsistentMap;
 import io.atomix.primitives.map.impl.RaftConsistentTreeMap;
 import io.atomix.primitives.multimap.AsyncConsistentMultimap;
@@ -126,6 +128,30 @@ public class RaftPartitionClient implements DistributedPrimitiveCreator, Managed
     return (AsyncConsistentMap<K, V>) rawMap;
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public <K, V> AsyncConsistentMap<K, V> newAsyncBinaryConsistentMap(String name, Serializer serializer) {
+    RaftBinaryConsistentMap rawMap = new RaftBinaryConsistentMap(client.newProxyBuilder()
+        .withName(name)
+        .withServiceType(RaftPartition.BINARY_CONSISTENT_MAP)
+        .withReadConsistency(ReadConsistency.SEQUENTIAL)
+        .withCommunicationStrategy(CommunicationStrategy.ANY)
+        .withTimeout(Duration.ofSeconds(30))
+        .withMaxRetries(5)
+        .build()
+        .open()
+        .join());
+
+    if (serializer != null) {
+      return DistributedPrimitives.newTranscodingMap(rawMap,
+          key -> ByteArrayKey.wrap(serializer.encode(key)),
+          key -> serializer.decode(key.array()),
+          value -> value == null ? null : serializer.encode(value),
+          bytes -> serializer.decode(bytes));
+    }
+    return (AsyncConsistentMap<K, V>) rawMap;
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public <V> AsyncConsistentTreeMap<V> newAsyncConsistentTreeMap(String name, Serializer serializer) {
@@ -220,7 +246,7 @@ public class RaftPartitionClient implements DistributedPrimitiveCreator, Managed
 
   @Override
   public AsyncAtomicIdGenerator newAsyncIdGenerator(String name) {
-    return new RaftIdGenerator(newAsyncCounter(name));
+    return new PrefetchingIdGenerator(newAsyncCounter(name));
   }
 
   @Override
@@ -301,7 +327,18 @@ public class RaftPartitionClient implements DistributedPrimitiveCreator, Managed
 
   @Override
   public Set<String> getPrimitiveNames(Type primitiveType) {
-    return client.metadata().getSessions(primitiveType.name())
+    Set<String> names = getServiceNames(primitiveType.name());
+    if (primitiveType == Type.CONSISTENT_MAP) {
+      names.addAll(getServiceNames(RaftPartition.BINARY_CONSISTENT_MAP));
+    }
+    return names;
+  }
+
+  /**
+   * Returns the names of services of the given service type.
+   */
+  private Set<String> getServiceNames(String serviceType) {
+    return client.metadata().getSessions(serviceType)
         .join()
         .stream()
         .map(RaftSessionMetadata::serviceName)
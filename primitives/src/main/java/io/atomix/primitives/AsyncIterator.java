@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous iterator.
+ * <p>
+ * Asynchronous iterators are used to iterate over large primitive data sets in batches without
+ * requiring the entire data set to be loaded into memory or sent in a single message. Iterators
+ * should be {@link #close() closed} if they're not consumed in full to release server-side resources.
+ *
+ * @param <T> the iterator element type
+ */
+public interface AsyncIterator<T> {
+
+  /**
+   * Returns whether the iterator has a next item.
+   *
+   * @return a future to be completed with a boolean indicating whether the iterator has a next item
+   */
+  CompletableFuture<Boolean> hasNext();
+
+  /**
+   * Returns the next item in the iterator.
+   * <p>
+   * If the iterator has no next item, the returned future will be completed exceptionally with a
+   * {@link java.util.NoSuchElementException}.
+   *
+   * @return a future to be completed with the next item in the iterator
+   */
+  CompletableFuture<T> next();
+
+  /**
+   * Closes the iterator.
+   *
+   * @return a future to be completed once the iterator has been closed
+   */
+  CompletableFuture<Void> close();
+
+}
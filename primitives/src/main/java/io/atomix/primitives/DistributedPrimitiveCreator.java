@@ -30,6 +30,7 @@ import io.atomix.primitives.value.AsyncAtomicValue;
 import io.atomix.serializer.Serializer;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Set;
 
 import static io.atomix.primitives.DistributedPrimitive.DEFAULT_OPERATION_TIMEOUT_MILLIS;
@@ -50,6 +51,20 @@ public interface DistributedPrimitiveCreator {
    */
   <K, V> AsyncConsistentMap<K, V> newAsyncConsistentMap(String name, Serializer serializer);
 
+  /**
+   * Creates a new {@code AsyncConsistentMap} that stores serialized keys in binary form.
+   * <p>
+   * Binary keys are stored separately from the base16 encoded keys of maps created by
+   * {@link #newAsyncConsistentMap(String, Serializer)}, so all instances of a map must be created the same way.
+   *
+   * @param name       map name
+   * @param serializer serializer to use for serializing/deserializing map entries
+   * @param <K>        key type
+   * @param <V>        value type
+   * @return map
+   */
+  <K, V> AsyncConsistentMap<K, V> newAsyncBinaryConsistentMap(String name, Serializer serializer);
+
   /**
    * Creates a new {@code AsyncConsistentTreeMap}.
    *
@@ -60,6 +75,24 @@ public interface DistributedPrimitiveCreator {
    */
   <V> AsyncConsistentTreeMap<V> newAsyncConsistentTreeMap(String name, Serializer serializer);
 
+  /**
+   * Creates a new {@code AsyncConsistentTreeMap} that is range partitioned by the given split points.
+   * <p>
+   * The map is split into one more range than there are split points, and each range is stored in a separate
+   * partition. A map must always be created with the same split points; a map created by
+   * {@link #newAsyncConsistentTreeMap(String, Serializer)} cannot later be range partitioned.
+   *
+   * @param name        tree name
+   * @param serializer  serializer to use for serializing/deserializing map entries
+   * @param splitPoints sorted keys at which to split the map into ranges
+   * @param <V>         value type
+   * @return distributedTreeMap
+   */
+  default <V> AsyncConsistentTreeMap<V> newAsyncConsistentTreeMap(
+      String name, Serializer serializer, List<String> splitPoints) {
+    return newAsyncConsistentTreeMap(name, serializer);
+  }
+
   /**
    * Creates a new set backed {@code AsyncConsistentMultimap}.
    *
@@ -71,6 +104,23 @@ public interface DistributedPrimitiveCreator {
    */
   <K, V> AsyncConsistentMultimap<K, V> newAsyncConsistentSetMultimap(String name, Serializer serializer);
 
+  /**
+   * Creates a new set backed {@code AsyncConsistentMultimap} whose keys are hash partitioned.
+   * <p>
+   * A map must always be created the same way; a map created by
+   * {@link #newAsyncConsistentSetMultimap(String, Serializer)} cannot later be partitioned.
+   *
+   * @param name       multimap name
+   * @param serializer serializer to use for serializing/deserializing
+   * @param <K>        key type
+   * @param <V>        value type
+   * @return set backed distributedMultimap
+   */
+  default <K, V> AsyncConsistentMultimap<K, V> newAsyncPartitionedConsistentSetMultimap(
+      String name, Serializer serializer) {
+    return newAsyncConsistentSetMultimap(name, serializer);
+  }
+
   /**
    * Creates a new {@code AsyncAtomicCounterMap}.
    *
@@ -81,6 +131,21 @@ public interface DistributedPrimitiveCreator {
    */
   <K> AsyncAtomicCounterMap<K> newAsyncAtomicCounterMap(String name, Serializer serializer);
 
+  /**
+   * Creates a new {@code AsyncAtomicCounterMap} whose keys are hash partitioned.
+   * <p>
+   * A map must always be created the same way; a map created by
+   * {@link #newAsyncAtomicCounterMap(String, Serializer)} cannot later be partitioned.
+   *
+   * @param name       counter map name
+   * @param serializer serializer to use for serializing/deserializing keys
+   * @param <K>        key type
+   * @return atomic counter map
+   */
+  default <K> AsyncAtomicCounterMap<K> newAsyncPartitionedAtomicCounterMap(String name, Serializer serializer) {
+    return newAsyncAtomicCounterMap(name, serializer);
+  }
+
   /**
    * Creates a new {@code AsyncAtomicCounter}.
    *
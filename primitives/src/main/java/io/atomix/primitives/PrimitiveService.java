@@ -17,6 +17,7 @@ package io.atomix.primitives;
 
 import io.atomix.primitives.DistributedPrimitive.Type;
 import io.atomix.primitives.counter.AtomicCounterBuilder;
+import io.atomix.primitives.counter.StripedCounterBuilder;
 import io.atomix.primitives.generator.AtomicIdGeneratorBuilder;
 import io.atomix.primitives.leadership.LeaderElectorBuilder;
 import io.atomix.primitives.lock.DistributedLockBuilder;
@@ -93,6 +94,13 @@ public interface PrimitiveService {
    */
   AtomicCounterBuilder atomicCounterBuilder();
 
+  /**
+   * Creates a new StripedCounterBuilder.
+   *
+   * @return striped counter builder
+   */
+  StripedCounterBuilder stripedCounterBuilder();
+
   /**
    * Creates a new AtomicIdGeneratorBuilder.
    *
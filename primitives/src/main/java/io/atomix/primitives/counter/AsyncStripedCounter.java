@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.counter;
+
+import io.atomix.primitives.AsyncPrimitive;
+import io.atomix.primitives.DistributedPrimitive;
+import io.atomix.primitives.counter.impl.BlockingStripedCounter;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An async approximate counter whose value is spread across several stripes.
+ * <p>
+ * Unlike {@link AsyncAtomicCounter}, updates do not return the value of the counter, and {@link #get()} returns the
+ * sum of the stripes read at slightly different times, so the value is only exact once concurrent updates have
+ * completed. In exchange, updates from different clients are applied to different stripes and do not contend.
+ */
+public interface AsyncStripedCounter extends AsyncPrimitive {
+
+  @Override
+  default DistributedPrimitive.Type primitiveType() {
+    return DistributedPrimitive.Type.COUNTER;
+  }
+
+  /**
+   * Increments the counter by one.
+   *
+   * @return future to be completed once the update has been applied
+   */
+  CompletableFuture<Void> increment();
+
+  /**
+   * Adds the given value to the counter.
+   *
+   * @param delta the value to add
+   * @return future to be completed once the update has been applied
+   */
+  CompletableFuture<Void> add(long delta);
+
+  /**
+   * Returns the sum of all stripes.
+   *
+   * @return current value
+   */
+  CompletableFuture<Long> get();
+
+  /**
+   * Returns a new {@link StripedCounter} that is backed by this instance.
+   *
+   * @param timeoutMillis timeout duration for the returned StripedCounter operations
+   * @return new {@code StripedCounter} instance
+   */
+  default StripedCounter asStripedCounter(long timeoutMillis) {
+    return new BlockingStripedCounter(this, timeoutMillis);
+  }
+
+  /**
+   * Returns a new {@link StripedCounter} that is backed by this instance and with a default operation timeout.
+   *
+   * @return new {@code StripedCounter} instance
+   */
+  default StripedCounter asStripedCounter() {
+    return new BlockingStripedCounter(this, DEFAULT_OPERATION_TIMEOUT_MILLIS);
+  }
+}
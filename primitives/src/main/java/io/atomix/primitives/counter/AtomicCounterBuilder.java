@@ -23,10 +23,35 @@ import io.atomix.primitives.DistributedPrimitiveBuilder;
  */
 public abstract class AtomicCounterBuilder
     extends DistributedPrimitiveBuilder<AtomicCounterBuilder, AtomicCounter, AsyncAtomicCounter> {
+
+  private boolean updateCombining;
+
   public AtomicCounterBuilder() {
     super(DistributedPrimitive.Type.COUNTER);
   }
 
+  /**
+   * Enables combining of concurrent updates.
+   * <p>
+   * When update combining is enabled, concurrent updates from the same client are combined into a single
+   * command. Update results remain linearizable.
+   *
+   * @return this builder
+   */
+  public AtomicCounterBuilder withUpdateCombining() {
+    this.updateCombining = true;
+    return this;
+  }
+
+  /**
+   * Returns whether concurrent updates are combined.
+   *
+   * @return whether concurrent updates are combined
+   */
+  public boolean updateCombining() {
+    return updateCombining;
+  }
+
   @Override
   public AtomicCounter build() {
     return buildAsync().asAtomicCounter();
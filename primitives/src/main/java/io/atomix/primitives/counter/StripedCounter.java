@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.counter;
+
+import io.atomix.primitives.DistributedPrimitive;
+import io.atomix.primitives.SyncPrimitive;
+
+/**
+ * Approximate distributed counter whose value is spread across several stripes.
+ */
+public interface StripedCounter extends SyncPrimitive {
+
+  @Override
+  default DistributedPrimitive.Type primitiveType() {
+    return DistributedPrimitive.Type.COUNTER;
+  }
+
+  /**
+   * Increments the counter by one.
+   */
+  void increment();
+
+  /**
+   * Adds the given value to the counter.
+   *
+   * @param delta the value to add
+   */
+  void add(long delta);
+
+  /**
+   * Returns the sum of all stripes.
+   *
+   * @return current value
+   */
+  long get();
+}
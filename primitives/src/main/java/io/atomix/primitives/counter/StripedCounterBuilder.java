@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.counter;
+
+import io.atomix.primitives.DistributedPrimitive;
+import io.atomix.primitives.DistributedPrimitiveBuilder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Builder for StripedCounter.
+ */
+public abstract class StripedCounterBuilder
+    extends DistributedPrimitiveBuilder<StripedCounterBuilder, StripedCounter, AsyncStripedCounter> {
+
+  public static final int DEFAULT_STRIPES = 4;
+
+  private int stripes = DEFAULT_STRIPES;
+
+  public StripedCounterBuilder() {
+    super(DistributedPrimitive.Type.COUNTER);
+  }
+
+  /**
+   * Sets the number of stripes across which the counter value is spread.
+   * <p>
+   * Each stripe is a separate atomic counter named {@code <name>-<stripe>} and may be hosted by a different
+   * partition. The number of stripes must be the same for all instances of the counter.
+   *
+   * @param stripes the number of stripes
+   * @return this builder
+   */
+  public StripedCounterBuilder withStripes(int stripes) {
+    checkArgument(stripes > 0, "stripes must be positive");
+    this.stripes = stripes;
+    return this;
+  }
+
+  /**
+   * Returns the number of stripes across which the counter value is spread.
+   *
+   * @return the number of stripes
+   */
+  public int stripes() {
+    return stripes;
+  }
+
+  @Override
+  public StripedCounter build() {
+    return buildAsync().asStripedCounter();
+  }
+}
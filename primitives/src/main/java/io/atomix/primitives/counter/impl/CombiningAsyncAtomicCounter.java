@@ -0,0 +1,265 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.counter.impl;
+
+import com.google.common.collect.Lists;
+import io.atomix.primitives.counter.AsyncAtomicCounter;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * {@link AsyncAtomicCounter} that combines concurrent local updates.
+ * <p>
+ * At most one command is outstanding per instance; updates that arrive while a command is in flight
+ * are combined into a single {@code addAndGet} of their total delta once the in-flight command completes.
+ * Each combined update is assigned the value it would have observed had the updates been applied one at a
+ * time within that command, so results remain unique and linearizable across instances. Writes that can't be
+ * combined, i.e. {@code set} and {@code compareAndSet}, are queued with the updates and applied on their own, so
+ * all writes from an instance are applied in the order in which they were submitted.
+ */
+public class CombiningAsyncAtomicCounter implements AsyncAtomicCounter {
+  private final AsyncAtomicCounter counter;
+  private final Deque<PendingOperation<?>> pendingOperations = new ArrayDeque<>();
+  private CompletableFuture<Void> lastUpdate = CompletableFuture.completedFuture(null);
+  private boolean flushing;
+
+  public CombiningAsyncAtomicCounter(AsyncAtomicCounter counter) {
+    this.counter = checkNotNull(counter);
+  }
+
+  @Override
+  public String name() {
+    return counter.name();
+  }
+
+  @Override
+  public CompletableFuture<Long> incrementAndGet() {
+    return submit(new PendingUpdate(1, true));
+  }
+
+  @Override
+  public CompletableFuture<Long> getAndIncrement() {
+    return submit(new PendingUpdate(1, false));
+  }
+
+  @Override
+  public CompletableFuture<Long> getAndAdd(long delta) {
+    return submit(new PendingUpdate(delta, false));
+  }
+
+  @Override
+  public CompletableFuture<Long> addAndGet(long delta) {
+    return submit(new PendingUpdate(delta, true));
+  }
+
+  @Override
+  public CompletableFuture<Long> get() {
+    // Wait for local updates to be applied so that reads observe this instance's own writes.
+    return flushed().thenCompose(v -> counter.get());
+  }
+
+  @Override
+  public CompletableFuture<Void> set(long value) {
+    return submit(new PendingCommand<>(() -> counter.set(value)));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> compareAndSet(long expectedValue, long updateValue) {
+    return submit(new PendingCommand<>(() -> counter.compareAndSet(expectedValue, updateValue)));
+  }
+
+  @Override
+  public void addStatusChangeListener(Consumer<Status> listener) {
+    counter.addStatusChangeListener(listener);
+  }
+
+  @Override
+  public void removeStatusChangeListener(Consumer<Status> listener) {
+    counter.removeStatusChangeListener(listener);
+  }
+
+  @Override
+  public Collection<Consumer<Status>> statusChangeListeners() {
+    return counter.statusChangeListeners();
+  }
+
+  @Override
+  public CompletableFuture<Void> close() {
+    return flushed().thenCompose(v -> counter.close());
+  }
+
+  /**
+   * Returns a future to be completed once all writes submitted so far have been applied.
+   *
+   * @return a future to be completed once all pending writes have been applied
+   */
+  synchronized CompletableFuture<Void> flushed() {
+    return lastUpdate;
+  }
+
+  /**
+   * Queues a write to be applied after all previously submitted writes.
+   *
+   * @param operation the write to queue
+   * @return a future to be completed with the write result
+   */
+  private <T> CompletableFuture<T> submit(PendingOperation<T> operation) {
+    List<PendingOperation<?>> batch = null;
+    synchronized (this) {
+      pendingOperations.add(operation);
+      lastUpdate = operation.future.handle((result, error) -> null);
+      if (!flushing) {
+        flushing = true;
+        batch = nextBatch();
+      }
+    }
+    if (batch != null) {
+      flush(batch);
+    }
+    return operation.future;
+  }
+
+  /**
+   * Removes and returns the next batch of pending writes.
+   * <p>
+   * A batch is either a single command or all consecutive updates at the head of the queue.
+   *
+   * @return the next batch of pending writes
+   */
+  private List<PendingOperation<?>> nextBatch() {
+    List<PendingOperation<?>> batch = Lists.newArrayList(pendingOperations.poll());
+    if (batch.get(0) instanceof PendingUpdate) {
+      while (pendingOperations.peek() instanceof PendingUpdate) {
+        batch.add(pendingOperations.poll());
+      }
+    }
+    return batch;
+  }
+
+  /**
+   * Applies a batch of writes and then flushes any writes queued in the meantime.
+   *
+   * @param batch the batch of writes to apply
+   */
+  private void flush(List<PendingOperation<?>> batch) {
+    PendingOperation<?> first = batch.get(0);
+    if (first instanceof PendingCommand) {
+      ((PendingCommand<?>) first).apply().whenComplete((result, error) -> flushNext());
+    } else {
+      applyUpdates(batch).whenComplete((result, error) -> flushNext());
+    }
+  }
+
+  /**
+   * Flushes the next batch of writes if any writes were queued while the previous batch was applied.
+   */
+  private void flushNext() {
+    List<PendingOperation<?>> nextBatch;
+    synchronized (this) {
+      if (pendingOperations.isEmpty()) {
+        flushing = false;
+        return;
+      }
+      nextBatch = nextBatch();
+    }
+    flush(nextBatch);
+  }
+
+  /**
+   * Applies a batch of updates as a single command.
+   *
+   * @param batch the batch of updates to apply
+   * @return a future to be completed once the updates' futures have been completed
+   */
+  private CompletableFuture<Void> applyUpdates(List<PendingOperation<?>> batch) {
+    long total = 0;
+    for (PendingOperation<?> update : batch) {
+      total += ((PendingUpdate) update).delta;
+    }
+
+    long delta = total;
+    return counter.addAndGet(delta).handle((value, error) -> {
+      if (error == null) {
+        // Assign each update the value it would have observed had the updates been applied in order.
+        long current = value - delta;
+        for (PendingOperation<?> operation : batch) {
+          PendingUpdate update = (PendingUpdate) operation;
+          long previous = current;
+          current += update.delta;
+          update.future.complete(update.returnNewValue ? current : previous);
+        }
+      } else {
+        batch.forEach(update -> update.future.completeExceptionally(error));
+      }
+      return null;
+    });
+  }
+
+  /**
+   * Write awaiting a flush.
+   */
+  private abstract static class PendingOperation<T> {
+    final CompletableFuture<T> future = new CompletableFuture<>();
+  }
+
+  /**
+   * Update awaiting a combined flush.
+   */
+  private static class PendingUpdate extends PendingOperation<Long> {
+    private final long delta;
+    private final boolean returnNewValue;
+
+    PendingUpdate(long delta, boolean returnNewValue) {
+      this.delta = delta;
+      this.returnNewValue = returnNewValue;
+    }
+  }
+
+  /**
+   * Write that can't be combined with updates and is applied on its own.
+   */
+  private static class PendingCommand<T> extends PendingOperation<T> {
+    private final Supplier<CompletableFuture<T>> command;
+
+    PendingCommand(Supplier<CompletableFuture<T>> command) {
+      this.command = command;
+    }
+
+    /**
+     * Applies the command, completing its future with the result.
+     *
+     * @return a future to be completed once the command's future has been completed
+     */
+    CompletableFuture<Void> apply() {
+      return command.get().handle((result, error) -> {
+        if (error == null) {
+          future.complete(result);
+        } else {
+          future.completeExceptionally(error);
+        }
+        return null;
+      });
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.counter.impl;
+
+import com.google.common.collect.ImmutableList;
+import io.atomix.primitives.AsyncPrimitive;
+import io.atomix.primitives.counter.AsyncAtomicCounter;
+import io.atomix.primitives.counter.AsyncStripedCounter;
+import io.atomix.utils.concurrent.Futures;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Default {@link AsyncStripedCounter} implementation.
+ * <p>
+ * Each instance applies its updates to a single randomly chosen stripe, combining concurrent local updates
+ * with a {@link CombiningAsyncAtomicCounter}. {@link #get()} returns the sum of all stripes.
+ */
+public class DefaultAsyncStripedCounter implements AsyncStripedCounter {
+  private final String name;
+  private final List<AsyncAtomicCounter> stripes;
+  private final CombiningAsyncAtomicCounter stripe;
+
+  public DefaultAsyncStripedCounter(String name, List<AsyncAtomicCounter> stripes) {
+    this.name = checkNotNull(name);
+    this.stripes = ImmutableList.copyOf(checkNotNull(stripes));
+    checkArgument(!stripes.isEmpty(), "stripes cannot be empty");
+    this.stripe = new CombiningAsyncAtomicCounter(
+        this.stripes.get(ThreadLocalRandom.current().nextInt(this.stripes.size())));
+  }
+
+  @Override
+  public String name() {
+    return name;
+  }
+
+  @Override
+  public CompletableFuture<Void> increment() {
+    return add(1);
+  }
+
+  @Override
+  public CompletableFuture<Void> add(long delta) {
+    return stripe.addAndGet(delta).thenApply(v -> null);
+  }
+
+  @Override
+  public CompletableFuture<Long> get() {
+    // Wait for local updates to be applied so that reads observe this instance's own writes.
+    return stripe.flushed().thenCompose(v -> Futures.allOf(stripes.stream()
+        .map(AsyncAtomicCounter::get)
+        .collect(Collectors.toList()), Math::addExact, 0L));
+  }
+
+  @Override
+  public void addStatusChangeListener(Consumer<Status> listener) {
+    stripes.forEach(counter -> counter.addStatusChangeListener(listener));
+  }
+
+  @Override
+  public void removeStatusChangeListener(Consumer<Status> listener) {
+    stripes.forEach(counter -> counter.removeStatusChangeListener(listener));
+  }
+
+  @Override
+  public Collection<Consumer<Status>> statusChangeListeners() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public CompletableFuture<Void> close() {
+    return stripe.flushed().thenCompose(v -> Futures.allOf(stripes.stream()
+        .map(AsyncPrimitive::close)
+        .collect(Collectors.toList())))
+        .thenApply(v -> null);
+  }
+}
@@ -32,6 +32,7 @@ public class DefaultAtomicCounterBuilder extends AtomicCounterBuilder {
 
   @Override
   public AsyncAtomicCounter buildAsync() {
-    return primitiveCreator.newAsyncCounter(name());
+    AsyncAtomicCounter counter = primitiveCreator.newAsyncCounter(name());
+    return updateCombining() ? new CombiningAsyncAtomicCounter(counter) : counter;
   }
 }
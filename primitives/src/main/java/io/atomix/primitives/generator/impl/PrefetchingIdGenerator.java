@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.generator.impl;
+
+import com.google.common.collect.Lists;
+import io.atomix.primitives.counter.AsyncAtomicCounter;
+import io.atomix.primitives.generator.AsyncAtomicIdGenerator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@code AsyncAtomicIdGenerator} that reserves blocks of IDs from an {@link AsyncAtomicCounter} ahead of use.
+ * <p>
+ * The next block is reserved asynchronously once fewer than half a block of IDs remain, so in steady state
+ * {@link #nextId()} completes immediately from a local block. The block size adapts to the rate at which IDs
+ * are consumed so that each block lasts roughly {@link #TARGET_BLOCK_MILLIS}, and several reservations may be
+ * in flight at once to absorb bursts.
+ */
+public class PrefetchingIdGenerator implements AsyncAtomicIdGenerator {
+
+  private static final long DEFAULT_MIN_BLOCK_SIZE = 100;
+  private static final long DEFAULT_MAX_BLOCK_SIZE = 1024 * 1024;
+  private static final long TARGET_BLOCK_MILLIS = 1000;
+  private static final int MAX_RESERVATIONS = 4;
+
+  private final AsyncAtomicCounter counter;
+  private final long minBlockSize;
+  private final long maxBlockSize;
+  private final Deque<Block> blocks = new ArrayDeque<>();
+  private final Deque<CompletableFuture<Long>> waiters = new ArrayDeque<>();
+  private long blockSize;
+  private long availableIds;
+  private long reservingIds;
+  private int reservations;
+  private long consumedIds;
+  private long lastReserveTime = System.currentTimeMillis();
+
+  public PrefetchingIdGenerator(AsyncAtomicCounter counter) {
+    this(counter, DEFAULT_MIN_BLOCK_SIZE, DEFAULT_MAX_BLOCK_SIZE);
+  }
+
+  PrefetchingIdGenerator(AsyncAtomicCounter counter, long minBlockSize, long maxBlockSize) {
+    checkArgument(minBlockSize > 0, "minBlockSize must be positive");
+    checkArgument(maxBlockSize >= minBlockSize, "maxBlockSize must be at least minBlockSize");
+    this.counter = counter;
+    this.minBlockSize = minBlockSize;
+    this.maxBlockSize = maxBlockSize;
+    this.blockSize = minBlockSize;
+  }
+
+  @Override
+  public String name() {
+    return counter.name();
+  }
+
+  @Override
+  public CompletableFuture<Long> nextId() {
+    CompletableFuture<Long> future;
+    synchronized (this) {
+      consumedIds++;
+      if (availableIds > 0) {
+        future = CompletableFuture.completedFuture(takeId());
+      } else {
+        future = new CompletableFuture<>();
+        waiters.add(future);
+      }
+      prefetch();
+    }
+    return future;
+  }
+
+  @Override
+  public CompletableFuture<Void> close() {
+    return counter.close();
+  }
+
+  /**
+   * Returns the current block size.
+   *
+   * @return the current block size
+   */
+  synchronized long blockSize() {
+    return blockSize;
+  }
+
+  /**
+   * Takes the next ID from the local blocks.
+   *
+   * @return the next ID
+   */
+  private long takeId() {
+    Block block = blocks.peek();
+    long id = block.next++;
+    if (block.next > block.last) {
+      blocks.remove();
+    }
+    availableIds--;
+    return id;
+  }
+
+  /**
+   * Reserves new blocks until enough IDs are available or reserved to satisfy waiting callers and at least
+   * half a block of future calls.
+   */
+  private void prefetch() {
+    while (reservations < MAX_RESERVATIONS
+        && availableIds + reservingIds - waiters.size() < blockSize / 2) {
+      reserve(nextBlockSize());
+    }
+  }
+
+  /**
+   * Computes the size of the next block from the rate at which IDs were consumed since the last reservation.
+   *
+   * @return the size of the next block
+   */
+  private long nextBlockSize() {
+    long currentTime = System.currentTimeMillis();
+    long elapsed = Math.max(currentTime - lastReserveTime, 1);
+    long targetSize = consumedIds * TARGET_BLOCK_MILLIS / elapsed;
+    // Average with the previous size to smooth out short bursts and pauses.
+    blockSize = Math.max(minBlockSize, Math.min(maxBlockSize, (blockSize + targetSize) / 2));
+    consumedIds = 0;
+    lastReserveTime = currentTime;
+    return blockSize;
+  }
+
+  /**
+   * Reserves a block of IDs from the counter.
+   *
+   * @param size the number of IDs to reserve
+   */
+  private void reserve(long size) {
+    reservations++;
+    reservingIds += size;
+    counter.getAndAdd(size).whenComplete((base, error) -> {
+      List<CompletableFuture<Long>> failed = Lists.newArrayList();
+      List<CompletableFuture<Long>> completed = Lists.newArrayList();
+      List<Long> ids = Lists.newArrayList();
+      synchronized (this) {
+        reservations--;
+        reservingIds -= size;
+        if (error == null) {
+          blocks.add(new Block(base + 1, base + size));
+          availableIds += size;
+          while (!waiters.isEmpty() && availableIds > 0) {
+            completed.add(waiters.remove());
+            ids.add(takeId());
+          }
+          prefetch();
+        } else if (reservations == 0) {
+          // No other reservation can satisfy the waiting callers.
+          failed.addAll(waiters);
+          waiters.clear();
+        }
+      }
+      for (int i = 0; i < completed.size(); i++) {
+        completed.get(i).complete(ids.get(i));
+      }
+      failed.forEach(future -> future.completeExceptionally(error));
+    });
+  }
+
+  /**
+   * Reserved block of IDs.
+   */
+  private static class Block {
+    private long next;
+    private final long last;
+
+    Block(long first, long last) {
+      this.next = first;
+      this.last = last;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.impl;
+
+import com.google.common.base.Throwables;
+import io.atomix.primitives.AsyncIterator;
+import io.atomix.primitives.PrimitiveException;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Iterator that blocks on the futures of an asynchronous iterator.
+ *
+ * @param <T> the iterator element type
+ */
+public class BlockingIterator<T> implements Iterator<T> {
+  private final AsyncIterator<T> asyncIterator;
+  private final long operationTimeoutMillis;
+
+  public BlockingIterator(AsyncIterator<T> asyncIterator, long operationTimeoutMillis) {
+    this.asyncIterator = checkNotNull(asyncIterator);
+    this.operationTimeoutMillis = operationTimeoutMillis;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return complete(asyncIterator.hasNext());
+  }
+
+  @Override
+  public T next() {
+    return complete(asyncIterator.next());
+  }
+
+  private <U> U complete(CompletableFuture<U> future) {
+    try {
+      return future.get(operationTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PrimitiveException.Interrupted();
+    } catch (TimeoutException e) {
+      throw new PrimitiveException.Timeout();
+    } catch (ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause());
+      throw new PrimitiveException(e.getCause());
+    }
+  }
+}
@@ -36,8 +36,12 @@ import io.atomix.primitives.lock.AsyncDistributedLock;
 import io.atomix.primitives.map.AsyncAtomicCounterMap;
 import io.atomix.primitives.map.AsyncConsistentMap;
 import io.atomix.primitives.map.AsyncConsistentTreeMap;
+import io.atomix.primitives.map.impl.ByteArrayKey;
+import io.atomix.primitives.map.impl.PartitionedAsyncAtomicCounterMap;
 import io.atomix.primitives.map.impl.PartitionedAsyncConsistentMap;
+import io.atomix.primitives.map.impl.PartitionedAsyncConsistentTreeMap;
 import io.atomix.primitives.multimap.AsyncConsistentMultimap;
+import io.atomix.primitives.multimap.impl.PartitionedAsyncConsistentMultimap;
 import io.atomix.primitives.queue.AsyncWorkQueue;
 import io.atomix.primitives.set.AsyncDistributedSet;
 import io.atomix.primitives.tree.AsyncDocumentTree;
@@ -45,15 +49,20 @@ import io.atomix.primitives.tree.DocumentPath;
 import io.atomix.primitives.tree.impl.PartitionedAsyncDocumentTree;
 import io.atomix.primitives.value.AsyncAtomicValue;
 import io.atomix.serializer.Serializer;
+import io.atomix.serializer.kryo.KryoNamespaces;
 
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 /**
  * {@code DistributedPrimitiveCreator} that federates responsibility for creating
@@ -63,6 +72,7 @@ public class FederatedDistributedPrimitiveCreator implements DistributedPrimitiv
 
   private static final Funnel<Iterable<? extends CharSequence>> STR_LIST_FUNNEL =
       Funnels.sequentialFunnel(Funnels.unencodedCharsFunnel());
+  private static final Serializer SPLIT_POINTS_SERIALIZER = Serializer.using(KryoNamespaces.BASIC);
 
   private final TreeMap<Integer, DistributedPrimitiveCreator> members;
   private final List<Integer> sortedMemberPartitionIds;
@@ -87,10 +97,7 @@ public class FederatedDistributedPrimitiveCreator implements DistributedPrimitiv
                 BaseEncoding.base16()::decode,
                 Function.identity(),
                 Function.identity()));
-    Hasher<byte[]> hasher = key -> {
-      int bucket = Math.abs(Hashing.murmur3_32().hashBytes(key).asInt()) % buckets;
-      return sortedMemberPartitionIds.get(Hashing.consistentHash(bucket, sortedMemberPartitionIds.size()));
-    };
+    Hasher<byte[]> hasher = this::getPartitionId;
     AsyncConsistentMap<byte[], byte[]> partitionedMap = new PartitionedAsyncConsistentMap<>(name, maps, hasher);
     return DistributedPrimitives.newTranscodingMap(partitionedMap,
         key -> serializer.encode(key),
@@ -99,16 +106,55 @@ public class FederatedDistributedPrimitiveCreator implements DistributedPrimitiv
         bytes -> serializer.decode(bytes));
   }
 
+  @Override
+  public <K, V> AsyncConsistentMap<K, V> newAsyncBinaryConsistentMap(String name, Serializer serializer) {
+    checkNotNull(name);
+    checkNotNull(serializer);
+    Map<Integer, AsyncConsistentMap<ByteArrayKey, byte[]>> maps = Maps.transformValues(members,
+        partition -> partition.<ByteArrayKey, byte[]>newAsyncBinaryConsistentMap(name, null));
+    Hasher<ByteArrayKey> hasher = key -> getPartitionId(key.array());
+    AsyncConsistentMap<ByteArrayKey, byte[]> partitionedMap = new PartitionedAsyncConsistentMap<>(name, maps, hasher);
+    return DistributedPrimitives.newTranscodingMap(partitionedMap,
+        key -> ByteArrayKey.wrap(serializer.encode(key)),
+        key -> serializer.decode(key.array()),
+        value -> value == null ? null : serializer.encode(value),
+        bytes -> serializer.decode(bytes));
+  }
+
   @Override
   public <V> AsyncConsistentTreeMap<V> newAsyncConsistentTreeMap(String name, Serializer serializer) {
     return getCreator(name).newAsyncConsistentTreeMap(name, serializer);
   }
 
+  @Override
+  public <V> AsyncConsistentTreeMap<V> newAsyncConsistentTreeMap(
+      String name, Serializer serializer, List<String> splitPoints) {
+    checkNotNull(name);
+    checkNotNull(serializer);
+    checkNotNull(splitPoints);
+    checkArgument(splitPoints.size() < members.size(),
+        "cannot split tree map across more than %s partitions", members.size());
+    List<AsyncConsistentTreeMap<V>> maps = sortedMemberPartitionIds.subList(0, splitPoints.size() + 1).stream()
+        .map(partitionId -> members.get(partitionId).<V>newAsyncConsistentTreeMap(name, serializer))
+        .collect(Collectors.toList());
+    return new PartitionedAsyncConsistentTreeMap<>(name, maps, getSplitPoints(name, splitPoints));
+  }
+
   @Override
   public <K, V> AsyncConsistentMultimap<K, V> newAsyncConsistentSetMultimap(String name, Serializer serializer) {
     return getCreator(name).newAsyncConsistentSetMultimap(name, serializer);
   }
 
+  @Override
+  public <K, V> AsyncConsistentMultimap<K, V> newAsyncPartitionedConsistentSetMultimap(
+      String name, Serializer serializer) {
+    checkNotNull(name);
+    checkNotNull(serializer);
+    Map<Integer, AsyncConsistentMultimap<K, V>> multimaps =
+        Maps.transformValues(members, partition -> partition.<K, V>newAsyncConsistentSetMultimap(name, serializer));
+    return new PartitionedAsyncConsistentMultimap<>(name, multimaps, serializedKeyHasher(serializer));
+  }
+
   @Override
   public <E> AsyncDistributedSet<E> newAsyncDistributedSet(String name, Serializer serializer) {
     return DistributedPrimitives.newSetFromMap(newAsyncConsistentMap(name, serializer));
@@ -119,6 +165,15 @@ public class FederatedDistributedPrimitiveCreator implements DistributedPrimitiv
     return getCreator(name).newAsyncAtomicCounterMap(name, serializer);
   }
 
+  @Override
+  public <K> AsyncAtomicCounterMap<K> newAsyncPartitionedAtomicCounterMap(String name, Serializer serializer) {
+    checkNotNull(name);
+    checkNotNull(serializer);
+    Map<Integer, AsyncAtomicCounterMap<K>> maps =
+        Maps.transformValues(members, partition -> partition.<K>newAsyncAtomicCounterMap(name, serializer));
+    return new PartitionedAsyncAtomicCounterMap<>(name, maps, serializedKeyHasher(serializer));
+  }
+
   @Override
   public AsyncAtomicCounter newAsyncCounter(String name) {
     return getCreator(name).newAsyncCounter(name);
@@ -174,6 +229,56 @@ public class FederatedDistributedPrimitiveCreator implements DistributedPrimitiv
         .orElse(ImmutableSet.of());
   }
 
+  /**
+   * Returns a hasher that maps keys to partitions by their serialized bytes.
+   * <p>
+   * Keys are hashed exactly as the partitioned consistent map hashes its binary keys, so a key maps to the
+   * same partition regardless of the type of primitive in which it is stored.
+   *
+   * @param serializer the serializer with which to encode keys
+   * @param <K> key type
+   * @return the key hasher
+   */
+  private <K> Hasher<K> serializedKeyHasher(Serializer serializer) {
+    return key -> getPartitionId(serializer.encode(key));
+  }
+
+  /**
+   * Returns the identifier of the partition to which the given serialized key maps.
+   *
+   * @param bytes the serialized key
+   * @return the partition identifier
+   */
+  private int getPartitionId(byte[] bytes) {
+    int bucket = Math.abs(Hashing.murmur3_32().hashBytes(bytes).asInt()) % buckets;
+    return sortedMemberPartitionIds.get(Hashing.consistentHash(bucket, sortedMemberPartitionIds.size()));
+  }
+
+  /**
+   * Returns the split points for a range partitioned primitive.
+   * <p>
+   * Split points are stored in an atomic value alongside the primitive so that all nodes agree on the range
+   * owned by each partition. The first node to create the primitive stores its split points, and the returned
+   * future fails if the stored split points differ from the given split points.
+   *
+   * @param name primitive name
+   * @param splitPoints the split points with which the primitive is being created
+   * @return a future to be completed with the split points for the primitive
+   */
+  private CompletableFuture<List<String>> getSplitPoints(String name, List<String> splitPoints) {
+    String splitPointsName = name + "-split-points";
+    AsyncAtomicValue<List<String>> value =
+        getCreator(splitPointsName).newAsyncAtomicValue(splitPointsName, SPLIT_POINTS_SERIALIZER);
+    return value.compareAndSet(null, Lists.newArrayList(splitPoints))
+        .thenCompose(v -> value.get())
+        .thenApply(storedSplitPoints -> {
+          checkState(storedSplitPoints.equals(splitPoints),
+              "%s was created with split points %s", name, storedSplitPoints);
+          return storedSplitPoints;
+        })
+        .whenComplete((result, error) -> value.close());
+  }
+
   /**
    * Returns the {@code DistributedPrimitiveCreator} to use for hosting a primitive.
    *
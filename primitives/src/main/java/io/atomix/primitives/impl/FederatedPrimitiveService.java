@@ -19,7 +19,9 @@ import io.atomix.primitives.DistributedPrimitive.Type;
 import io.atomix.primitives.DistributedPrimitiveCreator;
 import io.atomix.primitives.PrimitiveService;
 import io.atomix.primitives.counter.AtomicCounterBuilder;
+import io.atomix.primitives.counter.StripedCounterBuilder;
 import io.atomix.primitives.counter.impl.DefaultAtomicCounterBuilder;
+import io.atomix.primitives.counter.impl.DefaultStripedCounterBuilder;
 import io.atomix.primitives.generator.AtomicIdGeneratorBuilder;
 import io.atomix.primitives.generator.impl.DefaultAtomicIdGeneratorBuilder;
 import io.atomix.primitives.leadership.LeaderElectorBuilder;
@@ -91,6 +93,11 @@ public class FederatedPrimitiveService implements PrimitiveService {
     return new DefaultAtomicCounterBuilder(federatedPrimitiveCreator);
   }
 
+  @Override
+  public StripedCounterBuilder stripedCounterBuilder() {
+    return new DefaultStripedCounterBuilder(federatedPrimitiveCreator);
+  }
+
   @Override
   public AtomicIdGeneratorBuilder atomicIdGeneratorBuilder() {
     return new DefaultAtomicIdGeneratorBuilder(federatedPrimitiveCreator);
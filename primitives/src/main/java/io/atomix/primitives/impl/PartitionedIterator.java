@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.impl;
+
+import com.google.common.collect.Lists;
+import io.atomix.primitives.AsyncIterator;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Iterator that iterates over the iterators of several partitions.
+ * <p>
+ * The iterator consumes partition iterators in order. Partition iterators are expected to fetch their
+ * batches independently, so all partitions are scanned in parallel while elements are consumed from
+ * the first unexhausted partition.
+ *
+ * @param <T> the iterator element type
+ */
+public class PartitionedIterator<T> implements AsyncIterator<T> {
+  private final List<AsyncIterator<T>> iterators;
+  private int index;
+
+  public PartitionedIterator(Collection<AsyncIterator<T>> iterators) {
+    this.iterators = Lists.newArrayList(checkNotNull(iterators));
+  }
+
+  @Override
+  public synchronized CompletableFuture<Boolean> hasNext() {
+    if (index == iterators.size()) {
+      return CompletableFuture.completedFuture(false);
+    }
+    return iterators.get(index).hasNext().thenCompose(hasNext -> {
+      if (hasNext) {
+        return CompletableFuture.completedFuture(true);
+      }
+      synchronized (this) {
+        index++;
+      }
+      return hasNext();
+    });
+  }
+
+  @Override
+  public CompletableFuture<T> next() {
+    return hasNext().thenCompose(hasNext -> {
+      if (!hasNext) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(new NoSuchElementException());
+        return future;
+      }
+      synchronized (this) {
+        return iterators.get(index).next();
+      }
+    });
+  }
+
+  @Override
+  public CompletableFuture<Void> close() {
+    return CompletableFuture.allOf(iterators.stream()
+        .map(AsyncIterator::close)
+        .toArray(CompletableFuture[]::new));
+  }
+}
@@ -29,6 +29,7 @@ import io.atomix.primitives.leadership.impl.RaftLeaderElectorOperations.Evict;
 import io.atomix.primitives.leadership.impl.RaftLeaderElectorOperations.Promote;
 import io.atomix.primitives.leadership.impl.RaftLeaderElectorOperations.Run;
 import io.atomix.primitives.leadership.impl.RaftLeaderElectorOperations.Withdraw;
+import io.atomix.protocols.raft.event.RaftEvent;
 import io.atomix.protocols.raft.service.AbstractRaftService;
 import io.atomix.protocols.raft.service.Commit;
 import io.atomix.protocols.raft.service.RaftServiceExecutor;
@@ -126,7 +127,11 @@ public class RaftLeaderElectorService extends AbstractRaftService {
     if (changes.isEmpty()) {
       return;
     }
-    listeners.values().forEach(session -> session.publish(CHANGE, SERIALIZER::encode, changes));
+    if (listeners.isEmpty()) {
+      return;
+    }
+    RaftEvent event = new RaftEvent(CHANGE, SERIALIZER.encode(changes));
+    listeners.values().forEach(session -> session.publish(event));
   }
 
   /**
@@ -17,6 +17,7 @@
 package io.atomix.primitives.map;
 
 import com.google.common.util.concurrent.MoreExecutors;
+import io.atomix.primitives.AsyncIterator;
 import io.atomix.primitives.AsyncPrimitive;
 import io.atomix.primitives.DistributedPrimitive;
 import io.atomix.primitives.Transactional;
@@ -25,6 +26,7 @@ import io.atomix.primitives.map.impl.MapUpdate;
 import io.atomix.time.Versioned;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
@@ -123,6 +125,16 @@ public interface AsyncConsistentMap<K, V> extends AsyncPrimitive, Transactional<
    */
   CompletableFuture<Versioned<V>> getOrDefault(K key, V defaultValue);
 
+  /**
+   * Returns the values (and versions) to which the specified keys are mapped.
+   * <p>
+   * Keys that are not present in the map are omitted from the returned map.
+   *
+   * @param keys the keys whose associated values (and versions) are to be returned
+   * @return a future map of keys to the values (and versions) to which they are mapped
+   */
+  CompletableFuture<Map<K, Versioned<V>>> getAll(Collection<K> keys);
+
   /**
    * If the specified key is not already associated with a value (or is mapped to null),
    * attempts to compute its value using the given mapping function and enters it into
@@ -211,6 +223,18 @@ public interface AsyncConsistentMap<K, V> extends AsyncPrimitive, Transactional<
    */
   CompletableFuture<Versioned<V>> putAndGet(K key, V value);
 
+  /**
+   * Associates all of the specified key-value pairs with this map (optional operation).
+   * <p>
+   * Entries that hash to the same partition are applied atomically. If any key in a
+   * partition is locked by a pending transaction, the returned future will be completed
+   * exceptionally with ConsistentMapException.ConcurrentModification.
+   *
+   * @param entries the entries to be stored in this map
+   * @return future that will be completed when all entries have been stored
+   */
+  CompletableFuture<Void> putAll(Map<K, V> entries);
+
   /**
    * Removes the mapping for a key from this map if it is present (optional operation).
    *
@@ -220,6 +244,18 @@ public interface AsyncConsistentMap<K, V> extends AsyncPrimitive, Transactional<
    */
   CompletableFuture<Versioned<V>> remove(K key);
 
+  /**
+   * Removes the mappings for all of the specified keys from this map (optional operation).
+   * <p>
+   * Keys that hash to the same partition are removed atomically. If any key in a
+   * partition is locked by a pending transaction, the returned future will be completed
+   * exceptionally with ConsistentMapException.ConcurrentModification.
+   *
+   * @param keys the keys whose mappings are to be removed from the map
+   * @return future that will be completed when all keys have been removed
+   */
+  CompletableFuture<Void> removeAll(Collection<K> keys);
+
   /**
    * Removes all of the mappings from this map (optional operation).
    * The map will be empty after this call returns.
@@ -261,6 +297,18 @@ public interface AsyncConsistentMap<K, V> extends AsyncPrimitive, Transactional<
    */
   CompletableFuture<Set<Entry<K, Versioned<V>>>> entrySet();
 
+  /**
+   * Returns an asynchronous iterator over the entries contained in this map.
+   * <p>
+   * Unlike {@link #entrySet()}, the iterator fetches entries from the map in batches, so the map's
+   * entries never need to fit in a single response. The iterator is weakly consistent: modifications
+   * made to the map while the iterator is open may or may not be reflected by the iterator. Iterators that are not consumed in full should be
+   * {@link AsyncIterator#close() closed} to release resources held by the map.
+   *
+   * @return a future to be completed with an iterator over the entries contained in this map
+   */
+  CompletableFuture<AsyncIterator<Entry<K, Versioned<V>>>> iterator();
+
   /**
    * If the specified key is not already associated with a value associates
    * it with the given value and returns null, else behaves as a get
@@ -344,6 +392,33 @@ public interface AsyncConsistentMap<K, V> extends AsyncPrimitive, Transactional<
    */
   CompletableFuture<Void> addListener(MapEventListener<K, V> listener, Executor executor);
 
+  /**
+   * Registers the specified listener to be notified whenever an entry matching the given filter is updated.
+   * <p>
+   * Events are filtered by the map's state machine, so events that don't match the filter are not sent to the
+   * client at all.
+   *
+   * @param filter   filter restricting the events delivered to the listener
+   * @param listener listener to notify about map events
+   * @return future that will be completed when the operation finishes
+   */
+  default CompletableFuture<Void> addListener(MapEventFilter<K> filter, MapEventListener<K, V> listener) {
+    return addListener(filter, listener, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Registers the specified listener to be notified whenever an entry matching the given filter is updated.
+   * <p>
+   * Events are filtered by the map's state machine, so events that don't match the filter are not sent to the
+   * client at all.
+   *
+   * @param filter   filter restricting the events delivered to the listener
+   * @param listener listener to notify about map events
+   * @param executor executor to use for handling incoming map events
+   * @return future that will be completed when the operation finishes
+   */
+  CompletableFuture<Void> addListener(MapEventFilter<K> filter, MapEventListener<K, V> listener, Executor executor);
+
   /**
    * Unregisters the specified listener such that it will no longer
    * receive map change notifications.
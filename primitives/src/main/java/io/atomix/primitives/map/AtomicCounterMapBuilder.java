@@ -23,10 +23,34 @@ import io.atomix.primitives.DistributedPrimitiveBuilder;
  */
 public abstract class AtomicCounterMapBuilder<K>
     extends DistributedPrimitiveBuilder<AtomicCounterMapBuilder<K>, AtomicCounterMap<K>, AsyncAtomicCounterMap<K>> {
+  private boolean partitioned = false;
+
   public AtomicCounterMapBuilder() {
     super(DistributedPrimitive.Type.COUNTER_MAP);
   }
 
+  /**
+   * Hash partitions the map's keys across all partitions.
+   * <p>
+   * Every node must build a given map with the same setting, and a map that was created without partitioning
+   * cannot later be partitioned.
+   *
+   * @return this builder
+   */
+  public AtomicCounterMapBuilder<K> withPartitioning() {
+    partitioned = true;
+    return this;
+  }
+
+  /**
+   * Returns whether the map's keys are hash partitioned.
+   *
+   * @return {@code true} if the map is partitioned; {@code false} otherwise
+   */
+  public boolean partitioned() {
+    return partitioned;
+  }
+
   @Override
   public AtomicCounterMap<K> build() {
     return buildAsync().asAtomicCounterMap();
@@ -21,6 +21,7 @@ import io.atomix.primitives.SyncPrimitive;
 import io.atomix.time.Versioned;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -92,6 +93,16 @@ public interface ConsistentMap<K, V> extends SyncPrimitive {
    */
   Versioned<V> getOrDefault(K key, V defaultValue);
 
+  /**
+   * Returns the values (and versions) to which the specified keys are mapped.
+   * <p>
+   * Keys that are not present in the map are omitted from the returned map.
+   *
+   * @param keys the keys whose associated values (and versions) are to be returned
+   * @return a map of keys to the values (and versions) to which they are mapped
+   */
+  Map<K, Versioned<V>> getAll(Collection<K> keys);
+
   /**
    * If the specified key is not already associated with a value (or is mapped to null),
    * attempts to compute its value using the given mapping function and enters it into
@@ -173,6 +184,15 @@ public interface ConsistentMap<K, V> extends SyncPrimitive {
    */
   Versioned<V> putAndGet(K key, V value);
 
+  /**
+   * Associates all of the specified key-value pairs with this map (optional operation).
+   * This method throws {@code ConsistentMapException.ConcurrentModification}
+   * if a key is locked by a pending transaction.
+   *
+   * @param entries the entries to be stored in this map
+   */
+  void putAll(Map<K, V> entries);
+
   /**
    * Removes the mapping for a key from this map if it is present (optional operation).
    *
@@ -182,6 +202,15 @@ public interface ConsistentMap<K, V> extends SyncPrimitive {
    */
   Versioned<V> remove(K key);
 
+  /**
+   * Removes the mappings for all of the specified keys from this map (optional operation).
+   * This method throws {@code ConsistentMapException.ConcurrentModification}
+   * if a key is locked by a pending transaction.
+   *
+   * @param keys the keys whose mappings are to be removed from the map
+   */
+  void removeAll(Collection<K> keys);
+
   /**
    * Removes all of the mappings from this map (optional operation).
    * The map will be empty after this call returns.
@@ -221,6 +250,17 @@ public interface ConsistentMap<K, V> extends SyncPrimitive {
    */
   Set<Entry<K, Versioned<V>>> entrySet();
 
+  /**
+   * Returns an iterator over the entries contained in this map.
+   * <p>
+   * Unlike {@link #entrySet()}, the iterator fetches entries from the map in batches, so the map's
+   * entries never need to fit in a single response. The iterator is weakly consistent: modifications
+   * made to the map while the iterator is open may or may not be reflected by the iterator.
+   *
+   * @return an iterator over the entries contained in this map
+   */
+  Iterator<Entry<K, Versioned<V>>> iterator();
+
   /**
    * If the specified key is not already associated with a value
    * associates it with the given value and returns null, else returns the current value.
@@ -301,6 +341,25 @@ public interface ConsistentMap<K, V> extends SyncPrimitive {
    */
   void addListener(MapEventListener<K, V> listener, Executor executor);
 
+  /**
+   * Registers the specified listener to be notified whenever an entry matching the given filter is updated.
+   *
+   * @param filter   filter restricting the events delivered to the listener
+   * @param listener listener to notify about map events
+   */
+  default void addListener(MapEventFilter<K> filter, MapEventListener<K, V> listener) {
+    addListener(filter, listener, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Registers the specified listener to be notified whenever an entry matching the given filter is updated.
+   *
+   * @param filter   filter restricting the events delivered to the listener
+   * @param listener listener to notify about map events
+   * @param executor executor to use for handling incoming map events
+   */
+  void addListener(MapEventFilter<K> filter, MapEventListener<K, V> listener, Executor executor);
+
   /**
    * Unregisters the specified listener such that it will no longer
    * receive map change notifications.
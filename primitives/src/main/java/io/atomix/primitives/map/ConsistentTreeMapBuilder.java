@@ -16,19 +16,55 @@
 
 package io.atomix.primitives.map;
 
+import com.google.common.collect.ImmutableList;
 import io.atomix.primitives.DistributedPrimitive;
 import io.atomix.primitives.DistributedPrimitiveBuilder;
 
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * Builder for {@link ConsistentTreeMap}.
  */
 public abstract class ConsistentTreeMapBuilder<V>
     extends DistributedPrimitiveBuilder<ConsistentTreeMapBuilder<V>, ConsistentTreeMap<V>, AsyncConsistentTreeMap<V>> {
 
+  private List<String> splitPoints;
+
   public ConsistentTreeMapBuilder() {
     super(DistributedPrimitive.Type.CONSISTENT_TREEMAP);
   }
 
+  /**
+   * Range partitions the map at the given keys.
+   * <p>
+   * Each range between consecutive split points is stored in a separate partition, so split points should divide
+   * the expected keys evenly. Every node must build a given map with the same split points, and a map that was
+   * created without split points cannot later be range partitioned.
+   *
+   * @param splitPoints sorted keys at which to split the map into ranges
+   * @return this builder
+   */
+  public ConsistentTreeMapBuilder<V> withSplitPoints(List<String> splitPoints) {
+    checkNotNull(splitPoints, "splitPoints cannot be null");
+    for (int i = 1; i < splitPoints.size(); i++) {
+      checkArgument(splitPoints.get(i - 1).compareTo(splitPoints.get(i)) < 0, "splitPoints must be sorted");
+    }
+    this.splitPoints = ImmutableList.copyOf(splitPoints);
+    return this;
+  }
+
+  /**
+   * Returns the keys at which the map is range partitioned.
+   *
+   * @return the split points or {@code null} if the map is not range partitioned
+   */
+  public List<String> splitPoints() {
+    return splitPoints;
+  }
+
   @Override
   public ConsistentTreeMap<V> build() {
     return buildAsync().asTreeMap();
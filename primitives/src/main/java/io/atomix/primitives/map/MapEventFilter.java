@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Filter restricting the {@link MapEvent}s delivered to a {@link MapEventListener}.
+ * <p>
+ * A filter matches events for any of a set of keys and, for maps with {@link String} keys, any key starting with
+ * one of a set of prefixes. Filters are registered with the state machine so that events that don't match a
+ * listener's filter are never published to the listener's session.
+ *
+ * @param <K> key type
+ */
+public final class MapEventFilter<K> {
+
+  /**
+   * Returns a filter matching events for any of the given keys.
+   *
+   * @param keys the keys to match
+   * @param <K> key type
+   * @return a filter matching events for any of the given keys
+   */
+  public static <K> MapEventFilter<K> keys(Collection<? extends K> keys) {
+    checkNotNull(keys, "keys cannot be null");
+    checkArgument(!keys.isEmpty(), "keys cannot be empty");
+    return new MapEventFilter<>(ImmutableSet.copyOf(keys), ImmutableSet.of());
+  }
+
+  /**
+   * Returns a filter matching events for the given key.
+   *
+   * @param key the key to match
+   * @param <K> key type
+   * @return a filter matching events for the given key
+   */
+  public static <K> MapEventFilter<K> key(K key) {
+    return new MapEventFilter<>(ImmutableSet.of(checkNotNull(key, "key cannot be null")), ImmutableSet.of());
+  }
+
+  /**
+   * Returns a filter matching events for any key starting with the given prefix.
+   *
+   * @param prefix the key prefix to match
+   * @return a filter matching events for any key starting with the given prefix
+   */
+  public static MapEventFilter<String> prefix(String prefix) {
+    return new MapEventFilter<>(ImmutableSet.of(), ImmutableSet.of(checkNotNull(prefix, "prefix cannot be null")));
+  }
+
+  private final Set<K> keys;
+  private final Set<String> prefixes;
+
+  private MapEventFilter(Set<K> keys, Set<String> prefixes) {
+    this.keys = keys;
+    this.prefixes = prefixes;
+  }
+
+  /**
+   * Returns the keys matched by the filter.
+   *
+   * @return the keys matched by the filter
+   */
+  public Set<K> keys() {
+    return keys;
+  }
+
+  /**
+   * Returns the key prefixes matched by the filter.
+   *
+   * @return the key prefixes matched by the filter
+   */
+  public Set<String> prefixes() {
+    return prefixes;
+  }
+
+  /**
+   * Returns a boolean indicating whether the filter matches the given key.
+   *
+   * @param key the key to test
+   * @return indicates whether the filter matches the given key
+   */
+  public boolean test(K key) {
+    if (keys.contains(key)) {
+      return true;
+    }
+    if (!prefixes.isEmpty() && key instanceof String) {
+      String string = (String) key;
+      for (String prefix : prefixes) {
+        if (string.startsWith(prefix)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns a boolean indicating whether the filter matches the given event.
+   *
+   * @param event the event to test
+   * @return indicates whether the filter matches the given event
+   */
+  public boolean test(MapEvent<K, ?> event) {
+    return test(event.key());
+  }
+
+  /**
+   * Returns a filter matching events matched by either this filter or the given filter.
+   *
+   * @param filter the filter with which to combine this filter
+   * @return a filter matching events matched by either filter
+   */
+  public MapEventFilter<K> or(MapEventFilter<K> filter) {
+    return new MapEventFilter<>(
+        ImmutableSet.<K>builder().addAll(keys).addAll(filter.keys).build(),
+        ImmutableSet.<String>builder().addAll(prefixes).addAll(filter.prefixes).build());
+  }
+
+  /**
+   * Returns a copy of this filter with its keys transformed by the given function.
+   * <p>
+   * Prefixes can only be matched against the original keys, so only filters without prefixes may be transformed.
+   *
+   * @param function the function with which to transform keys
+   * @param <K2> the transformed key type
+   * @return the transformed filter
+   * @throws IllegalStateException if the filter matches key prefixes
+   */
+  public <K2> MapEventFilter<K2> map(Function<K, K2> function) {
+    checkState(prefixes.isEmpty(), "cannot transform prefix filter");
+    ImmutableSet.Builder<K2> mappedKeys = ImmutableSet.builder();
+    keys.forEach(key -> mappedKeys.add(function.apply(key)));
+    return new MapEventFilter<>(mappedKeys.build(), ImmutableSet.of());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(keys, prefixes);
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (object instanceof MapEventFilter) {
+      MapEventFilter that = (MapEventFilter) object;
+      return keys.equals(that.keys) && prefixes.equals(that.prefixes);
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("keys", keys)
+        .add("prefixes", prefixes)
+        .toString();
+  }
+}
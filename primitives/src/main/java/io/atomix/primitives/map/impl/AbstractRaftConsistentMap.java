@@ -0,0 +1,637 @@
+/*
+ * Copyright 2016-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import io.atomix.primitives.AsyncIterator;
+import io.atomix.primitives.TransactionId;
+import io.atomix.primitives.TransactionLog;
+import io.atomix.primitives.impl.AbstractRaftPrimitive;
+import io.atomix.primitives.map.AsyncConsistentMap;
+import io.atomix.primitives.map.ConsistentMapException;
+import io.atomix.primitives.map.MapEvent;
+import io.atomix.primitives.map.MapEventFilter;
+import io.atomix.primitives.map.MapEventListener;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.ContainsKey;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.ContainsValue;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.Get;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.GetAll;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.GetOrDefault;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.IteratorPosition;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.Listen;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.Put;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.PutAll;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.Remove;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.RemoveAll;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.RemoveValue;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.RemoveVersion;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.Replace;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.ReplaceValue;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.ReplaceVersion;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.TransactionBegin;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.TransactionCommit;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.TransactionPrepare;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.TransactionPrepareAndCommit;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.TransactionRollback;
+import io.atomix.protocols.raft.proxy.RaftProxy;
+import io.atomix.serializer.Serializer;
+import io.atomix.serializer.kryo.KryoNamespace;
+import io.atomix.serializer.kryo.KryoNamespaces;
+import io.atomix.time.Version;
+import io.atomix.time.Versioned;
+import io.atomix.utils.concurrent.Futures;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.atomix.primitives.map.impl.RaftConsistentMapEvents.CHANGE;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.ADD_FILTERED_LISTENER;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.ADD_LISTENER;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.BEGIN;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.CLEAR;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.CLOSE_ITERATOR;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.COMMIT;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.CONTAINS_KEY;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.CONTAINS_VALUE;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.ENTRY_SET;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.GET;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.GET_ALL;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.GET_OR_DEFAULT;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.IS_EMPTY;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.KEY_SET;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.NEXT;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.OPEN_ITERATOR;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.PREPARE;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.PREPARE_AND_COMMIT;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.PUT;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.PUT_ALL;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.PUT_AND_GET;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.PUT_IF_ABSENT;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.REMOVE;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.REMOVE_ALL;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.REMOVE_LISTENER;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.REMOVE_VALUE;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.REMOVE_VERSION;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.REPLACE;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.REPLACE_VALUE;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.REPLACE_VERSION;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.ROLLBACK;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.SIZE;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.VALUES;
+
+/**
+ * Base distributed resource providing the {@link AsyncConsistentMap} primitive.
+ *
+ * @param <K> the map key type
+ */
+public abstract class AbstractRaftConsistentMap<K> extends AbstractRaftPrimitive implements AsyncConsistentMap<K, byte[]> {
+  private static final Serializer SERIALIZER = Serializer.using(KryoNamespace.builder()
+      .register(KryoNamespaces.BASIC)
+      .register(RaftConsistentMapOperations.NAMESPACE)
+      .register(RaftConsistentMapEvents.NAMESPACE)
+      .nextId(KryoNamespaces.BEGIN_USER_CUSTOM_ID + 100)
+      .build());
+
+  private final Map<MapEventListener<K, byte[]>, ListenerContext<K>> mapEventListeners = new ConcurrentHashMap<>();
+
+  public AbstractRaftConsistentMap(RaftProxy proxy) {
+    super(proxy);
+    proxy.addEventListener(CHANGE, SERIALIZER::decode, this::handleEvent);
+    proxy.addStateChangeListener(state -> {
+      if (state == RaftProxy.State.CONNECTED && isListening()) {
+        listen(sessionFilter());
+      }
+    });
+  }
+
+  protected Serializer serializer() {
+    return SERIALIZER;
+  }
+
+  private void handleEvent(List<MapEvent<K, byte[]>> events) {
+    events.forEach(event -> mapEventListeners.forEach((listener, context) -> {
+      if (context.filter == null || context.filter.test(event.key())) {
+        context.executor.execute(() -> listener.event(event));
+      }
+    }));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> isEmpty() {
+    return proxy.invoke(IS_EMPTY, serializer()::decode);
+  }
+
+  @Override
+  public CompletableFuture<Integer> size() {
+    return proxy.invoke(SIZE, serializer()::decode);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> containsKey(K key) {
+    return proxy.invoke(CONTAINS_KEY, serializer()::encode, new ContainsKey<>(key), serializer()::decode);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> containsValue(byte[] value) {
+    return proxy.invoke(CONTAINS_VALUE, serializer()::encode, new ContainsValue(value), serializer()::decode);
+  }
+
+  @Override
+  public CompletableFuture<Versioned<byte[]>> get(K key) {
+    return proxy.invoke(GET, serializer()::encode, new Get<>(key), serializer()::decode);
+  }
+
+  @Override
+  public CompletableFuture<Versioned<byte[]>> getOrDefault(K key, byte[] defaultValue) {
+    return proxy.invoke(
+        GET_OR_DEFAULT,
+        serializer()::encode,
+        new GetOrDefault<>(key, defaultValue),
+        serializer()::decode);
+  }
+
+  @Override
+  public CompletableFuture<Map<K, Versioned<byte[]>>> getAll(Collection<K> keys) {
+    return proxy.invoke(
+        GET_ALL,
+        serializer()::encode,
+        new GetAll<>(new ArrayList<>(keys)),
+        serializer()::decode);
+  }
+
+  @Override
+  public CompletableFuture<Set<K>> keySet() {
+    return proxy.invoke(KEY_SET, serializer()::decode);
+  }
+
+  @Override
+  public CompletableFuture<Collection<Versioned<byte[]>>> values() {
+    return proxy.invoke(VALUES, serializer()::decode);
+  }
+
+  @Override
+  public CompletableFuture<Set<Entry<K, Versioned<byte[]>>>> entrySet() {
+    return proxy.invoke(ENTRY_SET, serializer()::decode);
+  }
+
+  @Override
+  public CompletableFuture<AsyncIterator<Entry<K, Versioned<byte[]>>>> iterator() {
+    return proxy.<Long>invoke(OPEN_ITERATOR, serializer()::decode).thenApply(ConsistentMapIterator::new);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public CompletableFuture<Versioned<byte[]>> put(K key, byte[] value) {
+    return proxy.<Put<K>, MapEntryUpdateResult<K, byte[]>>invoke(
+        PUT,
+        serializer()::encode,
+        new Put<>(key, value),
+        serializer()::decode)
+        .whenComplete((r, e) -> throwIfLocked(r))
+        .thenApply(v -> v.result());
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public CompletableFuture<Versioned<byte[]>> putAndGet(K key, byte[] value) {
+    return proxy.<Put<K>, MapEntryUpdateResult<K, byte[]>>invoke(
+        PUT_AND_GET,
+        serializer()::encode,
+        new Put<>(key, value),
+        serializer()::decode)
+        .whenComplete((r, e) -> throwIfLocked(r))
+        .thenApply(v -> v.result());
+  }
+
+  @Override
+  public CompletableFuture<Void> putAll(Map<K, byte[]> entries) {
+    return proxy.<PutAll<K>, MapEntryUpdateResult.Status>invoke(
+        PUT_ALL,
+        serializer()::encode,
+        new PutAll<>(new HashMap<>(entries)),
+        serializer()::decode)
+        .whenComplete((r, e) -> throwIfLocked(r))
+        .thenApply(v -> null);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public CompletableFuture<Versioned<byte[]>> putIfAbsent(K key, byte[] value) {
+    return proxy.<Put<K>, MapEntryUpdateResult<K, byte[]>>invoke(
+        PUT_IF_ABSENT,
+        serializer()::encode,
+        new Put<>(key, value),
+        serializer()::decode)
+        .whenComplete((r, e) -> throwIfLocked(r))
+        .thenApply(v -> v.result());
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public CompletableFuture<Versioned<byte[]>> remove(K key) {
+    return proxy.<Remove<K>, MapEntryUpdateResult<K, byte[]>>invoke(
+        REMOVE,
+        serializer()::encode,
+        new Remove<>(key),
+        serializer()::decode)
+        .whenComplete((r, e) -> throwIfLocked(r))
+        .thenApply(v -> v.result());
+  }
+
+  @Override
+  public CompletableFuture<Void> removeAll(Collection<K> keys) {
+    return proxy.<RemoveAll<K>, MapEntryUpdateResult.Status>invoke(
+        REMOVE_ALL,
+        serializer()::encode,
+        new RemoveAll<>(new ArrayList<>(keys)),
+        serializer()::decode)
+        .whenComplete((r, e) -> throwIfLocked(r))
+        .thenApply(v -> null);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public CompletableFuture<Boolean> remove(K key, byte[] value) {
+    return proxy.<RemoveValue<K>, MapEntryUpdateResult<K, byte[]>>invoke(
+        REMOVE_VALUE,
+        serializer()::encode,
+        new RemoveValue<>(key, value),
+        serializer()::decode)
+        .whenComplete((r, e) -> throwIfLocked(r))
+        .thenApply(v -> v.updated());
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public CompletableFuture<Boolean> remove(K key, long version) {
+    return proxy.<RemoveVersion<K>, MapEntryUpdateResult<K, byte[]>>invoke(
+        REMOVE_VERSION,
+        serializer()::encode,
+        new RemoveVersion<>(key, version),
+        serializer()::decode)
+        .whenComplete((r, e) -> throwIfLocked(r))
+        .thenApply(v -> v.updated());
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public CompletableFuture<Versioned<byte[]>> replace(K key, byte[] value) {
+    return proxy.<Replace<K>, MapEntryUpdateResult<K, byte[]>>invoke(
+        REPLACE,
+        serializer()::encode,
+        new Replace<>(key, value),
+        serializer()::decode)
+        .whenComplete((r, e) -> throwIfLocked(r))
+        .thenApply(v -> v.result());
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public CompletableFuture<Boolean> replace(K key, byte[] oldValue, byte[] newValue) {
+    return proxy.<ReplaceValue<K>, MapEntryUpdateResult<K, byte[]>>invoke(
+        REPLACE_VALUE,
+        serializer()::encode,
+        new ReplaceValue<>(key, oldValue, newValue),
+        serializer()::decode)
+        .whenComplete((r, e) -> throwIfLocked(r))
+        .thenApply(v -> v.updated());
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public CompletableFuture<Boolean> replace(K key, long oldVersion, byte[] newValue) {
+    return proxy.<ReplaceVersion<K>, MapEntryUpdateResult<K, byte[]>>invoke(
+        REPLACE_VERSION,
+        serializer()::encode,
+        new ReplaceVersion<>(key, oldVersion, newValue),
+        serializer()::decode)
+        .whenComplete((r, e) -> throwIfLocked(r))
+        .thenApply(v -> v.updated());
+  }
+
+  @Override
+  public CompletableFuture<Void> clear() {
+    return proxy.<MapEntryUpdateResult.Status>invoke(CLEAR, serializer()::decode)
+        .whenComplete((r, e) -> throwIfLocked(r))
+        .thenApply(v -> null);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public CompletableFuture<Versioned<byte[]>> computeIf(K key,
+                                                        Predicate<? super byte[]> condition,
+                                                        BiFunction<? super K, ? super byte[], ? extends byte[]> remappingFunction) {
+    return get(key).thenCompose(r1 -> {
+      byte[] existingValue = r1 == null ? null : r1.value();
+      // if the condition evaluates to false, return existing value.
+      if (!condition.test(existingValue)) {
+        return CompletableFuture.completedFuture(r1);
+      }
+
+      byte[] computedValue;
+      try {
+        computedValue = remappingFunction.apply(key, existingValue);
+      } catch (Exception e) {
+        return Futures.exceptionalFuture(e);
+      }
+
+      if (computedValue == null && r1 == null) {
+        return CompletableFuture.completedFuture(null);
+      }
+
+      if (r1 == null) {
+        return proxy.<Put<K>, MapEntryUpdateResult<K, byte[]>>invoke(
+            PUT_IF_ABSENT,
+            serializer()::encode,
+            new Put<>(key, computedValue),
+            serializer()::decode)
+            .whenComplete((r, e) -> throwIfLocked(r))
+            .thenCompose(r -> checkLocked(r))
+            .thenApply(result -> new Versioned<>(computedValue, result.version()));
+      } else if (computedValue == null) {
+        return proxy.<RemoveVersion<K>, MapEntryUpdateResult<K, byte[]>>invoke(
+            REMOVE_VERSION,
+            serializer()::encode,
+            new RemoveVersion<>(key, r1.version()),
+            serializer()::decode)
+            .whenComplete((r, e) -> throwIfLocked(r))
+            .thenCompose(r -> checkLocked(r))
+            .thenApply(v -> null);
+      } else {
+        return proxy.<ReplaceVersion<K>, MapEntryUpdateResult<K, byte[]>>invoke(
+            REPLACE_VERSION,
+            serializer()::encode,
+            new ReplaceVersion<>(key, r1.version(), computedValue),
+            serializer()::decode)
+            .whenComplete((r, e) -> throwIfLocked(r))
+            .thenCompose(r -> checkLocked(r))
+            .thenApply(result -> result.status() == MapEntryUpdateResult.Status.OK
+                ? new Versioned(computedValue, result.version()) : result.result());
+      }
+    });
+  }
+
+  private CompletableFuture<MapEntryUpdateResult<K, byte[]>> checkLocked(
+      MapEntryUpdateResult<K, byte[]> result) {
+    if (result.status() == MapEntryUpdateResult.Status.PRECONDITION_FAILED ||
+        result.status() == MapEntryUpdateResult.Status.WRITE_LOCK) {
+      return Futures.exceptionalFuture(new ConsistentMapException.ConcurrentModification());
+    }
+    return CompletableFuture.completedFuture(result);
+  }
+
+  @Override
+  public synchronized CompletableFuture<Void> addListener(MapEventListener<K, byte[]> listener,
+                                                          Executor executor) {
+    return addListener(listener, new ListenerContext<>(null, executor));
+  }
+
+  @Override
+  public synchronized CompletableFuture<Void> addListener(MapEventFilter<K> filter,
+                                                          MapEventListener<K, byte[]> listener,
+                                                          Executor executor) {
+    return addListener(listener, new ListenerContext<>(checkNotNull(filter, "filter cannot be null"), executor));
+  }
+
+  /**
+   * Adds a listener, registering the session with the state machine if the session's filter has changed.
+   */
+  private CompletableFuture<Void> addListener(MapEventListener<K, byte[]> listener, ListenerContext<K> context) {
+    boolean listening = isListening();
+    MapEventFilter<K> previousFilter = sessionFilter();
+    mapEventListeners.put(listener, context);
+    MapEventFilter<K> filter = sessionFilter();
+    if (listening && Objects.equals(filter, previousFilter)) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return listen(filter).whenComplete((result, error) -> {
+      if (error != null) {
+        mapEventListeners.remove(listener, context);
+      }
+    });
+  }
+
+  @Override
+  public synchronized CompletableFuture<Void> removeListener(MapEventListener<K, byte[]> listener) {
+    MapEventFilter<K> previousFilter = sessionFilter();
+    if (mapEventListeners.remove(listener) != null) {
+      if (mapEventListeners.isEmpty()) {
+        return proxy.invoke(REMOVE_LISTENER).thenApply(v -> null);
+      }
+      MapEventFilter<K> filter = sessionFilter();
+      if (!Objects.equals(filter, previousFilter)) {
+        return listen(filter);
+      }
+    }
+    return CompletableFuture.completedFuture(null);
+  }
+
+  /**
+   * Registers the session with the state machine to receive events matching the given filter.
+   *
+   * @param filter the filter with which to register the session, or {@code null} to receive all events
+   * @return future to be completed once the session has been registered
+   */
+  private CompletableFuture<Void> listen(MapEventFilter<K> filter) {
+    if (filter == null) {
+      return proxy.invoke(ADD_LISTENER);
+    }
+    return proxy.invoke(ADD_FILTERED_LISTENER, serializer()::encode, new Listen<>(filter));
+  }
+
+  /**
+   * Returns the union of the filters of all registered listeners.
+   *
+   * @return the union of all listener filters, or {@code null} if any listener is unfiltered
+   */
+  private MapEventFilter<K> sessionFilter() {
+    MapEventFilter<K> sessionFilter = null;
+    for (ListenerContext<K> context : mapEventListeners.values()) {
+      if (context.filter == null) {
+        return null;
+      }
+      sessionFilter = sessionFilter == null ? context.filter : sessionFilter.or(context.filter);
+    }
+    return sessionFilter;
+  }
+
+  private void throwIfLocked(MapEntryUpdateResult<K, byte[]> result) {
+    if (result != null) {
+      throwIfLocked(result.status());
+    }
+  }
+
+  private void throwIfLocked(MapEntryUpdateResult.Status status) {
+    if (status == MapEntryUpdateResult.Status.WRITE_LOCK) {
+      throw new ConcurrentModificationException("Cannot update map: Another transaction in progress");
+    }
+  }
+
+  @Override
+  public CompletableFuture<Version> begin(TransactionId transactionId) {
+    return proxy.<TransactionBegin, Long>invoke(
+        BEGIN,
+        serializer()::encode,
+        new TransactionBegin(transactionId),
+        serializer()::decode)
+        .thenApply(Version::new);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> prepare(TransactionLog<MapUpdate<K, byte[]>> transactionLog) {
+    return proxy.<TransactionPrepare<K>, PrepareResult>invoke(
+        PREPARE,
+        serializer()::encode,
+        new TransactionPrepare<>(transactionLog),
+        serializer()::decode)
+        .thenApply(v -> v == PrepareResult.OK);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> prepareAndCommit(TransactionLog<MapUpdate<K, byte[]>> transactionLog) {
+    return proxy.<TransactionPrepareAndCommit<K>, PrepareResult>invoke(
+        PREPARE_AND_COMMIT,
+        serializer()::encode,
+        new TransactionPrepareAndCommit<>(transactionLog),
+        serializer()::decode)
+        .thenApply(v -> v == PrepareResult.OK);
+  }
+
+  @Override
+  public CompletableFuture<Void> commit(TransactionId transactionId) {
+    return proxy.<TransactionCommit, CommitResult>invoke(
+        COMMIT,
+        serializer()::encode,
+        new TransactionCommit(transactionId),
+        serializer()::decode)
+        .thenApply(v -> null);
+  }
+
+  @Override
+  public CompletableFuture<Void> rollback(TransactionId transactionId) {
+    return proxy.invoke(
+        ROLLBACK,
+        serializer()::encode,
+        new TransactionRollback(transactionId),
+        serializer()::decode)
+        .thenApply(v -> null);
+  }
+
+  private boolean isListening() {
+    return !mapEventListeners.isEmpty();
+  }
+
+  /**
+   * Map event listener context.
+   */
+  private static class ListenerContext<K> {
+    private final MapEventFilter<K> filter;
+    private final Executor executor;
+
+    ListenerContext(MapEventFilter<K> filter, Executor executor) {
+      this.filter = filter;
+      this.executor = executor;
+    }
+  }
+
+  /**
+   * Consistent map iterator.
+   * <p>
+   * The iterator prefetches the next batch of entries from the map while the current batch is being consumed
+   * and closes the server-side iterator once the last batch has been consumed.
+   */
+  private class ConsistentMapIterator implements AsyncIterator<Entry<K, Versioned<byte[]>>> {
+    private final long id;
+    private Iterator<Entry<K, Versioned<byte[]>>> iterator = Collections.emptyIterator();
+    private CompletableFuture<IteratorBatch<Entry<K, Versioned<byte[]>>>> nextBatch;
+    private boolean closed;
+
+    ConsistentMapIterator(long id) {
+      this.id = id;
+      this.nextBatch = fetch(null);
+    }
+
+    /**
+     * Fetches the batch of entries following the given key.
+     */
+    private CompletableFuture<IteratorBatch<Entry<K, Versioned<byte[]>>>> fetch(K key) {
+      return proxy.<IteratorPosition<K>, IteratorBatch<Entry<K, Versioned<byte[]>>>>invoke(
+          NEXT,
+          serializer()::encode,
+          new IteratorPosition<>(id, key),
+          serializer()::decode)
+          .thenApply(batch -> {
+            if (batch == null) {
+              throw new ConsistentMapException("Unknown iterator " + id);
+            }
+            return batch;
+          });
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> hasNext() {
+      if (iterator.hasNext()) {
+        return CompletableFuture.completedFuture(true);
+      } else if (nextBatch == null) {
+        return close().thenApply(v -> false);
+      }
+      return nextBatch.thenCompose(batch -> {
+        synchronized (this) {
+          iterator = batch.entries().iterator();
+          nextBatch = batch.complete() ? null : fetch(batch.entries().get(batch.entries().size() - 1).getKey());
+        }
+        return hasNext();
+      });
+    }
+
+    @Override
+    public CompletableFuture<Entry<K, Versioned<byte[]>>> next() {
+      return hasNext().thenApply(hasNext -> {
+        if (!hasNext) {
+          throw new NoSuchElementException();
+        }
+        synchronized (this) {
+          return iterator.next();
+        }
+      });
+    }
+
+    @Override
+    public synchronized CompletableFuture<Void> close() {
+      if (closed) {
+        return CompletableFuture.completedFuture(null);
+      }
+      closed = true;
+      nextBatch = null;
+      return proxy.invoke(CLOSE_ITERATOR, serializer()::encode, id);
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,1415 @@
+/*
+ * Copyright 2016-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import io.atomix.primitives.TransactionId;
+import io.atomix.primitives.TransactionLog;
+import io.atomix.primitives.map.MapEvent;
+import io.atomix.primitives.map.MapEventFilter;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.ContainsKey;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.ContainsValue;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.Get;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.GetAll;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.GetOrDefault;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.IteratorPosition;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.Listen;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.Put;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.PutAll;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.Remove;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.RemoveAll;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.RemoveValue;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.RemoveVersion;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.Replace;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.ReplaceValue;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.ReplaceVersion;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.TransactionBegin;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.TransactionCommit;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.TransactionPrepare;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.TransactionPrepareAndCommit;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.TransactionRollback;
+import io.atomix.protocols.raft.event.RaftEvent;
+import io.atomix.protocols.raft.service.AbstractRaftService;
+import io.atomix.protocols.raft.service.Commit;
+import io.atomix.protocols.raft.service.RaftServiceExecutor;
+import io.atomix.protocols.raft.session.RaftSession;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotWriter;
+import io.atomix.serializer.Serializer;
+import io.atomix.serializer.kryo.KryoNamespace;
+import io.atomix.serializer.kryo.KryoNamespaces;
+import io.atomix.time.Versioned;
+import io.atomix.utils.collection.ConcurrentMapSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkState;
+import static io.atomix.primitives.map.impl.RaftConsistentMapEvents.CHANGE;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.ADD_FILTERED_LISTENER;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.ADD_LISTENER;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.BEGIN;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.CLEAR;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.CLOSE_ITERATOR;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.COMMIT;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.CONTAINS_KEY;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.CONTAINS_VALUE;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.ENTRY_SET;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.GET;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.GET_ALL;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.GET_OR_DEFAULT;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.IS_EMPTY;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.KEY_SET;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.NEXT;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.OPEN_ITERATOR;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.PREPARE;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.PREPARE_AND_COMMIT;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.PUT;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.PUT_ALL;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.PUT_AND_GET;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.PUT_IF_ABSENT;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.REMOVE;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.REMOVE_ALL;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.REMOVE_LISTENER;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.REMOVE_VALUE;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.REMOVE_VERSION;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.REPLACE;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.REPLACE_VALUE;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.REPLACE_VERSION;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.ROLLBACK;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.SIZE;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.VALUES;
+
+/**
+ * Base state machine for consistent map resources.
+ * <p>
+ * The map state is generic over the key type so that maps may be keyed either by strings or by raw binary keys.
+ * Subclasses define the key type and how to compute the size of a key for iterator batching.
+ *
+ * @param <K> the map key type
+ */
+public abstract class AbstractRaftConsistentMapService<K extends Comparable<K>> extends AbstractRaftService {
+
+  private static final Serializer SERIALIZER = Serializer.using(KryoNamespace.builder()
+      .register(KryoNamespaces.BASIC)
+      .register(RaftConsistentMapOperations.NAMESPACE)
+      .register(RaftConsistentMapEvents.NAMESPACE)
+      .nextId(KryoNamespaces.BEGIN_USER_CUSTOM_ID + 100)
+      .register(TransactionScope.class)
+      .register(TransactionLog.class)
+      .register(TransactionId.class)
+      .register(MapEntryValue.class)
+      .register(MapEntryValue.Type.class)
+      .register(new HashMap().keySet().getClass())
+      .build());
+
+  private static final int MAX_ITERATOR_BATCH_SIZE = 1024 * 32;
+
+  protected Map<Long, RaftSession> listeners = new LinkedHashMap<>();
+  protected Map<Long, MapEventFilter<K>> listenerFilters = Maps.newHashMap();
+  private ConcurrentMap<K, MapEntryValue> map;
+  private final AtomicReference<ConcurrentMapSnapshot<K, MapEntryValue>> capturedSnapshot = new AtomicReference<>();
+  protected Set<K> preparedKeys = Sets.newHashSet();
+  protected Map<TransactionId, TransactionScope<K>> activeTransactions = Maps.newHashMap();
+  protected long currentVersion;
+  protected Map<Long, IteratorContext<K>> iterators = Maps.newHashMap();
+
+  public AbstractRaftConsistentMapService() {
+    map = createMap();
+  }
+
+  protected ConcurrentMap<K, MapEntryValue> createMap() {
+    return Maps.newConcurrentMap();
+  }
+
+  protected ConcurrentMap<K, MapEntryValue> entries() {
+    return map;
+  }
+
+  /**
+   * Maps the given key to the given value.
+   *
+   * @param key the key to update
+   * @param value the value to which to map the key
+   * @return the previous value
+   */
+  protected MapEntryValue putEntry(K key, MapEntryValue value) {
+    preserve(key);
+    return map.put(key, value);
+  }
+
+  /**
+   * Removes the given key from the map.
+   *
+   * @param key the key to remove
+   * @return the removed value
+   */
+  protected MapEntryValue removeEntry(K key) {
+    preserve(key);
+    return map.remove(key);
+  }
+
+  /**
+   * Preserves the value of the given key in the captured snapshot, if any, before the key is modified.
+   *
+   * @param key the key that is about to be modified
+   */
+  protected void preserve(K key) {
+    ConcurrentMapSnapshot<K, MapEntryValue> snapshot = capturedSnapshot.get();
+    if (snapshot != null) {
+      snapshot.preserve(key);
+    }
+  }
+
+  protected Serializer serializer() {
+    return SERIALIZER;
+  }
+
+  /**
+   * Returns the approximate size of the given key in bytes.
+   *
+   * @param key the key for which to return the size
+   * @return the approximate size of the key
+   */
+  protected abstract int keySize(K key);
+
+  @Override
+  public void snapshot(SnapshotWriter writer) {
+    writer.writeObject(Sets.newHashSet(listeners.keySet()), serializer()::encode);
+    writer.writeObject(preparedKeys, serializer()::encode);
+    writer.writeObject(entries(), serializer()::encode);
+    writer.writeObject(activeTransactions, serializer()::encode);
+    writer.writeLong(currentVersion);
+    writer.writeObject(iteratorSessions(), serializer()::encode);
+    writer.writeObject(listenerFilters, serializer()::encode);
+  }
+
+  @Override
+  public Consumer<SnapshotWriter> captureSnapshot() {
+    ConcurrentMapSnapshot<K, MapEntryValue> snapshot = new ConcurrentMapSnapshot<>(map);
+    if (!capturedSnapshot.compareAndSet(null, snapshot)) {
+      return null;
+    }
+
+    // Copy the remaining state so it can be written outside the state machine thread. It contains only immutable
+    // values, and iterators are written as their owning sessions rather than their entries.
+    Set<Long> listeners = Sets.newHashSet(this.listeners.keySet());
+    Set<K> preparedKeys = Sets.newHashSet(this.preparedKeys);
+    Map<TransactionId, TransactionScope<K>> activeTransactions = Maps.newHashMap(this.activeTransactions);
+    long currentVersion = this.currentVersion;
+    Map<Long, Long> iterators = iteratorSessions();
+    Map<Long, MapEventFilter<K>> listenerFilters = Maps.newHashMap(this.listenerFilters);
+    return writer -> {
+      try {
+        writer.writeObject(listeners, serializer()::encode);
+        writer.writeObject(preparedKeys, serializer()::encode);
+        writer.writeObject(snapshot.copyTo(createMap()), serializer()::encode);
+        writer.writeObject(activeTransactions, serializer()::encode);
+        writer.writeLong(currentVersion);
+        writer.writeObject(iterators, serializer()::encode);
+        writer.writeObject(listenerFilters, serializer()::encode);
+      } finally {
+        capturedSnapshot.compareAndSet(snapshot, null);
+      }
+    };
+  }
+
+  @Override
+  public void install(SnapshotReader reader) {
+    listeners = new LinkedHashMap<>();
+    for (Long sessionId : reader.<Set<Long>>readObject(serializer()::decode)) {
+      listeners.put(sessionId, sessions().getSession(sessionId));
+    }
+    preparedKeys = reader.readObject(serializer()::decode);
+    map = createMap();
+    map.putAll(reader.<Map<K, MapEntryValue>>readObject(serializer()::decode));
+    activeTransactions = reader.readObject(serializer()::decode);
+    currentVersion = reader.readLong();
+    // Snapshots taken by earlier versions of the service don't contain iterators or listener filters.
+    iterators = Maps.newHashMap();
+    if (reader.hasRemaining()) {
+      reader.<Map<Long, Long>>readObject(serializer()::decode)
+          .forEach((iteratorId, sessionId) -> iterators.put(iteratorId, new IteratorContext<>(sessionId)));
+    }
+    listenerFilters = reader.hasRemaining() ? reader.readObject(serializer()::decode) : Maps.newHashMap();
+  }
+
+  /**
+   * Returns the sessions that own open iterators.
+   *
+   * @return a map of iterator identifiers to the identifiers of the sessions that own them
+   */
+  private Map<Long, Long> iteratorSessions() {
+    Map<Long, Long> sessions = Maps.newHashMap();
+    iterators.forEach((iteratorId, context) -> sessions.put(iteratorId, context.sessionId));
+    return sessions;
+  }
+
+  @Override
+  protected void configure(RaftServiceExecutor executor) {
+    // Listeners
+    executor.register(ADD_LISTENER, (Commit<Void> c) -> listen(c.session()));
+    executor.register(ADD_FILTERED_LISTENER, serializer()::decode, (Commit<Listen<K>> c) -> listen(c));
+    executor.register(REMOVE_LISTENER, (Commit<Void> c) -> unlisten(c.session()));
+    // Queries
+    executor.register(CONTAINS_KEY, serializer()::decode, this::containsKey, serializer()::encode);
+    executor.register(CONTAINS_VALUE, serializer()::decode, this::containsValue, serializer()::encode);
+    executor.register(ENTRY_SET, (Commit<Void> c) -> entrySet(), serializer()::encode);
+    executor.register(GET, serializer()::decode, this::get, serializer()::encode);
+    executor.register(GET_OR_DEFAULT, serializer()::decode, this::getOrDefault, serializer()::encode);
+    executor.register(GET_ALL, serializer()::decode, this::getAll, serializer()::encode);
+    executor.register(IS_EMPTY, (Commit<Void> c) -> isEmpty(), serializer()::encode);
+    executor.register(KEY_SET, (Commit<Void> c) -> keySet(), serializer()::encode);
+    executor.register(SIZE, (Commit<Void> c) -> size(), serializer()::encode);
+    executor.register(VALUES, (Commit<Void> c) -> values(), serializer()::encode);
+    executor.register(NEXT, serializer()::decode, this::next, serializer()::encode);
+    // Iterators
+    executor.register(OPEN_ITERATOR, this::openIterator, serializer()::encode);
+    executor.register(CLOSE_ITERATOR, serializer()::decode, this::closeIterator);
+    // Commands
+    executor.register(PUT, serializer()::decode, this::put, serializer()::encode);
+    executor.register(PUT_IF_ABSENT, serializer()::decode, this::putIfAbsent, serializer()::encode);
+    executor.register(PUT_AND_GET, serializer()::decode, this::putAndGet, serializer()::encode);
+    executor.register(PUT_ALL, serializer()::decode, this::putAll, serializer()::encode);
+    executor.register(REMOVE, serializer()::decode, this::remove, serializer()::encode);
+    executor.register(REMOVE_VALUE, serializer()::decode, this::removeValue, serializer()::encode);
+    executor.register(REMOVE_VERSION, serializer()::decode, this::removeVersion, serializer()::encode);
+    executor.register(REMOVE_ALL, serializer()::decode, this::removeAll, serializer()::encode);
+    executor.register(REPLACE, serializer()::decode, this::replace, serializer()::encode);
+    executor.register(REPLACE_VALUE, serializer()::decode, this::replaceValue, serializer()::encode);
+    executor.register(REPLACE_VERSION, serializer()::decode, this::replaceVersion, serializer()::encode);
+    executor.register(CLEAR, (Commit<Void> c) -> clear(), serializer()::encode);
+    executor.register(BEGIN, serializer()::decode, this::begin, serializer()::encode);
+    executor.register(PREPARE, serializer()::decode, this::prepare, serializer()::encode);
+    executor.register(PREPARE_AND_COMMIT, serializer()::decode, this::prepareAndCommit, serializer()::encode);
+    executor.register(COMMIT, serializer()::decode, this::commit, serializer()::encode);
+    executor.register(ROLLBACK, serializer()::decode, this::rollback, serializer()::encode);
+  }
+
+  /**
+   * Handles a contains key commit.
+   *
+   * @param commit containsKey commit
+   * @return {@code true} if map contains key
+   */
+  protected boolean containsKey(Commit<? extends ContainsKey<K>> commit) {
+    MapEntryValue value = entries().get(commit.value().key());
+    return value != null && value.type() != MapEntryValue.Type.TOMBSTONE;
+  }
+
+  /**
+   * Handles a contains value commit.
+   *
+   * @param commit containsValue commit
+   * @return {@code true} if map contains value
+   */
+  protected boolean containsValue(Commit<? extends ContainsValue> commit) {
+    return entries().values().stream()
+        .filter(value -> value.type() != MapEntryValue.Type.TOMBSTONE)
+        .anyMatch(value -> Arrays.equals(value.value, commit.value().value()));
+  }
+
+  /**
+   * Handles a get commit.
+   *
+   * @param commit get commit
+   * @return value mapped to key
+   */
+  protected Versioned<byte[]> get(Commit<? extends Get<K>> commit) {
+    return toVersioned(entries().get(commit.value().key()));
+  }
+
+  /**
+   * Handles a get or default commit.
+   *
+   * @param commit get or default commit
+   * @return value mapped to key
+   */
+  protected Versioned<byte[]> getOrDefault(Commit<? extends GetOrDefault<K>> commit) {
+    MapEntryValue value = entries().get(commit.value().key());
+    if (value == null) {
+      return new Versioned<>(commit.value().defaultValue(), 0);
+    } else if (value.type() == MapEntryValue.Type.TOMBSTONE) {
+      return new Versioned<>(commit.value().defaultValue(), value.version);
+    } else {
+      return new Versioned<>(value.value(), value.version);
+    }
+  }
+
+  /**
+   * Handles a get all commit.
+   *
+   * @param commit get all commit
+   * @return map of keys to the values to which they are mapped
+   */
+  protected Map<K, Versioned<byte[]>> getAll(Commit<? extends GetAll<K>> commit) {
+    Map<K, Versioned<byte[]>> result = new HashMap<>();
+    for (K key : commit.value().keys()) {
+      Versioned<byte[]> value = toVersioned(entries().get(key));
+      if (value != null) {
+        result.put(key, value);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Handles a size commit.
+   *
+   * @return number of entries in map
+   */
+  protected int size() {
+    return (int) entries().values().stream()
+        .filter(value -> value.type() != MapEntryValue.Type.TOMBSTONE)
+        .count();
+  }
+
+  /**
+   * Handles an is empty commit.
+   *
+   * @return {@code true} if map is empty
+   */
+  protected boolean isEmpty() {
+    return entries().values().stream()
+        .noneMatch(value -> value.type() != MapEntryValue.Type.TOMBSTONE);
+  }
+
+  /**
+   * Handles a keySet commit.
+   *
+   * @return set of keys in map
+   */
+  protected Set<K> keySet() {
+    return entries().entrySet().stream()
+        .filter(entry -> entry.getValue().type() != MapEntryValue.Type.TOMBSTONE)
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * Handles a values commit.
+   *
+   * @return collection of values in map
+   */
+  protected Collection<Versioned<byte[]>> values() {
+    return entries().entrySet().stream()
+        .filter(entry -> entry.getValue().type() != MapEntryValue.Type.TOMBSTONE)
+        .map(entry -> toVersioned(entry.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Handles a entry set commit.
+   *
+   * @return set of map entries
+   */
+  protected Set<Map.Entry<K, Versioned<byte[]>>> entrySet() {
+    return entries().entrySet().stream()
+        .filter(entry -> entry.getValue().type() != MapEntryValue.Type.TOMBSTONE)
+        .map(e -> Maps.immutableEntry(e.getKey(), toVersioned(e.getValue())))
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * Handles an open iterator commit.
+   * <p>
+   * Entries are read in batches by {@link #next(Commit)} queries, which walk the map in key order from the last key
+   * returned to the client. Like the iterators of the underlying {@link ConcurrentMap}, map iterators are weakly consistent:
+   * the map can continue to be modified while the iterator is open, and modifications made after the iterator was
+   * opened may or may not be reflected in later batches.
+   *
+   * @param commit the open iterator commit
+   * @return the iterator identifier
+   */
+  protected long openIterator(Commit<Void> commit) {
+    iterators.put(commit.index(), new IteratorContext<>(commit.session().sessionId().id()));
+    return commit.index();
+  }
+
+  /**
+   * Handles an iterator next commit.
+   *
+   * @param commit the next commit
+   * @return the next batch of entries for the iterator, or {@code null} if the iterator is not open
+   */
+  protected IteratorBatch<Map.Entry<K, Versioned<byte[]>>> next(Commit<? extends IteratorPosition<K>> commit) {
+    IteratorContext<K> context = iterators.get(commit.value().iteratorId());
+    if (context == null) {
+      return null;
+    }
+
+    // Batches resume from the last key returned to the client, so every server returns the same entries for a
+    // batch and the client can read successive batches from different servers. The cursor is only reused if this
+    // server returned the requested key at the end of the previous batch; otherwise it's rebuilt from the key.
+    K key = commit.value().key();
+    if (context.iterator == null || !Objects.equals(context.lastKey, key)) {
+      context.iterator = Iterators.filter(
+          entriesAfter(key), entry -> entry.getValue().type() != MapEntryValue.Type.TOMBSTONE);
+      context.lastKey = key;
+    }
+
+    List<Map.Entry<K, Versioned<byte[]>>> batch = new ArrayList<>();
+    int size = 0;
+    while (context.iterator.hasNext() && size < MAX_ITERATOR_BATCH_SIZE) {
+      Map.Entry<K, MapEntryValue> entry = context.iterator.next();
+      context.lastKey = entry.getKey();
+      batch.add(Maps.immutableEntry(entry.getKey(), toVersioned(entry.getValue())));
+      size += keySize(entry.getKey()) + (entry.getValue().value() != null ? entry.getValue().value().length : 0);
+    }
+    return new IteratorBatch<>(batch, !context.iterator.hasNext());
+  }
+
+  /**
+   * Returns an iterator over the entries in the map whose keys follow the given key in key order.
+   * <p>
+   * Iterators must return entries in the same order on all servers. This implementation sorts the keys in the map
+   * when a cursor is created. Services backed by a sorted map should override it to walk the map directly.
+   *
+   * @param key the key after which to iterate, or {@code null} to iterate from the first key
+   * @return an iterator over the entries following the given key
+   */
+  protected Iterator<Map.Entry<K, MapEntryValue>> entriesAfter(K key) {
+    ConcurrentMap<K, MapEntryValue> entries = entries();
+    return entries.keySet().stream()
+        .filter(k -> key == null || k.compareTo(key) > 0)
+        .sorted()
+        .map(k -> {
+          MapEntryValue value = entries.get(k);
+          return value != null ? Maps.immutableEntry(k, value) : null;
+        })
+        .filter(Objects::nonNull)
+        .iterator();
+  }
+
+  /**
+   * Handles a close iterator commit.
+   *
+   * @param commit the close iterator commit
+   */
+  protected void closeIterator(Commit<Long> commit) {
+    iterators.remove(commit.value());
+  }
+
+  /**
+   * Returns a boolean indicating whether the given MapEntryValues are equal.
+   *
+   * @param oldValue the first value to compare
+   * @param newValue the second value to compare
+   * @return indicates whether the two values are equal
+   */
+  protected boolean valuesEqual(MapEntryValue oldValue, MapEntryValue newValue) {
+    return (oldValue == null && newValue == null)
+        || (oldValue != null && newValue != null && valuesEqual(oldValue.value(), newValue.value()));
+  }
+
+  /**
+   * Returns a boolean indicating whether the given entry values are equal.
+   *
+   * @param oldValue the first value to compare
+   * @param newValue the second value to compare
+   * @return indicates whether the two values are equal
+   */
+  protected boolean valuesEqual(byte[] oldValue, byte[] newValue) {
+    return (oldValue == null && newValue == null)
+        || (oldValue != null && newValue != null && Arrays.equals(oldValue, newValue));
+  }
+
+  /**
+   * Returns a boolean indicating whether the given MapEntryValue is null or a tombstone.
+   *
+   * @param value the value to check
+   * @return indicates whether the given value is null or is a tombstone
+   */
+  protected boolean valueIsNull(MapEntryValue value) {
+    return value == null || value.type() == MapEntryValue.Type.TOMBSTONE;
+  }
+
+  /**
+   * Handles a put commit.
+   *
+   * @param commit put commit
+   * @return map entry update result
+   */
+  protected MapEntryUpdateResult<K, byte[]> put(Commit<? extends Put<K>> commit) {
+    K key = commit.value().key();
+    MapEntryValue oldValue = entries().get(key);
+    MapEntryValue newValue = new MapEntryValue(MapEntryValue.Type.VALUE, commit.index(), commit.value().value());
+
+    // If the value is null or a tombstone, this is an insert.
+    // Otherwise, only update the value if it has changed to reduce the number of events.
+    if (valueIsNull(oldValue)) {
+      // If the key has been locked by a transaction, return a WRITE_LOCK error.
+      if (preparedKeys.contains(key)) {
+        return new MapEntryUpdateResult<>(
+            MapEntryUpdateResult.Status.WRITE_LOCK,
+            commit.index(),
+            key,
+            toVersioned(oldValue));
+      }
+      putEntry(commit.value().key(),
+          new MapEntryValue(MapEntryValue.Type.VALUE, newValue.version(), newValue.value()));
+      Versioned<byte[]> result = toVersioned(oldValue);
+      publish(new MapEvent<>(MapEvent.Type.INSERT, "", key, toVersioned(newValue), result));
+      return new MapEntryUpdateResult<>(MapEntryUpdateResult.Status.OK, commit.index(), key, result);
+    } else if (!valuesEqual(oldValue, newValue)) {
+      // If the key has been locked by a transaction, return a WRITE_LOCK error.
+      if (preparedKeys.contains(key)) {
+        return new MapEntryUpdateResult<>(
+            MapEntryUpdateResult.Status.WRITE_LOCK,
+            commit.index(),
+            key,
+            toVersioned(oldValue));
+      }
+      putEntry(commit.value().key(),
+          new MapEntryValue(MapEntryValue.Type.VALUE, newValue.version(), newValue.value()));
+      Versioned<byte[]> result = toVersioned(oldValue);
+      publish(new MapEvent<>(MapEvent.Type.UPDATE, "", key, toVersioned(newValue), result));
+      return new MapEntryUpdateResult<>(MapEntryUpdateResult.Status.OK, commit.index(), key, result);
+    }
+    // If the value hasn't changed, return a NOOP result.
+    return new MapEntryUpdateResult<>(MapEntryUpdateResult.Status.NOOP, commit.index(), key, toVersioned(oldValue));
+  }
+
+  /**
+   * Handles a put all commit.
+   * <p>
+   * The entries are applied atomically: if any of the keys is locked by a transaction, none of
+   * the entries are applied and a WRITE_LOCK status is returned.
+   *
+   * @param commit put all commit
+   * @return update status
+   */
+  protected MapEntryUpdateResult.Status putAll(Commit<? extends PutAll<K>> commit) {
+    Map<K, byte[]> updates = commit.value().entries();
+    for (K key : updates.keySet()) {
+      if (preparedKeys.contains(key)) {
+        return MapEntryUpdateResult.Status.WRITE_LOCK;
+      }
+    }
+
+    List<MapEvent<K, byte[]>> events = new ArrayList<>(updates.size());
+    for (Map.Entry<K, byte[]> update : updates.entrySet()) {
+      K key = update.getKey();
+      MapEntryValue oldValue = entries().get(key);
+      MapEntryValue newValue = new MapEntryValue(MapEntryValue.Type.VALUE, commit.index(), update.getValue());
+      if (valueIsNull(oldValue)) {
+        putEntry(key, newValue);
+        events.add(new MapEvent<>(MapEvent.Type.INSERT, "", key, toVersioned(newValue), null));
+      } else if (!valuesEqual(oldValue, newValue)) {
+        putEntry(key, newValue);
+        events.add(new MapEvent<>(MapEvent.Type.UPDATE, "", key, toVersioned(newValue), toVersioned(oldValue)));
+      }
+    }
+
+    if (!events.isEmpty()) {
+      publish(events);
+    }
+    return events.isEmpty() ? MapEntryUpdateResult.Status.NOOP : MapEntryUpdateResult.Status.OK;
+  }
+
+  /**
+   * Handles a putIfAbsent commit.
+   *
+   * @param commit putIfAbsent commit
+   * @return map entry update result
+   */
+  protected MapEntryUpdateResult<K, byte[]> putIfAbsent(Commit<? extends Put<K>> commit) {
+    K key = commit.value().key();
+    MapEntryValue oldValue = entries().get(key);
+
+    // If the value is null, this is an INSERT.
+    if (valueIsNull(oldValue)) {
+      // If the key has been locked by a transaction, return a WRITE_LOCK error.
+      if (preparedKeys.contains(key)) {
+        return new MapEntryUpdateResult<>(
+            MapEntryUpdateResult.Status.WRITE_LOCK,
+            commit.index(),
+            key,
+            toVersioned(oldValue));
+      }
+      MapEntryValue newValue = new MapEntryValue(
+          MapEntryValue.Type.VALUE,
+          commit.index(),
+          commit.value().value());
+      putEntry(commit.value().key(), newValue);
+      Versioned<byte[]> result = toVersioned(newValue);
+      publish(new MapEvent<>(MapEvent.Type.INSERT, "", key, result, null));
+      return new MapEntryUpdateResult<>(MapEntryUpdateResult.Status.OK, commit.index(), key, null);
+    }
+    return new MapEntryUpdateResult<>(
+        MapEntryUpdateResult.Status.PRECONDITION_FAILED,
+        commit.index(),
+        key,
+        toVersioned(oldValue));
+  }
+
+  /**
+   * Handles a putAndGet commit.
+   *
+   * @param commit putAndGet commit
+   * @return map entry update result
+   */
+  protected MapEntryUpdateResult<K, byte[]> putAndGet(Commit<? extends Put<K>> commit) {
+    K key = commit.value().key();
+    MapEntryValue oldValue = entries().get(key);
+    MapEntryValue newValue = new MapEntryValue(MapEntryValue.Type.VALUE, commit.index(), commit.value().value());
+
+    // If the value is null or a tombstone, this is an insert.
+    // Otherwise, only update the value if it has changed to reduce the number of events.
+    if (valueIsNull(oldValue)) {
+      // If the key has been locked by a transaction, return a WRITE_LOCK error.
+      if (preparedKeys.contains(key)) {
+        return new MapEntryUpdateResult<>(
+            MapEntryUpdateResult.Status.WRITE_LOCK,
+            commit.index(),
+            key,
+            toVersioned(oldValue));
+      }
+      putEntry(commit.value().key(), newValue);
+      Versioned<byte[]> result = toVersioned(newValue);
+      publish(new MapEvent<>(MapEvent.Type.INSERT, "", key, result, null));
+      return new MapEntryUpdateResult<>(MapEntryUpdateResult.Status.OK, commit.index(), key, result);
+    } else if (!valuesEqual(oldValue, newValue)) {
+      // If the key has been locked by a transaction, return a WRITE_LOCK error.
+      if (preparedKeys.contains(key)) {
+        return new MapEntryUpdateResult<>(
+            MapEntryUpdateResult.Status.WRITE_LOCK,
+            commit.index(),
+            key,
+            toVersioned(oldValue));
+      }
+      putEntry(commit.value().key(), newValue);
+      Versioned<byte[]> result = toVersioned(newValue);
+      publish(new MapEvent<>(MapEvent.Type.UPDATE, "", key, result, toVersioned(oldValue)));
+      return new MapEntryUpdateResult<>(MapEntryUpdateResult.Status.OK, commit.index(), key, result);
+    }
+    return new MapEntryUpdateResult<>(MapEntryUpdateResult.Status.NOOP, commit.index(), key, toVersioned(oldValue));
+  }
+
+  /**
+   * Handles a remove commit.
+   *
+   * @param index     the commit index
+   * @param key       the key to remove
+   * @param predicate predicate to determine whether to remove the entry
+   * @return map entry update result
+   */
+  private MapEntryUpdateResult<K, byte[]> removeIf(long index, K key, Predicate<MapEntryValue> predicate) {
+    MapEntryValue value = entries().get(key);
+
+    // If the value does not exist or doesn't match the predicate, return a PRECONDITION_FAILED error.
+    if (valueIsNull(value) || !predicate.test(value)) {
+      return new MapEntryUpdateResult<>(MapEntryUpdateResult.Status.PRECONDITION_FAILED, index, key, null);
+    }
+
+    // If the key has been locked by a transaction, return a WRITE_LOCK error.
+    if (preparedKeys.contains(key)) {
+      return new MapEntryUpdateResult<>(MapEntryUpdateResult.Status.WRITE_LOCK, index, key, null);
+    }
+
+    // If no transactions are active, remove the key. Otherwise, replace it with a tombstone.
+    if (activeTransactions.isEmpty()) {
+      removeEntry(key);
+    } else {
+      putEntry(key, new MapEntryValue(MapEntryValue.Type.TOMBSTONE, index, null));
+    }
+
+    Versioned<byte[]> result = toVersioned(value);
+    publish(new MapEvent<>(MapEvent.Type.REMOVE, "", key, null, result));
+    return new MapEntryUpdateResult<>(MapEntryUpdateResult.Status.OK, index, key, result);
+  }
+
+  /**
+   * Handles a remove commit.
+   *
+   * @param commit remove commit
+   * @return map entry update result
+   */
+  protected MapEntryUpdateResult<K, byte[]> remove(Commit<? extends Remove<K>> commit) {
+    return removeIf(commit.index(), commit.value().key(), v -> true);
+  }
+
+  /**
+   * Handles a remove all commit.
+   * <p>
+   * The keys are removed atomically: if any of the keys is locked by a transaction, none of
+   * the keys are removed and a WRITE_LOCK status is returned.
+   *
+   * @param commit remove all commit
+   * @return update status
+   */
+  protected MapEntryUpdateResult.Status removeAll(Commit<? extends RemoveAll<K>> commit) {
+    Collection<K> keys = commit.value().keys();
+    for (K key : keys) {
+      if (preparedKeys.contains(key)) {
+        return MapEntryUpdateResult.Status.WRITE_LOCK;
+      }
+    }
+
+    List<MapEvent<K, byte[]>> events = new ArrayList<>(keys.size());
+    for (K key : keys) {
+      MapEntryValue value = entries().get(key);
+      if (valueIsNull(value)) {
+        continue;
+      }
+
+      // If no transactions are active, remove the key. Otherwise, replace it with a tombstone.
+      if (activeTransactions.isEmpty()) {
+        removeEntry(key);
+      } else {
+        putEntry(key, new MapEntryValue(MapEntryValue.Type.TOMBSTONE, commit.index(), null));
+      }
+      events.add(new MapEvent<>(MapEvent.Type.REMOVE, "", key, null, toVersioned(value)));
+    }
+
+    if (!events.isEmpty()) {
+      publish(events);
+    }
+    return events.isEmpty() ? MapEntryUpdateResult.Status.NOOP : MapEntryUpdateResult.Status.OK;
+  }
+
+  /**
+   * Handles a removeValue commit.
+   *
+   * @param commit removeValue commit
+   * @return map entry update result
+   */
+  protected MapEntryUpdateResult<K, byte[]> removeValue(Commit<? extends RemoveValue<K>> commit) {
+    return removeIf(commit.index(), commit.value().key(), v ->
+        valuesEqual(v, new MapEntryValue(MapEntryValue.Type.VALUE, commit.index(), commit.value().value())));
+  }
+
+  /**
+   * Handles a removeVersion commit.
+   *
+   * @param commit removeVersion commit
+   * @return map entry update result
+   */
+  protected MapEntryUpdateResult<K, byte[]> removeVersion(Commit<? extends RemoveVersion<K>> commit) {
+    return removeIf(commit.index(), commit.value().key(), v -> v.version() == commit.value().version());
+  }
+
+  /**
+   * Handles a replace commit.
+   *
+   * @param index     the commit index
+   * @param key       the key to replace
+   * @param newValue  the value with which to replace the key
+   * @param predicate a predicate to determine whether to replace the key
+   * @return map entry update result
+   */
+  private MapEntryUpdateResult<K, byte[]> replaceIf(
+      long index, K key, MapEntryValue newValue, Predicate<MapEntryValue> predicate) {
+    MapEntryValue oldValue = entries().get(key);
+
+    // If the key is not set or the current value doesn't match the predicate, return a PRECONDITION_FAILED error.
+    if (valueIsNull(oldValue) || !predicate.test(oldValue)) {
+      return new MapEntryUpdateResult<>(
+          MapEntryUpdateResult.Status.PRECONDITION_FAILED,
+          index,
+          key,
+          toVersioned(oldValue));
+    }
+
+    // If the key has been locked by a transaction, return a WRITE_LOCK error.
+    if (preparedKeys.contains(key)) {
+      return new MapEntryUpdateResult<>(MapEntryUpdateResult.Status.WRITE_LOCK, index, key, null);
+    }
+
+    putEntry(key, newValue);
+    Versioned<byte[]> result = toVersioned(oldValue);
+    publish(new MapEvent<>(MapEvent.Type.UPDATE, "", key, toVersioned(newValue), result));
+    return new MapEntryUpdateResult<>(MapEntryUpdateResult.Status.OK, index, key, result);
+  }
+
+  /**
+   * Handles a replace commit.
+   *
+   * @param commit replace commit
+   * @return map entry update result
+   */
+  protected MapEntryUpdateResult<K, byte[]> replace(Commit<? extends Replace<K>> commit) {
+    MapEntryValue value = new MapEntryValue(MapEntryValue.Type.VALUE, commit.index(), commit.value().value());
+    return replaceIf(commit.index(), commit.value().key(), value, v -> true);
+  }
+
+  /**
+   * Handles a replaceValue commit.
+   *
+   * @param commit replaceValue commit
+   * @return map entry update result
+   */
+  protected MapEntryUpdateResult<K, byte[]> replaceValue(Commit<? extends ReplaceValue<K>> commit) {
+    MapEntryValue value = new MapEntryValue(MapEntryValue.Type.VALUE, commit.index(), commit.value().newValue());
+    return replaceIf(commit.index(), commit.value().key(), value,
+        v -> valuesEqual(v.value(), commit.value().oldValue()));
+  }
+
+  /**
+   * Handles a replaceVersion commit.
+   *
+   * @param commit replaceVersion commit
+   * @return map entry update result
+   */
+  protected MapEntryUpdateResult<K, byte[]> replaceVersion(Commit<? extends ReplaceVersion<K>> commit) {
+    MapEntryValue value = new MapEntryValue(MapEntryValue.Type.VALUE, commit.index(), commit.value().newValue());
+    return replaceIf(commit.index(), commit.value().key(), value,
+        v -> v.version() == commit.value().oldVersion());
+  }
+
+  /**
+   * Handles a clear commit.
+   *
+   * @return clear result
+   */
+  protected MapEntryUpdateResult.Status clear() {
+    Iterator<Map.Entry<K, MapEntryValue>> iterator = entries().entrySet().iterator();
+    Map<K, MapEntryValue> entriesToAdd = new HashMap<>();
+    while (iterator.hasNext()) {
+      Map.Entry<K, MapEntryValue> entry = iterator.next();
+      K key = entry.getKey();
+      MapEntryValue value = entry.getValue();
+      if (!valueIsNull(value)) {
+        Versioned<byte[]> removedValue = new Versioned<>(value.value(), value.version());
+        publish(new MapEvent<>(MapEvent.Type.REMOVE, "", key, null, removedValue));
+        if (activeTransactions.isEmpty()) {
+          preserve(key);
+          iterator.remove();
+        } else {
+          entriesToAdd.put(key, new MapEntryValue(MapEntryValue.Type.TOMBSTONE, value.version, null));
+        }
+      }
+    }
+    entriesToAdd.forEach(this::putEntry);
+    return MapEntryUpdateResult.Status.OK;
+  }
+
+  /**
+   * Handles a listen commit.
+   *
+   * @param session listen session
+   */
+  protected void listen(RaftSession session) {
+    listeners.put(session.sessionId().id(), session);
+    listenerFilters.remove(session.sessionId().id());
+  }
+
+  /**
+   * Handles a filtered listen commit.
+   * <p>
+   * The filter replaces any filter previously registered by the session.
+   *
+   * @param commit listen commit
+   */
+  protected void listen(Commit<? extends Listen<K>> commit) {
+    listeners.put(commit.session().sessionId().id(), commit.session());
+    listenerFilters.put(commit.session().sessionId().id(), commit.value().filter());
+  }
+
+  /**
+   * Handles an unlisten commit.
+   *
+   * @param session unlisten session
+   */
+  protected void unlisten(RaftSession session) {
+    listeners.remove(session.sessionId().id());
+    listenerFilters.remove(session.sessionId().id());
+  }
+
+  /**
+   * Handles a begin commit.
+   *
+   * @param commit transaction begin commit
+   * @return transaction state version
+   */
+  protected long begin(Commit<? extends TransactionBegin> commit) {
+    long version = commit.index();
+    activeTransactions.put(commit.value().transactionId(), new TransactionScope<>(version));
+    return version;
+  }
+
+  /**
+   * Handles an prepare and commit commit.
+   *
+   * @param commit transaction prepare and commit commit
+   * @return prepare result
+   */
+  protected PrepareResult prepareAndCommit(Commit<? extends TransactionPrepareAndCommit<K>> commit) {
+    TransactionId transactionId = commit.value().transactionLog().transactionId();
+    PrepareResult prepareResult = prepare(commit);
+    TransactionScope<K> transactionScope = activeTransactions.remove(transactionId);
+    if (prepareResult == PrepareResult.OK) {
+      this.currentVersion = commit.index();
+      transactionScope = transactionScope.prepared(commit);
+      commitTransaction(transactionScope);
+    }
+    discardTombstones();
+    return prepareResult;
+  }
+
+  /**
+   * Handles an prepare commit.
+   *
+   * @param commit transaction prepare commit
+   * @return prepare result
+   */
+  protected PrepareResult prepare(Commit<? extends TransactionPrepare<K>> commit) {
+    try {
+      TransactionLog<MapUpdate<K, byte[]>> transactionLog = commit.value().transactionLog();
+
+      // Iterate through records in the transaction log and perform isolation checks.
+      for (MapUpdate<K, byte[]> record : transactionLog.records()) {
+        K key = record.key();
+
+        // If the record is a VERSION_MATCH then check that the record's version matches the current
+        // version of the state machine.
+        if (record.type() == MapUpdate.Type.VERSION_MATCH && key == null) {
+          if (record.version() > currentVersion) {
+            return PrepareResult.OPTIMISTIC_LOCK_FAILURE;
+          } else {
+            continue;
+          }
+        }
+
+        // If the prepared keys already contains the key contained within the record, that indicates a
+        // conflict with a concurrent transaction.
+        if (preparedKeys.contains(key)) {
+          return PrepareResult.CONCURRENT_TRANSACTION;
+        }
+
+        // Read the existing value from the map.
+        MapEntryValue existingValue = entries().get(key);
+
+        // Note: if the existing value is null, that means the key has not changed during the transaction,
+        // otherwise a tombstone would have been retained.
+        if (existingValue == null) {
+          // If the value is null, ensure the version is equal to the transaction version.
+          if (record.version() != transactionLog.version()) {
+            return PrepareResult.OPTIMISTIC_LOCK_FAILURE;
+          }
+        } else {
+          // If the value is non-null, compare the current version with the record version.
+          if (existingValue.version() > record.version()) {
+            return PrepareResult.OPTIMISTIC_LOCK_FAILURE;
+          }
+        }
+      }
+
+      // No violations detected. Mark modified keys locked for transactions.
+      transactionLog.records().forEach(record -> {
+        if (record.type() != MapUpdate.Type.VERSION_MATCH) {
+          preparedKeys.add(record.key());
+        }
+      });
+
+      // Update the transaction scope. If the transaction scope is not set on this node, that indicates the
+      // coordinator is communicating with another node. Transactions assume that the client is communicating
+      // with a single leader in order to limit the overhead of retaining tombstones.
+      TransactionScope<K> transactionScope = activeTransactions.get(transactionLog.transactionId());
+      if (transactionScope == null) {
+        activeTransactions.put(
+            transactionLog.transactionId(),
+            new TransactionScope<>(transactionLog.version(), commit.value().transactionLog()));
+        return PrepareResult.PARTIAL_FAILURE;
+      } else {
+        activeTransactions.put(
+            transactionLog.transactionId(),
+            transactionScope.prepared(commit));
+        return PrepareResult.OK;
+      }
+    } catch (Exception e) {
+      logger().warn("Failure applying {}", commit, e);
+      throw Throwables.propagate(e);
+    }
+  }
+
+  /**
+   * Handles an commit commit (ha!).
+   *
+   * @param commit transaction commit commit
+   * @return commit result
+   */
+  protected CommitResult commit(Commit<? extends TransactionCommit> commit) {
+    TransactionId transactionId = commit.value().transactionId();
+    TransactionScope<K> transactionScope = activeTransactions.remove(transactionId);
+    if (transactionScope == null) {
+      return CommitResult.UNKNOWN_TRANSACTION_ID;
+    }
+
+    try {
+      this.currentVersion = commit.index();
+      return commitTransaction(transactionScope);
+    } catch (Exception e) {
+      logger().warn("Failure applying {}", commit, e);
+      throw Throwables.propagate(e);
+    } finally {
+      discardTombstones();
+    }
+  }
+
+  /**
+   * Applies committed operations to the state machine.
+   */
+  private CommitResult commitTransaction(TransactionScope<K> transactionScope) {
+    TransactionLog<MapUpdate<K, byte[]>> transactionLog = transactionScope.transactionLog();
+    boolean retainTombstones = !activeTransactions.isEmpty();
+
+    List<MapEvent<K, byte[]>> eventsToPublish = Lists.newArrayList();
+    for (MapUpdate<K, byte[]> record : transactionLog.records()) {
+      if (record.type() == MapUpdate.Type.VERSION_MATCH) {
+        continue;
+      }
+
+      K key = record.key();
+      checkState(preparedKeys.remove(key), "key is not prepared");
+
+      if (record.type() == MapUpdate.Type.LOCK) {
+        continue;
+      }
+
+      MapEntryValue previousValue = removeEntry(key);
+      MapEntryValue newValue = null;
+
+      // If the record is not a delete, create a transactional commit.
+      if (record.type() != MapUpdate.Type.REMOVE_IF_VERSION_MATCH) {
+        newValue = new MapEntryValue(MapEntryValue.Type.VALUE, currentVersion, record.value());
+      } else if (retainTombstones) {
+        // For deletes, if tombstones need to be retained then create and store a tombstone commit.
+        newValue = new MapEntryValue(MapEntryValue.Type.TOMBSTONE, currentVersion, null);
+      }
+
+      MapEvent<K, byte[]> event;
+      if (newValue != null) {
+        putEntry(key, newValue);
+        if (!valueIsNull(newValue)) {
+          if (!valueIsNull(previousValue)) {
+            event = new MapEvent<>(
+                MapEvent.Type.UPDATE,
+                "",
+                key,
+                toVersioned(newValue),
+                toVersioned(previousValue));
+          } else {
+            event = new MapEvent<>(
+                MapEvent.Type.INSERT,
+                "",
+                key,
+                toVersioned(newValue),
+                null);
+          }
+        } else {
+          event = new MapEvent<>(
+              MapEvent.Type.REMOVE,
+              "",
+              key,
+              null,
+              toVersioned(previousValue));
+        }
+      } else {
+        event = new MapEvent<>(
+            MapEvent.Type.REMOVE,
+            "",
+            key,
+            null,
+            toVersioned(previousValue));
+      }
+      eventsToPublish.add(event);
+    }
+    publish(eventsToPublish);
+    return CommitResult.OK;
+  }
+
+  /**
+   * Handles an rollback commit (ha!).
+   *
+   * @param commit transaction rollback commit
+   * @return rollback result
+   */
+  protected RollbackResult rollback(Commit<? extends TransactionRollback> commit) {
+    TransactionId transactionId = commit.value().transactionId();
+    TransactionScope<K> transactionScope = activeTransactions.remove(transactionId);
+    if (transactionScope == null) {
+      return RollbackResult.UNKNOWN_TRANSACTION_ID;
+    } else if (!transactionScope.isPrepared()) {
+      discardTombstones();
+      return RollbackResult.OK;
+    } else {
+      try {
+        transactionScope.transactionLog().records()
+            .forEach(record -> {
+              if (record.type() != MapUpdate.Type.VERSION_MATCH) {
+                preparedKeys.remove(record.key());
+              }
+            });
+        return RollbackResult.OK;
+      } finally {
+        discardTombstones();
+      }
+    }
+
+  }
+
+  /**
+   * Discards tombstones no longer needed by active transactions.
+   */
+  private void discardTombstones() {
+    if (activeTransactions.isEmpty()) {
+      Iterator<Map.Entry<K, MapEntryValue>> iterator = entries().entrySet().iterator();
+      while (iterator.hasNext()) {
+        Map.Entry<K, MapEntryValue> entry = iterator.next();
+        if (entry.getValue().type() == MapEntryValue.Type.TOMBSTONE) {
+          preserve(entry.getKey());
+          iterator.remove();
+        }
+      }
+    } else {
+      long lowWaterMark = activeTransactions.values().stream()
+          .mapToLong(TransactionScope::version)
+          .min().getAsLong();
+      Iterator<Map.Entry<K, MapEntryValue>> iterator = entries().entrySet().iterator();
+      while (iterator.hasNext()) {
+        Map.Entry<K, MapEntryValue> entry = iterator.next();
+        if (entry.getValue().type() == MapEntryValue.Type.TOMBSTONE && entry.getValue().version < lowWaterMark) {
+          preserve(entry.getKey());
+          iterator.remove();
+        }
+      }
+    }
+  }
+
+  /**
+   * Utility for turning a {@code MapEntryValue} to {@code Versioned}.
+   *
+   * @param value map entry value
+   * @return versioned instance
+   */
+  protected Versioned<byte[]> toVersioned(MapEntryValue value) {
+    return value != null && value.type() != MapEntryValue.Type.TOMBSTONE
+        ? new Versioned<>(value.value(), value.version()) : null;
+  }
+
+  /**
+   * Publishes an event to listeners.
+   *
+   * @param event event to publish
+   */
+  private void publish(MapEvent<K, byte[]> event) {
+    publish(Lists.newArrayList(event));
+  }
+
+  /**
+   * Publishes events to listeners.
+   *
+   * @param events list of map event to publish
+   */
+  private void publish(List<MapEvent<K, byte[]>> events) {
+    if (listeners.isEmpty()) {
+      return;
+    }
+
+    // Encode the events once and share the encoded event among all sessions that receive every event. Sessions
+    // with filters that only match some of the events are sent their own event.
+    RaftEvent event = null;
+    for (Map.Entry<Long, RaftSession> entry : listeners.entrySet()) {
+      MapEventFilter<K> filter = listenerFilters.get(entry.getKey());
+      List<MapEvent<K, byte[]>> sessionEvents = filter != null ? filter(events, filter) : events;
+      if (sessionEvents == events) {
+        if (event == null) {
+          event = new RaftEvent(CHANGE, serializer().encode(events));
+        }
+        entry.getValue().publish(event);
+      } else if (!sessionEvents.isEmpty()) {
+        entry.getValue().publish(new RaftEvent(CHANGE, serializer().encode(sessionEvents)));
+      }
+    }
+  }
+
+  /**
+   * Returns the events matching the given filter.
+   *
+   * @param events the events to filter
+   * @param filter the filter to apply
+   * @return the given list if all events match the filter, otherwise a list of the matching events
+   */
+  private List<MapEvent<K, byte[]>> filter(List<MapEvent<K, byte[]>> events, MapEventFilter<K> filter) {
+    List<MapEvent<K, byte[]>> filteredEvents = null;
+    for (int i = 0; i < events.size(); i++) {
+      MapEvent<K, byte[]> event = events.get(i);
+      if (!filter.test(event.key())) {
+        if (filteredEvents == null) {
+          filteredEvents = Lists.newArrayList(events.subList(0, i));
+        }
+      } else if (filteredEvents != null) {
+        filteredEvents.add(event);
+      }
+    }
+    return filteredEvents != null ? filteredEvents : events;
+  }
+
+  @Override
+  public void onExpire(RaftSession session) {
+    closeListener(session.sessionId().id());
+  }
+
+  @Override
+  public void onClose(RaftSession session) {
+    closeListener(session.sessionId().id());
+  }
+
+  private void closeListener(Long sessionId) {
+    listeners.remove(sessionId);
+    listenerFilters.remove(sessionId);
+    iterators.entrySet().removeIf(entry -> entry.getValue().sessionId == sessionId);
+  }
+
+  /**
+   * Interface implemented by map values.
+   */
+  protected static class MapEntryValue {
+    protected final Type type;
+    protected final long version;
+    protected final byte[] value;
+
+    MapEntryValue(Type type, long version, byte[] value) {
+      this.type = type;
+      this.version = version;
+      this.value = value;
+    }
+
+    /**
+     * Returns the value type.
+     *
+     * @return the value type
+     */
+    Type type() {
+      return type;
+    }
+
+    /**
+     * Returns the version of the value.
+     *
+     * @return version
+     */
+    long version() {
+      return version;
+    }
+
+    /**
+     * Returns the raw {@code byte[]}.
+     *
+     * @return raw value
+     */
+    byte[] value() {
+      return value;
+    }
+
+    /**
+     * Value type.
+     */
+    enum Type {
+      VALUE,
+      TOMBSTONE,
+    }
+  }
+
+  /**
+   * Map iterator context.
+   * <p>
+   * Only the owning session is replicated. The cursor is transient and is rebuilt on demand from the last key
+   * returned to the client.
+   */
+  protected static final class IteratorContext<K> {
+    final long sessionId;
+    private Iterator<Map.Entry<K, MapEntryValue>> iterator;
+    private K lastKey;
+
+    IteratorContext(long sessionId) {
+      this.sessionId = sessionId;
+    }
+  }
+
+  /**
+   * Map transaction scope.
+   */
+  protected static final class TransactionScope<K> {
+    private final long version;
+    private final TransactionLog<MapUpdate<K, byte[]>> transactionLog;
+
+    private TransactionScope(long version) {
+      this(version, null);
+    }
+
+    TransactionScope(long version, TransactionLog<MapUpdate<K, byte[]>> transactionLog) {
+      this.version = version;
+      this.transactionLog = transactionLog;
+    }
+
+    /**
+     * Returns the transaction version.
+     *
+     * @return the transaction version
+     */
+    long version() {
+      return version;
+    }
+
+    /**
+     * Returns whether this is a prepared transaction scope.
+     *
+     * @return whether this is a prepared transaction scope
+     */
+    boolean isPrepared() {
+      return transactionLog != null;
+    }
+
+    /**
+     * Returns the transaction commit log.
+     *
+     * @return the transaction commit log
+     */
+    TransactionLog<MapUpdate<K, byte[]>> transactionLog() {
+      checkState(isPrepared());
+      return transactionLog;
+    }
+
+    /**
+     * Returns a new transaction scope with a prepare commit.
+     *
+     * @param commit the prepare commit
+     * @return new transaction scope updated with the prepare commit
+     */
+    TransactionScope<K> prepared(Commit<? extends TransactionPrepare<K>> commit) {
+      return new TransactionScope<>(version, commit.value().transactionLog());
+    }
+  }
+}
\ No newline at end of file
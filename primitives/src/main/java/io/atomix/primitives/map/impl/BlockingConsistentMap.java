@@ -17,15 +17,18 @@ package io.atomix.primitives.map.impl;
 
 import com.google.common.base.Throwables;
 import io.atomix.primitives.Synchronous;
+import io.atomix.primitives.impl.BlockingIterator;
 import io.atomix.primitives.map.AsyncConsistentMap;
 import io.atomix.primitives.map.ConsistentMap;
 import io.atomix.primitives.map.ConsistentMapBackedJavaMap;
 import io.atomix.primitives.map.ConsistentMapException;
+import io.atomix.primitives.map.MapEventFilter;
 import io.atomix.primitives.map.MapEventListener;
 import io.atomix.time.Versioned;
 import io.atomix.utils.concurrent.Retries;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -88,6 +91,11 @@ public class BlockingConsistentMap<K, V> extends Synchronous<AsyncConsistentMap<
     return complete(asyncMap.getOrDefault(key, defaultValue));
   }
 
+  @Override
+  public Map<K, Versioned<V>> getAll(Collection<K> keys) {
+    return complete(asyncMap.getAll(keys));
+  }
+
   @Override
   public Versioned<V> computeIfAbsent(K key,
                                       Function<? super K, ? extends V> mappingFunction) {
@@ -126,11 +134,21 @@ public class BlockingConsistentMap<K, V> extends Synchronous<AsyncConsistentMap<
     return complete(asyncMap.putAndGet(key, value));
   }
 
+  @Override
+  public void putAll(Map<K, V> entries) {
+    complete(asyncMap.putAll(entries));
+  }
+
   @Override
   public Versioned<V> remove(K key) {
     return complete(asyncMap.remove(key));
   }
 
+  @Override
+  public void removeAll(Collection<K> keys) {
+    complete(asyncMap.removeAll(keys));
+  }
+
   @Override
   public void clear() {
     complete(asyncMap.clear());
@@ -151,6 +169,11 @@ public class BlockingConsistentMap<K, V> extends Synchronous<AsyncConsistentMap<
     return complete(asyncMap.entrySet());
   }
 
+  @Override
+  public Iterator<Map.Entry<K, Versioned<V>>> iterator() {
+    return new BlockingIterator<>(complete(asyncMap.iterator()), operationTimeoutMillis);
+  }
+
   @Override
   public Versioned<V> putIfAbsent(K key, V value) {
     return complete(asyncMap.putIfAbsent(key, value));
@@ -186,6 +209,11 @@ public class BlockingConsistentMap<K, V> extends Synchronous<AsyncConsistentMap<
     complete(asyncMap.addListener(listener, executor));
   }
 
+  @Override
+  public void addListener(MapEventFilter<K> filter, MapEventListener<K, V> listener, Executor executor) {
+    complete(asyncMap.addListener(filter, listener, executor));
+  }
+
   @Override
   public void removeListener(MapEventListener<K, V> listener) {
     complete(asyncMap.removeListener(listener));
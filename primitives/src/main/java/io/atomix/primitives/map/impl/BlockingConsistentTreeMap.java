@@ -18,14 +18,17 @@ package io.atomix.primitives.map.impl;
 
 import com.google.common.base.Throwables;
 import io.atomix.primitives.Synchronous;
+import io.atomix.primitives.impl.BlockingIterator;
 import io.atomix.primitives.map.AsyncConsistentTreeMap;
 import io.atomix.primitives.map.ConsistentMapBackedJavaMap;
 import io.atomix.primitives.map.ConsistentMapException;
 import io.atomix.primitives.map.ConsistentTreeMap;
+import io.atomix.primitives.map.MapEventFilter;
 import io.atomix.primitives.map.MapEventListener;
 import io.atomix.time.Versioned;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
@@ -180,6 +183,11 @@ public class BlockingConsistentTreeMap<V>
     return complete(treeMap.getOrDefault(key, defaultValue));
   }
 
+  @Override
+  public Map<String, Versioned<V>> getAll(Collection<String> keys) {
+    return complete(treeMap.getAll(keys));
+  }
+
   @Override
   public Versioned<V> computeIfAbsent(String key,
                                       Function<? super String,
@@ -222,11 +230,21 @@ public class BlockingConsistentTreeMap<V>
     return complete(treeMap.putAndGet(key, value));
   }
 
+  @Override
+  public void putAll(Map<String, V> entries) {
+    complete(treeMap.putAll(entries));
+  }
+
   @Override
   public Versioned<V> remove(String key) {
     return complete(treeMap.remove(key));
   }
 
+  @Override
+  public void removeAll(Collection<String> keys) {
+    complete(treeMap.removeAll(keys));
+  }
+
   @Override
   public void clear() {
     complete(treeMap.clear());
@@ -247,6 +265,11 @@ public class BlockingConsistentTreeMap<V>
     return complete(treeMap.entrySet());
   }
 
+  @Override
+  public Iterator<Map.Entry<String, Versioned<V>>> iterator() {
+    return new BlockingIterator<>(complete(treeMap.iterator()), operationTimeoutMillis);
+  }
+
   @Override
   public Versioned<V> putIfAbsent(String key, V value) {
     return complete(treeMap.putIfAbsent(key, value));
@@ -283,6 +306,12 @@ public class BlockingConsistentTreeMap<V>
     complete(treeMap.addListener(listener, executor));
   }
 
+  @Override
+  public void addListener(MapEventFilter<String> filter, MapEventListener<String, V> listener,
+                          Executor executor) {
+    complete(treeMap.addListener(filter, listener, executor));
+  }
+
   @Override
   public void removeListener(MapEventListener<String, V> listener) {
     complete(treeMap.removeListener(listener));
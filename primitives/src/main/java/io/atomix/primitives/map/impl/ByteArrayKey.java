@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import com.google.common.io.BaseEncoding;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Immutable binary map key.
+ * <p>
+ * Wraps a serialized key to provide value-based {@code equals} and {@code hashCode}. The hash code is computed
+ * lazily and cached. The wrapped array is not copied, so callers must not modify an array once it has been
+ * wrapped.
+ */
+public final class ByteArrayKey implements Comparable<ByteArrayKey> {
+
+  /**
+   * Wraps the given bytes in a key.
+   *
+   * @param bytes the key bytes
+   * @return the binary key
+   */
+  public static ByteArrayKey wrap(byte[] bytes) {
+    return new ByteArrayKey(bytes);
+  }
+
+  private final byte[] bytes;
+  private transient int hash;
+
+  private ByteArrayKey(byte[] bytes) {
+    this.bytes = checkNotNull(bytes, "bytes cannot be null");
+  }
+
+  /**
+   * Returns the key bytes.
+   * <p>
+   * The returned array is the array backing this key and must not be modified.
+   *
+   * @return the key bytes
+   */
+  public byte[] array() {
+    return bytes;
+  }
+
+  /**
+   * Returns the length of the key in bytes.
+   *
+   * @return the length of the key in bytes
+   */
+  public int length() {
+    return bytes.length;
+  }
+
+  @Override
+  public int compareTo(ByteArrayKey that) {
+    int length = Math.min(bytes.length, that.bytes.length);
+    for (int i = 0; i < length; i++) {
+      int compare = Integer.compare(bytes[i] & 0xff, that.bytes[i] & 0xff);
+      if (compare != 0) {
+        return compare;
+      }
+    }
+    return Integer.compare(bytes.length, that.bytes.length);
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = this.hash;
+    if (hash == 0) {
+      hash = Arrays.hashCode(bytes);
+      this.hash = hash;
+    }
+    return hash;
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (object == this) {
+      return true;
+    }
+    if (object instanceof ByteArrayKey) {
+      ByteArrayKey that = (ByteArrayKey) object;
+      return hashCode() == that.hashCode() && Arrays.equals(bytes, that.bytes);
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return BaseEncoding.base16().encode(bytes);
+  }
+}
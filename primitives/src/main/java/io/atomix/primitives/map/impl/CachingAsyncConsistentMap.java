@@ -18,11 +18,16 @@ package io.atomix.primitives.map.impl;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import io.atomix.primitives.map.AsyncConsistentMap;
 import io.atomix.primitives.map.MapEventListener;
 import io.atomix.time.Versioned;
 import org.slf4j.Logger;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
@@ -39,7 +44,8 @@ import static org.slf4j.LoggerFactory.getLogger;
  * The cache entries are automatically invalidated when updates are detected either locally or
  * remotely.
  * <p> This implementation only attempts to serve cached entries for {@link AsyncConsistentMap#get get}
- * {@link AsyncConsistentMap#getOrDefault(Object, Object) getOrDefault}, and
+ * {@link AsyncConsistentMap#getOrDefault(Object, Object) getOrDefault},
+ * {@link AsyncConsistentMap#getAll(java.util.Collection) getAll}, and
  * {@link AsyncConsistentMap#containsKey(Object) containsKey} calls. All other calls skip the cache
  * and directly go the backing map.
  *
@@ -129,6 +135,45 @@ public class CachingAsyncConsistentMap<K, V> extends DelegatingAsyncConsistentMa
     });
   }
 
+  @Override
+  public CompletableFuture<Map<K, Versioned<V>>> getAll(Collection<K> keys) {
+    Map<K, CompletableFuture<Versioned<V>>> cached = Maps.newHashMap();
+    List<K> misses = Lists.newArrayList();
+    for (K key : keys) {
+      CompletableFuture<Versioned<V>> future = cache.getIfPresent(key);
+      if (future != null) {
+        cached.put(key, future);
+      } else {
+        misses.add(key);
+      }
+    }
+
+    CompletableFuture<Map<K, Versioned<V>>> missesFuture = misses.isEmpty()
+        ? CompletableFuture.completedFuture(Maps.newHashMap())
+        : super.getAll(misses).thenApply(entries -> {
+          for (K key : misses) {
+            cache.asMap().putIfAbsent(key, CompletableFuture.completedFuture(entries.get(key)));
+          }
+          return entries;
+        });
+
+    return CompletableFuture.allOf(cached.values().toArray(new CompletableFuture[cached.size()]))
+        .thenCombine(missesFuture, (v, entries) -> {
+          Map<K, Versioned<V>> result = Maps.newHashMap(entries);
+          cached.forEach((key, future) -> {
+            Versioned<V> value = future.join();
+            if (value != null) {
+              result.put(key, value);
+            }
+          });
+          return result;
+        }).whenComplete((r, e) -> {
+          if (e != null) {
+            cache.invalidateAll(keys);
+          }
+        });
+  }
+
   @Override
   public CompletableFuture<Versioned<V>> computeIf(K key,
                                                    Predicate<? super V> condition,
@@ -149,6 +194,12 @@ public class CachingAsyncConsistentMap<K, V> extends DelegatingAsyncConsistentMa
         .whenComplete((r, e) -> cache.invalidate(key));
   }
 
+  @Override
+  public CompletableFuture<Void> putAll(Map<K, V> entries) {
+    return super.putAll(entries)
+        .whenComplete((r, e) -> cache.invalidateAll(entries.keySet()));
+  }
+
   @Override
   public CompletableFuture<Versioned<V>> putIfAbsent(K key, V value) {
     return super.putIfAbsent(key, value)
@@ -161,6 +212,12 @@ public class CachingAsyncConsistentMap<K, V> extends DelegatingAsyncConsistentMa
         .whenComplete((r, e) -> cache.invalidate(key));
   }
 
+  @Override
+  public CompletableFuture<Void> removeAll(Collection<K> keys) {
+    return super.removeAll(keys)
+        .whenComplete((r, e) -> cache.invalidateAll(keys));
+  }
+
   @Override
   public CompletableFuture<Boolean> containsKey(K key) {
     return cache.getUnchecked(key).thenApply(Objects::nonNull)
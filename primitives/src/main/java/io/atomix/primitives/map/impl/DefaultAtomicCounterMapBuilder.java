@@ -32,6 +32,8 @@ public class DefaultAtomicCounterMapBuilder<K> extends AtomicCounterMapBuilder<K
 
   @Override
   public AsyncAtomicCounterMap<K> buildAsync() {
-    return primitiveCreator.newAsyncAtomicCounterMap(name(), serializer());
+    return partitioned()
+        ? primitiveCreator.newAsyncPartitionedAtomicCounterMap(name(), serializer())
+        : primitiveCreator.newAsyncAtomicCounterMap(name(), serializer());
   }
 }
@@ -36,7 +36,9 @@ public class DefaultConsistentMapBuilder<K, V> extends ConsistentMapBuilder<K, V
 
   @Override
   public AsyncConsistentMap<K, V> buildAsync() {
-    AsyncConsistentMap<K, V> map = primitiveCreator.newAsyncConsistentMap(name(), serializer());
+    AsyncConsistentMap<K, V> map = binaryKeys()
+        ? primitiveCreator.newAsyncBinaryConsistentMap(name(), serializer())
+        : primitiveCreator.newAsyncConsistentMap(name(), serializer());
     map = nullValues() ? map : DistributedPrimitives.newNotNullMap(map);
     map = relaxedReadConsistency() ? DistributedPrimitives.newCachingMap(map) : map;
     map = readOnly() ? DistributedPrimitives.newUnmodifiableMap(map) : map;
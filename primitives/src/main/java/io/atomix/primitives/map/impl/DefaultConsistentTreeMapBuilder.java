@@ -34,6 +34,8 @@ public class DefaultConsistentTreeMapBuilder<V> extends ConsistentTreeMapBuilder
 
   @Override
   public AsyncConsistentTreeMap<V> buildAsync() {
-    return primitiveCreator.newAsyncConsistentTreeMap(name(), serializer());
+    return splitPoints() != null
+        ? primitiveCreator.newAsyncConsistentTreeMap(name(), serializer(), splitPoints())
+        : primitiveCreator.newAsyncConsistentTreeMap(name(), serializer());
   }
 }
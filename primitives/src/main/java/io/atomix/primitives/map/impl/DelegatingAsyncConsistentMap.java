@@ -17,15 +17,18 @@
 package io.atomix.primitives.map.impl;
 
 import com.google.common.base.MoreObjects;
+import io.atomix.primitives.AsyncIterator;
 import io.atomix.primitives.TransactionId;
 import io.atomix.primitives.TransactionLog;
 import io.atomix.primitives.impl.DelegatingDistributedPrimitive;
 import io.atomix.primitives.map.AsyncConsistentMap;
+import io.atomix.primitives.map.MapEventFilter;
 import io.atomix.primitives.map.MapEventListener;
 import io.atomix.time.Version;
 import io.atomix.time.Versioned;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -76,6 +79,11 @@ public class DelegatingAsyncConsistentMap<K, V>
     return delegateMap.getOrDefault(key, defaultValue);
   }
 
+  @Override
+  public CompletableFuture<Map<K, Versioned<V>>> getAll(Collection<K> keys) {
+    return delegateMap.getAll(keys);
+  }
+
   @Override
   public CompletableFuture<Versioned<V>> computeIf(K key,
                                                    Predicate<? super V> condition,
@@ -93,11 +101,21 @@ public class DelegatingAsyncConsistentMap<K, V>
     return delegateMap.putAndGet(key, value);
   }
 
+  @Override
+  public CompletableFuture<Void> putAll(Map<K, V> entries) {
+    return delegateMap.putAll(entries);
+  }
+
   @Override
   public CompletableFuture<Versioned<V>> remove(K key) {
     return delegateMap.remove(key);
   }
 
+  @Override
+  public CompletableFuture<Void> removeAll(Collection<K> keys) {
+    return delegateMap.removeAll(keys);
+  }
+
   @Override
   public CompletableFuture<Void> clear() {
     return delegateMap.clear();
@@ -118,6 +136,11 @@ public class DelegatingAsyncConsistentMap<K, V>
     return delegateMap.entrySet();
   }
 
+  @Override
+  public CompletableFuture<AsyncIterator<Entry<K, Versioned<V>>>> iterator() {
+    return delegateMap.iterator();
+  }
+
   @Override
   public CompletableFuture<Versioned<V>> putIfAbsent(K key, V value) {
     return delegateMap.putIfAbsent(key, value);
@@ -153,6 +176,12 @@ public class DelegatingAsyncConsistentMap<K, V>
     return delegateMap.addListener(listener, executor);
   }
 
+  @Override
+  public CompletableFuture<Void> addListener(
+      MapEventFilter<K> filter, MapEventListener<K, V> listener, Executor executor) {
+    return delegateMap.addListener(filter, listener, executor);
+  }
+
   @Override
   public CompletableFuture<Void> removeListener(MapEventListener<K, V> listener) {
     return delegateMap.removeListener(listener);
@@ -16,10 +16,12 @@
 
 package io.atomix.primitives.map.impl;
 
+import io.atomix.primitives.AsyncIterator;
 import io.atomix.primitives.TransactionId;
 import io.atomix.primitives.TransactionLog;
 import io.atomix.primitives.impl.DelegatingDistributedPrimitive;
 import io.atomix.primitives.map.AsyncConsistentTreeMap;
+import io.atomix.primitives.map.MapEventFilter;
 import io.atomix.primitives.map.MapEventListener;
 import io.atomix.time.Version;
 import io.atomix.time.Versioned;
@@ -160,6 +162,11 @@ public class DelegatingAsyncConsistentTreeMap<V> extends DelegatingDistributedPr
     return delegateMap.getOrDefault(key, defaultValue);
   }
 
+  @Override
+  public CompletableFuture<Map<String, Versioned<V>>> getAll(Collection<String> keys) {
+    return delegateMap.getAll(keys);
+  }
+
   @Override
   public CompletableFuture<Versioned<V>> computeIf(
       String key,
@@ -179,11 +186,21 @@ public class DelegatingAsyncConsistentTreeMap<V> extends DelegatingDistributedPr
     return delegateMap.putAndGet(key, value);
   }
 
+  @Override
+  public CompletableFuture<Void> putAll(Map<String, V> entries) {
+    return delegateMap.putAll(entries);
+  }
+
   @Override
   public CompletableFuture<Versioned<V>> remove(String key) {
     return delegateMap.remove(key);
   }
 
+  @Override
+  public CompletableFuture<Void> removeAll(Collection<String> keys) {
+    return delegateMap.removeAll(keys);
+  }
+
   @Override
   public CompletableFuture<Void> clear() {
     return delegateMap.clear();
@@ -204,6 +221,11 @@ public class DelegatingAsyncConsistentTreeMap<V> extends DelegatingDistributedPr
     return delegateMap.entrySet();
   }
 
+  @Override
+  public CompletableFuture<AsyncIterator<Map.Entry<String, Versioned<V>>>> iterator() {
+    return delegateMap.iterator();
+  }
+
   @Override
   public CompletableFuture<Versioned<V>> putIfAbsent(String key, V value) {
     return delegateMap.putIfAbsent(key, value);
@@ -242,6 +264,12 @@ public class DelegatingAsyncConsistentTreeMap<V> extends DelegatingDistributedPr
     return delegateMap.addListener(listener, executor);
   }
 
+  @Override
+  public CompletableFuture<Void> addListener(
+      MapEventFilter<String> filter, MapEventListener<String, V> listener, Executor executor) {
+    return delegateMap.addListener(filter, listener, executor);
+  }
+
   @Override
   public CompletableFuture<Void> removeListener(
       MapEventListener<String, V> listener) {
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import java.util.List;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Batch of entries returned by a map iterator.
+ *
+ * @param <T> the batch element type
+ */
+public class IteratorBatch<T> {
+  private final List<T> entries;
+  private final boolean complete;
+
+  public IteratorBatch(List<T> entries, boolean complete) {
+    this.entries = entries;
+    this.complete = complete;
+  }
+
+  /**
+   * Returns the entries in the batch.
+   *
+   * @return the entries in the batch
+   */
+  public List<T> entries() {
+    return entries;
+  }
+
+  /**
+   * Returns whether the batch is the last batch for the iterator.
+   *
+   * @return indicates whether this is the last batch for the iterator
+   */
+  public boolean complete() {
+    return complete;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("entries", entries.size())
+        .add("complete", complete)
+        .toString();
+  }
+}
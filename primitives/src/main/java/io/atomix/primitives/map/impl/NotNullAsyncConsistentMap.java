@@ -15,10 +15,13 @@
  */
 package io.atomix.primitives.map.impl;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import io.atomix.primitives.map.AsyncConsistentMap;
 import io.atomix.time.Versioned;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -52,6 +55,13 @@ public class NotNullAsyncConsistentMap<K, V> extends DelegatingAsyncConsistentMa
     return super.getOrDefault(key, defaultValue).thenApply(v -> v != null && v.value() == null ? null : v);
   }
 
+  @Override
+  public CompletableFuture<Map<K, Versioned<V>>> getAll(Collection<K> keys) {
+    return super.getAll(keys).thenApply(entries -> entries.entrySet().stream()
+        .filter(e -> e.getValue().value() != null)
+        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+  }
+
   @Override
   public CompletableFuture<Versioned<V>> put(K key, V value) {
     if (value == null) {
@@ -68,6 +78,25 @@ public class NotNullAsyncConsistentMap<K, V> extends DelegatingAsyncConsistentMa
     return super.putAndGet(key, value);
   }
 
+  @Override
+  public CompletableFuture<Void> putAll(Map<K, V> entries) {
+    Map<K, V> puts = Maps.newHashMap();
+    List<K> removes = Lists.newArrayList();
+    entries.forEach((k, v) -> {
+      if (v == null) {
+        removes.add(k);
+      } else {
+        puts.put(k, v);
+      }
+    });
+    if (removes.isEmpty()) {
+      return super.putAll(puts);
+    } else if (puts.isEmpty()) {
+      return super.removeAll(removes);
+    }
+    return CompletableFuture.allOf(super.putAll(puts), super.removeAll(removes));
+  }
+
   @Override
   public CompletableFuture<Collection<Versioned<V>>> values() {
     return super.values().thenApply(value -> value.stream()
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import com.google.common.collect.Maps;
+import io.atomix.primitives.AsyncPrimitive;
+import io.atomix.primitives.Hasher;
+import io.atomix.primitives.map.AsyncAtomicCounterMap;
+import io.atomix.utils.concurrent.Futures;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * {@link AsyncAtomicCounterMap} that has its counters partitioned horizontally across
+ * several {@link AsyncAtomicCounterMap counter maps}.
+ *
+ * @param <K> key type
+ */
+public class PartitionedAsyncAtomicCounterMap<K> implements AsyncAtomicCounterMap<K> {
+
+  private final String name;
+  private final TreeMap<Integer, AsyncAtomicCounterMap<K>> partitions = Maps.newTreeMap();
+  private final Hasher<K> keyHasher;
+
+  public PartitionedAsyncAtomicCounterMap(String name,
+                                          Map<Integer, AsyncAtomicCounterMap<K>> partitions,
+                                          Hasher<K> keyHasher) {
+    this.name = name;
+    this.partitions.putAll(checkNotNull(partitions));
+    this.keyHasher = checkNotNull(keyHasher);
+  }
+
+  @Override
+  public String name() {
+    return name;
+  }
+
+  @Override
+  public CompletableFuture<Long> incrementAndGet(K key) {
+    return getMap(key).incrementAndGet(key);
+  }
+
+  @Override
+  public CompletableFuture<Long> decrementAndGet(K key) {
+    return getMap(key).decrementAndGet(key);
+  }
+
+  @Override
+  public CompletableFuture<Long> getAndIncrement(K key) {
+    return getMap(key).getAndIncrement(key);
+  }
+
+  @Override
+  public CompletableFuture<Long> getAndDecrement(K key) {
+    return getMap(key).getAndDecrement(key);
+  }
+
+  @Override
+  public CompletableFuture<Long> addAndGet(K key, long delta) {
+    return getMap(key).addAndGet(key, delta);
+  }
+
+  @Override
+  public CompletableFuture<Long> getAndAdd(K key, long delta) {
+    return getMap(key).getAndAdd(key, delta);
+  }
+
+  @Override
+  public CompletableFuture<Long> get(K key) {
+    return getMap(key).get(key);
+  }
+
+  @Override
+  public CompletableFuture<Long> put(K key, long newValue) {
+    return getMap(key).put(key, newValue);
+  }
+
+  @Override
+  public CompletableFuture<Long> putIfAbsent(K key, long newValue) {
+    return getMap(key).putIfAbsent(key, newValue);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> replace(K key, long expectedOldValue, long newValue) {
+    return getMap(key).replace(key, expectedOldValue, newValue);
+  }
+
+  @Override
+  public CompletableFuture<Long> remove(K key) {
+    return getMap(key).remove(key);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> remove(K key, long value) {
+    return getMap(key).remove(key, value);
+  }
+
+  @Override
+  public CompletableFuture<Integer> size() {
+    return Futures.allOf(getMaps().stream().map(m -> m.size()).collect(Collectors.toList()), Math::addExact, 0);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> isEmpty() {
+    return size().thenApply(size -> size == 0);
+  }
+
+  @Override
+  public CompletableFuture<Void> clear() {
+    return CompletableFuture.allOf(getMaps().stream()
+        .map(map -> map.clear())
+        .toArray(CompletableFuture[]::new));
+  }
+
+  @Override
+  public void addStatusChangeListener(Consumer<Status> listener) {
+    partitions.values().forEach(map -> map.addStatusChangeListener(listener));
+  }
+
+  @Override
+  public void removeStatusChangeListener(Consumer<Status> listener) {
+    partitions.values().forEach(map -> map.removeStatusChangeListener(listener));
+  }
+
+  @Override
+  public Collection<Consumer<Status>> statusChangeListeners() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public CompletableFuture<Void> close() {
+    return Futures.allOf(getMaps().stream().map(AsyncPrimitive::close).collect(Collectors.toList())).thenApply(v -> null);
+  }
+
+  /**
+   * Returns the counter map (partition) to which the specified key maps.
+   *
+   * @param key key
+   * @return AsyncAtomicCounterMap to which key maps
+   */
+  private AsyncAtomicCounterMap<K> getMap(K key) {
+    return partitions.get(keyHasher.hash(key));
+  }
+
+  /**
+   * Returns all the constituent counter maps.
+   *
+   * @return collection of counter maps.
+   */
+  private Collection<AsyncAtomicCounterMap<K>> getMaps() {
+    return partitions.values();
+  }
+}
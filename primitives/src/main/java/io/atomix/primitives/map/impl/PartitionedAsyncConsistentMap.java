@@ -17,12 +17,16 @@ package io.atomix.primitives.map.impl;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import io.atomix.primitives.AsyncIterator;
 import io.atomix.primitives.AsyncPrimitive;
 import io.atomix.primitives.Hasher;
 import io.atomix.primitives.TransactionId;
 import io.atomix.primitives.TransactionLog;
+import io.atomix.primitives.impl.PartitionedIterator;
 import io.atomix.primitives.map.AsyncConsistentMap;
+import io.atomix.primitives.map.MapEventFilter;
 import io.atomix.primitives.map.MapEventListener;
 import io.atomix.time.Version;
 import io.atomix.time.Versioned;
@@ -30,6 +34,7 @@ import io.atomix.utils.Match;
 import io.atomix.utils.concurrent.Futures;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -101,6 +106,19 @@ public class PartitionedAsyncConsistentMap<K, V> implements AsyncConsistentMap<K
     return getMap(key).getOrDefault(key, defaultValue);
   }
 
+  @Override
+  public CompletableFuture<Map<K, Versioned<V>>> getAll(Collection<K> keys) {
+    Map<AsyncConsistentMap<K, V>, List<K>> partitionKeys = groupByPartition(keys);
+    return Futures.allOf(partitionKeys.entrySet().stream()
+        .map(e -> e.getKey().getAll(e.getValue()))
+        .collect(Collectors.toList()))
+        .thenApply(results -> {
+          Map<K, Versioned<V>> entries = Maps.newHashMap();
+          results.forEach(entries::putAll);
+          return entries;
+        });
+  }
+
   @Override
   public CompletableFuture<Versioned<V>> computeIf(K key,
                                                    Predicate<? super V> condition,
@@ -118,11 +136,28 @@ public class PartitionedAsyncConsistentMap<K, V> implements AsyncConsistentMap<K
     return getMap(key).putAndGet(key, value);
   }
 
+  @Override
+  public CompletableFuture<Void> putAll(Map<K, V> entries) {
+    Map<AsyncConsistentMap<K, V>, Map<K, V>> partitionEntries = Maps.newIdentityHashMap();
+    entries.forEach((key, value) ->
+        partitionEntries.computeIfAbsent(getMap(key), m -> Maps.newHashMap()).put(key, value));
+    return CompletableFuture.allOf(partitionEntries.entrySet().stream()
+        .map(e -> e.getKey().putAll(e.getValue()))
+        .toArray(CompletableFuture[]::new));
+  }
+
   @Override
   public CompletableFuture<Versioned<V>> remove(K key) {
     return getMap(key).remove(key);
   }
 
+  @Override
+  public CompletableFuture<Void> removeAll(Collection<K> keys) {
+    return CompletableFuture.allOf(groupByPartition(keys).entrySet().stream()
+        .map(e -> e.getKey().removeAll(e.getValue()))
+        .toArray(CompletableFuture[]::new));
+  }
+
   @Override
   public CompletableFuture<Void> clear() {
     return CompletableFuture.allOf(getMaps().stream()
@@ -151,6 +186,14 @@ public class PartitionedAsyncConsistentMap<K, V> implements AsyncConsistentMap<K
         ImmutableSet.of());
   }
 
+  @Override
+  public CompletableFuture<AsyncIterator<Entry<K, Versioned<V>>>> iterator() {
+    // Open iterators on all partitions in parallel. Each partition iterator fetches its own batches,
+    // so partitions are scanned concurrently while entries are consumed one partition at a time.
+    return Futures.allOf(getMaps().stream().map(AsyncConsistentMap::iterator).collect(Collectors.toList()))
+        .thenApply(PartitionedIterator::new);
+  }
+
   @Override
   public CompletableFuture<Versioned<V>> putIfAbsent(K key, V value) {
     return getMap(key).putIfAbsent(key, value);
@@ -188,6 +231,28 @@ public class PartitionedAsyncConsistentMap<K, V> implements AsyncConsistentMap<K
         .toArray(CompletableFuture[]::new));
   }
 
+  @Override
+  public CompletableFuture<Void> addListener(
+      MapEventFilter<K> filter, MapEventListener<K, V> listener, Executor executor) {
+    // Keys are hashed to partitions, so prefix filters must be registered with every partition. Key filters are
+    // only registered with the partitions that own the keys, and the listener is removed from other partitions.
+    if (!filter.prefixes().isEmpty()) {
+      return CompletableFuture.allOf(getMaps().stream()
+          .map(map -> map.addListener(filter, listener, executor))
+          .toArray(CompletableFuture[]::new));
+    }
+
+    Map<AsyncConsistentMap<K, V>, List<K>> partitionKeys = groupByPartition(filter.keys());
+    return CompletableFuture.allOf(getMaps().stream()
+        .map(map -> {
+          List<K> keys = partitionKeys.get(map);
+          return keys != null
+              ? map.addListener(MapEventFilter.keys(keys), listener, executor)
+              : map.removeListener(listener);
+        })
+        .toArray(CompletableFuture[]::new));
+  }
+
   @Override
   public CompletableFuture<Void> removeListener(MapEventListener<K, V> listener) {
     return CompletableFuture.allOf(getMaps().stream()
@@ -250,6 +315,20 @@ public class PartitionedAsyncConsistentMap<K, V> implements AsyncConsistentMap<K
     return partitions.get(keyHasher.hash(key));
   }
 
+  /**
+   * Groups the given keys by the map (partition) to which they map.
+   *
+   * @param keys keys
+   * @return keys grouped by partition
+   */
+  private Map<AsyncConsistentMap<K, V>, List<K>> groupByPartition(Collection<K> keys) {
+    Map<AsyncConsistentMap<K, V>, List<K>> partitionKeys = Maps.newIdentityHashMap();
+    for (K key : keys) {
+      partitionKeys.computeIfAbsent(getMap(key), m -> Lists.newArrayList()).add(key);
+    }
+    return partitionKeys;
+  }
+
   /**
    * Returns all the constituent maps.
    *
@@ -0,0 +1,651 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import io.atomix.primitives.AsyncIterator;
+import io.atomix.primitives.AsyncPrimitive;
+import io.atomix.primitives.TransactionId;
+import io.atomix.primitives.TransactionLog;
+import io.atomix.primitives.impl.PartitionedIterator;
+import io.atomix.primitives.map.AsyncConsistentTreeMap;
+import io.atomix.primitives.map.MapEventFilter;
+import io.atomix.primitives.map.MapEventListener;
+import io.atomix.time.Version;
+import io.atomix.time.Versioned;
+import io.atomix.utils.Match;
+import io.atomix.utils.concurrent.Futures;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * {@link AsyncConsistentTreeMap} that range partitions its keys across several
+ * {@link AsyncConsistentTreeMap maps}.
+ * <p>
+ * Partitions are ordered and separated by a sorted list of split points. Partition {@code i} holds the keys
+ * greater than or equal to split point {@code i - 1} and less than split point {@code i}, so the first partition
+ * holds all keys less than the first split point and the last partition holds all keys greater than or equal to
+ * the last split point. Because every partition covers a contiguous range of the key space, navigation operations
+ * only need to consult the partition that owns a key and, if that partition has no matching entry, its neighbors.
+ *
+ * @param <V> value type
+ */
+public class PartitionedAsyncConsistentTreeMap<V> implements AsyncConsistentTreeMap<V> {
+
+  private final String name;
+  private final List<AsyncConsistentTreeMap<V>> partitions;
+  private final CompletableFuture<List<String>> splitPoints;
+  private final Map<MapEventListener<String, V>, Map<Integer, MapEventFilter<String>>> listeners =
+      Maps.newIdentityHashMap();
+
+  public PartitionedAsyncConsistentTreeMap(String name,
+                                           List<AsyncConsistentTreeMap<V>> partitions,
+                                           List<String> splitPoints) {
+    this(name, partitions, CompletableFuture.completedFuture(checkSplitPoints(splitPoints, partitions.size())));
+  }
+
+  /**
+   * Creates a partitioned map whose split points are resolved asynchronously.
+   * <p>
+   * Operations that route keys to partitions wait for the split points and fail if the split points could not
+   * be resolved or are invalid for the given partitions.
+   *
+   * @param name the map name
+   * @param partitions the partitions in range order
+   * @param splitPoints a future to be completed with the sorted split points separating the partitions
+   */
+  public PartitionedAsyncConsistentTreeMap(String name,
+                                           List<AsyncConsistentTreeMap<V>> partitions,
+                                           CompletableFuture<List<String>> splitPoints) {
+    this.name = name;
+    this.partitions = ImmutableList.copyOf(checkNotNull(partitions));
+    checkArgument(!partitions.isEmpty(), "partitions cannot be empty");
+    this.splitPoints = checkNotNull(splitPoints)
+        .thenApply(points -> checkSplitPoints(points, partitions.size()));
+  }
+
+  /**
+   * Validates the given split points for the given number of partitions.
+   *
+   * @param splitPoints the split points to validate
+   * @param partitions the number of partitions
+   * @return an immutable copy of the split points
+   */
+  private static List<String> checkSplitPoints(List<String> splitPoints, int partitions) {
+    checkNotNull(splitPoints, "splitPoints cannot be null");
+    checkArgument(splitPoints.size() == partitions - 1,
+        "expected %s split points for %s partitions", partitions - 1, partitions);
+    for (int i = 1; i < splitPoints.size(); i++) {
+      checkArgument(splitPoints.get(i - 1).compareTo(splitPoints.get(i)) < 0, "split points must be sorted");
+    }
+    return ImmutableList.copyOf(splitPoints);
+  }
+
+  @Override
+  public String name() {
+    return name;
+  }
+
+  @Override
+  public CompletableFuture<Integer> size() {
+    return Futures.allOf(partitions.stream().map(m -> m.size()).collect(Collectors.toList()), Math::addExact, 0);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> isEmpty() {
+    return size().thenApply(size -> size == 0);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> containsKey(String key) {
+    return getMap(key).thenCompose(map -> map.containsKey(key));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> containsValue(V value) {
+    return Futures.firstOf(partitions.stream().map(m -> m.containsValue(value)).collect(Collectors.toList()),
+        Match.ifValue(true),
+        false);
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> get(String key) {
+    return getMap(key).thenCompose(map -> map.get(key));
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> getOrDefault(String key, V defaultValue) {
+    return getMap(key).thenCompose(map -> map.getOrDefault(key, defaultValue));
+  }
+
+  @Override
+  public CompletableFuture<Map<String, Versioned<V>>> getAll(Collection<String> keys) {
+    return groupByPartition(keys).thenCompose(partitionKeys -> Futures.allOf(partitionKeys.entrySet().stream()
+        .map(e -> e.getKey().getAll(e.getValue()))
+        .collect(Collectors.toList()))
+        .thenApply(results -> {
+          Map<String, Versioned<V>> entries = Maps.newHashMap();
+          results.forEach(entries::putAll);
+          return entries;
+        }));
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> computeIf(String key,
+                                                   Predicate<? super V> condition,
+                                                   BiFunction<? super String, ? super V, ? extends V> remappingFunction) {
+    return getMap(key).thenCompose(map -> map.computeIf(key, condition, remappingFunction));
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> put(String key, V value) {
+    return getMap(key).thenCompose(map -> map.put(key, value));
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> putAndGet(String key, V value) {
+    return getMap(key).thenCompose(map -> map.putAndGet(key, value));
+  }
+
+  @Override
+  public CompletableFuture<Void> putAll(Map<String, V> entries) {
+    return splitPoints.thenCompose(points -> {
+      Map<AsyncConsistentTreeMap<V>, Map<String, V>> partitionEntries = Maps.newIdentityHashMap();
+      entries.forEach((key, value) -> partitionEntries.computeIfAbsent(
+          partitions.get(getIndex(points, key)), m -> Maps.newHashMap()).put(key, value));
+      return CompletableFuture.allOf(partitionEntries.entrySet().stream()
+          .map(e -> e.getKey().putAll(e.getValue()))
+          .toArray(CompletableFuture[]::new));
+    });
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> remove(String key) {
+    return getMap(key).thenCompose(map -> map.remove(key));
+  }
+
+  @Override
+  public CompletableFuture<Void> removeAll(Collection<String> keys) {
+    return groupByPartition(keys).thenCompose(partitionKeys -> CompletableFuture.allOf(partitionKeys.entrySet()
+        .stream()
+        .map(e -> e.getKey().removeAll(e.getValue()))
+        .toArray(CompletableFuture[]::new)));
+  }
+
+  @Override
+  public CompletableFuture<Void> clear() {
+    return CompletableFuture.allOf(partitions.stream()
+        .map(map -> map.clear())
+        .toArray(CompletableFuture[]::new));
+  }
+
+  @Override
+  public CompletableFuture<Set<String>> keySet() {
+    return Futures.allOf(partitions.stream().map(m -> m.keySet()).collect(Collectors.toList()),
+        (s1, s2) -> ImmutableSet.<String>builder().addAll(s1).addAll(s2).build(),
+        ImmutableSet.of());
+  }
+
+  @Override
+  public CompletableFuture<Collection<Versioned<V>>> values() {
+    return Futures.allOf(partitions.stream().map(m -> m.values()).collect(Collectors.toList()),
+        (c1, c2) -> ImmutableList.<Versioned<V>>builder().addAll(c1).addAll(c2).build(),
+        ImmutableList.of());
+  }
+
+  @Override
+  public CompletableFuture<Set<Entry<String, Versioned<V>>>> entrySet() {
+    return Futures.allOf(partitions.stream().map(m -> m.entrySet()).collect(Collectors.toList()),
+        (s1, s2) -> ImmutableSet.<Entry<String, Versioned<V>>>builder().addAll(s1).addAll(s2).build(),
+        ImmutableSet.of());
+  }
+
+  @Override
+  public CompletableFuture<AsyncIterator<Entry<String, Versioned<V>>>> iterator() {
+    // Partitions are consumed in range order, so the combined iterator returns entries in key order while
+    // each partition iterator still fetches its batches independently.
+    return Futures.allOf(partitions.stream().map(AsyncConsistentTreeMap::iterator).collect(Collectors.toList()))
+        .thenApply(PartitionedIterator::new);
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> putIfAbsent(String key, V value) {
+    return getMap(key).thenCompose(map -> map.putIfAbsent(key, value));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> remove(String key, V value) {
+    return getMap(key).thenCompose(map -> map.remove(key, value));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> remove(String key, long version) {
+    return getMap(key).thenCompose(map -> map.remove(key, version));
+  }
+
+  @Override
+  public CompletableFuture<Versioned<V>> replace(String key, V value) {
+    return getMap(key).thenCompose(map -> map.replace(key, value));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> replace(String key, V oldValue, V newValue) {
+    return getMap(key).thenCompose(map -> map.replace(key, oldValue, newValue));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> replace(String key, long oldVersion, V newValue) {
+    return getMap(key).thenCompose(map -> map.replace(key, oldVersion, newValue));
+  }
+
+  @Override
+  public CompletableFuture<String> firstKey() {
+    return first(AsyncConsistentTreeMap::firstKey);
+  }
+
+  @Override
+  public CompletableFuture<String> lastKey() {
+    return last(AsyncConsistentTreeMap::lastKey);
+  }
+
+  @Override
+  public CompletableFuture<Entry<String, Versioned<V>>> ceilingEntry(String key) {
+    return getIndex(key).thenCompose(index -> partitions.get(index).ceilingEntry(key)
+        .thenCompose(entry -> entry != null ? Futures.completedFuture(entry)
+            : scanForward(index + 1, AsyncConsistentTreeMap::firstEntry)));
+  }
+
+  @Override
+  public CompletableFuture<Entry<String, Versioned<V>>> floorEntry(String key) {
+    return getIndex(key).thenCompose(index -> partitions.get(index).floorEntry(key)
+        .thenCompose(entry -> entry != null ? Futures.completedFuture(entry)
+            : scanBackward(index - 1, AsyncConsistentTreeMap::lastEntry)));
+  }
+
+  @Override
+  public CompletableFuture<Entry<String, Versioned<V>>> higherEntry(String key) {
+    return getIndex(key).thenCompose(index -> partitions.get(index).higherEntry(key)
+        .thenCompose(entry -> entry != null ? Futures.completedFuture(entry)
+            : scanForward(index + 1, AsyncConsistentTreeMap::firstEntry)));
+  }
+
+  @Override
+  public CompletableFuture<Entry<String, Versioned<V>>> lowerEntry(String key) {
+    return getIndex(key).thenCompose(index -> partitions.get(index).lowerEntry(key)
+        .thenCompose(entry -> entry != null ? Futures.completedFuture(entry)
+            : scanBackward(index - 1, AsyncConsistentTreeMap::lastEntry)));
+  }
+
+  @Override
+  public CompletableFuture<Entry<String, Versioned<V>>> firstEntry() {
+    return first(AsyncConsistentTreeMap::firstEntry);
+  }
+
+  @Override
+  public CompletableFuture<Entry<String, Versioned<V>>> lastEntry() {
+    return last(AsyncConsistentTreeMap::lastEntry);
+  }
+
+  @Override
+  public CompletableFuture<Entry<String, Versioned<V>>> pollFirstEntry() {
+    // Poll partitions one at a time so that only the partition holding the lowest entry is modified.
+    return scanForward(0, AsyncConsistentTreeMap::pollFirstEntry);
+  }
+
+  @Override
+  public CompletableFuture<Entry<String, Versioned<V>>> pollLastEntry() {
+    return scanBackward(partitions.size() - 1, AsyncConsistentTreeMap::pollLastEntry);
+  }
+
+  @Override
+  public CompletableFuture<String> lowerKey(String key) {
+    return getIndex(key).thenCompose(index -> partitions.get(index).lowerKey(key)
+        .thenCompose(k -> k != null ? Futures.completedFuture(k)
+            : scanBackward(index - 1, AsyncConsistentTreeMap::lastKey)));
+  }
+
+  @Override
+  public CompletableFuture<String> floorKey(String key) {
+    return getIndex(key).thenCompose(index -> partitions.get(index).floorKey(key)
+        .thenCompose(k -> k != null ? Futures.completedFuture(k)
+            : scanBackward(index - 1, AsyncConsistentTreeMap::lastKey)));
+  }
+
+  @Override
+  public CompletableFuture<String> ceilingKey(String key) {
+    return getIndex(key).thenCompose(index -> partitions.get(index).ceilingKey(key)
+        .thenCompose(k -> k != null ? Futures.completedFuture(k)
+            : scanForward(index + 1, AsyncConsistentTreeMap::firstKey)));
+  }
+
+  @Override
+  public CompletableFuture<String> higherKey(String key) {
+    return getIndex(key).thenCompose(index -> partitions.get(index).higherKey(key)
+        .thenCompose(k -> k != null ? Futures.completedFuture(k)
+            : scanForward(index + 1, AsyncConsistentTreeMap::firstKey)));
+  }
+
+  @Override
+  public CompletableFuture<NavigableSet<String>> navigableKeySet() {
+    return Futures.allOf(partitions.stream().map(m -> m.keySet()).collect(Collectors.toList()))
+        .thenApply(keySets -> {
+          NavigableSet<String> keys = new TreeSet<>();
+          keySets.forEach(keys::addAll);
+          return keys;
+        });
+  }
+
+  @Override
+  public CompletableFuture<NavigableMap<String, V>> subMap(
+      String upperKey,
+      String lowerKey,
+      boolean inclusiveUpper,
+      boolean inclusiveLower) {
+    // Only the partitions whose ranges overlap the requested range are queried.
+    return splitPoints.thenCompose(points -> {
+      int fromIndex = lowerKey != null ? getIndex(points, lowerKey) : 0;
+      int toIndex = upperKey != null ? getIndex(points, upperKey) : partitions.size() - 1;
+      if (fromIndex > toIndex) {
+        return Futures.completedFuture(new TreeMap<>());
+      }
+      return Futures.allOf(partitions.subList(fromIndex, toIndex + 1).stream()
+          .map(m -> m.subMap(upperKey, lowerKey, inclusiveUpper, inclusiveLower))
+          .collect(Collectors.toList()))
+          .thenApply(maps -> {
+            NavigableMap<String, V> entries = new TreeMap<>();
+            maps.forEach(entries::putAll);
+            return entries;
+          });
+    });
+  }
+
+  @Override
+  public synchronized CompletableFuture<Void> addListener(MapEventListener<String, V> listener, Executor executor) {
+    // A listener registered without a filter receives all events from every partition.
+    Map<Integer, MapEventFilter<String>> partitionFilters = listeners.computeIfAbsent(listener, l -> Maps.newHashMap());
+    IntStream.range(0, partitions.size()).forEach(index -> partitionFilters.put(index, null));
+    return CompletableFuture.allOf(partitions.stream()
+        .map(map -> map.addListener(listener, executor))
+        .toArray(CompletableFuture[]::new));
+  }
+
+  @Override
+  public CompletableFuture<Void> addListener(
+      MapEventFilter<String> filter, MapEventListener<String, V> listener, Executor executor) {
+    // Register the listener only with the partitions whose ranges contain keys matched by the filter. Filters
+    // registered with a partition accumulate, and a partition with which the listener was registered without a
+    // filter keeps delivering all events, so a filtered registration never narrows an earlier registration.
+    return getFilters(filter).thenCompose(filters -> addListener(filters, listener, executor));
+  }
+
+  /**
+   * Registers the given listener with each partition using the given filters.
+   *
+   * @param filters filters indexed by partition
+   * @param listener the listener to register
+   * @param executor the executor with which to call the listener
+   * @return a future to be completed once the listener has been registered with all partitions
+   */
+  private synchronized CompletableFuture<Void> addListener(
+      Map<Integer, MapEventFilter<String>> filters, MapEventListener<String, V> listener, Executor executor) {
+    Map<Integer, MapEventFilter<String>> partitionFilters = listeners.computeIfAbsent(listener, l -> Maps.newHashMap());
+    List<CompletableFuture<Void>> futures = Lists.newArrayList();
+    filters.forEach((index, filter) -> {
+      if (partitionFilters.containsKey(index) && partitionFilters.get(index) == null) {
+        return;
+      }
+      MapEventFilter<String> partitionFilter = partitionFilters.containsKey(index)
+          ? partitionFilters.get(index).or(filter)
+          : filter;
+      partitionFilters.put(index, partitionFilter);
+      futures.add(partitions.get(index).addListener(partitionFilter, listener, executor));
+    });
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]));
+  }
+
+  @Override
+  public synchronized CompletableFuture<Void> removeListener(MapEventListener<String, V> listener) {
+    // Only the partitions with which the listener was registered are updated.
+    Map<Integer, MapEventFilter<String>> partitionFilters = listeners.remove(listener);
+    if (partitionFilters == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return CompletableFuture.allOf(partitionFilters.keySet().stream()
+        .map(index -> partitions.get(index).removeListener(listener))
+        .toArray(CompletableFuture[]::new));
+  }
+
+  @Override
+  public CompletableFuture<Version> begin(TransactionId transactionId) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public CompletableFuture<Boolean> prepare(TransactionLog<MapUpdate<String, V>> transactionLog) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public CompletableFuture<Boolean> prepareAndCommit(TransactionLog<MapUpdate<String, V>> transactionLog) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public CompletableFuture<Void> commit(TransactionId transactionId) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public CompletableFuture<Void> rollback(TransactionId transactionId) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void addStatusChangeListener(Consumer<Status> listener) {
+    partitions.forEach(map -> map.addStatusChangeListener(listener));
+  }
+
+  @Override
+  public void removeStatusChangeListener(Consumer<Status> listener) {
+    partitions.forEach(map -> map.removeStatusChangeListener(listener));
+  }
+
+  @Override
+  public Collection<Consumer<Status>> statusChangeListeners() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public CompletableFuture<Void> close() {
+    return Futures.allOf(partitions.stream().map(AsyncPrimitive::close).collect(Collectors.toList())).thenApply(v -> null);
+  }
+
+  /**
+   * Queries all partitions in parallel and returns the first non-null result in partition order.
+   *
+   * @param function the function to apply to each partition
+   * @param <T> the result type
+   * @return the result from the lowest partition that returned a non-null result
+   */
+  private <T> CompletableFuture<T> first(Function<AsyncConsistentTreeMap<V>, CompletableFuture<T>> function) {
+    return Futures.allOf(partitions.stream().map(function).collect(Collectors.toList()))
+        .thenApply(results -> results.stream().filter(Objects::nonNull).findFirst().orElse(null));
+  }
+
+  /**
+   * Queries all partitions in parallel and returns the last non-null result in partition order.
+   *
+   * @param function the function to apply to each partition
+   * @param <T> the result type
+   * @return the result from the highest partition that returned a non-null result
+   */
+  private <T> CompletableFuture<T> last(Function<AsyncConsistentTreeMap<V>, CompletableFuture<T>> function) {
+    return Futures.allOf(partitions.stream().map(function).collect(Collectors.toList()))
+        .thenApply(results -> Lists.reverse(results).stream().filter(Objects::nonNull).findFirst().orElse(null));
+  }
+
+  /**
+   * Applies the given function to each partition starting at the given index until a non-null result is found.
+   *
+   * @param index the index of the first partition to query
+   * @param function the function to apply to each partition
+   * @param <T> the result type
+   * @return the first non-null result or {@code null} if no partition returned a result
+   */
+  private <T> CompletableFuture<T> scanForward(
+      int index, Function<AsyncConsistentTreeMap<V>, CompletableFuture<T>> function) {
+    if (index >= partitions.size()) {
+      return Futures.completedFuture(null);
+    }
+    return function.apply(partitions.get(index))
+        .thenCompose(result -> result != null ? Futures.completedFuture(result) : scanForward(index + 1, function));
+  }
+
+  /**
+   * Applies the given function to each partition starting at the given index and moving towards the first
+   * partition until a non-null result is found.
+   *
+   * @param index the index of the first partition to query
+   * @param function the function to apply to each partition
+   * @param <T> the result type
+   * @return the first non-null result or {@code null} if no partition returned a result
+   */
+  private <T> CompletableFuture<T> scanBackward(
+      int index, Function<AsyncConsistentTreeMap<V>, CompletableFuture<T>> function) {
+    if (index < 0) {
+      return Futures.completedFuture(null);
+    }
+    return function.apply(partitions.get(index))
+        .thenCompose(result -> result != null ? Futures.completedFuture(result) : scanBackward(index - 1, function));
+  }
+
+  /**
+   * Returns the index of the partition whose range contains the given key.
+   *
+   * @param key key
+   * @return a future to be completed with the index of the partition that owns the key
+   */
+  private CompletableFuture<Integer> getIndex(String key) {
+    return splitPoints.thenApply(points -> getIndex(points, key));
+  }
+
+  /**
+   * Returns the index of the partition whose range contains the given key.
+   *
+   * @param splitPoints split points
+   * @param key key
+   * @return the index of the partition that owns the key
+   */
+  private static int getIndex(List<String> splitPoints, String key) {
+    int index = Collections.binarySearch(splitPoints, key);
+    return index >= 0 ? index + 1 : -(index + 1);
+  }
+
+  /**
+   * Returns the index of the last partition whose range may contain keys starting with the given prefix.
+   *
+   * @param splitPoints split points
+   * @param prefix key prefix
+   * @return the index of the last partition that may own keys starting with the prefix
+   */
+  private static int getLastIndex(List<String> splitPoints, String prefix) {
+    // Keys starting with the prefix are less than the prefix with its last incrementable character incremented.
+    int length = prefix.length();
+    while (length > 0 && prefix.charAt(length - 1) == Character.MAX_VALUE) {
+      length--;
+    }
+    if (length == 0) {
+      return splitPoints.size();
+    }
+    String upperBound = prefix.substring(0, length - 1) + (char) (prefix.charAt(length - 1) + 1);
+    int index = Collections.binarySearch(splitPoints, upperBound);
+    return index >= 0 ? index : -(index + 1);
+  }
+
+  /**
+   * Splits the given filter into filters for the partitions that own the keys matched by the filter.
+   *
+   * @param filter the filter to split
+   * @return a future to be completed with filters indexed by partition
+   */
+  private CompletableFuture<Map<Integer, MapEventFilter<String>>> getFilters(MapEventFilter<String> filter) {
+    return splitPoints.thenApply(points -> {
+      Map<Integer, MapEventFilter<String>> filters = Maps.newHashMap();
+      for (String key : filter.keys()) {
+        filters.merge(getIndex(points, key), MapEventFilter.key(key), MapEventFilter::or);
+      }
+      for (String prefix : filter.prefixes()) {
+        MapEventFilter<String> prefixFilter = MapEventFilter.prefix(prefix);
+        int lastIndex = getLastIndex(points, prefix);
+        for (int index = getIndex(points, prefix); index <= lastIndex; index++) {
+          filters.merge(index, prefixFilter, MapEventFilter::or);
+        }
+      }
+      return filters;
+    });
+  }
+
+  /**
+   * Returns the map (partition) to which the specified key maps.
+   *
+   * @param key key
+   * @return a future to be completed with the AsyncConsistentTreeMap to which key maps
+   */
+  private CompletableFuture<AsyncConsistentTreeMap<V>> getMap(String key) {
+    return getIndex(key).thenApply(partitions::get);
+  }
+
+  /**
+   * Groups the given keys by the map (partition) to which they map.
+   *
+   * @param keys keys
+   * @return a future to be completed with keys grouped by partition
+   */
+  private CompletableFuture<Map<AsyncConsistentTreeMap<V>, List<String>>> groupByPartition(Collection<String> keys) {
+    return splitPoints.thenApply(points -> {
+      Map<AsyncConsistentTreeMap<V>, List<String>> partitionKeys = Maps.newIdentityHashMap();
+      for (String key : keys) {
+        partitionKeys.computeIfAbsent(partitions.get(getIndex(points, key)), m -> Lists.newArrayList())
+            .add(key);
+      }
+      return partitionKeys;
+    });
+  }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+/**
+ * State Machine for {@link RaftBinaryConsistentMap} resource.
+ * <p>
+ * Keys are stored as {@link ByteArrayKey}s. The service is registered under its own service type, separately from
+ * the string keyed {@link RaftConsistentMapService}, so a map's key encoding is fixed when the map is created and
+ * existing string keyed maps are never reinterpreted.
+ */
+public class RaftBinaryConsistentMapService extends AbstractRaftConsistentMapService<ByteArrayKey> {
+  @Override
+  protected int keySize(ByteArrayKey key) {
+    return key.length();
+  }
+}
@@ -17,6 +17,7 @@ package io.atomix.primitives.map.impl;
 
 import io.atomix.primitives.TransactionId;
 import io.atomix.primitives.TransactionLog;
+import io.atomix.primitives.map.MapEventFilter;
 import io.atomix.protocols.raft.operation.OperationId;
 import io.atomix.protocols.raft.operation.OperationType;
 import io.atomix.serializer.kryo.KryoNamespace;
@@ -24,6 +25,9 @@ import io.atomix.serializer.kryo.KryoNamespaces;
 import io.atomix.time.Versioned;
 import io.atomix.utils.ArraySizeHashPrinter;
 
+import java.util.Collection;
+import java.util.Map;
+
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -37,20 +41,27 @@ public enum RaftConsistentMapOperations implements OperationId {
   CONTAINS_VALUE("containsValue", OperationType.QUERY),
   GET("get", OperationType.QUERY),
   GET_OR_DEFAULT("getOrDefault", OperationType.QUERY),
+  GET_ALL("getAll", OperationType.QUERY),
   KEY_SET("keySet", OperationType.QUERY),
   VALUES("values", OperationType.QUERY),
   ENTRY_SET("entrySet", OperationType.QUERY),
+  OPEN_ITERATOR("openIterator", OperationType.COMMAND),
+  NEXT("next", OperationType.QUERY),
+  CLOSE_ITERATOR("closeIterator", OperationType.COMMAND),
   PUT("put", OperationType.COMMAND),
   PUT_IF_ABSENT("putIfAbsent", OperationType.COMMAND),
   PUT_AND_GET("putAndGet", OperationType.COMMAND),
+  PUT_ALL("putAll", OperationType.COMMAND),
   REMOVE("remove", OperationType.COMMAND),
   REMOVE_VALUE("removeValue", OperationType.COMMAND),
   REMOVE_VERSION("removeVersion", OperationType.COMMAND),
+  REMOVE_ALL("removeAll", OperationType.COMMAND),
   REPLACE("replace", OperationType.COMMAND),
   REPLACE_VALUE("replaceValue", OperationType.COMMAND),
   REPLACE_VERSION("replaceVersion", OperationType.COMMAND),
   CLEAR("clear", OperationType.COMMAND),
   ADD_LISTENER("addListener", OperationType.COMMAND),
+  ADD_FILTERED_LISTENER("addFilteredListener", OperationType.COMMAND),
   REMOVE_LISTENER("removeListener", OperationType.COMMAND),
   BEGIN("begin", OperationType.COMMAND),
   PREPARE("prepare", OperationType.COMMAND),
@@ -106,6 +117,14 @@ public enum RaftConsistentMapOperations implements OperationId {
       .register(MapEntryUpdateResult.Status.class)
       .register(Versioned.class)
       .register(byte[].class)
+      .register(IteratorPosition.class)
+      .register(IteratorBatch.class)
+      .register(GetAll.class)
+      .register(PutAll.class)
+      .register(RemoveAll.class)
+      .register(ByteArrayKey.class)
+      .register(Listen.class)
+      .register(MapEventFilter.class)
       .build(RaftConsistentMapOperations.class.getSimpleName());
 
   /**
@@ -124,13 +143,13 @@ public enum RaftConsistentMapOperations implements OperationId {
    * Abstract key-based query.
    */
   @SuppressWarnings("serial")
-  public abstract static class KeyOperation extends MapOperation {
-    protected String key;
+  public abstract static class KeyOperation<K> extends MapOperation {
+    protected K key;
 
     public KeyOperation() {
     }
 
-    public KeyOperation(String key) {
+    public KeyOperation(K key) {
       this.key = checkNotNull(key, "key cannot be null");
     }
 
@@ -139,7 +158,7 @@ public enum RaftConsistentMapOperations implements OperationId {
      *
      * @return key
      */
-    public String key() {
+    public K key() {
       return key;
     }
 
@@ -186,13 +205,13 @@ public enum RaftConsistentMapOperations implements OperationId {
    * Abstract key/value operation.
    */
   @SuppressWarnings("serial")
-  public abstract static class KeyValueOperation extends KeyOperation {
+  public abstract static class KeyValueOperation<K> extends KeyOperation<K> {
     protected byte[] value;
 
     public KeyValueOperation() {
     }
 
-    public KeyValueOperation(String key, byte[] value) {
+    public KeyValueOperation(K key, byte[] value) {
       super(key);
       this.value = value;
     }
@@ -219,13 +238,13 @@ public enum RaftConsistentMapOperations implements OperationId {
    * Abstract key/version operation.
    */
   @SuppressWarnings("serial")
-  public abstract static class KeyVersionOperation extends KeyOperation {
+  public abstract static class KeyVersionOperation<K> extends KeyOperation<K> {
     protected long version;
 
     public KeyVersionOperation() {
     }
 
-    public KeyVersionOperation(String key, long version) {
+    public KeyVersionOperation(K key, long version) {
       super(key);
       this.version = version;
     }
@@ -252,11 +271,11 @@ public enum RaftConsistentMapOperations implements OperationId {
    * Contains key command.
    */
   @SuppressWarnings("serial")
-  public static class ContainsKey extends KeyOperation {
+  public static class ContainsKey<K> extends KeyOperation<K> {
     public ContainsKey() {
     }
 
-    public ContainsKey(String key) {
+    public ContainsKey(K key) {
       super(key);
     }
   }
@@ -277,11 +296,11 @@ public enum RaftConsistentMapOperations implements OperationId {
   /**
    * Map put operation.
    */
-  public static class Put extends KeyValueOperation {
+  public static class Put<K> extends KeyValueOperation<K> {
     public Put() {
     }
 
-    public Put(String key, byte[] value) {
+    public Put(K key, byte[] value) {
       super(key, value);
     }
   }
@@ -289,11 +308,11 @@ public enum RaftConsistentMapOperations implements OperationId {
   /**
    * Remove operation.
    */
-  public static class Remove extends KeyOperation {
+  public static class Remove<K> extends KeyOperation<K> {
     public Remove() {
     }
 
-    public Remove(String key) {
+    public Remove(K key) {
       super(key);
     }
   }
@@ -301,11 +320,11 @@ public enum RaftConsistentMapOperations implements OperationId {
   /**
    * Remove if value match operation.
    */
-  public static class RemoveValue extends KeyValueOperation {
+  public static class RemoveValue<K> extends KeyValueOperation<K> {
     public RemoveValue() {
     }
 
-    public RemoveValue(String key, byte[] value) {
+    public RemoveValue(K key, byte[] value) {
       super(key, value);
     }
   }
@@ -313,11 +332,11 @@ public enum RaftConsistentMapOperations implements OperationId {
   /**
    * Remove if version match operation.
    */
-  public static class RemoveVersion extends KeyVersionOperation {
+  public static class RemoveVersion<K> extends KeyVersionOperation<K> {
     public RemoveVersion() {
     }
 
-    public RemoveVersion(String key, long version) {
+    public RemoveVersion(K key, long version) {
       super(key, version);
     }
   }
@@ -325,11 +344,11 @@ public enum RaftConsistentMapOperations implements OperationId {
   /**
    * Replace operation.
    */
-  public static class Replace extends KeyValueOperation {
+  public static class Replace<K> extends KeyValueOperation<K> {
     public Replace() {
     }
 
-    public Replace(String key, byte[] value) {
+    public Replace(K key, byte[] value) {
       super(key, value);
     }
   }
@@ -337,14 +356,14 @@ public enum RaftConsistentMapOperations implements OperationId {
   /**
    * Replace by value operation.
    */
-  public static class ReplaceValue extends KeyOperation {
+  public static class ReplaceValue<K> extends KeyOperation<K> {
     private byte[] oldValue;
     private byte[] newValue;
 
     public ReplaceValue() {
     }
 
-    public ReplaceValue(String key, byte[] oldValue, byte[] newValue) {
+    public ReplaceValue(K key, byte[] oldValue, byte[] newValue) {
       super(key);
       this.oldValue = oldValue;
       this.newValue = newValue;
@@ -371,14 +390,14 @@ public enum RaftConsistentMapOperations implements OperationId {
   /**
    * Replace by version operation.
    */
-  public static class ReplaceVersion extends KeyOperation {
+  public static class ReplaceVersion<K> extends KeyOperation<K> {
     private long oldVersion;
     private byte[] newValue;
 
     public ReplaceVersion() {
     }
 
-    public ReplaceVersion(String key, long oldVersion, byte[] newValue) {
+    public ReplaceVersion(K key, long oldVersion, byte[] newValue) {
       super(key);
       this.oldVersion = oldVersion;
       this.newValue = newValue;
@@ -424,17 +443,17 @@ public enum RaftConsistentMapOperations implements OperationId {
    * Map prepare command.
    */
   @SuppressWarnings("serial")
-  public static class TransactionPrepare extends MapOperation {
-    private TransactionLog<MapUpdate<String, byte[]>> transactionLog;
+  public static class TransactionPrepare<K> extends MapOperation {
+    private TransactionLog<MapUpdate<K, byte[]>> transactionLog;
 
     public TransactionPrepare() {
     }
 
-    public TransactionPrepare(TransactionLog<MapUpdate<String, byte[]>> transactionLog) {
+    public TransactionPrepare(TransactionLog<MapUpdate<K, byte[]>> transactionLog) {
       this.transactionLog = transactionLog;
     }
 
-    public TransactionLog<MapUpdate<String, byte[]>> transactionLog() {
+    public TransactionLog<MapUpdate<K, byte[]>> transactionLog() {
       return transactionLog;
     }
 
@@ -450,11 +469,11 @@ public enum RaftConsistentMapOperations implements OperationId {
    * Map prepareAndCommit command.
    */
   @SuppressWarnings("serial")
-  public static class TransactionPrepareAndCommit extends TransactionPrepare {
+  public static class TransactionPrepareAndCommit<K> extends TransactionPrepare<K> {
     public TransactionPrepareAndCommit() {
     }
 
-    public TransactionPrepareAndCommit(TransactionLog<MapUpdate<String, byte[]>> transactionLog) {
+    public TransactionPrepareAndCommit(TransactionLog<MapUpdate<K, byte[]>> transactionLog) {
       super(transactionLog);
     }
   }
@@ -521,15 +540,57 @@ public enum RaftConsistentMapOperations implements OperationId {
     }
   }
 
+  /**
+   * Iterator position query.
+   */
+  public static class IteratorPosition<K> extends MapOperation {
+    private long iteratorId;
+    private K key;
+
+    public IteratorPosition() {
+    }
+
+    public IteratorPosition(long iteratorId, K key) {
+      this.iteratorId = iteratorId;
+      this.key = key;
+    }
+
+    /**
+     * Returns the iterator identifier.
+     *
+     * @return the iterator identifier
+     */
+    public long iteratorId() {
+      return iteratorId;
+    }
+
+    /**
+     * Returns the last key returned by the iterator, after which to read the next batch.
+     *
+     * @return the last key returned by the iterator, or {@code null} to read the first batch
+     */
+    public K key() {
+      return key;
+    }
+
+    @Override
+    public String toString() {
+      return toStringHelper(this)
+          .add("iteratorId", iteratorId)
+          .add("key", key)
+          .toString();
+    }
+  }
+
   /**
    * Get query.
    */
   @SuppressWarnings("serial")
-  public static class Get extends KeyOperation {
+  public static class Get<K> extends KeyOperation<K> {
     public Get() {
     }
 
-    public Get(String key) {
+    public Get(K key) {
       super(key);
     }
   }
@@ -538,13 +599,13 @@ public enum RaftConsistentMapOperations implements OperationId {
    * Get or default query.
    */
   @SuppressWarnings("serial")
-  public static class GetOrDefault extends KeyOperation {
+  public static class GetOrDefault<K> extends KeyOperation<K> {
     private byte[] defaultValue;
 
     public GetOrDefault() {
     }
 
-    public GetOrDefault(String key, byte[] defaultValue) {
+    public GetOrDefault(K key, byte[] defaultValue) {
       super(key);
       this.defaultValue = defaultValue;
     }
@@ -566,4 +627,123 @@ public enum RaftConsistentMapOperations implements OperationId {
           .toString();
     }
   }
+
+  /**
+   * Abstract multi-key operation.
+   */
+  @SuppressWarnings("serial")
+  public abstract static class KeysOperation<K> extends MapOperation {
+    protected Collection<K> keys;
+
+    public KeysOperation() {
+    }
+
+    public KeysOperation(Collection<K> keys) {
+      this.keys = checkNotNull(keys, "keys cannot be null");
+    }
+
+    /**
+     * Returns the keys.
+     *
+     * @return keys
+     */
+    public Collection<K> keys() {
+      return keys;
+    }
+
+    @Override
+    public String toString() {
+      return toStringHelper(getClass())
+          .add("keys", keys)
+          .toString();
+    }
+  }
+
+  /**
+   * Get all query.
+   */
+  @SuppressWarnings("serial")
+  public static class GetAll<K> extends KeysOperation<K> {
+    public GetAll() {
+    }
+
+    public GetAll(Collection<K> keys) {
+      super(keys);
+    }
+  }
+
+  /**
+   * Put all command.
+   */
+  @SuppressWarnings("serial")
+  public static class PutAll<K> extends MapOperation {
+    private Map<K, byte[]> entries;
+
+    public PutAll() {
+    }
+
+    public PutAll(Map<K, byte[]> entries) {
+      this.entries = checkNotNull(entries, "entries cannot be null");
+    }
+
+    /**
+     * Returns the entries to put.
+     *
+     * @return the entries to put
+     */
+    public Map<K, byte[]> entries() {
+      return entries;
+    }
+
+    @Override
+    public String toString() {
+      return toStringHelper(this)
+          .add("keys", entries.keySet())
+          .toString();
+    }
+  }
+
+  /**
+   * Remove all command.
+   */
+  @SuppressWarnings("serial")
+  public static class RemoveAll<K> extends KeysOperation<K> {
+    public RemoveAll() {
+    }
+
+    public RemoveAll(Collection<K> keys) {
+      super(keys);
+    }
+  }
+
+  /**
+   * Filtered listen command.
+   */
+  @SuppressWarnings("serial")
+  public static class Listen<K> extends MapOperation {
+    private MapEventFilter<K> filter;
+
+    public Listen() {
+    }
+
+    public Listen(MapEventFilter<K> filter) {
+      this.filter = checkNotNull(filter, "filter cannot be null");
+    }
+
+    /**
+     * Returns the filter restricting the events published to the session.
+     *
+     * @return the event filter
+     */
+    public MapEventFilter<K> filter() {
+      return filter;
+    }
+
+    @Override
+    public String toString() {
+      return toStringHelper(this)
+          .add("filter", filter)
+          .toString();
+    }
+  }
 }
@@ -27,6 +27,7 @@ import io.atomix.primitives.map.impl.RaftConsistentTreeMapOperations.HigherEntry
 import io.atomix.primitives.map.impl.RaftConsistentTreeMapOperations.HigherKey;
 import io.atomix.primitives.map.impl.RaftConsistentTreeMapOperations.LowerEntry;
 import io.atomix.primitives.map.impl.RaftConsistentTreeMapOperations.LowerKey;
+import io.atomix.primitives.map.impl.RaftConsistentTreeMapOperations.SubMap;
 import io.atomix.protocols.raft.proxy.RaftProxy;
 import io.atomix.serializer.Serializer;
 import io.atomix.serializer.kryo.KryoNamespace;
@@ -38,6 +39,7 @@ import java.util.Map;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 
 import static io.atomix.primitives.map.impl.RaftConsistentTreeMapOperations.CEILING_ENTRY;
@@ -54,6 +56,7 @@ import static io.atomix.primitives.map.impl.RaftConsistentTreeMapOperations.LOWE
 import static io.atomix.primitives.map.impl.RaftConsistentTreeMapOperations.LOWER_KEY;
 import static io.atomix.primitives.map.impl.RaftConsistentTreeMapOperations.POLL_FIRST_ENTRY;
 import static io.atomix.primitives.map.impl.RaftConsistentTreeMapOperations.POLL_LAST_ENTRY;
+import static io.atomix.primitives.map.impl.RaftConsistentTreeMapOperations.SUB_MAP;
 
 /**
  * Implementation of {@link io.atomix.primitives.map.AsyncConsistentTreeMap}.
@@ -157,13 +160,14 @@ public class RaftConsistentTreeMap extends RaftConsistentMap implements AsyncCon
 
   @Override
   public CompletableFuture<NavigableSet<String>> navigableKeySet() {
-    throw new UnsupportedOperationException("This operation is not yet supported.");
+    return keySet().thenApply(TreeSet::new);
   }
 
   @Override
   public CompletableFuture<NavigableMap<String, byte[]>> subMap(
       String upperKey, String lowerKey, boolean inclusiveUpper,
       boolean inclusiveLower) {
-    throw new UnsupportedOperationException("This operation is not yet supported.");
+    return proxy.invoke(SUB_MAP, serializer()::encode,
+        new SubMap<>(lowerKey, upperKey, inclusiveLower, inclusiveUpper), serializer()::decode);
   }
 }
\ No newline at end of file
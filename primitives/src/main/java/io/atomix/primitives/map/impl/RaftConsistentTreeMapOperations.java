@@ -82,6 +82,7 @@ public enum RaftConsistentTreeMapOperations implements OperationId {
       .register(Versioned.class)
       .register(AbstractMap.SimpleImmutableEntry.class)
       .register(Maps.immutableEntry("", "").getClass())
+      .register(SubMap.class)
       .build(RaftConsistentTreeMapOperations.class.getSimpleName());
 
   /**
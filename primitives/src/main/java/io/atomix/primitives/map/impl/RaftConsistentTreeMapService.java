@@ -37,9 +37,12 @@ import io.atomix.serializer.kryo.KryoNamespaces;
 import io.atomix.time.Versioned;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import static io.atomix.primitives.map.impl.RaftConsistentTreeMapOperations.CEILING_ENTRY;
 import static io.atomix.primitives.map.impl.RaftConsistentTreeMapOperations.CEILING_KEY;
@@ -59,7 +62,7 @@ import static io.atomix.primitives.map.impl.RaftConsistentTreeMapOperations.SUB_
 
 /**
  * State machine corresponding to {@link RaftConsistentTreeMap} backed by a
- * {@link TreeMap}.
+ * {@link ConcurrentSkipListMap}.
  */
 public class RaftConsistentTreeMapService extends RaftConsistentMapService {
 
@@ -76,16 +79,22 @@ public class RaftConsistentTreeMapService extends RaftConsistentMapService {
       .register(MapEntryValue.Type.class)
       .register(new HashMap().keySet().getClass())
       .register(TreeMap.class)
+      .register(ConcurrentSkipListMap.class)
       .build());
 
   @Override
-  protected TreeMap<String, MapEntryValue> createMap() {
-    return Maps.newTreeMap();
+  protected ConcurrentNavigableMap<String, MapEntryValue> createMap() {
+    return new ConcurrentSkipListMap<>();
   }
 
   @Override
-  protected TreeMap<String, MapEntryValue> entries() {
-    return (TreeMap<String, MapEntryValue>) super.entries();
+  protected ConcurrentNavigableMap<String, MapEntryValue> entries() {
+    return (ConcurrentNavigableMap<String, MapEntryValue>) super.entries();
+  }
+
+  @Override
+  protected Iterator<Map.Entry<String, MapEntryValue>> entriesAfter(String key) {
+    return key == null ? entries().entrySet().iterator() : entries().tailMap(key, false).entrySet().iterator();
   }
 
   @Override
@@ -113,13 +122,33 @@ public class RaftConsistentTreeMapService extends RaftConsistentMapService {
     executor.register(HIGHER_KEY, serializer()::decode, this::higherKey, serializer()::encode);
   }
 
-  protected NavigableMap<String, MapEntryValue> subMap(
-      Commit<? extends SubMap> commit) {
-    // Do not support this until lazy communication is possible.  At present
-    // it transmits up to the entire map.
-    SubMap<String, MapEntryValue> subMap = commit.value();
-    return entries().subMap(subMap.fromKey(), subMap.isInclusiveFrom(),
-        subMap.toKey(), subMap.isInclusiveTo());
+  protected NavigableMap<String, byte[]> subMap(Commit<? extends SubMap> commit) {
+    SubMap<String, ?> subMap = commit.value();
+    String fromKey = subMap.fromKey();
+    String toKey = subMap.toKey();
+    if (fromKey != null && toKey != null) {
+      int compare = fromKey.compareTo(toKey);
+      if (compare > 0 || (compare == 0 && !(subMap.isInclusiveFrom() && subMap.isInclusiveTo()))) {
+        return new TreeMap<>();
+      }
+    }
+
+    // A null bound leaves that end of the range open.
+    NavigableMap<String, MapEntryValue> entries = entries();
+    if (fromKey != null) {
+      entries = entries.tailMap(fromKey, subMap.isInclusiveFrom());
+    }
+    if (toKey != null) {
+      entries = entries.headMap(toKey, subMap.isInclusiveTo());
+    }
+
+    NavigableMap<String, byte[]> result = new TreeMap<>();
+    entries.forEach((key, value) -> {
+      if (!valueIsNull(value)) {
+        result.put(key, value.value());
+      }
+    });
+    return result;
   }
 
   protected String firstKey() {
@@ -143,11 +172,18 @@ public class RaftConsistentTreeMapService extends RaftConsistentMapService {
   }
 
   protected Map.Entry<String, Versioned<byte[]>> pollFirstEntry() {
-    return toVersionedEntry(entries().pollFirstEntry());
+    return pollEntry(entries().firstEntry());
   }
 
   protected Map.Entry<String, Versioned<byte[]>> pollLastEntry() {
-    return toVersionedEntry(entries().pollLastEntry());
+    return pollEntry(entries().lastEntry());
+  }
+
+  private Map.Entry<String, Versioned<byte[]>> pollEntry(Map.Entry<String, MapEntryValue> entry) {
+    if (entry != null) {
+      removeEntry(entry.getKey());
+    }
+    return toVersionedEntry(entry);
   }
 
   protected Map.Entry<String, Versioned<byte[]>> lowerEntry(Commit<? extends LowerEntry> commit) {
@@ -196,5 +232,6 @@ public class RaftConsistentTreeMapService extends RaftConsistentMapService {
 
   private void closeListener(Long sessionId) {
     listeners.remove(sessionId);
+    listenerFilters.remove(sessionId);
   }
 }
\ No newline at end of file
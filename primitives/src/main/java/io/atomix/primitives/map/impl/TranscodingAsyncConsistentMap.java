@@ -17,10 +17,13 @@
 package io.atomix.primitives.map.impl;
 
 import com.google.common.collect.Maps;
+import io.atomix.primitives.AsyncIterator;
 import io.atomix.primitives.TransactionId;
 import io.atomix.primitives.TransactionLog;
+import io.atomix.primitives.impl.TranscodingIterator;
 import io.atomix.primitives.map.AsyncConsistentMap;
 import io.atomix.primitives.map.MapEvent;
+import io.atomix.primitives.map.MapEventFilter;
 import io.atomix.primitives.map.MapEventListener;
 import io.atomix.time.Version;
 import io.atomix.time.Versioned;
@@ -118,6 +121,20 @@ public class TranscodingAsyncConsistentMap<K1, V1, K2, V2> implements AsyncConsi
     }
   }
 
+  @Override
+  public CompletableFuture<Map<K1, Versioned<V1>>> getAll(Collection<K1> keys) {
+    try {
+      return backingMap.getAll(keys.stream().map(keyEncoder).collect(Collectors.toList()))
+          .thenApply(m -> {
+            Map<K1, Versioned<V1>> result = Maps.newHashMapWithExpectedSize(m.size());
+            m.forEach((k, v) -> result.put(keyDecoder.apply(k), versionedValueTransform.apply(v)));
+            return result;
+          });
+    } catch (Exception e) {
+      return Futures.exceptionalFuture(e);
+    }
+  }
+
   @Override
   public CompletableFuture<Versioned<V1>> computeIf(K1 key,
                                                     Predicate<? super V1> condition,
@@ -153,6 +170,17 @@ public class TranscodingAsyncConsistentMap<K1, V1, K2, V2> implements AsyncConsi
     }
   }
 
+  @Override
+  public CompletableFuture<Void> putAll(Map<K1, V1> entries) {
+    try {
+      Map<K2, V2> encodedEntries = Maps.newHashMapWithExpectedSize(entries.size());
+      entries.forEach((k, v) -> encodedEntries.put(keyEncoder.apply(k), valueEncoder.apply(v)));
+      return backingMap.putAll(encodedEntries);
+    } catch (Exception e) {
+      return Futures.exceptionalFuture(e);
+    }
+  }
+
   @Override
   public CompletableFuture<Versioned<V1>> remove(K1 key) {
     try {
@@ -162,6 +190,15 @@ public class TranscodingAsyncConsistentMap<K1, V1, K2, V2> implements AsyncConsi
     }
   }
 
+  @Override
+  public CompletableFuture<Void> removeAll(Collection<K1> keys) {
+    try {
+      return backingMap.removeAll(keys.stream().map(keyEncoder).collect(Collectors.toList()));
+    } catch (Exception e) {
+      return Futures.exceptionalFuture(e);
+    }
+  }
+
   @Override
   public CompletableFuture<Void> clear() {
     return backingMap.clear();
@@ -188,6 +225,12 @@ public class TranscodingAsyncConsistentMap<K1, V1, K2, V2> implements AsyncConsi
             .collect(Collectors.toSet()));
   }
 
+  @Override
+  public CompletableFuture<AsyncIterator<Entry<K1, Versioned<V1>>>> iterator() {
+    return backingMap.iterator().thenApply(iterator -> new TranscodingIterator<>(iterator, e ->
+        Maps.immutableEntry(keyDecoder.apply(e.getKey()), versionedValueTransform.apply(e.getValue()))));
+  }
+
   @Override
   public CompletableFuture<Versioned<V1>> putIfAbsent(K1 key, V1 value) {
     try {
@@ -255,6 +298,29 @@ public class TranscodingAsyncConsistentMap<K1, V1, K2, V2> implements AsyncConsi
     }
   }
 
+  @Override
+  public CompletableFuture<Void> addListener(
+      MapEventFilter<K1> filter, MapEventListener<K1, V1> listener, Executor executor) {
+    synchronized (listeners) {
+      // Key prefixes can't be matched against encoded keys, so prefix filters are applied to decoded events.
+      if (!filter.prefixes().isEmpty()) {
+        InternalBackingMapEventListener backingMapListener =
+            listeners.computeIfAbsent(listener, k -> new InternalBackingMapEventListener(listener, filter));
+        return backingMap.addListener(backingMapListener, executor);
+      }
+
+      MapEventFilter<K2> backingMapFilter;
+      try {
+        backingMapFilter = filter.map(keyEncoder);
+      } catch (Exception e) {
+        return Futures.exceptionalFuture(e);
+      }
+      InternalBackingMapEventListener backingMapListener =
+          listeners.computeIfAbsent(listener, k -> new InternalBackingMapEventListener(listener));
+      return backingMap.addListener(backingMapFilter, backingMapListener, executor);
+    }
+  }
+
   @Override
   public CompletableFuture<Void> removeListener(MapEventListener<K1, V1> listener) {
     synchronized (listeners) {
@@ -335,17 +401,27 @@ public class TranscodingAsyncConsistentMap<K1, V1, K2, V2> implements AsyncConsi
   private class InternalBackingMapEventListener implements MapEventListener<K2, V2> {
 
     private final MapEventListener<K1, V1> listener;
+    private final MapEventFilter<K1> filter;
 
     InternalBackingMapEventListener(MapEventListener<K1, V1> listener) {
+      this(listener, null);
+    }
+
+    InternalBackingMapEventListener(MapEventListener<K1, V1> listener, MapEventFilter<K1> filter) {
       this.listener = listener;
+      this.filter = filter;
     }
 
     @Override
     public void event(MapEvent<K2, V2> event) {
+      K1 key = keyDecoder.apply(event.key());
+      if (filter != null && !filter.test(key)) {
+        return;
+      }
       listener.event(new MapEvent<K1, V1>(
           event.type(),
           event.name(),
-          keyDecoder.apply(event.key()),
+          key,
           event.newValue() != null ? event.newValue().map(valueDecoder) : null,
           event.oldValue() != null ? event.oldValue().map(valueDecoder) : null));
     }
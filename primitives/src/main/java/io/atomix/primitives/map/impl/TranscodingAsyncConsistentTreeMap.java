@@ -17,10 +17,13 @@
 package io.atomix.primitives.map.impl;
 
 import com.google.common.collect.Maps;
+import io.atomix.primitives.AsyncIterator;
 import io.atomix.primitives.TransactionId;
 import io.atomix.primitives.TransactionLog;
+import io.atomix.primitives.impl.TranscodingIterator;
 import io.atomix.primitives.map.AsyncConsistentTreeMap;
 import io.atomix.primitives.map.MapEvent;
+import io.atomix.primitives.map.MapEventFilter;
 import io.atomix.primitives.map.MapEventListener;
 import io.atomix.time.Version;
 import io.atomix.time.Versioned;
@@ -31,6 +34,7 @@ import java.util.Map;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
@@ -197,8 +201,12 @@ public class TranscodingAsyncConsistentTreeMap<V1, V2> implements AsyncConsisten
       String lowerKey,
       boolean inclusiveUpper,
       boolean inclusiveLower) {
-    throw new UnsupportedOperationException("This operation is not yet" +
-        "supported.");
+    return backingMap.subMap(upperKey, lowerKey, inclusiveUpper, inclusiveLower)
+        .thenApply(map -> {
+          NavigableMap<String, V1> result = new TreeMap<>();
+          map.forEach((key, value) -> result.put(key, valueDecoder.apply(value)));
+          return result;
+        });
   }
 
   @Override
@@ -231,6 +239,15 @@ public class TranscodingAsyncConsistentTreeMap<V1, V2> implements AsyncConsisten
     return backingMap.getOrDefault(key, valueEncoder.apply(defaultValue)).thenApply(versionedValueTransform);
   }
 
+  @Override
+  public CompletableFuture<Map<String, Versioned<V1>>> getAll(Collection<String> keys) {
+    return backingMap.getAll(keys).thenApply(m -> {
+      Map<String, Versioned<V1>> result = Maps.newHashMapWithExpectedSize(m.size());
+      m.forEach((k, v) -> result.put(k, versionedValueTransform.apply(v)));
+      return result;
+    });
+  }
+
   @Override
   public CompletableFuture<Versioned<V1>> computeIf(
       String key, Predicate<? super V1> condition,
@@ -264,11 +281,27 @@ public class TranscodingAsyncConsistentTreeMap<V1, V2> implements AsyncConsisten
         .thenApply(versionedValueTransform);
   }
 
+  @Override
+  public CompletableFuture<Void> putAll(Map<String, V1> entries) {
+    try {
+      Map<String, V2> encodedEntries = Maps.newHashMapWithExpectedSize(entries.size());
+      entries.forEach((k, v) -> encodedEntries.put(k, valueEncoder.apply(v)));
+      return backingMap.putAll(encodedEntries);
+    } catch (Exception e) {
+      return Futures.exceptionalFuture(e);
+    }
+  }
+
   @Override
   public CompletableFuture<Versioned<V1>> remove(String key) {
     return backingMap.remove(key).thenApply(versionedValueTransform);
   }
 
+  @Override
+  public CompletableFuture<Void> removeAll(Collection<String> keys) {
+    return backingMap.removeAll(keys);
+  }
+
   @Override
   public CompletableFuture<Void> clear() {
     return backingMap.clear();
@@ -301,6 +334,12 @@ public class TranscodingAsyncConsistentTreeMap<V1, V2> implements AsyncConsisten
                 .collect(Collectors.toSet()));
   }
 
+  @Override
+  public CompletableFuture<AsyncIterator<Map.Entry<String, Versioned<V1>>>> iterator() {
+    return backingMap.iterator().thenApply(iterator -> new TranscodingIterator<>(iterator, entry ->
+        Maps.immutableEntry(entry.getKey(), versionedValueTransform.apply(entry.getValue()))));
+  }
+
   @Override
   public CompletableFuture<Versioned<V1>> putIfAbsent(String key, V1 value) {
     return backingMap.putIfAbsent(key, valueEncoder.apply(value))
@@ -348,6 +387,18 @@ public class TranscodingAsyncConsistentTreeMap<V1, V2> implements AsyncConsisten
     return backingMap.addListener(backingMapEventListener, executor);
   }
 
+  @Override
+  public CompletableFuture<Void> addListener(
+      MapEventFilter<String> filter,
+      MapEventListener<String, V1> listener,
+      Executor executor) {
+    InternalBackingMapEventListener backingMapEventListener =
+        listeners.computeIfAbsent(
+            listener,
+            k -> new InternalBackingMapEventListener(listener));
+    return backingMap.addListener(filter, backingMapEventListener, executor);
+  }
+
   @Override
   public CompletableFuture<Void> removeListener(
       MapEventListener<String, V1> listener) {
@@ -20,6 +20,8 @@ import io.atomix.primitives.map.AsyncConsistentMap;
 import io.atomix.time.Versioned;
 import io.atomix.utils.concurrent.Futures;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
@@ -58,11 +60,21 @@ public class UnmodifiableAsyncConsistentMap<K, V> extends DelegatingAsyncConsist
     return Futures.exceptionalFuture(new UnsupportedOperationException(ERROR_MSG));
   }
 
+  @Override
+  public CompletableFuture<Void> putAll(Map<K, V> entries) {
+    return Futures.exceptionalFuture(new UnsupportedOperationException(ERROR_MSG));
+  }
+
   @Override
   public CompletableFuture<Versioned<V>> remove(K key) {
     return Futures.exceptionalFuture(new UnsupportedOperationException(ERROR_MSG));
   }
 
+  @Override
+  public CompletableFuture<Void> removeAll(Collection<K> keys) {
+    return Futures.exceptionalFuture(new UnsupportedOperationException(ERROR_MSG));
+  }
+
   @Override
   public CompletableFuture<Void> clear() {
     return Futures.exceptionalFuture(new UnsupportedOperationException(ERROR_MSG));
@@ -25,10 +25,34 @@ import io.atomix.primitives.DistributedPrimitiveBuilder;
 public abstract class ConsistentMultimapBuilder<K, V>
     extends DistributedPrimitiveBuilder<ConsistentMultimapBuilder<K, V>, ConsistentMultimap<K, V>, AsyncConsistentMultimap<K, V>> {
 
+  private boolean partitioned = false;
+
   public ConsistentMultimapBuilder() {
     super(DistributedPrimitive.Type.CONSISTENT_MULTIMAP);
   }
 
+  /**
+   * Hash partitions the map's keys across all partitions.
+   * <p>
+   * Every node must build a given map with the same setting, and a map that was created without partitioning
+   * cannot later be partitioned.
+   *
+   * @return this builder
+   */
+  public ConsistentMultimapBuilder<K, V> withPartitioning() {
+    partitioned = true;
+    return this;
+  }
+
+  /**
+   * Returns whether the map's keys are hash partitioned.
+   *
+   * @return {@code true} if the map is partitioned; {@code false} otherwise
+   */
+  public boolean partitioned() {
+    return partitioned;
+  }
+
   @Override
   public ConsistentMultimap<K, V> build() {
     return buildAsync().asMultimap();
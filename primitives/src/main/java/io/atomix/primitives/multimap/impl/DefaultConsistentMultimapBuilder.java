@@ -34,6 +34,8 @@ public class DefaultConsistentMultimapBuilder<K, V> extends ConsistentMultimapBu
 
   @Override
   public AsyncConsistentMultimap<K, V> buildAsync() {
-    return primitiveCreator.newAsyncConsistentSetMultimap(name(), serializer());
+    return partitioned()
+        ? primitiveCreator.newAsyncPartitionedConsistentSetMultimap(name(), serializer())
+        : primitiveCreator.newAsyncConsistentSetMultimap(name(), serializer());
   }
 }
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.multimap.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multiset;
+import io.atomix.primitives.AsyncPrimitive;
+import io.atomix.primitives.Hasher;
+import io.atomix.primitives.multimap.AsyncConsistentMultimap;
+import io.atomix.primitives.multimap.MultimapEventListener;
+import io.atomix.time.Versioned;
+import io.atomix.utils.Match;
+import io.atomix.utils.concurrent.Futures;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * {@link AsyncConsistentMultimap} that has its keys partitioned horizontally across
+ * several {@link AsyncConsistentMultimap multimaps}.
+ * <p>
+ * All values for a key are stored in the same partition, so single key operations are
+ * routed to one partition while aggregate operations are fanned out to all partitions in parallel.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class PartitionedAsyncConsistentMultimap<K, V> implements AsyncConsistentMultimap<K, V> {
+
+  private final String name;
+  private final TreeMap<Integer, AsyncConsistentMultimap<K, V>> partitions = Maps.newTreeMap();
+  private final Hasher<K> keyHasher;
+
+  public PartitionedAsyncConsistentMultimap(String name,
+                                            Map<Integer, AsyncConsistentMultimap<K, V>> partitions,
+                                            Hasher<K> keyHasher) {
+    this.name = name;
+    this.partitions.putAll(checkNotNull(partitions));
+    this.keyHasher = checkNotNull(keyHasher);
+  }
+
+  @Override
+  public String name() {
+    return name;
+  }
+
+  @Override
+  public CompletableFuture<Integer> size() {
+    return Futures.allOf(getMultimaps().stream().map(m -> m.size()).collect(Collectors.toList()), Math::addExact, 0);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> isEmpty() {
+    return size().thenApply(size -> size == 0);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> containsKey(K key) {
+    return getMultimap(key).containsKey(key);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> containsValue(V value) {
+    return Futures.firstOf(getMultimaps().stream().map(m -> m.containsValue(value)).collect(Collectors.toList()),
+        Match.ifValue(true),
+        false);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> containsEntry(K key, V value) {
+    return getMultimap(key).containsEntry(key, value);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> put(K key, V value) {
+    return getMultimap(key).put(key, value);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> remove(K key, V value) {
+    return getMultimap(key).remove(key, value);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> removeAll(K key, Collection<? extends V> values) {
+    return getMultimap(key).removeAll(key, values);
+  }
+
+  @Override
+  public CompletableFuture<Versioned<Collection<? extends V>>> removeAll(K key) {
+    return getMultimap(key).removeAll(key);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> putAll(K key, Collection<? extends V> values) {
+    return getMultimap(key).putAll(key, values);
+  }
+
+  @Override
+  public CompletableFuture<Versioned<Collection<? extends V>>> replaceValues(K key, Collection<V> values) {
+    return getMultimap(key).replaceValues(key, values);
+  }
+
+  @Override
+  public CompletableFuture<Void> clear() {
+    return CompletableFuture.allOf(getMultimaps().stream()
+        .map(multimap -> multimap.clear())
+        .toArray(CompletableFuture[]::new));
+  }
+
+  @Override
+  public CompletableFuture<Versioned<Collection<? extends V>>> get(K key) {
+    return getMultimap(key).get(key);
+  }
+
+  @Override
+  public CompletableFuture<Set<K>> keySet() {
+    return Futures.allOf(getMultimaps().stream().map(m -> m.keySet()).collect(Collectors.toList()),
+        (s1, s2) -> ImmutableSet.<K>builder().addAll(s1).addAll(s2).build(),
+        ImmutableSet.of());
+  }
+
+  @Override
+  public CompletableFuture<Multiset<K>> keys() {
+    return Futures.allOf(getMultimaps().stream().map(m -> m.keys()).collect(Collectors.toList()),
+        (s1, s2) -> ImmutableMultiset.<K>builder().addAll(s1).addAll(s2).build(),
+        ImmutableMultiset.of());
+  }
+
+  @Override
+  public CompletableFuture<Multiset<V>> values() {
+    return Futures.allOf(getMultimaps().stream().map(m -> m.values()).collect(Collectors.toList()),
+        (s1, s2) -> ImmutableMultiset.<V>builder().addAll(s1).addAll(s2).build(),
+        ImmutableMultiset.of());
+  }
+
+  @Override
+  public CompletableFuture<Collection<Map.Entry<K, V>>> entries() {
+    return Futures.allOf(getMultimaps().stream().map(m -> m.entries()).collect(Collectors.toList()),
+        (c1, c2) -> ImmutableList.<Map.Entry<K, V>>builder().addAll(c1).addAll(c2).build(),
+        ImmutableList.of());
+  }
+
+  @Override
+  public CompletableFuture<Map<K, Collection<V>>> asMap() {
+    throw new UnsupportedOperationException("Expensive operation.");
+  }
+
+  @Override
+  public CompletableFuture<Void> addListener(MultimapEventListener<K, V> listener, Executor executor) {
+    return CompletableFuture.allOf(getMultimaps().stream()
+        .map(multimap -> multimap.addListener(listener, executor))
+        .toArray(CompletableFuture[]::new));
+  }
+
+  @Override
+  public CompletableFuture<Void> removeListener(MultimapEventListener<K, V> listener) {
+    return CompletableFuture.allOf(getMultimaps().stream()
+        .map(multimap -> multimap.removeListener(listener))
+        .toArray(CompletableFuture[]::new));
+  }
+
+  @Override
+  public void addStatusChangeListener(Consumer<Status> listener) {
+    partitions.values().forEach(multimap -> multimap.addStatusChangeListener(listener));
+  }
+
+  @Override
+  public void removeStatusChangeListener(Consumer<Status> listener) {
+    partitions.values().forEach(multimap -> multimap.removeStatusChangeListener(listener));
+  }
+
+  @Override
+  public Collection<Consumer<Status>> statusChangeListeners() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public CompletableFuture<Void> close() {
+    return Futures.allOf(getMultimaps().stream().map(AsyncPrimitive::close).collect(Collectors.toList()))
+        .thenApply(v -> null);
+  }
+
+  /**
+   * Returns the multimap (partition) to which the specified key maps.
+   *
+   * @param key key
+   * @return AsyncConsistentMultimap to which key maps
+   */
+  private AsyncConsistentMultimap<K, V> getMultimap(K key) {
+    return partitions.get(keyHasher.hash(key));
+  }
+
+  /**
+   * Returns all the constituent multimaps.
+   *
+   * @return collection of multimaps.
+   */
+  private Collection<AsyncConsistentMultimap<K, V>> getMultimaps() {
+    return partitions.values();
+  }
+}
@@ -36,6 +36,7 @@ import io.atomix.primitives.multimap.impl.RaftConsistentSetMultimapOperations.Mu
 import io.atomix.primitives.multimap.impl.RaftConsistentSetMultimapOperations.Put;
 import io.atomix.primitives.multimap.impl.RaftConsistentSetMultimapOperations.RemoveAll;
 import io.atomix.primitives.multimap.impl.RaftConsistentSetMultimapOperations.Replace;
+import io.atomix.protocols.raft.event.RaftEvent;
 import io.atomix.protocols.raft.service.AbstractRaftService;
 import io.atomix.protocols.raft.service.Commit;
 import io.atomix.protocols.raft.service.RaftServiceExecutor;
@@ -47,6 +48,7 @@ import io.atomix.serializer.kryo.KryoNamespace;
 import io.atomix.serializer.kryo.KryoNamespaces;
 import io.atomix.time.Versioned;
 import io.atomix.utils.Match;
+import io.atomix.utils.collection.ConcurrentMapSnapshot;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -58,9 +60,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
@@ -115,7 +120,9 @@ public class RaftConsistentSetMultimapService extends AbstractRaftService {
 
   private AtomicLong globalVersion = new AtomicLong(1);
   private Map<Long, RaftSession> listeners = new LinkedHashMap<>();
-  private Map<String, MapEntryValue> backingMap = Maps.newHashMap();
+  private ConcurrentMap<String, MapEntryValue> backingMap = Maps.newConcurrentMap();
+  private final AtomicReference<ConcurrentMapSnapshot<String, MapEntryValue>> capturedSnapshot =
+      new AtomicReference<>();
 
   @Override
   public void snapshot(SnapshotWriter writer) {
@@ -124,6 +131,25 @@ public class RaftConsistentSetMultimapService extends AbstractRaftService {
     writer.writeObject(backingMap, serializer::encode);
   }
 
+  @Override
+  public Consumer<SnapshotWriter> captureSnapshot() {
+    ConcurrentMapSnapshot<String, MapEntryValue> snapshot = new ConcurrentMapSnapshot<>(backingMap);
+    if (!capturedSnapshot.compareAndSet(null, snapshot)) {
+      return null;
+    }
+    long globalVersion = this.globalVersion.get();
+    Set<Long> listeners = Sets.newHashSet(this.listeners.keySet());
+    return writer -> {
+      try {
+        writer.writeLong(globalVersion);
+        writer.writeObject(listeners, serializer::encode);
+        writer.writeObject(snapshot.copyTo(Maps.newConcurrentMap()), serializer::encode);
+      } finally {
+        capturedSnapshot.compareAndSet(snapshot, null);
+      }
+    };
+  }
+
   @Override
   public void install(SnapshotReader reader) {
     globalVersion = new AtomicLong(reader.readLong());
@@ -133,7 +159,8 @@ public class RaftConsistentSetMultimapService extends AbstractRaftService {
       listeners.put(sessionId, sessions().getSession(sessionId));
     }
 
-    backingMap = reader.readObject(serializer::decode);
+    backingMap = Maps.newConcurrentMap();
+    backingMap.putAll(reader.<Map<String, MapEntryValue>>readObject(serializer::decode));
   }
 
   @Override
@@ -248,6 +275,10 @@ public class RaftConsistentSetMultimapService extends AbstractRaftService {
    * @param commit Clear commit
    */
   protected void clear(Commit<Void> commit) {
+    ConcurrentMapSnapshot<String, MapEntryValue> snapshot = capturedSnapshot.get();
+    if (snapshot != null) {
+      backingMap.keySet().forEach(snapshot::preserve);
+    }
     backingMap.clear();
   }
 
@@ -327,7 +358,7 @@ public class RaftConsistentSetMultimapService extends AbstractRaftService {
     }
 
     Versioned<Collection<? extends byte[]>> removedValues =
-        backingMap.get(key).addCommit(commit);
+        entryForUpdate(key).addCommit(commit);
     publish(removedValues.value().stream()
         .map(value -> new MultimapEvent<String, byte[]>(
             "", key, null, value))
@@ -349,8 +380,7 @@ public class RaftConsistentSetMultimapService extends AbstractRaftService {
       return false;
     }
 
-    Versioned<Collection<? extends byte[]>> removedValues = backingMap
-        .get(key)
+    Versioned<Collection<? extends byte[]>> removedValues = entryForUpdate(key)
         .addCommit(commit);
 
     if (removedValues != null) {
@@ -380,12 +410,7 @@ public class RaftConsistentSetMultimapService extends AbstractRaftService {
     if (commit.value().values().isEmpty()) {
       return false;
     }
-    if (!backingMap.containsKey(key)) {
-      backingMap.put(key, new NonTransactionalCommit());
-    }
-
-    Versioned<Collection<? extends byte[]>> addedValues = backingMap
-        .get(key)
+    Versioned<Collection<? extends byte[]>> addedValues = entryForUpdate(key)
         .addCommit(commit);
 
     if (addedValues != null) {
@@ -401,11 +426,30 @@ public class RaftConsistentSetMultimapService extends AbstractRaftService {
 
   protected Versioned<Collection<? extends byte[]>> replace(
       Commit<? extends Replace> commit) {
-    if (!backingMap.containsKey(commit.value().key())) {
-      backingMap.put(commit.value().key(),
-          new NonTransactionalCommit());
+    return entryForUpdate(commit.value().key()).addCommit(commit);
+  }
+
+  /**
+   * Returns the value for the given key to be updated, creating the value if it does not exist.
+   * <p>
+   * If a snapshot of the map is being written, the value is copied the first time the key is modified so that
+   * the value in the snapshot is not mutated.
+   *
+   * @param key the key to update
+   * @return the value to update
+   */
+  private MapEntryValue entryForUpdate(String key) {
+    ConcurrentMapSnapshot<String, MapEntryValue> snapshot = capturedSnapshot.get();
+    MapEntryValue value = backingMap.get(key);
+    if (snapshot != null && snapshot.preserve(key) && value != null) {
+      value = value.copy();
+      backingMap.put(key, value);
+    }
+    if (value == null) {
+      value = new NonTransactionalCommit();
+      backingMap.put(key, value);
     }
-    return backingMap.get(commit.value().key()).addCommit(commit);
+    return value;
   }
 
   /**
@@ -432,7 +476,11 @@ public class RaftConsistentSetMultimapService extends AbstractRaftService {
    * @param events list of map event to publish
    */
   private void publish(List<MultimapEvent<String, byte[]>> events) {
-    listeners.values().forEach(session -> session.publish(CHANGE, serializer::encode, events));
+    if (listeners.isEmpty()) {
+      return;
+    }
+    RaftEvent event = new RaftEvent(CHANGE, serializer.encode(events));
+    listeners.values().forEach(session -> session.publish(event));
   }
 
   private interface MapEntryValue {
@@ -462,6 +510,13 @@ public class RaftConsistentSetMultimapService extends AbstractRaftService {
      */
     Versioned<Collection<? extends byte[]>> addCommit(
         Commit<? extends MultimapOperation> commit);
+
+    /**
+     * Returns a copy of the value.
+     *
+     * @return a copy of the value
+     */
+    MapEntryValue copy();
   }
 
   private class NonTransactionalCommit implements MapEntryValue {
@@ -484,6 +539,14 @@ public class RaftConsistentSetMultimapService extends AbstractRaftService {
       return version;
     }
 
+    @Override
+    public MapEntryValue copy() {
+      NonTransactionalCommit copy = new NonTransactionalCommit();
+      copy.version = version;
+      copy.valueSet.addAll(valueSet);
+      return copy;
+    }
+
     @Override
     public Versioned<Collection<? extends byte[]>> addCommit(
         Commit<? extends MultimapOperation> commit) {
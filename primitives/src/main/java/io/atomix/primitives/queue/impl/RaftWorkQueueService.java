@@ -26,6 +26,7 @@ import io.atomix.primitives.queue.WorkQueueStats;
 import io.atomix.primitives.queue.impl.RaftWorkQueueOperations.Add;
 import io.atomix.primitives.queue.impl.RaftWorkQueueOperations.Complete;
 import io.atomix.primitives.queue.impl.RaftWorkQueueOperations.Take;
+import io.atomix.protocols.raft.event.RaftEvent;
 import io.atomix.protocols.raft.service.AbstractRaftService;
 import io.atomix.protocols.raft.service.Commit;
 import io.atomix.protocols.raft.service.RaftServiceExecutor;
@@ -35,6 +36,7 @@ import io.atomix.protocols.raft.storage.snapshot.SnapshotWriter;
 import io.atomix.serializer.Serializer;
 import io.atomix.serializer.kryo.KryoNamespace;
 import io.atomix.serializer.kryo.KryoNamespaces;
+import io.atomix.storage.buffer.HeapBytes;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -144,7 +146,8 @@ public class RaftWorkQueueService extends AbstractRaftService {
 
     // Send an event to all sessions that have expressed interest in task processing
     // and are not actively processing a task.
-    registeredWorkers.values().forEach(session -> session.publish(TASK_AVAILABLE));
+    RaftEvent event = new RaftEvent(TASK_AVAILABLE, HeapBytes.EMPTY);
+    registeredWorkers.values().forEach(session -> session.publish(event));
     // FIXME: This generates a lot of event traffic.
   }
 
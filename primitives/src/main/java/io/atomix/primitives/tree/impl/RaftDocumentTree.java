@@ -41,8 +41,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.atomix.primitives.tree.impl.RaftDocumentTreeEvents.CHANGE;
@@ -72,7 +74,7 @@ public class RaftDocumentTree extends AbstractRaftPrimitive implements AsyncDocu
     super(proxy);
     proxy.addStateChangeListener(state -> {
       if (state == RaftProxy.State.CONNECTED && isListening()) {
-        proxy.invoke(ADD_LISTENER, SERIALIZER::encode, new Listen());
+        listenPaths().forEach(path -> proxy.invoke(ADD_LISTENER, SERIALIZER::encode, new Listen(path)));
       }
     });
     proxy.addEventListener(CHANGE, SERIALIZER::decode, this::processTreeUpdates);
@@ -214,6 +216,12 @@ public class RaftDocumentTree extends AbstractRaftPrimitive implements AsyncDocu
     InternalListener internalListener = new InternalListener(path, listener, MoreExecutors.directExecutor());
     // TODO: Support API that takes an executor
     if (!eventListeners.containsKey(listener)) {
+      // The session is registered once for each distinct path so the state machine only publishes events
+      // for the subtrees being listened to.
+      if (listenPaths().contains(path)) {
+        eventListeners.put(listener, internalListener);
+        return CompletableFuture.completedFuture(null);
+      }
       return proxy.invoke(ADD_LISTENER, SERIALIZER::encode, new Listen(path))
           .thenRun(() -> eventListeners.put(listener, internalListener));
     }
@@ -224,7 +232,7 @@ public class RaftDocumentTree extends AbstractRaftPrimitive implements AsyncDocu
   public CompletableFuture<Void> removeListener(DocumentTreeListener<byte[]> listener) {
     checkNotNull(listener);
     InternalListener internalListener = eventListeners.remove(listener);
-    if (internalListener != null && eventListeners.isEmpty()) {
+    if (internalListener != null && !listenPaths().contains(internalListener.path)) {
       return proxy.invoke(REMOVE_LISTENER, SERIALIZER::encode, new Unlisten(internalListener.path))
           .thenApply(v -> null);
     }
@@ -243,6 +251,12 @@ public class RaftDocumentTree extends AbstractRaftPrimitive implements AsyncDocu
     return !eventListeners.isEmpty();
   }
 
+  private Set<DocumentPath> listenPaths() {
+    return eventListeners.values().stream()
+        .map(listener -> listener.path)
+        .collect(Collectors.toSet());
+  }
+
   private void processTreeUpdates(List<DocumentTreeEvent<byte[]>> events) {
     events.forEach(event -> eventListeners.values().forEach(listener -> listener.event(event)));
   }
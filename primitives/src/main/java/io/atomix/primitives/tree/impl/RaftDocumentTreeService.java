@@ -36,7 +36,7 @@ import io.atomix.primitives.tree.impl.RaftDocumentTreeOperations.Listen;
 import io.atomix.primitives.tree.impl.RaftDocumentTreeOperations.Unlisten;
 import io.atomix.primitives.tree.impl.RaftDocumentTreeOperations.Update;
 import io.atomix.primitives.tree.impl.DocumentTreeResult.Status;
-import io.atomix.protocols.raft.event.EventType;
+import io.atomix.protocols.raft.event.RaftEvent;
 import io.atomix.protocols.raft.service.AbstractRaftService;
 import io.atomix.protocols.raft.service.Commit;
 import io.atomix.protocols.raft.service.RaftServiceExecutor;
@@ -172,6 +172,9 @@ public class RaftDocumentTreeService extends AbstractRaftService {
     SessionListenCommits listenCommits = listeners.get(sessionId);
     if (listenCommits != null) {
       listenCommits.remove(commit);
+      if (listenCommits.isEmpty()) {
+        listeners.remove(sessionId);
+      }
     }
   }
 
@@ -272,16 +275,25 @@ public class RaftDocumentTreeService extends AbstractRaftService {
   }
 
   private void publish(List<DocumentTreeEvent<byte[]>> events) {
-    listeners.values().forEach(session -> {
-      session.publish(CHANGE, events);
-    });
+    if (listeners.isEmpty()) {
+      return;
+    }
+    RaftEvent event = new RaftEvent(CHANGE, serializer.encode(events));
+    listeners.values().forEach(session -> session.publish(event));
   }
 
   private void notifyListeners(DocumentTreeEvent<byte[]> event) {
-    listeners.values()
+    List<SessionListenCommits> matchingListeners = listeners.values()
         .stream()
-        .filter(l -> event.path().isDescendentOf(l.leastCommonAncestorPath()))
-        .forEach(listener -> listener.publish(CHANGE, Arrays.asList(event)));
+        .filter(l -> l.matches(event.path()))
+        .collect(Collectors.toList());
+    if (matchingListeners.isEmpty()) {
+      return;
+    }
+
+    // Encode the event once and share the encoded event among all matching listener sessions.
+    RaftEvent raftEvent = new RaftEvent(CHANGE, serializer.encode(Arrays.asList(event)));
+    matchingListeners.forEach(listener -> listener.publish(raftEvent));
   }
 
   @Override
@@ -303,12 +315,15 @@ public class RaftDocumentTreeService extends AbstractRaftService {
     private DocumentPath leastCommonAncestorPath;
 
     public void add(Listener listener) {
-      listeners.add(listener);
-      recomputeLeastCommonAncestor();
+      // Listen commits are idempotent so clients can re-register their paths after reconnecting.
+      if (listeners.stream().noneMatch(l -> l.path().equals(listener.path()))) {
+        listeners.add(listener);
+        recomputeLeastCommonAncestor();
+      }
     }
 
     public void remove(Commit<? extends Unlisten> commit) {
-      // Remove the first listen commit with path matching path in unlisten commit
+      // Remove the listen commits with path matching path in unlisten commit
       Iterator<Listener> iterator = listeners.iterator();
       while (iterator.hasNext()) {
         Listener listener = iterator.next();
@@ -323,9 +338,22 @@ public class RaftDocumentTreeService extends AbstractRaftService {
       return leastCommonAncestorPath;
     }
 
-    public <M> void publish(EventType topic, M message) {
-      listeners.stream().findAny().ifPresent(listener ->
-          listener.session().publish(topic, serializer::encode, message));
+    public boolean isEmpty() {
+      return listeners.isEmpty();
+    }
+
+    /**
+     * Returns a boolean indicating whether the given path is in the subtree of any of the session's listeners.
+     */
+    public boolean matches(DocumentPath path) {
+      if (leastCommonAncestorPath == null || !path.isDescendentOf(leastCommonAncestorPath)) {
+        return false;
+      }
+      return listeners.stream().anyMatch(listener -> path.isDescendentOf(listener.path()));
+    }
+
+    public void publish(RaftEvent event) {
+      listeners.stream().findAny().ifPresent(listener -> listener.session().publish(event));
     }
 
     private void recomputeLeastCommonAncestor() {
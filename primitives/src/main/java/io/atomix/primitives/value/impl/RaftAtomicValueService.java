@@ -20,6 +20,7 @@ import io.atomix.primitives.value.AtomicValueEvent;
 import io.atomix.primitives.value.impl.RaftAtomicValueOperations.CompareAndSet;
 import io.atomix.primitives.value.impl.RaftAtomicValueOperations.GetAndSet;
 import io.atomix.primitives.value.impl.RaftAtomicValueOperations.Set;
+import io.atomix.protocols.raft.event.RaftEvent;
 import io.atomix.protocols.raft.service.AbstractRaftService;
 import io.atomix.protocols.raft.service.Commit;
 import io.atomix.protocols.raft.service.RaftServiceExecutor;
@@ -86,8 +87,10 @@ public class RaftAtomicValueService extends AbstractRaftService {
   private byte[] updateAndNotify(byte[] value) {
     byte[] oldValue = this.value;
     this.value = value;
-    AtomicValueEvent<byte[]> event = new AtomicValueEvent<>(oldValue, value);
-    listeners.forEach(s -> s.publish(CHANGE, SERIALIZER::encode, event));
+    if (!listeners.isEmpty()) {
+      RaftEvent event = new RaftEvent(CHANGE, SERIALIZER.encode(new AtomicValueEvent<>(oldValue, value)));
+      listeners.forEach(s -> s.publish(event));
+    }
     return oldValue;
   }
 
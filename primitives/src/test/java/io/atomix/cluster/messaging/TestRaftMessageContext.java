@@ -33,6 +33,7 @@ class TestRaftMessageContext {
   final MessageSubject reconfigureSubject;
   final MessageSubject installSubject;
   final MessageSubject transferSubject;
+  final MessageSubject readIndexSubject;
   final MessageSubject pollSubject;
   final MessageSubject voteSubject;
   final MessageSubject appendSubject;
@@ -52,6 +53,7 @@ class TestRaftMessageContext {
     this.reconfigureSubject = getSubject(prefix, "reconfigure");
     this.installSubject = getSubject(prefix, "install");
     this.transferSubject = getSubject(prefix, "transfer");
+    this.readIndexSubject = getSubject(prefix, "read-index");
     this.pollSubject = getSubject(prefix, "poll");
     this.voteSubject = getSubject(prefix, "vote");
     this.appendSubject = getSubject(prefix, "append");
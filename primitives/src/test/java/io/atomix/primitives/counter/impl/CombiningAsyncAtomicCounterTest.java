@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.counter.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import io.atomix.primitives.impl.AbstractRaftPrimitiveTest;
+import io.atomix.protocols.raft.proxy.RaftProxy;
+import io.atomix.protocols.raft.service.RaftService;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link CombiningAsyncAtomicCounter}.
+ */
+public class CombiningAsyncAtomicCounterTest extends AbstractRaftPrimitiveTest<RaftAtomicCounter> {
+  @Override
+  protected RaftService createService() {
+    return new RaftAtomicCounterService();
+  }
+
+  @Override
+  protected RaftAtomicCounter createPrimitive(RaftProxy proxy) {
+    return new RaftAtomicCounter(proxy);
+  }
+
+  @Test
+  public void testCounterOperations() throws Throwable {
+    CombiningAsyncAtomicCounter counter = new CombiningAsyncAtomicCounter(newPrimitive("test-counter-operations"));
+    assertEquals(0, counter.get().join().longValue());
+    assertEquals(1, counter.incrementAndGet().join().longValue());
+    counter.set(100).join();
+    assertEquals(100, counter.getAndAdd(10).join().longValue());
+    assertFalse(counter.compareAndSet(109, 111).join());
+    assertTrue(counter.compareAndSet(110, 111).join());
+    assertEquals(100, counter.addAndGet(-11).join().longValue());
+    assertEquals(100, counter.getAndIncrement().join().longValue());
+    assertEquals(101, counter.get().join().longValue());
+  }
+
+  @Test
+  public void testProgramOrder() throws Throwable {
+    CombiningAsyncAtomicCounter counter = new CombiningAsyncAtomicCounter(newPrimitive("test-program-order"));
+    for (int i = 0; i < 10; i++) {
+      // Writes are submitted without waiting for earlier writes and must still be applied in order.
+      long value = i * 100;
+      CompletableFuture<Void> set = counter.set(value);
+      CompletableFuture<Long> increment = counter.incrementAndGet();
+      CompletableFuture<Boolean> compareAndSet = counter.compareAndSet(value + 1, value + 10);
+      CompletableFuture<Long> add = counter.getAndAdd(5);
+      set.join();
+      assertEquals(value + 1, increment.join().longValue());
+      assertTrue(compareAndSet.join());
+      assertEquals(value + 10, add.join().longValue());
+      assertEquals(value + 15, counter.get().join().longValue());
+    }
+  }
+
+  @Test
+  public void testCombinedUpdates() throws Throwable {
+    CombiningAsyncAtomicCounter counter1 = new CombiningAsyncAtomicCounter(newPrimitive("test-combined-updates"));
+    CombiningAsyncAtomicCounter counter2 = new CombiningAsyncAtomicCounter(newPrimitive("test-combined-updates"));
+    List<CompletableFuture<Long>> futures = Lists.newArrayList();
+    for (int i = 0; i < 1000; i++) {
+      futures.add(counter1.incrementAndGet());
+      futures.add(counter2.incrementAndGet());
+    }
+
+    // Every concurrent increment must observe a distinct value, even across instances.
+    Set<Long> values = Sets.newHashSet();
+    futures.forEach(future -> values.add(future.join()));
+    assertEquals(2000, values.size());
+    assertEquals(1, (long) Collections.min(values));
+    assertEquals(2000, (long) Collections.max(values));
+    assertEquals(2000, counter1.get().join().longValue());
+    assertEquals(2000, counter2.get().join().longValue());
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.counter.impl;
+
+import com.google.common.collect.Lists;
+import io.atomix.primitives.counter.AsyncAtomicCounter;
+import io.atomix.primitives.impl.AbstractRaftPrimitiveTest;
+import io.atomix.protocols.raft.proxy.RaftProxy;
+import io.atomix.protocols.raft.service.RaftService;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link DefaultAsyncStripedCounter}.
+ */
+public class DefaultAsyncStripedCounterTest extends AbstractRaftPrimitiveTest<RaftAtomicCounter> {
+  @Override
+  protected RaftService createService() {
+    return new RaftAtomicCounterService();
+  }
+
+  @Override
+  protected RaftAtomicCounter createPrimitive(RaftProxy proxy) {
+    return new RaftAtomicCounter(proxy);
+  }
+
+  @Test
+  public void testMultipleStripes() throws Throwable {
+    List<AsyncAtomicCounter> stripes = Lists.newArrayList(
+        newPrimitive("test-multiple-stripes-0"),
+        newPrimitive("test-multiple-stripes-1"),
+        newPrimitive("test-multiple-stripes-2"));
+    DefaultAsyncStripedCounter counter1 = new DefaultAsyncStripedCounter("test-multiple-stripes", stripes);
+    DefaultAsyncStripedCounter counter2 = new DefaultAsyncStripedCounter("test-multiple-stripes", stripes);
+    List<CompletableFuture<Void>> futures = Lists.newArrayList();
+    for (int i = 0; i < 100; i++) {
+      futures.add(counter1.increment());
+      futures.add(counter2.add(2));
+    }
+    futures.forEach(CompletableFuture::join);
+    assertEquals(300, counter1.get().join().longValue());
+    assertEquals(300, counter2.get().join().longValue());
+  }
+}
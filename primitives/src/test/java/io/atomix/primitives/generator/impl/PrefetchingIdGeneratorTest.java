@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.generator.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import io.atomix.primitives.counter.impl.RaftAtomicCounter;
+import io.atomix.primitives.counter.impl.RaftAtomicCounterService;
+import io.atomix.primitives.impl.AbstractRaftPrimitiveTest;
+import io.atomix.protocols.raft.proxy.RaftProxy;
+import io.atomix.protocols.raft.service.RaftService;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for {@link PrefetchingIdGenerator}.
+ */
+public class PrefetchingIdGeneratorTest extends AbstractRaftPrimitiveTest<RaftAtomicCounter> {
+
+  @Override
+  protected RaftService createService() {
+    return new RaftAtomicCounterService();
+  }
+
+  @Override
+  protected RaftAtomicCounter createPrimitive(RaftProxy proxy) {
+    return new RaftAtomicCounter(proxy);
+  }
+
+  /**
+   * Tests that IDs are unique across generators.
+   */
+  @Test
+  public void testUniqueIds() throws Throwable {
+    PrefetchingIdGenerator idGenerator1 = new PrefetchingIdGenerator(newPrimitive("testUniqueIds"), 2, 16);
+    PrefetchingIdGenerator idGenerator2 = new PrefetchingIdGenerator(newPrimitive("testUniqueIds"), 2, 16);
+
+    List<CompletableFuture<Long>> futures = Lists.newArrayList();
+    for (int i = 0; i < 500; i++) {
+      futures.add(idGenerator1.nextId());
+      futures.add(idGenerator2.nextId());
+    }
+
+    Set<Long> ids = Sets.newHashSet();
+    futures.forEach(future -> ids.add(future.join()));
+    assertEquals(1000, ids.size());
+  }
+
+  /**
+   * Tests that the next block is reserved before the current block is exhausted.
+   */
+  @Test
+  public void testPrefetch() throws Throwable {
+    RaftAtomicCounter counter = newPrimitive("testPrefetch");
+    PrefetchingIdGenerator idGenerator = new PrefetchingIdGenerator(newPrimitive("testPrefetch"), 10, 10);
+
+    assertEquals(Long.valueOf(1), idGenerator.nextId().join());
+    assertEquals(10, counter.get().join().longValue());
+    for (int i = 2; i <= 6; i++) {
+      assertEquals(Long.valueOf(i), idGenerator.nextId().join());
+    }
+
+    // Fewer than half a block remains, so the next block must be reserved without blocking callers.
+    for (int i = 0; i < 100 && counter.get().join() < 20; i++) {
+      Thread.sleep(10);
+    }
+    assertEquals(20, counter.get().join().longValue());
+  }
+
+  /**
+   * Tests that the block size grows with the consumption rate.
+   */
+  @Test
+  public void testAdaptiveBlockSize() throws Throwable {
+    PrefetchingIdGenerator idGenerator = new PrefetchingIdGenerator(newPrimitive("testAdaptiveBlockSize"), 2, 1024);
+    List<CompletableFuture<Long>> futures = Lists.newArrayList();
+    for (int i = 0; i < 10000; i++) {
+      futures.add(idGenerator.nextId());
+    }
+    futures.forEach(CompletableFuture::join);
+    assertTrue(idGenerator.blockSize() > 2);
+  }
+}
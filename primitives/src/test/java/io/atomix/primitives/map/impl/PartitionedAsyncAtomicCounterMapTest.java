@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import com.google.common.collect.Maps;
+import io.atomix.primitives.impl.AbstractRaftPrimitiveTest;
+import io.atomix.primitives.map.AsyncAtomicCounterMap;
+import io.atomix.protocols.raft.proxy.RaftProxy;
+import io.atomix.protocols.raft.service.RaftService;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link PartitionedAsyncAtomicCounterMap}.
+ */
+public class PartitionedAsyncAtomicCounterMapTest extends AbstractRaftPrimitiveTest<RaftAtomicCounterMap> {
+
+  @Override
+  protected RaftService createService() {
+    return new RaftAtomicCounterMapService();
+  }
+
+  @Override
+  protected RaftAtomicCounterMap createPrimitive(RaftProxy proxy) {
+    return new RaftAtomicCounterMap(proxy);
+  }
+
+  /**
+   * Tests that counters are routed to partitions and size spans all partitions.
+   */
+  @Test
+  public void testPartitioning() throws Throwable {
+    Map<Integer, AsyncAtomicCounterMap<String>> partitions = Maps.newHashMap();
+    partitions.put(1, newPrimitive("testPartitioning-1"));
+    partitions.put(2, newPrimitive("testPartitioning-2"));
+    PartitionedAsyncAtomicCounterMap<String> map =
+        new PartitionedAsyncAtomicCounterMap<>("testPartitioning", partitions, key -> key.length() % 2 + 1);
+
+    assertTrue(map.isEmpty().join());
+    assertEquals(1, map.incrementAndGet("a").join().longValue());
+    assertEquals(5, map.addAndGet("a", 4).join().longValue());
+    assertEquals(0, map.getAndIncrement("bb").join().longValue());
+    assertEquals(0, map.put("cc", 10).join().longValue());
+
+    assertEquals(5, partitions.get(2).get("a").join().longValue());
+    assertEquals(1, partitions.get(1).get("bb").join().longValue());
+    assertEquals(3, map.size().join().intValue());
+
+    assertEquals(5, map.remove("a").join().longValue());
+    assertEquals(2, map.size().join().intValue());
+    map.clear().join();
+    assertTrue(map.isEmpty().join());
+  }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import io.atomix.primitives.AsyncIterator;
+import io.atomix.primitives.impl.AbstractRaftPrimitiveTest;
+import io.atomix.primitives.map.AsyncConsistentTreeMap;
+import io.atomix.primitives.map.MapEvent;
+import io.atomix.primitives.map.MapEventFilter;
+import io.atomix.primitives.map.MapEventListener;
+import io.atomix.protocols.raft.proxy.RaftProxy;
+import io.atomix.protocols.raft.service.RaftService;
+import io.atomix.time.Versioned;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for {@link PartitionedAsyncConsistentTreeMap}.
+ */
+public class PartitionedAsyncConsistentTreeMapTest extends AbstractRaftPrimitiveTest<RaftConsistentTreeMap> {
+
+  @Override
+  protected RaftService createService() {
+    return new RaftConsistentTreeMapService();
+  }
+
+  @Override
+  protected RaftConsistentTreeMap createPrimitive(RaftProxy proxy) {
+    return new RaftConsistentTreeMap(proxy);
+  }
+
+  private PartitionedAsyncConsistentTreeMap<byte[]> newPartitionedMap(String name) {
+    List<AsyncConsistentTreeMap<byte[]>> partitions = Lists.newArrayList(
+        newPrimitive(name + "-1"),
+        newPrimitive(name + "-2"),
+        newPrimitive(name + "-3"));
+    return new PartitionedAsyncConsistentTreeMap<>(name, partitions, Arrays.asList("g", "p"));
+  }
+
+  /**
+   * Tests that keys are routed to the partition that owns their range.
+   */
+  @Test
+  public void testRangePartitioning() throws Throwable {
+    List<AsyncConsistentTreeMap<byte[]>> partitions = Lists.newArrayList(
+        newPrimitive("testRangePartitioning-1"),
+        newPrimitive("testRangePartitioning-2"),
+        newPrimitive("testRangePartitioning-3"));
+    PartitionedAsyncConsistentTreeMap<byte[]> map =
+        new PartitionedAsyncConsistentTreeMap<>("testRangePartitioning", partitions, Arrays.asList("g", "p"));
+
+    map.put("a", "a".getBytes()).join();
+    map.put("g", "g".getBytes()).join();
+    map.put("o", "o".getBytes()).join();
+    map.put("z", "z".getBytes()).join();
+
+    assertEquals(Arrays.asList("a"), Lists.newArrayList(partitions.get(0).navigableKeySet().join()));
+    assertEquals(Arrays.asList("g", "o"), Lists.newArrayList(partitions.get(1).navigableKeySet().join()));
+    assertEquals(Arrays.asList("z"), Lists.newArrayList(partitions.get(2).navigableKeySet().join()));
+    assertEquals(4, (int) map.size().join());
+  }
+
+  /**
+   * Tests navigation operations that cross partition boundaries.
+   */
+  @Test
+  public void testNavigation() throws Throwable {
+    PartitionedAsyncConsistentTreeMap<byte[]> map = newPartitionedMap("testNavigation");
+    assertNull(map.firstKey().join());
+    assertNull(map.lastEntry().join());
+    assertNull(map.ceilingKey("a").join());
+
+    map.put("b", "b".getBytes()).join();
+    map.put("c", "c".getBytes()).join();
+    map.put("x", "x".getBytes()).join();
+
+    assertEquals("b", map.firstKey().join());
+    assertEquals("x", map.lastKey().join());
+    assertEquals("b", map.firstEntry().join().getKey());
+    assertEquals("x", map.lastEntry().join().getKey());
+
+    // The middle partition is empty, so these must fall through to a neighboring partition.
+    assertEquals("x", map.ceilingKey("d").join());
+    assertEquals("x", map.higherKey("c").join());
+    assertEquals("x", map.ceilingEntry("h").join().getKey());
+    assertEquals("c", map.floorKey("w").join());
+    assertEquals("c", map.lowerKey("x").join());
+    assertEquals("c", map.lowerEntry("q").join().getKey());
+    assertEquals("x", map.floorEntry("z").join().getKey());
+    assertNull(map.higherKey("x").join());
+    assertNull(map.lowerKey("b").join());
+
+    assertEquals("b", map.pollFirstEntry().join().getKey());
+    assertEquals("x", map.pollLastEntry().join().getKey());
+    assertEquals("c", map.pollLastEntry().join().getKey());
+    assertNull(map.pollFirstEntry().join());
+    assertTrue(map.isEmpty().join());
+  }
+
+  /**
+   * Tests range scans that span multiple partitions.
+   */
+  @Test
+  public void testRangeScans() throws Throwable {
+    PartitionedAsyncConsistentTreeMap<byte[]> map = newPartitionedMap("testRangeScans");
+    List<String> keys = Arrays.asList("a", "d", "g", "k", "p", "t", "y");
+    for (String key : Lists.reverse(keys)) {
+      map.put(key, key.getBytes()).join();
+    }
+
+    assertEquals(keys, Lists.newArrayList(map.navigableKeySet().join()));
+
+    NavigableMap<String, byte[]> subMap = map.subMap("p", "d", false, true).join();
+    assertEquals(Arrays.asList("d", "g", "k"), Lists.newArrayList(subMap.keySet()));
+    assertEquals("k", new String(subMap.get("k")));
+
+    subMap = map.subMap("t", "g", true, false).join();
+    assertEquals(Arrays.asList("k", "p", "t"), Lists.newArrayList(subMap.keySet()));
+
+    assertTrue(map.subMap("b", "c", true, true).join().isEmpty());
+
+    List<String> iterated = Lists.newArrayList();
+    AsyncIterator<Map.Entry<String, Versioned<byte[]>>> iterator = map.iterator().join();
+    while (iterator.hasNext().join()) {
+      iterated.add(iterator.next().join().getKey());
+    }
+    assertEquals(keys, iterated);
+  }
+
+  /**
+   * Tests filtered listeners registered with the partitions owning the filtered keys.
+   */
+  @Test
+  public void testFilteredListeners() throws Throwable {
+    PartitionedAsyncConsistentTreeMap<byte[]> map = newPartitionedMap("testFilteredListeners");
+    BlockingQueue<MapEvent<String, byte[]>> events = new LinkedBlockingQueue<>();
+    MapEventListener<String, byte[]> listener = events::add;
+    map.addListener(MapEventFilter.prefix("o").or(MapEventFilter.key("z")), listener).join();
+
+    map.put("a", "a".getBytes()).join();
+    map.put("o1", "o1".getBytes()).join();
+    map.put("p", "p".getBytes()).join();
+    map.put("z", "z".getBytes()).join();
+
+    assertEquals("o1", events.take().key());
+    assertEquals("z", events.take().key());
+    assertTrue(events.isEmpty());
+
+    map.removeListener(listener).join();
+    map.put("o2", "o2".getBytes()).join();
+    assertTrue(events.isEmpty());
+    }
+
+  /**
+   * Tests that a filtered registration does not narrow an earlier unfiltered registration of the same listener.
+   */
+  @Test
+  public void testFilteredListenerAfterListener() throws Throwable {
+    PartitionedAsyncConsistentTreeMap<byte[]> map = newPartitionedMap("testFilteredListenerAfterListener");
+    BlockingQueue<MapEvent<String, byte[]>> events = new LinkedBlockingQueue<>();
+    MapEventListener<String, byte[]> listener = events::add;
+    map.addListener(listener).join();
+    map.addListener(MapEventFilter.key("z"), listener).join();
+
+    map.put("a", "a".getBytes()).join();
+    map.put("o", "o".getBytes()).join();
+    map.put("z", "z".getBytes()).join();
+
+    // Events from different partitions may be delivered in any order.
+    Set<String> keys = Sets.newHashSet();
+    for (int i = 0; i < 3; i++) {
+      keys.add(events.take().key());
+    }
+    assertEquals(Sets.newHashSet("a", "o", "z"), keys);
+
+    map.removeListener(listener).join();
+    map.put("b", "b".getBytes()).join();
+    assertTrue(events.isEmpty());
+  }
+
+  /**
+   * Tests that operations wait for split points that are resolved asynchronously.
+   */
+  @Test
+  public void testAsyncSplitPoints() throws Throwable {
+    List<AsyncConsistentTreeMap<byte[]>> partitions = Lists.newArrayList(
+        newPrimitive("testAsyncSplitPoints-1"),
+        newPrimitive("testAsyncSplitPoints-2"));
+    CompletableFuture<List<String>> splitPoints = new CompletableFuture<>();
+    PartitionedAsyncConsistentTreeMap<byte[]> map =
+        new PartitionedAsyncConsistentTreeMap<>("testAsyncSplitPoints", partitions, splitPoints);
+
+    CompletableFuture<Versioned<byte[]>> future = map.put("z", "z".getBytes());
+    assertFalse(future.isDone());
+    splitPoints.complete(Arrays.asList("m"));
+    future.join();
+    assertEquals("z", partitions.get(1).firstKey().join());
+
+    List<AsyncConsistentTreeMap<byte[]>> invalidPartitions = Lists.newArrayList(
+        newPrimitive("testInvalidSplitPoints-1"),
+        newPrimitive("testInvalidSplitPoints-2"));
+    PartitionedAsyncConsistentTreeMap<byte[]> invalidMap = new PartitionedAsyncConsistentTreeMap<>(
+        "testInvalidSplitPoints", invalidPartitions, CompletableFuture.completedFuture(Arrays.asList("a", "b")));
+    try {
+      invalidMap.get("a").join();
+      fail();
+    } catch (CompletionException e) {
+      assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map.impl;
+
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.Get;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.Put;
+import io.atomix.protocols.raft.service.ServiceId;
+import io.atomix.protocols.raft.service.impl.DefaultCommit;
+import io.atomix.protocols.raft.session.impl.RaftSessionContext;
+import io.atomix.protocols.raft.storage.RaftStorage;
+import io.atomix.protocols.raft.storage.snapshot.Snapshot;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotStore;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotWriter;
+import io.atomix.storage.StorageLevel;
+import io.atomix.time.Versioned;
+import io.atomix.time.WallClockTimestamp;
+import org.junit.Test;
+
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.GET;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.PUT;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Binary consistent map service test.
+ */
+public class RaftBinaryConsistentMapServiceTest {
+  private static final byte[] KEY = new byte[]{0, 1, (byte) 0xfe, (byte) 0xff};
+
+  @Test
+  public void testByteArrayKey() throws Exception {
+    assertEquals(ByteArrayKey.wrap(KEY.clone()), ByteArrayKey.wrap(KEY.clone()));
+    assertEquals(ByteArrayKey.wrap(KEY.clone()).hashCode(), ByteArrayKey.wrap(KEY.clone()).hashCode());
+    assertNotEquals(ByteArrayKey.wrap(KEY), ByteArrayKey.wrap(new byte[]{0, 1}));
+    assertEquals(-1, ByteArrayKey.wrap(new byte[]{0, 1}).compareTo(ByteArrayKey.wrap(KEY)));
+    assertEquals(1, ByteArrayKey.wrap(new byte[]{(byte) 0xff}).compareTo(ByteArrayKey.wrap(KEY)));
+  }
+
+  @Test
+  public void testSnapshot() throws Exception {
+    Snapshot snapshot = newSnapshot();
+
+    RaftBinaryConsistentMapService service = new RaftBinaryConsistentMapService();
+    service.put(new DefaultCommit<>(
+        2,
+        PUT,
+        new Put<>(ByteArrayKey.wrap(KEY), "Hello world!".getBytes()),
+        mock(RaftSessionContext.class),
+        System.currentTimeMillis()));
+
+    try (SnapshotWriter writer = snapshot.openWriter()) {
+      service.snapshot(writer);
+    }
+
+    snapshot.complete();
+
+    service = new RaftBinaryConsistentMapService();
+    try (SnapshotReader reader = snapshot.openReader()) {
+      service.install(reader);
+    }
+
+    assertValue(service);
+  }
+
+  private Snapshot newSnapshot() {
+    SnapshotStore store = new SnapshotStore(RaftStorage.builder()
+        .withPrefix("test")
+        .withStorageLevel(StorageLevel.MEMORY)
+        .build());
+    return store.newSnapshot(ServiceId.from(1), "test", 2, new WallClockTimestamp());
+  }
+
+  private void assertValue(RaftBinaryConsistentMapService service) {
+    Versioned<byte[]> value = service.get(new DefaultCommit<>(
+        2,
+        GET,
+        new Get<>(ByteArrayKey.wrap(KEY.clone())),
+        mock(RaftSessionContext.class),
+        System.currentTimeMillis()));
+    assertNotNull(value);
+    assertArrayEquals("Hello world!".getBytes(), value.value());
+  }
+}
@@ -15,9 +15,12 @@
  */
 package io.atomix.primitives.map.impl;
 
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.IteratorPosition;
 import io.atomix.primitives.map.impl.RaftConsistentMapOperations.Put;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.Remove;
 import io.atomix.protocols.raft.service.ServiceId;
 import io.atomix.protocols.raft.service.impl.DefaultCommit;
+import io.atomix.protocols.raft.session.SessionId;
 import io.atomix.protocols.raft.session.impl.RaftSessionContext;
 import io.atomix.protocols.raft.storage.RaftStorage;
 import io.atomix.protocols.raft.storage.snapshot.Snapshot;
@@ -29,11 +32,23 @@ import io.atomix.time.Versioned;
 import io.atomix.time.WallClockTimestamp;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
 import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.GET;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.NEXT;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.OPEN_ITERATOR;
 import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.PUT;
+import static io.atomix.primitives.map.impl.RaftConsistentMapOperations.REMOVE;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Consistent map service test.
@@ -52,7 +67,7 @@ public class RaftConsistentMapServiceTest {
     service.put(new DefaultCommit<>(
         2,
         PUT,
-        new Put("foo", "Hello world!".getBytes()),
+        new Put<>("foo", "Hello world!".getBytes()),
         mock(RaftSessionContext.class),
         System.currentTimeMillis()));
 
@@ -70,10 +85,121 @@ public class RaftConsistentMapServiceTest {
     Versioned<byte[]> value = service.get(new DefaultCommit<>(
         2,
         GET,
-        new RaftConsistentMapOperations.Get("foo"),
+        new RaftConsistentMapOperations.Get<>("foo"),
         mock(RaftSessionContext.class),
         System.currentTimeMillis()));
     assertNotNull(value);
     assertArrayEquals("Hello world!".getBytes(), value.value());
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testCapturedSnapshot() throws Exception {
+    SnapshotStore store = new SnapshotStore(RaftStorage.builder()
+        .withPrefix("test")
+        .withStorageLevel(StorageLevel.MEMORY)
+        .build());
+    Snapshot snapshot = store.newSnapshot(ServiceId.from(1), "test", 2, new WallClockTimestamp());
+
+    RaftConsistentMapService service = new RaftConsistentMapService();
+    service.put(new DefaultCommit<>(
+        2,
+        PUT,
+        new Put<>("foo", "Hello world!".getBytes()),
+        mock(RaftSessionContext.class),
+        System.currentTimeMillis()));
+
+    Consumer<SnapshotWriter> snapshotter = service.captureSnapshot();
+    assertNotNull(snapshotter);
+    assertNull(service.captureSnapshot());
+
+    // Modify the map after the snapshot has been captured but before it's written.
+    service.put(new DefaultCommit<>(
+        3,
+        PUT,
+        new Put<>("foo", "Goodbye world!".getBytes()),
+        mock(RaftSessionContext.class),
+        System.currentTimeMillis()));
+    service.put(new DefaultCommit<>(
+        4,
+        PUT,
+        new Put<>("bar", "Hello world!".getBytes()),
+        mock(RaftSessionContext.class),
+        System.currentTimeMillis()));
+
+    try (SnapshotWriter writer = snapshot.openWriter()) {
+      snapshotter.accept(writer);
+    }
+
+    snapshot.complete();
+
+    service.remove(new DefaultCommit<>(
+        5,
+        REMOVE,
+        new Remove<>("foo"),
+        mock(RaftSessionContext.class),
+        System.currentTimeMillis()));
+    assertNull(service.get(new DefaultCommit<>(
+        5,
+        GET,
+        new RaftConsistentMapOperations.Get<>("foo"),
+        mock(RaftSessionContext.class),
+        System.currentTimeMillis())));
+
+    service = new RaftConsistentMapService();
+    try (SnapshotReader reader = snapshot.openReader()) {
+      service.install(reader);
+    }
+
+    Versioned<byte[]> value = service.get(new DefaultCommit<>(
+        2,
+        GET,
+        new RaftConsistentMapOperations.Get<>("foo"),
+        mock(RaftSessionContext.class),
+        System.currentTimeMillis()));
+    assertNotNull(value);
+    assertArrayEquals("Hello world!".getBytes(), value.value());
+    assertNull(service.get(new DefaultCommit<>(
+        2,
+        GET,
+        new RaftConsistentMapOperations.Get<>("bar"),
+        mock(RaftSessionContext.class),
+        System.currentTimeMillis())));
+  }
+
+  @Test
+  public void testIteratorResumesOnAnotherServer() throws Exception {
+    RaftSessionContext session = mock(RaftSessionContext.class);
+    when(session.sessionId()).thenReturn(SessionId.from(1));
+
+    // Populate two replicas of the map, inserting the keys in a different order on each.
+    RaftConsistentMapService leader = new RaftConsistentMapService();
+    RaftConsistentMapService follower = new RaftConsistentMapService();
+    for (int i = 0; i < 100; i++) {
+      leader.put(new DefaultCommit<>(i + 1, PUT, new Put<>(String.valueOf(i), new byte[1024]), session, 0));
+      follower.put(new DefaultCommit<>(i + 1, PUT, new Put<>(String.valueOf(99 - i), new byte[1024]), session, 0));
+    }
+
+    long iteratorId = leader.openIterator(new DefaultCommit<>(101, OPEN_ITERATOR, null, session, 0));
+    assertEquals(iteratorId, follower.openIterator(new DefaultCommit<>(101, OPEN_ITERATOR, null, session, 0)));
+
+    // Read the first batch from one replica and the remaining batches from the other.
+    List<String> keys = new ArrayList<>();
+    IteratorBatch<Map.Entry<String, Versioned<byte[]>>> batch = leader.next(
+        new DefaultCommit<>(101, NEXT, new IteratorPosition<>(iteratorId, null), session, 0));
+    assertFalse(batch.complete());
+    batch.entries().forEach(entry -> keys.add(entry.getKey()));
+    while (!batch.complete()) {
+      batch = follower.next(new DefaultCommit<>(
+          101, NEXT, new IteratorPosition<>(iteratorId, keys.get(keys.size() - 1)), session, 0));
+      batch.entries().forEach(entry -> keys.add(entry.getKey()));
+    }
+
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      expected.add(String.valueOf(i));
+    }
+    expected.sort(String::compareTo);
+    assertEquals(expected, keys);
+  }
 }
@@ -16,11 +16,14 @@
 package io.atomix.primitives.map.impl;
 
 import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
+import io.atomix.primitives.AsyncIterator;
 import io.atomix.primitives.TransactionId;
 import io.atomix.primitives.TransactionLog;
 import io.atomix.primitives.impl.AbstractRaftPrimitiveTest;
 import io.atomix.primitives.map.MapEvent;
+import io.atomix.primitives.map.MapEventFilter;
 import io.atomix.primitives.map.MapEventListener;
 import io.atomix.protocols.raft.proxy.RaftProxy;
 import io.atomix.protocols.raft.service.RaftService;
@@ -31,6 +34,9 @@ import org.junit.Test;
 import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletionException;
@@ -115,6 +121,104 @@ public class RaftConsistentMapTest extends AbstractRaftPrimitiveTest<RaftConsist
     }).join();
   }
 
+  /**
+   * Tests iterating over map entries in batches.
+   */
+  @Test
+  public void testIterator() throws Throwable {
+    RaftConsistentMap map = newPrimitive("testIterator");
+    byte[] value = new byte[1024];
+    for (int i = 0; i < 100; i++) {
+      map.put(String.valueOf(i), value).join();
+    }
+
+    AsyncIterator<Map.Entry<String, Versioned<byte[]>>> iterator = map.iterator().join();
+
+    // Modifications made while the iterator is open may or may not be visible to the iterator, but entries
+    // that are not modified are always returned exactly once.
+    map.put("foo", value).join();
+    map.remove("0").join();
+
+    Set<String> keys = Sets.newHashSet();
+    while (iterator.hasNext().join()) {
+      Map.Entry<String, Versioned<byte[]>> entry = iterator.next().join();
+      assertEquals(1024, entry.getValue().value().length);
+      assertTrue(keys.add(entry.getKey()));
+    }
+    for (int i = 1; i < 100; i++) {
+      assertTrue(keys.contains(String.valueOf(i)));
+    }
+    assertFalse(iterator.hasNext().join());
+
+    try {
+      iterator.next().join();
+      fail();
+    } catch (CompletionException e) {
+      assertTrue(e.getCause() instanceof NoSuchElementException);
+    }
+
+    AsyncIterator<Map.Entry<String, Versioned<byte[]>>> closedIterator = map.iterator().join();
+    assertTrue(closedIterator.hasNext().join());
+    assertNotNull(closedIterator.next().join());
+    closedIterator.close().join();
+  }
+
+  /**
+   * Tests multi-key get, put, and remove operations.
+   */
+  @Test
+  public void testMultiKeyOperations() throws Throwable {
+    RaftConsistentMap map = newPrimitive("testMultiKeyOperations");
+
+    Map<String, byte[]> entries = ImmutableMap.of(
+        "foo", "Hello foo!".getBytes(),
+        "bar", "Hello bar!".getBytes(),
+        "baz", "Hello baz!".getBytes());
+    map.putAll(entries).join();
+    assertEquals(3, map.size().join().intValue());
+
+    Map<String, Versioned<byte[]>> values = map.getAll(Arrays.asList("foo", "bar", "missing")).join();
+    assertEquals(2, values.size());
+    assertArrayEquals("Hello foo!".getBytes(), values.get("foo").value());
+    assertArrayEquals("Hello bar!".getBytes(), values.get("bar").value());
+    assertEquals(values.get("foo").version(), values.get("bar").version());
+    assertFalse(values.containsKey("missing"));
+
+    map.removeAll(Arrays.asList("foo", "bar", "missing")).join();
+    assertEquals(1, map.size().join().intValue());
+    assertNull(map.get("foo").join());
+    assertNotNull(map.get("baz").join());
+
+    TransactionId transactionId = TransactionId.from("tx1");
+    Version lock = map.begin(transactionId).join();
+    MapUpdate<String, byte[]> update = MapUpdate.<String, byte[]>builder()
+        .withType(MapUpdate.Type.LOCK)
+        .withKey("baz")
+        .withVersion(lock.value())
+        .build();
+    assertTrue(map.prepare(new TransactionLog<>(transactionId, lock.value(), Arrays.asList(update))).join());
+
+    try {
+      map.putAll(ImmutableMap.of("foo", "Hello foo!".getBytes(), "baz", "Goodbye baz!".getBytes())).join();
+      fail();
+    } catch (CompletionException e) {
+      assertTrue(e.getCause() instanceof ConcurrentModificationException);
+    }
+    assertNull(map.get("foo").join());
+    assertArrayEquals("Hello baz!".getBytes(), map.get("baz").join().value());
+
+    try {
+      map.removeAll(Arrays.asList("baz")).join();
+      fail();
+    } catch (CompletionException e) {
+      assertTrue(e.getCause() instanceof ConcurrentModificationException);
+    }
+
+    map.rollback(transactionId).join();
+    map.removeAll(Arrays.asList("baz")).join();
+    assertTrue(map.isEmpty().join());
+  }
+
   /**
    * Tests map event notifications.
    */
@@ -123,6 +227,14 @@ public class RaftConsistentMapTest extends AbstractRaftPrimitiveTest<RaftConsist
     mapListenerTests();
   }
 
+  /**
+   * Tests filtered map event notifications.
+   */
+  @Test
+  public void testFilteredMapListeners() throws Throwable {
+    filteredMapListenerTests();
+  }
+
   /**
    * Tests map transaction prepare.
    */
@@ -370,6 +482,60 @@ public class RaftConsistentMapTest extends AbstractRaftPrimitiveTest<RaftConsist
     map.removeListener(listener).join();
   }
 
+  protected void filteredMapListenerTests() throws Throwable {
+    final byte[] value1 = "value1".getBytes();
+    final byte[] value2 = "value2".getBytes();
+
+    RaftConsistentMap map = newPrimitive("testFilteredMapListenerMap");
+    TestMapEventListener keyListener = new TestMapEventListener();
+    TestMapEventListener prefixListener = new TestMapEventListener();
+
+    map.addListener(MapEventFilter.keys(Arrays.asList("foo", "bar")), keyListener).join();
+    map.addListener(MapEventFilter.prefix("baz"), prefixListener).join();
+
+    // verify events for keys that don't match either filter are not received.
+    map.put("qux", value1).join();
+    assertFalse(keyListener.eventReceived());
+    assertFalse(prefixListener.eventReceived());
+
+    // verify events are only received by the listener with a matching filter.
+    map.put("foo", value1).join();
+    MapEvent<String, byte[]> event = keyListener.event();
+    assertEquals("foo", event.key());
+    assertEquals(MapEvent.Type.INSERT, event.type());
+    assertFalse(prefixListener.eventReceived());
+
+    map.put("baz1", value1).join();
+    event = prefixListener.event();
+    assertEquals("baz1", event.key());
+    assertFalse(keyListener.eventReceived());
+
+    // verify multi-key updates only publish matching events.
+    map.putAll(ImmutableMap.of("bar", value2, "qux", value2)).join();
+    event = keyListener.event();
+    assertEquals("bar", event.key());
+    assertFalse(keyListener.eventReceived());
+    assertFalse(prefixListener.eventReceived());
+
+    // remove the key listener and verify the prefix listener still receives events.
+    map.removeListener(keyListener).join();
+    map.put("foo", value2).join();
+    assertFalse(keyListener.eventReceived());
+    map.remove("baz1").join();
+    event = prefixListener.event();
+    assertEquals(MapEvent.Type.REMOVE, event.type());
+
+    // add an unfiltered listener and verify all events are received.
+    TestMapEventListener listener = new TestMapEventListener();
+    map.addListener(listener).join();
+    map.put("qux", value1).join();
+    assertEquals("qux", listener.event().key());
+    assertFalse(prefixListener.eventReceived());
+
+    map.removeListener(listener).join();
+    map.removeListener(prefixListener).join();
+  }
+
   protected void transactionPrepareTests() throws Throwable {
     RaftConsistentMap map = newPrimitive("testPrepareTestsMap");
 
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.multimap.impl;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import io.atomix.primitives.impl.AbstractRaftPrimitiveTest;
+import io.atomix.primitives.multimap.AsyncConsistentMultimap;
+import io.atomix.protocols.raft.proxy.RaftProxy;
+import io.atomix.protocols.raft.service.RaftService;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link PartitionedAsyncConsistentMultimap}.
+ */
+public class PartitionedAsyncConsistentMultimapTest extends AbstractRaftPrimitiveTest<RaftConsistentSetMultimap> {
+
+  @Override
+  protected RaftService createService() {
+    return new RaftConsistentSetMultimapService();
+  }
+
+  @Override
+  protected RaftConsistentSetMultimap createPrimitive(RaftProxy proxy) {
+    return new RaftConsistentSetMultimap(proxy);
+  }
+
+  /**
+   * Tests that keys are routed to partitions and aggregate operations span all partitions.
+   */
+  @Test
+  public void testPartitioning() throws Throwable {
+    Map<Integer, AsyncConsistentMultimap<String, byte[]>> partitions = Maps.newHashMap();
+    partitions.put(1, newPrimitive("testPartitioning-1"));
+    partitions.put(2, newPrimitive("testPartitioning-2"));
+    PartitionedAsyncConsistentMultimap<String, byte[]> multimap =
+        new PartitionedAsyncConsistentMultimap<>("testPartitioning", partitions, key -> key.length() % 2 + 1);
+
+    assertTrue(multimap.isEmpty().join());
+    assertTrue(multimap.put("a", "1".getBytes()).join());
+    assertTrue(multimap.put("a", "2".getBytes()).join());
+    assertTrue(multimap.putAll("bb", Arrays.asList("3".getBytes(), "4".getBytes(), "5".getBytes())).join());
+
+    assertEquals(2, partitions.get(2).size().join().intValue());
+    assertEquals(3, partitions.get(1).size().join().intValue());
+    assertEquals(5, multimap.size().join().intValue());
+    assertEquals(Sets.newHashSet("a", "bb"), multimap.keySet().join());
+    assertEquals(2, multimap.keys().join().count("a"));
+    assertEquals(5, multimap.values().join().size());
+    assertEquals(5, multimap.entries().join().size());
+    assertEquals(3, multimap.get("bb").join().value().size());
+    assertTrue(multimap.containsEntry("a", "1".getBytes()).join());
+
+    assertEquals(2, multimap.removeAll("a").join().value().size());
+    assertFalse(multimap.containsKey("a").join());
+    multimap.clear().join();
+    assertTrue(multimap.isEmpty().join());
+  }
+}
@@ -16,8 +16,10 @@
 package io.atomix.protocols.gossip;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.MoreExecutors;
 import io.atomix.event.AbstractListenerManager;
 import io.atomix.protocols.gossip.protocol.AntiEntropyAdvertisement;
@@ -25,6 +27,7 @@ import io.atomix.protocols.gossip.protocol.AntiEntropyProtocol;
 import io.atomix.protocols.gossip.protocol.AntiEntropyResponse;
 import io.atomix.protocols.gossip.protocol.GossipMessage;
 import io.atomix.protocols.gossip.protocol.GossipUpdate;
+import io.atomix.serializer.Serializer;
 import io.atomix.time.LogicalClock;
 import io.atomix.utils.AbstractAccumulator;
 import io.atomix.utils.Identifier;
@@ -40,14 +43,17 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Timer;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
@@ -58,6 +64,7 @@ public class AntiEntropyService<K, V> extends AbstractListenerManager<GossipEven
   private static final int WINDOW_SIZE = 5;
   private static final int HIGH_LOAD_THRESHOLD = 2;
   private static final int LOAD_WINDOW = 2;
+  private static final int DIGEST_TREE_FANOUT = 16;
 
   private final Logger log = LoggerFactory.getLogger(getClass());
   private final AntiEntropyProtocol<Identifier> protocol;
@@ -71,6 +78,7 @@ public class AntiEntropyService<K, V> extends AbstractListenerManager<GossipEven
   private final ScheduledFuture<?> purgeFuture;
 
   private final Map<K, GossipUpdate<K, V>> updates = Maps.newLinkedHashMap();
+  private final MerkleTree<K> digestTree;
   private final LogicalClock logicalClock = new LogicalClock();
   private final Map<Identifier, UpdateAccumulator> pendingUpdates = Maps.newConcurrentMap();
   private final Map<Identifier, Long> peerUpdateTimes = Maps.newConcurrentMap();
@@ -86,14 +94,19 @@ public class AntiEntropyService<K, V> extends AbstractListenerManager<GossipEven
       ScheduledExecutorService communicationExecutor,
       Duration antiEntropyInterval,
       boolean tombstonesDisabled,
-      Duration purgeInterval) {
+      Duration purgeInterval,
+      Serializer serializer,
+      int digestTreeDepth) {
+    checkNotNull(serializer, "serializer cannot be null");
     this.protocol = checkNotNull(protocol, "protocol cannot be null");
     this.peerProvider = checkNotNull(peerProvider, "peerProvider cannot be null");
     this.eventExecutor = checkNotNull(eventExecutor, "eventExecutor cannot be null");
     this.communicationExecutor = checkNotNull(communicationExecutor, "communicationExecutor cannot be null");
     this.counter = new SlidingWindowCounter(WINDOW_SIZE, new SingleThreadContext("anti-entropy-%d"));
     this.tombstonesDisabled = tombstonesDisabled;
+    this.digestTree = new MerkleTree<>(DIGEST_TREE_FANOUT, digestTreeDepth, serializer::encode);
     protocol.registerGossipListener(this::update);
+    protocol.registerAdvertisementHandler(this::handleAdvertisement);
     updateFuture = communicationExecutor.scheduleAtFixedRate(this::performAntiEntropy, 0, antiEntropyInterval.toMillis(), TimeUnit.MILLISECONDS);
     purgeFuture = !tombstonesDisabled ? communicationExecutor.scheduleAtFixedRate(this::purgeTombstones, 0, purgeInterval.toMillis(), TimeUnit.MILLISECONDS) : null;
   }
@@ -104,7 +117,7 @@ public class AntiEntropyService<K, V> extends AbstractListenerManager<GossipEven
   }
 
   @Override
-  public void process(GossipEvent<K, V> event) {
+  public synchronized void process(GossipEvent<K, V> event) {
     GossipUpdate<K, V> update = new GossipUpdate<>(
         event.subject(),
         event.value(),
@@ -114,13 +127,13 @@ public class AntiEntropyService<K, V> extends AbstractListenerManager<GossipEven
       // For deletes, simply remove the event if tombstones are disabled.
       // Otherwise, treat the tombstone as an update to ensure it's replicated.
       if (tombstonesDisabled) {
-        updates.remove(update.subject());
+        removeUpdate(update.subject());
       } else {
-        updates.put(event.subject(), update);
+        putUpdate(update);
         notifyPeers(update);
       }
     } else {
-      updates.put(event.subject(), update);
+      putUpdate(update);
       notifyPeers(update);
     }
     post(event);
@@ -142,7 +155,7 @@ public class AntiEntropyService<K, V> extends AbstractListenerManager<GossipEven
           || existingUpdate.timestamp().isOlderThan(update.timestamp())) {
         // It's possible tombstones could just be disabled on this node.
         if (!tombstonesDisabled) {
-          updates.put(update.subject(), update);
+          putUpdate(update);
         }
 
         // Post the event to listeners.
@@ -154,6 +167,28 @@ public class AntiEntropyService<K, V> extends AbstractListenerManager<GossipEven
     }
   }
 
+  /**
+   * Stores an update, replacing any existing update for the same subject.
+   *
+   * @param update the update to store
+   */
+  private void putUpdate(GossipUpdate<K, V> update) {
+    GossipUpdate<K, V> oldUpdate = updates.put(update.subject(), update);
+    digestTree.update(update.subject(), oldUpdate != null ? oldUpdate.digest() : null, update.digest());
+  }
+
+  /**
+   * Removes the update for the given subject.
+   *
+   * @param subject the subject for which to remove the update
+   */
+  private void removeUpdate(K subject) {
+    GossipUpdate<K, V> oldUpdate = updates.remove(subject);
+    if (oldUpdate != null) {
+      digestTree.update(subject, oldUpdate.digest(), null);
+    }
+  }
+
   /**
    * Returns the update accumulator for the given peer.
    *
@@ -201,21 +236,76 @@ public class AntiEntropyService<K, V> extends AbstractListenerManager<GossipEven
 
   /**
    * Sends an anti-entropy advertisement to the given peer.
+   * <p>
+   * The exchange begins by advertising the root of the digest tree. If the peer's root differs, the
+   * children of each differing node are advertised in turn until the differing leaves are found, and
+   * finally the digests of the entries in those leaves are advertised. The cost of a round is therefore
+   * proportional to the divergence between the two nodes rather than to the number of entries.
+   * <p>
+   * Peers that predate the digest tree ignore the node hashes and respond to the advertisement as if it
+   * were an empty digest advertisement. Such a response carries no node comparison, in which case the
+   * digests of all entries are advertised instead.
    *
    * @param peer the peer to which to send the anti-entropy advertisement
    */
   private void sendAdvertisementToPeer(Identifier peer) {
     long updateTime = System.currentTimeMillis();
-    AntiEntropyAdvertisement<K> advertisement = new AntiEntropyAdvertisement<>(
-        ImmutableMap.copyOf(Maps.transformValues(updates, GossipUpdate::digest)));
-    protocol.advertise(peer, advertisement).whenComplete((response, error) -> {
+    sendHashesToPeer(peer, ImmutableMap.of(MerkleTree.ROOT, digestTree.hash(MerkleTree.ROOT)), updateTime);
+  }
+
+  /**
+   * Sends a set of digest tree node hashes to the given peer.
+   *
+   * @param peer the peer to which to send the hashes
+   * @param hashes the node hashes to send
+   * @param updateTime the time at which the anti-entropy round began
+   */
+  private void sendHashesToPeer(Identifier peer, Map<Integer, Long> hashes, long updateTime) {
+    protocol.advertise(peer, new AntiEntropyAdvertisement<K>(hashes, ImmutableMap.of())).whenComplete((response, error) -> {
+      if (error != null) {
+        log.debug("Failed to send anti-entropy advertisement to {}: {}", peer, error.getMessage());
+      } else if (response.status() == AntiEntropyResponse.Status.PROCESSED) {
+        if (response.nodes() == null) {
+          log.debug("{} did not compare digest tree nodes, advertising all digests", peer);
+          sendDigestsToPeer(peer, getDigests(), updateTime);
+          return;
+        }
+
+        Set<Integer> nodes = response.nodes().stream()
+            .filter(hashes::containsKey)
+            .collect(Collectors.toSet());
+        if (nodes.isEmpty()) {
+          peerUpdateTimes.put(peer, updateTime);
+        } else if (nodes.stream().allMatch(digestTree::isLeaf)) {
+          sendDigestsToPeer(peer, getDigests(nodes), updateTime);
+        } else {
+          sendHashesToPeer(peer, getChildHashes(nodes), updateTime);
+        }
+      }
+    });
+  }
+
+  /**
+   * Sends a set of update digests to the given peer.
+   *
+   * @param peer the peer to which to send the digests
+   * @param digests the update digests to send
+   * @param updateTime the time at which the anti-entropy round began
+   */
+  private void sendDigestsToPeer(Identifier peer, Map<K, GossipUpdate.Digest> digests, long updateTime) {
+    if (digests.isEmpty()) {
+      peerUpdateTimes.put(peer, updateTime);
+      return;
+    }
+
+    protocol.advertise(peer, new AntiEntropyAdvertisement<>(digests)).whenComplete((response, error) -> {
       if (error != null) {
         log.debug("Failed to send anti-entropy advertisement to {}: {}", peer, error.getMessage());
       } else if (response.status() == AntiEntropyResponse.Status.PROCESSED) {
         if (!response.keys().isEmpty()) {
           UpdateAccumulator accumulator = getAccumulator(peer);
           for (K key : response.keys()) {
-            GossipUpdate<K, V> update = updates.get(key);
+            GossipUpdate<K, V> update = getUpdate(key);
             if (update != null) {
               accumulator.add(update);
             }
@@ -226,6 +316,109 @@ public class AntiEntropyService<K, V> extends AbstractListenerManager<GossipEven
     });
   }
 
+  /**
+   * Returns the hashes of the children of the given digest tree nodes.
+   *
+   * @param nodes the nodes for which to return child hashes
+   * @return the child node hashes
+   */
+  private Map<Integer, Long> getChildHashes(Collection<Integer> nodes) {
+    Map<Integer, Long> hashes = Maps.newHashMapWithExpectedSize(nodes.size() * digestTree.fanout());
+    for (int node : nodes) {
+      if (!digestTree.isLeaf(node)) {
+        int firstChild = digestTree.firstChild(node);
+        for (int child = firstChild; child < firstChild + digestTree.fanout(); child++) {
+          hashes.put(child, digestTree.hash(child));
+        }
+      }
+    }
+    return hashes;
+  }
+
+  /**
+   * Returns the digests for all updates.
+   *
+   * @return the update digests
+   */
+  private synchronized Map<K, GossipUpdate.Digest> getDigests() {
+    return ImmutableMap.copyOf(Maps.transformValues(updates, GossipUpdate::digest));
+  }
+
+  /**
+   * Returns the digests for all updates in the given digest tree leaves.
+   *
+   * @param leaves the leaves for which to return update digests
+   * @return the update digests
+   */
+  private synchronized Map<K, GossipUpdate.Digest> getDigests(Collection<Integer> leaves) {
+    Map<K, GossipUpdate.Digest> digests = Maps.newHashMap();
+    for (int leaf : leaves) {
+      for (K key : digestTree.keys(leaf)) {
+        GossipUpdate<K, V> update = updates.get(key);
+        if (update != null) {
+          digests.put(key, update.digest());
+        }
+      }
+    }
+    return digests;
+  }
+
+  /**
+   * Returns the update for the given subject.
+   *
+   * @param subject the update subject
+   * @return the update for the given subject or {@code null} if no update is stored
+   */
+  private synchronized GossipUpdate<K, V> getUpdate(K subject) {
+    return updates.get(subject);
+  }
+
+  /**
+   * Handles an anti-entropy advertisement from a peer.
+   *
+   * @param advertisement the advertisement to handle
+   * @return the anti-entropy response
+   */
+  private AntiEntropyResponse<K> handleAdvertisement(AntiEntropyAdvertisement<K> advertisement) {
+    if (!open || underHighLoad()) {
+      return new AntiEntropyResponse<>(AntiEntropyResponse.Status.IGNORED, ImmutableSet.of());
+    }
+    try {
+      if (!advertisement.hashes().isEmpty()) {
+        Set<Integer> nodes = Sets.newHashSet();
+        advertisement.hashes().forEach((node, hash) -> {
+          if (digestTree.isNode(node) && digestTree.hash(node) != hash) {
+            nodes.add(node);
+          }
+        });
+        return new AntiEntropyResponse<>(AntiEntropyResponse.Status.PROCESSED, ImmutableSet.of(), nodes);
+      }
+      return new AntiEntropyResponse<>(AntiEntropyResponse.Status.PROCESSED, getStaleKeys(advertisement.digest()));
+    } catch (Exception e) {
+      log.warn("Failed to process anti-entropy advertisement", e);
+      return new AntiEntropyResponse<>(AntiEntropyResponse.Status.FAILED, ImmutableSet.of());
+    }
+  }
+
+  /**
+   * Returns the keys for which the given digests are newer than the local updates.
+   *
+   * @param digests the digests to compare
+   * @return the keys for which updates are needed
+   */
+  private synchronized Set<K> getStaleKeys(Map<K, GossipUpdate.Digest> digests) {
+    Set<K> keys = Sets.newHashSet();
+    digests.forEach((key, digest) -> {
+      GossipUpdate<K, V> existingUpdate = updates.get(key);
+      if (existingUpdate == null
+          || (existingUpdate.isTombstone() && !digest.isTombstone())
+          || digest.isNewerThan(existingUpdate.digest())) {
+        keys.add(key);
+      }
+    });
+    return keys;
+  }
+
   /**
    * Notifies peers of an update.
    *
@@ -272,6 +465,7 @@ public class AntiEntropyService<K, V> extends AbstractListenerManager<GossipEven
       GossipUpdate<K, V> update = iterator.next().getValue();
       if (update.isTombstone() && update.creationTime() < minTombstoneTime) {
         iterator.remove();
+        digestTree.update(update.subject(), update.digest(), null);
       }
     }
   }
@@ -280,6 +474,7 @@ public class AntiEntropyService<K, V> extends AbstractListenerManager<GossipEven
   public void close() {
     open = false;
     protocol.unregisterGossipListener();
+    protocol.unregisterAdvertisementHandler();
     updateFuture.cancel(false);
     if (purgeFuture != null) {
       purgeFuture.cancel(false);
@@ -313,10 +508,10 @@ public class AntiEntropyService<K, V> extends AbstractListenerManager<GossipEven
     public void processItems(List<GossipUpdate<K, V>> items) {
       Map<K, GossipUpdate<K, V>> map = Maps.newHashMap();
       items.forEach(item -> map.compute(item.subject(), (key, existing) ->
-          item.timestamp().isNewerThan(existing.timestamp()) ? item : existing));
+          item.isNewerThan(existing) ? item : existing));
       communicationExecutor.execute(() -> {
         try {
-          protocol.gossip(peer, new GossipMessage<>(logicalClock.increment(), map.values()));
+          protocol.gossip(peer, new GossipMessage<>(logicalClock.increment(), Lists.newArrayList(map.values())));
         } catch (Exception e) {
           log.warn("Failed to send to {}", peer, e);
         }
@@ -338,6 +533,8 @@ public class AntiEntropyService<K, V> extends AbstractListenerManager<GossipEven
     protected Duration antiEntropyInterval = Duration.ofSeconds(1);
     protected boolean tombstonesDisabled = false;
     protected Duration purgeInterval = Duration.ofMinutes(1);
+    protected Serializer serializer;
+    protected int digestTreeDepth = 2;
 
     /**
      * Sets the anti-entropy protocol.
@@ -422,9 +619,49 @@ public class AntiEntropyService<K, V> extends AbstractListenerManager<GossipEven
       return this;
     }
 
+    /**
+     * Sets the serializer used to encode keys.
+     * <p>
+     * Keys are placed in the digest tree by the hash of their encoded bytes, so peers must encode keys
+     * with the same serializer for their trees to be comparable. A serializer is required; there is no default.
+     *
+     * @param serializer the key serializer
+     * @return the anti-entropy service builder
+     * @throws NullPointerException if the serializer is null
+     */
+    public Builder<K, V> withSerializer(Serializer serializer) {
+      this.serializer = checkNotNull(serializer, "serializer cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the depth of the digest tree used to compare entries with peers.
+     * <p>
+     * The tree has a fanout of 16, so a tree of depth {@code d} has {@code 16^d} leaves. Deeper trees
+     * reduce the number of digests exchanged when peers diverge at the cost of more round trips and
+     * memory, since the tree's nodes are allocated up front and a repair takes one round trip per level.
+     * Peers should be configured with the same depth. By default, the depth is {@code 2}.
+     *
+     * @param digestTreeDepth the digest tree depth
+     * @return the anti-entropy service builder
+     * @throws IllegalArgumentException if the depth is not positive
+     */
+    public Builder<K, V> withDigestTreeDepth(int digestTreeDepth) {
+      checkArgument(digestTreeDepth > 0, "digestTreeDepth must be positive");
+      this.digestTreeDepth = digestTreeDepth;
+      return this;
+    }
+
+    /**
+     * Builds the anti-entropy service.
+     *
+     * @return the anti-entropy service
+     * @throws NullPointerException if no serializer was set
+     */
     @Override
     public GossipService<K, V> build() {
-      return new AntiEntropyService<>(protocol, peerProvider, eventExecutor, communicationExecutor, antiEntropyInterval, tombstonesDisabled, purgeInterval);
+      checkNotNull(serializer, "serializer must be set with withSerializer() to encode keys in the digest tree");
+      return new AntiEntropyService<>(protocol, peerProvider, eventExecutor, communicationExecutor, antiEntropyInterval, tombstonesDisabled, purgeInterval, serializer, digestTreeDepth);
     }
   }
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.gossip;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.atomix.protocols.gossip.protocol.GossipUpdate;
+
+import java.util.Set;
+import java.util.function.Function;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Fixed-shape hash tree over gossip update digests.
+ * <p>
+ * Keys are assigned to leaf buckets by hash, and each node's hash is the XOR of the hashes of all
+ * entries beneath it. This allows the tree to be updated incrementally in {@code O(depth)} time as
+ * entries change, and two trees with the same shape can be compared top-down, descending only into
+ * the subtrees whose hashes differ. Both the bucket and the entry hash are derived from the key's encoded
+ * bytes rather than its {@link Object#hashCode()}, which is not guaranteed to be stable across JVMs, so
+ * peers that encode keys the same way build identical trees.
+ * <p>
+ * Nodes are identified by their index in a breadth-first layout of the tree: the root is node
+ * {@code 0}, and the children of node {@code n} are nodes {@code n * fanout + 1} through
+ * {@code n * fanout + fanout}.
+ */
+final class MerkleTree<K> {
+  static final int ROOT = 0;
+  private static final HashFunction KEY_HASH = Hashing.murmur3_128();
+
+  private final int fanout;
+  private final int depth;
+  private final int firstLeaf;
+  private final long[] hashes;
+  private final Set<K>[] buckets;
+  private final Function<K, byte[]> keyEncoder;
+
+  @SuppressWarnings("unchecked")
+  MerkleTree(int fanout, int depth, Function<K, byte[]> keyEncoder) {
+    checkArgument(fanout > 1, "fanout must be greater than 1");
+    checkArgument(depth > 0, "depth must be positive");
+    this.fanout = fanout;
+    this.depth = depth;
+    this.keyEncoder = checkNotNull(keyEncoder, "keyEncoder cannot be null");
+    int leaves = (int) Math.pow(fanout, depth);
+    this.firstLeaf = (leaves - 1) / (fanout - 1);
+    this.hashes = new long[firstLeaf + leaves];
+    this.buckets = new Set[leaves];
+  }
+
+  /**
+   * Returns the tree depth.
+   *
+   * @return the number of levels below the root
+   */
+  int depth() {
+    return depth;
+  }
+
+  /**
+   * Returns the hash for the given node.
+   *
+   * @param node the node index
+   * @return the node hash
+   */
+  synchronized long hash(int node) {
+    return hashes[node];
+  }
+
+  /**
+   * Returns a boolean indicating whether the given index identifies a node in the tree.
+   *
+   * @param node the node index
+   * @return indicates whether the node exists
+   */
+  boolean isNode(int node) {
+    return node >= 0 && node < hashes.length;
+  }
+
+  /**
+   * Returns a boolean indicating whether the given node is a leaf.
+   *
+   * @param node the node index
+   * @return indicates whether the node is a leaf
+   */
+  boolean isLeaf(int node) {
+    return node >= firstLeaf;
+  }
+
+  /**
+   * Returns the index of the first child of the given node.
+   * <p>
+   * The node's children are the {@code fanout} nodes beginning at the returned index.
+   *
+   * @param node the node index
+   * @return the index of the node's first child
+   */
+  int firstChild(int node) {
+    return node * fanout + 1;
+  }
+
+  /**
+   * Returns the number of children of each non-leaf node.
+   *
+   * @return the tree fanout
+   */
+  int fanout() {
+    return fanout;
+  }
+
+  /**
+   * Returns the keys in the given leaf.
+   *
+   * @param leaf the leaf node index
+   * @return the keys assigned to the leaf
+   */
+  synchronized Set<K> keys(int leaf) {
+    Set<K> keys = buckets[leaf - firstLeaf];
+    return keys != null ? ImmutableSet.copyOf(keys) : ImmutableSet.of();
+  }
+
+  /**
+   * Updates the digest for a key.
+   *
+   * @param key the key to update
+   * @param oldDigest the key's previous digest, or {@code null} if the key was not present
+   * @param newDigest the key's new digest, or {@code null} if the key was removed
+   */
+  synchronized void update(K key, GossipUpdate.Digest oldDigest, GossipUpdate.Digest newDigest) {
+    long keyHash = KEY_HASH.hashBytes(keyEncoder.apply(key)).asLong();
+    int bucket = (int) Long.remainderUnsigned(keyHash, buckets.length);
+    long delta = 0;
+    if (oldDigest != null) {
+      delta ^= hash(keyHash, oldDigest);
+    }
+    if (newDigest != null) {
+      delta ^= hash(keyHash, newDigest);
+      if (oldDigest == null) {
+        if (buckets[bucket] == null) {
+          buckets[bucket] = Sets.newHashSet();
+        }
+        buckets[bucket].add(key);
+      }
+    } else if (oldDigest != null && buckets[bucket] != null) {
+      buckets[bucket].remove(key);
+      if (buckets[bucket].isEmpty()) {
+        buckets[bucket] = null;
+      }
+    }
+
+    if (delta != 0) {
+      int node = firstLeaf + bucket;
+      while (node > ROOT) {
+        hashes[node] ^= delta;
+        node = (node - 1) / fanout;
+      }
+      hashes[ROOT] ^= delta;
+    }
+  }
+
+  /**
+   * Computes the hash of an entry.
+   * <p>
+   * The timestamp's hash code is stable across nodes for the logical timestamps used by the anti-entropy
+   * service, which are hashed by value.
+   */
+  private static long hash(long keyHash, GossipUpdate.Digest digest) {
+    long hash = keyHash ^ mix(digest.timestamp().hashCode());
+    return mix(digest.isTombstone() ? ~hash : hash);
+  }
+
+  /**
+   * 64-bit finalizer from MurmurHash3.
+   */
+  private static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("fanout", fanout)
+        .add("depth", depth)
+        .toString();
+  }
+}
@@ -46,10 +46,16 @@ public class AntiEntropyResponse<K> {
 
   private final Status status;
   private final Set<K> keys;
+  private final Set<Integer> nodes;
 
   public AntiEntropyResponse(Status status, Set<K> keys) {
+    this(status, keys, null);
+  }
+
+  public AntiEntropyResponse(Status status, Set<K> keys, Set<Integer> nodes) {
     this.status = status;
     this.keys = keys;
+    this.nodes = nodes;
   }
 
   /**
@@ -70,11 +76,24 @@ public class AntiEntropyResponse<K> {
     return keys;
   }
 
+  /**
+   * Returns the set of advertised hash tree nodes whose hashes differ from the receiver's.
+   * <p>
+   * The nodes are {@code null} if the receiver did not compare hash tree nodes, either because the
+   * advertisement carried only entry digests or because the receiver does not support hash trees.
+   *
+   * @return the set of hash tree nodes that need to be compared at the next level, or {@code null}
+   */
+  public Set<Integer> nodes() {
+    return nodes;
+  }
+
   @Override
   public String toString() {
     return toStringHelper(this)
         .add("status", status)
         .add("keys", keys)
+        .add("nodes", nodes)
         .toString();
   }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.gossip;
+
+import io.atomix.protocols.gossip.protocol.GossipUpdate;
+import io.atomix.time.LogicalTimestamp;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Merkle tree test.
+ */
+public class MerkleTreeTest {
+  @Test
+  public void testTreeHashes() throws Exception {
+    MerkleTree<String> tree1 = new MerkleTree<>(4, 3, MerkleTreeTest::encode);
+    MerkleTree<String> tree2 = new MerkleTree<>(4, 3, MerkleTreeTest::encode);
+    assertEquals(0, tree1.hash(MerkleTree.ROOT));
+
+    for (int i = 0; i < 100; i++) {
+      tree1.update(String.valueOf(i), null, digest(i));
+    }
+    for (int i = 99; i >= 0; i--) {
+      tree2.update(String.valueOf(i), null, digest(i));
+    }
+    assertNotEquals(0, tree1.hash(MerkleTree.ROOT));
+    assertEquals(tree1.hash(MerkleTree.ROOT), tree2.hash(MerkleTree.ROOT));
+
+    long root = tree1.hash(MerkleTree.ROOT);
+    tree2.update("50", digest(50), digest(1000));
+    assertNotEquals(tree1.hash(MerkleTree.ROOT), tree2.hash(MerkleTree.ROOT));
+
+    // Descend the tree to find the single differing leaf.
+    int node = MerkleTree.ROOT;
+    while (!tree1.isLeaf(node)) {
+      int differing = -1;
+      int firstChild = tree1.firstChild(node);
+      for (int child = firstChild; child < firstChild + tree1.fanout(); child++) {
+        if (tree1.hash(child) != tree2.hash(child)) {
+          assertEquals(-1, differing);
+          differing = child;
+        }
+      }
+      assertNotEquals(-1, differing);
+      node = differing;
+    }
+    assertTrue(tree1.keys(node).contains("50"));
+    assertTrue(tree2.keys(node).contains("50"));
+
+    tree2.update("50", digest(1000), digest(50));
+    assertEquals(root, tree2.hash(MerkleTree.ROOT));
+
+    tree2.update("50", digest(50), null);
+    assertNotEquals(root, tree2.hash(MerkleTree.ROOT));
+    assertFalse(tree2.keys(node).contains("50"));
+
+    tree2.update("50", null, new GossipUpdate.Digest(LogicalTimestamp.of(50), true));
+    assertNotEquals(root, tree2.hash(MerkleTree.ROOT));
+  }
+
+  @Test
+  public void testKeyHashIndependentOfHashCode() throws Exception {
+    MerkleTree<UnstableKey> tree1 = new MerkleTree<>(4, 3, key -> encode(key.value));
+    MerkleTree<UnstableKey> tree2 = new MerkleTree<>(4, 3, key -> encode(key.value));
+    for (int i = 0; i < 100; i++) {
+      tree1.update(new UnstableKey(String.valueOf(i)), null, digest(i));
+      tree2.update(new UnstableKey(String.valueOf(i)), null, digest(i));
+    }
+    assertEquals(tree1.hash(MerkleTree.ROOT), tree2.hash(MerkleTree.ROOT));
+  }
+
+  private static byte[] encode(String key) {
+    return key.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static GossipUpdate.Digest digest(long timestamp) {
+    return new GossipUpdate.Digest(LogicalTimestamp.of(timestamp), false);
+  }
+
+  /**
+   * Key with an identity hash code, which differs between instances and JVMs.
+   */
+  private static class UnstableKey {
+    private final String value;
+
+    UnstableKey(String value) {
+      this.value = value;
+    }
+  }
+}
@@ -556,6 +556,17 @@ public interface RaftServer {
     private static final int DEFAULT_SESSION_FAILURE_THRESHOLD = 3;
     private static final ThreadModel DEFAULT_THREAD_MODEL = ThreadModel.SHARED_THREAD_POOL;
     private static final int DEFAULT_THREAD_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    private static final boolean DEFAULT_COMMAND_BATCHING = false;
+    private static final int DEFAULT_MAX_COMMAND_BATCH_SIZE = 1024;
+    private static final int DEFAULT_MAX_COMMAND_BATCH_BYTES = 1024 * 1024;
+    private static final boolean DEFAULT_EVENT_BATCHING = false;
+    private static final Duration DEFAULT_EVENT_BATCH_WINDOW = Duration.ofMillis(1);
+    private static final int DEFAULT_MAX_EVENT_BATCH_SIZE = 1024;
+    private static final boolean DEFAULT_REPLICATION_FLOW_CONTROL = false;
+    private static final boolean DEFAULT_OFF_HEAP_RESULTS = false;
+    private static final boolean DEFAULT_ASYNC_SNAPSHOTS = false;
+    private static final int DEFAULT_SNAPSHOT_CHUNK_SIZE = 1024 * 32;
+    private static final int DEFAULT_MAX_SNAPSHOT_CHUNKS_IN_FLIGHT = 1;
 
     protected String name;
     protected MemberId localMemberId;
@@ -569,6 +580,17 @@ public interface RaftServer {
     protected final RaftServiceFactoryRegistry serviceRegistry = new RaftServiceFactoryRegistry();
     protected ThreadModel threadModel = DEFAULT_THREAD_MODEL;
     protected int threadPoolSize = DEFAULT_THREAD_POOL_SIZE;
+    protected boolean commandBatching = DEFAULT_COMMAND_BATCHING;
+    protected int maxCommandBatchSize = DEFAULT_MAX_COMMAND_BATCH_SIZE;
+    protected int maxCommandBatchBytes = DEFAULT_MAX_COMMAND_BATCH_BYTES;
+    protected boolean eventBatching = DEFAULT_EVENT_BATCHING;
+    protected Duration eventBatchWindow = DEFAULT_EVENT_BATCH_WINDOW;
+    protected int maxEventBatchSize = DEFAULT_MAX_EVENT_BATCH_SIZE;
+    protected boolean replicationFlowControl = DEFAULT_REPLICATION_FLOW_CONTROL;
+    protected boolean offHeapResults = DEFAULT_OFF_HEAP_RESULTS;
+    protected boolean asyncSnapshots = DEFAULT_ASYNC_SNAPSHOTS;
+    protected int snapshotChunkSize = DEFAULT_SNAPSHOT_CHUNK_SIZE;
+    protected int maxSnapshotChunksInFlight = DEFAULT_MAX_SNAPSHOT_CHUNKS_IN_FLIGHT;
 
     protected Builder(MemberId localMemberId) {
       this.localMemberId = checkNotNull(localMemberId, "localMemberId cannot be null");
@@ -735,6 +757,227 @@ public interface RaftServer {
       this.threadPoolSize = threadPoolSize;
       return this;
     }
+
+    /**
+     * Enables group commit of client commands, returning the builder for method chaining.
+     *
+     * @return The server builder.
+     */
+    public Builder withCommandBatching() {
+      return withCommandBatching(true);
+    }
+
+    /**
+     * Sets whether to group commit client commands, returning the builder for method chaining.
+     * <p>
+     * When command batching is enabled, commands received by the leader within a single tick of the server's
+     * thread are appended to the log together, replicated with a single replication trigger, and completed
+     * together once committed. Batches are flushed early once they reach the configured
+     * {@link #withMaxCommandBatchSize(int) maximum size} or {@link #withMaxCommandBatchBytes(int) maximum bytes}.
+     *
+     * @param commandBatching Whether to group commit client commands.
+     * @return The server builder.
+     */
+    public Builder withCommandBatching(boolean commandBatching) {
+      this.commandBatching = commandBatching;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of commands to group commit in a single batch.
+     * <p>
+     * By default, the maximum command batch size is {@code 1024}.
+     *
+     * @param maxCommandBatchSize The maximum number of commands per batch.
+     * @return The server builder.
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public Builder withMaxCommandBatchSize(int maxCommandBatchSize) {
+      checkArgument(maxCommandBatchSize > 0, "maxCommandBatchSize must be positive");
+      this.maxCommandBatchSize = maxCommandBatchSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of operation bytes to group commit in a single batch.
+     * <p>
+     * By default, the maximum command batch bytes is {@code 1024 * 1024}.
+     *
+     * @param maxCommandBatchBytes The maximum number of operation bytes per batch.
+     * @return The server builder.
+     * @throws IllegalArgumentException if the batch bytes is not positive
+     */
+    public Builder withMaxCommandBatchBytes(int maxCommandBatchBytes) {
+      checkArgument(maxCommandBatchBytes > 0, "maxCommandBatchBytes must be positive");
+      this.maxCommandBatchBytes = maxCommandBatchBytes;
+      return this;
+    }
+
+    /**
+     * Enables batching of session event publication, returning the builder for method chaining.
+     *
+     * @return The server builder.
+     */
+    public Builder withEventBatching() {
+      return withEventBatching(true);
+    }
+
+    /**
+     * Sets whether to batch session event publication, returning the builder for method chaining.
+     * <p>
+     * By default, the leader sends a publish request to a session's client for every index at which events were
+     * published to the session. When event batching is enabled, events published to a session within the
+     * {@link #withEventBatchWindow(Duration) event batch window} are sent to the client in a single publish
+     * request, and clients unpack the batch and sequence the events for each index in order. Batches are sent
+     * early once they reach the {@link #withMaxEventBatchSize(int) maximum size}.
+     *
+     * @param eventBatching Whether to batch session event publication.
+     * @return The server builder.
+     */
+    public Builder withEventBatching(boolean eventBatching) {
+      this.eventBatching = eventBatching;
+      return this;
+    }
+
+    /**
+     * Sets the window within which events published to a session are batched.
+     * <p>
+     * By default, the event batch window is {@code 1} millisecond.
+     *
+     * @param eventBatchWindow The event batch window.
+     * @return The server builder.
+     * @throws NullPointerException if the window is null
+     * @throws IllegalArgumentException if the window is negative
+     */
+    public Builder withEventBatchWindow(Duration eventBatchWindow) {
+      checkNotNull(eventBatchWindow, "eventBatchWindow cannot be null");
+      checkArgument(!eventBatchWindow.isNegative(), "eventBatchWindow cannot be negative");
+      this.eventBatchWindow = eventBatchWindow;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of indexes for which to send events to a session in a single batch.
+     * <p>
+     * By default, the maximum event batch size is {@code 1024}.
+     *
+     * @param maxEventBatchSize The maximum number of indexes per event batch.
+     * @return The server builder.
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public Builder withMaxEventBatchSize(int maxEventBatchSize) {
+      checkArgument(maxEventBatchSize > 0, "maxEventBatchSize must be positive");
+      this.maxEventBatchSize = maxEventBatchSize;
+      return this;
+    }
+
+    /**
+     * Enables replication flow control, returning the builder for method chaining.
+     *
+     * @return The server builder.
+     */
+    public Builder withReplicationFlowControl() {
+      return withReplicationFlowControl(true);
+    }
+
+    /**
+     * Sets whether to enable replication flow control, returning the builder for method chaining.
+     * <p>
+     * When replication flow control is enabled, the leader pipelines append requests to each follower within
+     * a per-follower window of in-flight bytes. The window and the size of each append request are grown
+     * additively while append latency remains stable and are halved when latency spikes or an append fails.
+     * By default, replication flow control is disabled and at most two append requests are in flight to
+     * each follower.
+     *
+     * @param replicationFlowControl Whether to enable replication flow control.
+     * @return The server builder.
+     */
+    public Builder withReplicationFlowControl(boolean replicationFlowControl) {
+      this.replicationFlowControl = replicationFlowControl;
+      return this;
+    }
+
+    /**
+     * Enables off-heap storage of cached session command results, returning the builder for method chaining.
+     *
+     * @return The server builder.
+     */
+    public Builder withOffHeapResults() {
+      return withOffHeapResults(true);
+    }
+
+    /**
+     * Sets whether to store cached session command results off-heap, returning the builder for method chaining.
+     * <p>
+     * Each session caches the output of applied commands until the client acknowledges it so that retried
+     * commands receive the same result. When off-heap results are enabled, the output is copied into direct
+     * memory, reducing heap usage and garbage collection pressure for servers with many sessions. By default,
+     * results are stored on the heap.
+     *
+     * @param offHeapResults Whether to store cached session command results off-heap.
+     * @return The server builder.
+     */
+    public Builder withOffHeapResults(boolean offHeapResults) {
+      this.offHeapResults = offHeapResults;
+      return this;
+    }
+
+    /**
+     * Enables asynchronous service snapshots, returning the builder for method chaining.
+     *
+     * @return The server builder.
+     */
+    public Builder withAsyncSnapshots() {
+      return withAsyncSnapshots(true);
+    }
+
+    /**
+     * Sets whether to write service snapshots asynchronously, returning the builder for method chaining.
+     * <p>
+     * When asynchronous snapshots are enabled, services that support it capture a point-in-time view of their
+     * state on the service thread and write it to the snapshot on a background thread while commands continue to
+     * be applied. Services that do not support capturing their state are always snapshotted synchronously.
+     * By default, all snapshots are written synchronously.
+     *
+     * @param asyncSnapshots Whether to write service snapshots asynchronously.
+     * @return The server builder.
+     */
+    public Builder withAsyncSnapshots(boolean asyncSnapshots) {
+      this.asyncSnapshots = asyncSnapshots;
+      return this;
+    }
+
+    /**
+     * Sets the number of snapshot bytes to send to a follower in a single install request.
+     * <p>
+     * By default, the snapshot chunk size is {@code 1024 * 32}.
+     *
+     * @param snapshotChunkSize The maximum number of snapshot bytes per install request.
+     * @return The server builder.
+     * @throws IllegalArgumentException if the chunk size is not positive
+     */
+    public Builder withSnapshotChunkSize(int snapshotChunkSize) {
+      checkArgument(snapshotChunkSize > 0, "snapshotChunkSize must be positive");
+      this.snapshotChunkSize = snapshotChunkSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of snapshot chunks to stream to a follower concurrently.
+     * <p>
+     * When a follower must be sent a snapshot, the leader pipelines up to this many install requests to the
+     * follower rather than waiting for each chunk to be acknowledged before sending the next. By default,
+     * a single chunk is in flight at any time.
+     *
+     * @param maxSnapshotChunksInFlight The maximum number of in-flight install requests per follower.
+     * @return The server builder.
+     * @throws IllegalArgumentException if the number of chunks is not positive
+     */
+    public Builder withMaxSnapshotChunksInFlight(int maxSnapshotChunksInFlight) {
+      checkArgument(maxSnapshotChunksInFlight > 0, "maxSnapshotChunksInFlight must be positive");
+      this.maxSnapshotChunksInFlight = maxSnapshotChunksInFlight;
+      return this;
+    }
   }
 
 }
@@ -29,7 +29,14 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public final class RaftMemberContext {
   private static final int MAX_APPENDS = 2;
   private static final int APPEND_WINDOW_SIZE = 8;
+  private static final int MIN_APPEND_BATCH_SIZE = 1024 * 32;
+  private static final int MAX_APPEND_BATCH_SIZE = 1024 * 1024;
+  private static final int MIN_APPEND_WINDOW = MIN_APPEND_BATCH_SIZE * MAX_APPENDS;
+  private static final int MAX_APPEND_WINDOW = MAX_APPEND_BATCH_SIZE * 16;
+  private static final int APPEND_WINDOW_INCREMENT = MIN_APPEND_BATCH_SIZE;
+  private static final int APPEND_LATENCY_FACTOR = 2;
   private final DefaultRaftMember member;
+  private final RaftClusterContext cluster;
   private long term;
   private long configIndex;
   private long snapshotIndex;
@@ -37,13 +44,19 @@ public final class RaftMemberContext {
   private long nextSnapshotIndex;
   private long nextSnapshotId;
   private int nextSnapshotOffset;
+  private boolean nextSnapshotComplete;
   private long matchIndex;
   private long heartbeatTime;
   private int appending;
   private boolean appendSucceeded;
   private long appendTime;
+  private int appendingBytes;
+  private long appendSequence;
+  private long appendSuccessSequence;
+  private long appendResetSequence;
+  private int appendWindow = MIN_APPEND_WINDOW;
   private boolean configuring;
-  private boolean installing;
+  private int installing;
   private int failures;
   private long failureTime;
   private volatile RaftLogReader reader;
@@ -51,6 +64,7 @@ public final class RaftMemberContext {
 
   RaftMemberContext(DefaultRaftMember member, RaftClusterContext cluster) {
     this.member = checkNotNull(member, "member cannot be null").setCluster(cluster);
+    this.cluster = cluster;
   }
 
   /**
@@ -60,12 +74,17 @@ public final class RaftMemberContext {
     snapshotIndex = 0;
     nextSnapshotIndex = 0;
     nextSnapshotOffset = 0;
+    nextSnapshotComplete = false;
     matchIndex = 0;
     heartbeatTime = 0;
     appending = 0;
+    appendingBytes = 0;
+    appendSuccessSequence = appendSequence;
+    appendResetSequence = appendSequence;
+    appendWindow = MIN_APPEND_WINDOW;
     timeStats.clear();
     configuring = false;
-    installing = false;
+    installing = 0;
     appendSucceeded = false;
     failures = 0;
     failureTime = 0;
@@ -225,6 +244,24 @@ public final class RaftMemberContext {
     this.nextSnapshotOffset = nextSnapshotOffset;
   }
 
+  /**
+   * Returns whether the last chunk of the member's next snapshot has been sent.
+   *
+   * @return Whether the last chunk of the member's next snapshot has been sent.
+   */
+  public boolean isNextSnapshotComplete() {
+    return nextSnapshotComplete;
+  }
+
+  /**
+   * Sets whether the last chunk of the member's next snapshot has been sent.
+   *
+   * @param nextSnapshotComplete Whether the last chunk of the member's next snapshot has been sent.
+   */
+  public void setNextSnapshotComplete(boolean nextSnapshotComplete) {
+    this.nextSnapshotComplete = nextSnapshotComplete;
+  }
+
   /**
    * Returns the member's match index.
    *
@@ -246,13 +283,60 @@ public final class RaftMemberContext {
 
   /**
    * Returns a boolean indicating whether an append request can be sent to the member.
+   * <p>
+   * When replication flow control is enabled, pipelined append requests may be sent to the member as long as
+   * the number of bytes in flight is within the member's current {@link #getAppendWindow() append window}.
    *
    * @return Indicates whether an append request can be sent to the member.
    */
   public boolean canAppend() {
+    if (isFlowControlled()) {
+      return appending == 0 || (appendSucceeded && appendingBytes < appendWindow);
+    }
     return appending == 0 || (appendSucceeded && appending < MAX_APPENDS && System.currentTimeMillis() - (timeStats.getMean() / MAX_APPENDS) >= appendTime);
   }
 
+  /**
+   * Returns whether replication flow control is enabled for the member.
+   */
+  private boolean isFlowControlled() {
+    return cluster != null && cluster.getContext().isReplicationFlowControl();
+  }
+
+  /**
+   * Returns the member's current append window.
+   * <p>
+   * The append window is the maximum number of entry bytes that may be in flight to the member at any given time.
+   * The window grows additively as appends complete with stable latency and is halved when latency spikes or
+   * an append fails.
+   *
+   * @return The member's current append window in bytes.
+   */
+  public int getAppendWindow() {
+    return appendWindow;
+  }
+
+  /**
+   * Returns the maximum number of entry bytes to send to the member in a single append request.
+   *
+   * @return The member's current append batch size in bytes.
+   */
+  public int getAppendBatchSize() {
+    if (isFlowControlled()) {
+      return Math.max(MIN_APPEND_BATCH_SIZE, Math.min(MAX_APPEND_BATCH_SIZE, appendWindow / MAX_APPENDS));
+    }
+    return MIN_APPEND_BATCH_SIZE;
+  }
+
+  /**
+   * Returns the number of entry bytes currently in flight to the member.
+   *
+   * @return The number of entry bytes currently in flight to the member.
+   */
+  public int getAppendingBytes() {
+    return appendingBytes;
+  }
+
   /**
    * Returns whether a heartbeat can be sent to the member.
    *
@@ -300,6 +384,48 @@ public final class RaftMemberContext {
     appending--;
   }
 
+  /**
+   * Starts an append request to the member.
+   *
+   * @param bytes The number of entry bytes in the append request.
+   * @return The sequence number of the append request.
+   */
+  public long startAppend(int bytes) {
+    startAppend();
+    appendingBytes += bytes;
+    return ++appendSequence;
+  }
+
+  /**
+   * Records a successful response to the append request with the given sequence number.
+   *
+   * @param sequence The sequence number of the append request.
+   */
+  public void succeedAppend(long sequence) {
+    appendSuccessSequence = Math.max(appendSuccessSequence, sequence);
+  }
+
+  /**
+   * Records a reset of the member's next index, after which failures of append requests sent so far are stale.
+   */
+  public void resetAppend() {
+    appendResetSequence = appendSequence;
+  }
+
+  /**
+   * Returns a boolean indicating whether a failed response to the append request with the given sequence number
+   * is stale.
+   * <p>
+   * Responses to pipelined append requests may be received out of order. A failure is stale if a request sent
+   * after it has already succeeded or if the member's next index has been reset since the request was sent.
+   *
+   * @param sequence The sequence number of the append request.
+   * @return Indicates whether a failure of the append request is stale.
+   */
+  public boolean isStaleAppendFailure(long sequence) {
+    return sequence < appendSuccessSequence || sequence <= appendResetSequence;
+  }
+
   /**
    * Completes an append request to the member.
    *
@@ -310,6 +436,43 @@ public final class RaftMemberContext {
     timeStats.addValue(time);
   }
 
+  /**
+   * Completes an append request to the member, adjusting the append window according to the append latency.
+   * <p>
+   * If the append took significantly longer than the recent mean append time, the append window is halved.
+   * Otherwise, the window is increased by a fixed increment up to the maximum window size.
+   *
+   * @param time The time in milliseconds for the append.
+   * @param bytes The number of entry bytes in the append request.
+   */
+  public void completeAppend(long time, int bytes) {
+    appendingBytes = Math.max(appendingBytes - bytes, 0);
+    if (timeStats.getN() > 0 && time > Math.max(timeStats.getMean(), 1) * APPEND_LATENCY_FACTOR) {
+      decreaseAppendWindow();
+    } else {
+      appendWindow = Math.min(appendWindow + APPEND_WINDOW_INCREMENT, MAX_APPEND_WINDOW);
+    }
+    completeAppend(time);
+  }
+
+  /**
+   * Fails an append request to the member, halving the append window.
+   *
+   * @param bytes The number of entry bytes in the append request.
+   */
+  public void failAppend(int bytes) {
+    appending--;
+    appendingBytes = Math.max(appendingBytes - bytes, 0);
+    decreaseAppendWindow();
+  }
+
+  /**
+   * Halves the member's append window.
+   */
+  private void decreaseAppendWindow() {
+    appendWindow = Math.max(appendWindow / 2, MIN_APPEND_WINDOW);
+  }
+
   /**
    * Returns a boolean indicating whether a configure request can be sent to the member.
    *
@@ -336,24 +499,34 @@ public final class RaftMemberContext {
   /**
    * Returns a boolean indicating whether an install request can be sent to the member.
    *
+   * @param maxInstalls The maximum number of install requests that may be in flight to the member.
    * @return Indicates whether an install request can be sent to the member.
    */
-  public boolean canInstall() {
-    return !installing;
+  public boolean canInstall(int maxInstalls) {
+    return installing < maxInstalls;
+  }
+
+  /**
+   * Returns the number of install requests in flight to the member.
+   *
+   * @return The number of install requests in flight to the member.
+   */
+  public int getInstalling() {
+    return installing;
   }
 
   /**
    * Starts an install request to the member.
    */
   public void startInstall() {
-    installing = true;
+    installing++;
   }
 
   /**
    * Completes an install request to the member.
    */
   public void completeInstall() {
-    installing = false;
+    installing = Math.max(installing - 1, 0);
   }
 
   /**
@@ -428,6 +601,8 @@ public final class RaftMemberContext {
         .add("appending", appending)
         .add("appendSucceeded", appendSucceeded)
         .add("appendTime", appendTime)
+        .add("appendingBytes", appendingBytes)
+        .add("appendWindow", appendWindow)
         .add("configuring", configuring)
         .add("installing", installing)
         .add("failures", failures)
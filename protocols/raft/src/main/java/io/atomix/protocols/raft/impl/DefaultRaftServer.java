@@ -58,6 +58,15 @@ public class DefaultRaftServer implements RaftServer {
     return context.getName();
   }
 
+  /**
+   * Returns the server context.
+   *
+   * @return the server context
+   */
+  public RaftContext getContext() {
+    return context;
+  }
+
   @Override
   public RaftCluster cluster() {
     return context.getCluster();
@@ -244,6 +253,17 @@ public class DefaultRaftServer implements RaftServer {
       raft.setElectionThreshold(electionThreshold);
       raft.setSessionTimeout(sessionTimeout);
       raft.setSessionFailureThreshold(sessionFailureThreshold);
+      raft.setCommandBatching(commandBatching);
+      raft.setMaxCommandBatchSize(maxCommandBatchSize);
+      raft.setMaxCommandBatchBytes(maxCommandBatchBytes);
+      raft.setEventBatching(eventBatching);
+      raft.setEventBatchWindow(eventBatchWindow);
+      raft.setMaxEventBatchSize(maxEventBatchSize);
+      raft.setReplicationFlowControl(replicationFlowControl);
+      raft.setOffHeapResults(offHeapResults);
+      raft.setAsyncSnapshots(asyncSnapshots);
+      raft.setSnapshotChunkSize(snapshotChunkSize);
+      raft.setMaxSnapshotChunksInFlight(maxSnapshotChunksInFlight);
 
       return new DefaultRaftServer(raft);
     }
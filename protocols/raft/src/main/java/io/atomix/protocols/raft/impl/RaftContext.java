@@ -50,8 +50,12 @@ import io.atomix.utils.logging.LoggerContext;
 import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutionException;
@@ -103,6 +107,17 @@ public class RaftContext implements AutoCloseable {
   private int electionThreshold = 3;
   private Duration sessionTimeout = Duration.ofMillis(5000);
   private int sessionFailureThreshold = 5;
+  private boolean commandBatching;
+  private int maxCommandBatchSize = 1024;
+  private int maxCommandBatchBytes = 1024 * 1024;
+  private boolean eventBatching;
+  private Duration eventBatchWindow = Duration.ofMillis(1);
+  private int maxEventBatchSize = 1024;
+  private boolean replicationFlowControl;
+  private boolean offHeapResults;
+  private boolean asyncSnapshots;
+  private int snapshotChunkSize = 1024 * 32;
+  private int maxSnapshotChunksInFlight = 1;
   private volatile MemberId leader;
   private volatile long term;
   private MemberId lastVotedFor;
@@ -110,6 +125,7 @@ public class RaftContext implements AutoCloseable {
   private long commitIndex;
   private volatile long firstCommitIndex;
   private volatile long lastApplied;
+  private final NavigableMap<Long, CompletableFuture<Long>> appliedFutures = new TreeMap<>();
 
   @SuppressWarnings("unchecked")
   public RaftContext(
@@ -371,6 +387,204 @@ public class RaftContext implements AutoCloseable {
     this.sessionFailureThreshold = sessionFailureThreshold;
   }
 
+  /**
+   * Returns whether group commit of client commands is enabled.
+   *
+   * @return whether group commit of client commands is enabled
+   */
+  public boolean isCommandBatching() {
+    return commandBatching;
+  }
+
+  /**
+   * Sets whether to enable group commit of client commands.
+   *
+   * @param commandBatching whether to enable group commit of client commands
+   */
+  public void setCommandBatching(boolean commandBatching) {
+    this.commandBatching = commandBatching;
+  }
+
+  /**
+   * Returns the maximum number of commands to commit in a single batch.
+   *
+   * @return the maximum number of commands to commit in a single batch
+   */
+  public int getMaxCommandBatchSize() {
+    return maxCommandBatchSize;
+  }
+
+  /**
+   * Sets the maximum number of commands to commit in a single batch.
+   *
+   * @param maxCommandBatchSize the maximum number of commands to commit in a single batch
+   */
+  public void setMaxCommandBatchSize(int maxCommandBatchSize) {
+    this.maxCommandBatchSize = maxCommandBatchSize;
+  }
+
+  /**
+   * Returns the maximum number of operation bytes to commit in a single batch.
+   *
+   * @return the maximum number of operation bytes to commit in a single batch
+   */
+  public int getMaxCommandBatchBytes() {
+    return maxCommandBatchBytes;
+  }
+
+  /**
+   * Sets the maximum number of operation bytes to commit in a single batch.
+   *
+   * @param maxCommandBatchBytes the maximum number of operation bytes to commit in a single batch
+   */
+  public void setMaxCommandBatchBytes(int maxCommandBatchBytes) {
+    this.maxCommandBatchBytes = maxCommandBatchBytes;
+  }
+
+  /**
+   * Returns whether batching of session event publication is enabled.
+   *
+   * @return whether batching of session event publication is enabled
+   */
+  public boolean isEventBatching() {
+    return eventBatching;
+  }
+
+  /**
+   * Sets whether to enable batching of session event publication.
+   *
+   * @param eventBatching whether to enable batching of session event publication
+   */
+  public void setEventBatching(boolean eventBatching) {
+    this.eventBatching = eventBatching;
+  }
+
+  /**
+   * Returns the window within which events published to a session are batched.
+   *
+   * @return the window within which events published to a session are batched
+   */
+  public Duration getEventBatchWindow() {
+    return eventBatchWindow;
+  }
+
+  /**
+   * Sets the window within which events published to a session are batched.
+   *
+   * @param eventBatchWindow the window within which events published to a session are batched
+   */
+  public void setEventBatchWindow(Duration eventBatchWindow) {
+    this.eventBatchWindow = eventBatchWindow;
+  }
+
+  /**
+   * Returns the maximum number of indexes for which to send session events in a single batch.
+   *
+   * @return the maximum number of indexes for which to send session events in a single batch
+   */
+  public int getMaxEventBatchSize() {
+    return maxEventBatchSize;
+  }
+
+  /**
+   * Sets the maximum number of indexes for which to send session events in a single batch.
+   *
+   * @param maxEventBatchSize the maximum number of indexes for which to send session events in a single batch
+   */
+  public void setMaxEventBatchSize(int maxEventBatchSize) {
+    this.maxEventBatchSize = maxEventBatchSize;
+  }
+
+  /**
+   * Returns whether adaptive replication flow control is enabled.
+   *
+   * @return whether adaptive replication flow control is enabled
+   */
+  public boolean isReplicationFlowControl() {
+    return replicationFlowControl;
+  }
+
+  /**
+   * Sets whether to enable adaptive replication flow control.
+   *
+   * @param replicationFlowControl whether to enable adaptive replication flow control
+   */
+  public void setReplicationFlowControl(boolean replicationFlowControl) {
+    this.replicationFlowControl = replicationFlowControl;
+  }
+
+  /**
+   * Returns whether cached session command results are stored off-heap.
+   *
+   * @return whether cached session command results are stored off-heap
+   */
+  public boolean isOffHeapResults() {
+    return offHeapResults;
+  }
+
+  /**
+   * Sets whether to store cached session command results off-heap.
+   *
+   * @param offHeapResults whether to store cached session command results off-heap
+   */
+  public void setOffHeapResults(boolean offHeapResults) {
+    this.offHeapResults = offHeapResults;
+  }
+
+  /**
+   * Returns whether service snapshots are written asynchronously.
+   *
+   * @return whether service snapshots are written asynchronously
+   */
+  public boolean isAsyncSnapshots() {
+    return asyncSnapshots;
+  }
+
+  /**
+   * Sets whether to write service snapshots asynchronously.
+   *
+   * @param asyncSnapshots whether to write service snapshots asynchronously
+   */
+  public void setAsyncSnapshots(boolean asyncSnapshots) {
+    this.asyncSnapshots = asyncSnapshots;
+  }
+
+  /**
+   * Returns the maximum number of snapshot bytes to send in a single install request.
+   *
+   * @return the maximum number of snapshot bytes to send in a single install request
+   */
+  public int getSnapshotChunkSize() {
+    return snapshotChunkSize;
+  }
+
+  /**
+   * Sets the maximum number of snapshot bytes to send in a single install request.
+   *
+   * @param snapshotChunkSize the maximum number of snapshot bytes to send in a single install request
+   */
+  public void setSnapshotChunkSize(int snapshotChunkSize) {
+    this.snapshotChunkSize = snapshotChunkSize;
+  }
+
+  /**
+   * Returns the maximum number of install requests in flight to a single follower.
+   *
+   * @return the maximum number of install requests in flight to a single follower
+   */
+  public int getMaxSnapshotChunksInFlight() {
+    return maxSnapshotChunksInFlight;
+  }
+
+  /**
+   * Sets the maximum number of install requests in flight to a single follower.
+   *
+   * @param maxSnapshotChunksInFlight the maximum number of install requests in flight to a single follower
+   */
+  public void setMaxSnapshotChunksInFlight(int maxSnapshotChunksInFlight) {
+    this.maxSnapshotChunksInFlight = maxSnapshotChunksInFlight;
+  }
+
   /**
    * Sets the state leader.
    *
@@ -564,6 +778,11 @@ public class RaftContext implements AutoCloseable {
    */
   public void setLastApplied(long lastApplied) {
     this.lastApplied = Math.max(this.lastApplied, lastApplied);
+    if (!appliedFutures.isEmpty()) {
+      NavigableMap<Long, CompletableFuture<Long>> applied = appliedFutures.headMap(this.lastApplied, true);
+      applied.values().forEach(future -> future.complete(this.lastApplied));
+      applied.clear();
+    }
     if (state == State.ACTIVE) {
       threadContext.execute(() -> {
         if (state == State.ACTIVE && this.lastApplied >= firstCommitIndex) {
@@ -583,6 +802,38 @@ public class RaftContext implements AutoCloseable {
     return lastApplied;
   }
 
+  /**
+   * Returns a future to be completed once the given index has been applied to the state machine.
+   * <p>
+   * This method must be called on the server thread.
+   *
+   * @param index the index to await
+   * @return a future to be completed with the last applied index once the given index has been applied
+   */
+  public CompletableFuture<Long> awaitApplied(long index) {
+    checkThread();
+    if (lastApplied >= index) {
+      return CompletableFuture.completedFuture(lastApplied);
+    }
+    return appliedFutures.computeIfAbsent(index, i -> new CompletableFuture<>());
+  }
+
+  /**
+   * Fails all futures awaiting the application of an index.
+   * <p>
+   * Reads awaiting an index are only valid for the role in which the index was obtained, so pending futures are
+   * failed when the server transitions to a new role or is closed rather than being left pending indefinitely.
+   *
+   * @param error the error with which to fail the futures
+   */
+  private void failAppliedFutures(Throwable error) {
+    if (!appliedFutures.isEmpty()) {
+      List<CompletableFuture<Long>> futures = new ArrayList<>(appliedFutures.values());
+      appliedFutures.clear();
+      futures.forEach(future -> future.completeExceptionally(error));
+    }
+  }
+
   /**
    * Returns the server load monitor.
    *
@@ -721,6 +972,7 @@ public class RaftContext implements AutoCloseable {
     protocol.registerReconfigureHandler(request -> runOnContext(() -> role.onReconfigure(request)));
     protocol.registerLeaveHandler(request -> runOnContext(() -> role.onLeave(request)));
     protocol.registerTransferHandler(request -> runOnContext(() -> role.onTransfer(request)));
+    protocol.registerReadIndexHandler(request -> runOnContext(() -> role.onReadIndex(request)));
     protocol.registerAppendHandler(request -> runOnContext(() -> role.onAppend(request)));
     protocol.registerPollHandler(request -> runOnContext(() -> role.onPoll(request)));
     protocol.registerVoteHandler(request -> runOnContext(() -> role.onVote(request)));
@@ -756,6 +1008,7 @@ public class RaftContext implements AutoCloseable {
     protocol.unregisterReconfigureHandler();
     protocol.unregisterLeaveHandler();
     protocol.unregisterTransferHandler();
+    protocol.unregisterReadIndexHandler();
     protocol.unregisterAppendHandler();
     protocol.unregisterPollHandler();
     protocol.unregisterVoteHandler();
@@ -858,6 +1111,9 @@ public class RaftContext implements AutoCloseable {
       throw new IllegalStateException("failed to close Raft state", e);
     }
 
+    // Fail reads awaiting an index obtained in the old state.
+    failAppliedFutures(new RaftException.IllegalMemberState("Server transitioned to " + role));
+
     // Force state transitions to occur synchronously in order to prevent race conditions.
     try {
       this.role = createRole(role);
@@ -896,6 +1152,9 @@ public class RaftContext implements AutoCloseable {
     // Unregister protocol listeners.
     unregisterHandlers(protocol);
 
+    // Fail reads awaiting the state machine.
+    failAppliedFutures(new RaftException.IllegalMemberState("Server closed"));
+
     // Close the log.
     try {
       raftLog.close();
@@ -920,6 +1179,9 @@ public class RaftContext implements AutoCloseable {
     loadContext.close();
     compactionContext.close();
     threadContextFactory.close();
+
+    // Release session results, which may be stored off-heap.
+    sessions.close();
   }
 
   /**
@@ -16,7 +16,6 @@
 package io.atomix.protocols.raft.protocol;
 
 import io.atomix.protocols.raft.cluster.MemberId;
-import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
 
 import java.util.Arrays;
 import java.util.List;
@@ -32,6 +31,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * Append entries requests are at the core of the replication protocol. Leaders send append requests
  * to followers to replicate and commit log entries, and followers sent append requests to passive members
  * to replicate committed log entries.
+ * <p>
+ * Entries are sent in their serialized form as read from the sender's log so they can be written to the
+ * receiver's log without being re-encoded.
  */
 public class AppendRequest extends AbstractRaftRequest {
 
@@ -48,10 +50,10 @@ public class AppendRequest extends AbstractRaftRequest {
   private final String leader;
   private final long prevLogIndex;
   private final long prevLogTerm;
-  private final List<RaftLogEntry> entries;
+  private final List<byte[]> entries;
   private final long commitIndex;
 
-  public AppendRequest(long term, String leader, long prevLogIndex, long prevLogTerm, List<RaftLogEntry> entries, long commitIndex) {
+  public AppendRequest(long term, String leader, long prevLogIndex, long prevLogTerm, List<byte[]> entries, long commitIndex) {
     this.term = term;
     this.leader = leader;
     this.prevLogIndex = prevLogIndex;
@@ -97,11 +99,11 @@ public class AppendRequest extends AbstractRaftRequest {
   }
 
   /**
-   * Returns the log entries to append.
+   * Returns the serialized log entries to append.
    *
-   * @return A list of log entries.
+   * @return A list of serialized log entries.
    */
-  public List<RaftLogEntry> entries() {
+  public List<byte[]> entries() {
     return entries;
   }
 
@@ -116,7 +118,11 @@ public class AppendRequest extends AbstractRaftRequest {
 
   @Override
   public int hashCode() {
-    return Objects.hash(getClass(), term, leader, prevLogIndex, prevLogTerm, entries, commitIndex);
+    int hashCode = Objects.hash(getClass(), term, leader, prevLogIndex, prevLogTerm, commitIndex);
+    for (byte[] entry : entries) {
+      hashCode = 31 * hashCode + Arrays.hashCode(entry);
+    }
+    return hashCode;
   }
 
   @Override
@@ -127,12 +133,27 @@ public class AppendRequest extends AbstractRaftRequest {
           && request.leader.equals(leader)
           && request.prevLogIndex == prevLogIndex
           && request.prevLogTerm == prevLogTerm
-          && request.entries.equals(entries)
+          && entriesEquals(request.entries, entries)
           && request.commitIndex == commitIndex;
     }
     return false;
   }
 
+  /**
+   * Compares two lists of serialized entries.
+   */
+  private static boolean entriesEquals(List<byte[]> left, List<byte[]> right) {
+    if (left.size() != right.size()) {
+      return false;
+    }
+    for (int i = 0; i < left.size(); i++) {
+      if (!Arrays.equals(left.get(i), right.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   @Override
   public String toString() {
     return toStringHelper(this)
@@ -153,7 +174,7 @@ public class AppendRequest extends AbstractRaftRequest {
     private String leader;
     private long logIndex;
     private long logTerm;
-    private List<RaftLogEntry> entries;
+    private List<byte[]> entries;
     private long commitIndex = -1;
 
     /**
@@ -210,23 +231,23 @@ public class AppendRequest extends AbstractRaftRequest {
     /**
      * Sets the request entries.
      *
-     * @param entries The request entries.
+     * @param entries The serialized request entries.
      * @return The append request builder.
      * @throws NullPointerException if {@code entries} is null
      */
-    public Builder withEntries(RaftLogEntry... entries) {
+    public Builder withEntries(byte[]... entries) {
       return withEntries(Arrays.asList(checkNotNull(entries, "entries cannot be null")));
     }
 
     /**
      * Sets the request entries.
      *
-     * @param entries The request entries.
+     * @param entries The serialized request entries.
      * @return The append request builder.
      * @throws NullPointerException if {@code entries} is null
      */
     @SuppressWarnings("unchecked")
-    public Builder withEntries(List<RaftLogEntry> entries) {
+    public Builder withEntries(List<byte[]> entries) {
       this.entries = checkNotNull(entries, "entries cannot be null");
       return this;
     }
@@ -234,11 +255,11 @@ public class AppendRequest extends AbstractRaftRequest {
     /**
      * Adds an entry to the request.
      *
-     * @param entry The entry to add.
+     * @param entry The serialized entry to add.
      * @return The request builder.
      * @throws NullPointerException if {@code entry} is {@code null}
      */
-    public Builder addEntry(RaftLogEntry entry) {
+    public Builder addEntry(byte[] entry) {
       this.entries.add(checkNotNull(entry, "entry"));
       return this;
     }
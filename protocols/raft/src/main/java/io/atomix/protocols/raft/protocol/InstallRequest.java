@@ -32,8 +32,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * that its log is further behind than the last snapshot taken by the leader. Snapshots are sent
  * in chunks, with each chunk being sent in a separate install request. As requests are received by
  * the follower, the snapshot is reconstructed based on the provided {@link #chunkOffset()} and other
- * metadata. The last install request will be sent with {@link #complete()} being {@code true} to
- * indicate that all chunks of the snapshot have been sent.
+ * metadata. The chunk offset is the position of the chunk's first byte within the snapshot, allowing
+ * several chunks to be in flight at once and a transfer to be resumed from the offset reported by the
+ * follower in its {@link InstallResponse}. The last install request will be sent with {@link #complete()}
+ * being {@code true} to indicate that all chunks of the snapshot have been sent.
  */
 public class InstallRequest extends AbstractRaftRequest {
 
@@ -124,6 +126,11 @@ public class InstallRequest extends AbstractRaftRequest {
 
   /**
    * Returns the offset of the snapshot chunk.
+   * <p>
+   * The offset is the number of snapshot bytes preceding the chunk. Earlier versions of the protocol numbered
+   * chunks sequentially rather than by byte offset. Followers only write a chunk whose offset is the next byte
+   * they expect and reject any other chunk with an error indicating that offset, so chunk numbers are never
+   * mistaken for byte offsets.
    *
    * @return The offset of the snapshot chunk.
    */
@@ -273,8 +280,9 @@ public class InstallRequest extends AbstractRaftRequest {
     /**
      * Sets the request offset.
      *
-     * @param offset The request offset.
+     * @param offset The number of snapshot bytes preceding the chunk.
      * @return The request builder.
+     * @throws IllegalArgumentException if {@code offset} is negative
      */
     public Builder withOffset(int offset) {
       checkArgument(offset >= 0, "offset must be positive");
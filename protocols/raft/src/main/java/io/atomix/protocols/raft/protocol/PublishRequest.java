@@ -34,6 +34,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * indicates the index of the prior event messages sent to the client. Clients must ensure that event
  * messages are received in sequence by tracking the last index for which they received an event message
  * and validating {@link #previousIndex()} against that index.
+ * <p>
+ * A publish request may carry events for several indexes in a single batch. For batched requests,
+ * {@link #eventIndexes()} holds the index at which each event in {@link #events()} was published,
+ * {@link #eventIndex()} is the last index in the batch, and {@link #previousIndex()} is the index
+ * prior to the first index in the batch.
  */
 public class PublishRequest extends SessionRequest {
 
@@ -49,12 +54,18 @@ public class PublishRequest extends SessionRequest {
   private final long eventIndex;
   private final long previousIndex;
   private final List<RaftEvent> events;
+  private final long[] eventIndexes;
 
   public PublishRequest(long session, long eventIndex, long previousIndex, List<RaftEvent> events) {
+    this(session, eventIndex, previousIndex, events, null);
+  }
+
+  public PublishRequest(long session, long eventIndex, long previousIndex, List<RaftEvent> events, long[] eventIndexes) {
     super(session);
     this.eventIndex = eventIndex;
     this.previousIndex = previousIndex;
     this.events = events;
+    this.eventIndexes = eventIndexes;
   }
 
   /**
@@ -84,9 +95,28 @@ public class PublishRequest extends SessionRequest {
     return events;
   }
 
+  /**
+   * Returns the indexes at which the request events were published.
+   *
+   * @return The indexes at which each of the request {@link #events()} was published, or {@code null} if all events
+   * were published at the {@link #eventIndex()}.
+   */
+  public long[] eventIndexes() {
+    return eventIndexes;
+  }
+
+  /**
+   * Returns whether the request carries events for multiple indexes.
+   *
+   * @return Whether the request carries events for multiple indexes.
+   */
+  public boolean isBatch() {
+    return eventIndexes != null;
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(getClass(), session, eventIndex, previousIndex, events);
+    return Objects.hash(getClass(), session, eventIndex, previousIndex, events, Arrays.hashCode(eventIndexes));
   }
 
   @Override
@@ -96,7 +126,8 @@ public class PublishRequest extends SessionRequest {
       return request.session == session
           && request.eventIndex == eventIndex
           && request.previousIndex == previousIndex
-          && request.events.equals(events);
+          && request.events.equals(events)
+          && Arrays.equals(request.eventIndexes, eventIndexes);
     }
     return false;
   }
@@ -108,6 +139,7 @@ public class PublishRequest extends SessionRequest {
         .add("eventIndex", eventIndex)
         .add("previousIndex", previousIndex)
         .add("events", events)
+        .add("eventIndexes", eventIndexes != null ? Arrays.toString(eventIndexes) : null)
         .toString();
   }
 
@@ -118,6 +150,7 @@ public class PublishRequest extends SessionRequest {
     private long eventIndex;
     private long previousIndex;
     private List<RaftEvent> events;
+    private long[] eventIndexes;
 
     /**
      * Sets the event index.
@@ -166,12 +199,28 @@ public class PublishRequest extends SessionRequest {
       return this;
     }
 
+    /**
+     * Sets the indexes at which the request events were published.
+     *
+     * @param eventIndexes The index at which each of the request events was published.
+     * @return The publish request builder.
+     */
+    public Builder withEventIndexes(long[] eventIndexes) {
+      this.eventIndexes = checkNotNull(eventIndexes, "eventIndexes cannot be null");
+      return this;
+    }
+
     @Override
     protected void validate() {
       super.validate();
       checkArgument(eventIndex > 0, "eventIndex must be positive");
       checkArgument(previousIndex >= 0, "previousIndex must be positive");
       checkNotNull(events, "events cannot be null");
+      if (eventIndexes != null) {
+        checkArgument(eventIndexes.length == events.size(), "eventIndexes must match events");
+        checkArgument(eventIndexes.length == 0 || eventIndexes[eventIndexes.length - 1] == eventIndex,
+            "eventIndex must be the last index in the batch");
+      }
     }
 
     /**
@@ -180,7 +229,7 @@ public class PublishRequest extends SessionRequest {
     @Override
     public PublishRequest build() {
       validate();
-      return new PublishRequest(session, eventIndex, previousIndex, events);
+      return new PublishRequest(session, eventIndex, previousIndex, events, eventIndexes);
     }
   }
 }
@@ -25,6 +25,8 @@ import io.atomix.utils.logging.ContextualLoggerFactory;
 import io.atomix.utils.logging.LoggerContext;
 import org.slf4j.Logger;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -81,7 +83,6 @@ final class RaftProxyListener {
    *
    * @param request The publish request to handle.
    */
-  @SuppressWarnings("unchecked")
   private void handlePublish(PublishRequest request) {
     log.trace("Received {}", request);
 
@@ -92,13 +93,57 @@ final class RaftProxyListener {
       return;
     }
 
+    // If the request is a batch of events for multiple indexes, handle the events for each index in order,
+    // stopping if the events for an index are out of sequence.
+    if (request.isBatch()) {
+      for (PublishRequest eventRequest : unpack(request)) {
+        if (!handleEvents(eventRequest)) {
+          return;
+        }
+      }
+    } else {
+      handleEvents(request);
+    }
+  }
+
+  /**
+   * Unpacks a batched publish request into a publish request for each index in the batch.
+   *
+   * @param request The batched publish request.
+   * @return A list of publish requests for each index in the batch, in order.
+   */
+  private List<PublishRequest> unpack(PublishRequest request) {
+    List<PublishRequest> requests = new ArrayList<>();
+    long[] eventIndexes = request.eventIndexes();
+    List<RaftEvent> events = request.events();
+    long previousIndex = request.previousIndex();
+    int start = 0;
+    for (int i = 1; i <= eventIndexes.length; i++) {
+      if (i == eventIndexes.length || eventIndexes[i] != eventIndexes[start]) {
+        long eventIndex = eventIndexes[start];
+        requests.add(new PublishRequest(request.session(), eventIndex, previousIndex, events.subList(start, i)));
+        previousIndex = eventIndex;
+        start = i;
+      }
+    }
+    return requests;
+  }
+
+  /**
+   * Handles the events published to the session at a single index.
+   *
+   * @param request The publish request for a single index.
+   * @return Whether the events were in sequence.
+   */
+  @SuppressWarnings("unchecked")
+  private boolean handleEvents(PublishRequest request) {
     // Store eventIndex in a local variable to prevent multiple volatile reads.
     long eventIndex = state.getEventIndex();
 
     // If the request event index has already been processed, return.
     if (request.eventIndex() <= eventIndex) {
       log.trace("Duplicate event index {}", request.eventIndex());
-      return;
+      return true;
     }
 
     // If the request's previous event index doesn't equal the previous received event index,
@@ -112,7 +157,7 @@ final class RaftProxyListener {
           .build();
       log.trace("Sending {}", resetRequest);
       protocol.reset(memberSelector.members(), resetRequest);
-      return;
+      return false;
     }
 
     // Store the event index. This will be used to verify that events are received in sequential order.
@@ -125,6 +170,7 @@ final class RaftProxyListener {
         }
       }
     });
+    return true;
   }
 
   /**
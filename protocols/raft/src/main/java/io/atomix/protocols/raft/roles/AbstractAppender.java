@@ -46,7 +46,6 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * Abstract appender.
  */
 abstract class AbstractAppender implements AutoCloseable {
-  private static final int MAX_BATCH_SIZE = 1024 * 32;
   protected final Logger log;
   protected final RaftContext raft;
   protected boolean open = true;
@@ -128,24 +127,27 @@ abstract class AbstractAppender implements AutoCloseable {
         .withPrevLogTerm(prevEntry != null ? prevEntry.entry().term() : 0)
         .withCommitIndex(raft.getCommitIndex());
 
-    // Build a list of entries to send to the member.
-    final List<RaftLogEntry> entries = new ArrayList<>();
+    // Build a list of serialized entries to send to the member. Entries are sent as they're stored in the log
+    // to avoid re-encoding them for each member.
+    final List<byte[]> entries = new ArrayList<>();
 
-    // Build a list of entries up to the MAX_BATCH_SIZE. Note that entries in the log may
+    // Build a list of entries up to the member's append batch size. Note that entries in the log may
     // be null if they've been compacted and the member to which we're sending entries is just
     // joining the cluster or is otherwise far behind. Null entries are simply skipped and not
     // counted towards the size of the batch.
-    // If there exists an entry in the log with size >= MAX_BATCH_SIZE the logic ensures that
+    // If there exists an entry in the log with size >= the batch size the logic ensures that
     // entry will be sent in a batch of size one
+    final int batchSize = member.getAppendBatchSize();
     int size = 0;
 
     // Iterate through the log until the last index or the end of the log is reached.
     while (reader.hasNext()) {
       // Otherwise, read the next entry and add it to the batch.
       Indexed<RaftLogEntry> entry = reader.next();
-      entries.add(entry.entry());
+      byte[] bytes = reader.getCurrentBytes();
+      entries.add(bytes != null ? bytes : raft.getStorage().serializer().encode(entry.entry()));
       size += entry.size();
-      if (entry.index() == lastIndex || size >= MAX_BATCH_SIZE) {
+      if (entry.index() == lastIndex || size >= batchSize) {
         break;
       }
 
@@ -169,24 +171,38 @@ abstract class AbstractAppender implements AutoCloseable {
       return;
     }
 
-    // Start the append to the member.
-    member.startAppend();
+    // Start the append to the member, tracking the number of entry bytes in flight.
+    int bytes = 0;
+    for (byte[] entry : request.entries()) {
+      bytes += entry.length;
+    }
+    final int appendBytes = bytes;
+    final long sequence = member.startAppend(appendBytes);
 
     long timestamp = System.currentTimeMillis();
 
     log.trace("Sending {} to {}", request, member.getMember().memberId());
     raft.getProtocol().append(member.getMember().memberId(), request).whenCompleteAsync((response, error) -> {
-      // Complete the append to the member.
-      if (!request.entries().isEmpty()) {
-        member.completeAppend(System.currentTimeMillis() - timestamp);
-      } else {
+      // Complete the append to the member. Failed appends shrink the member's append window.
+      if (request.entries().isEmpty()) {
         member.completeAppend();
+      } else if (error != null || response.status() == RaftResponse.Status.ERROR) {
+        member.failAppend(appendBytes);
+      } else {
+        member.completeAppend(System.currentTimeMillis() - timestamp, appendBytes);
       }
 
       if (open) {
         if (error == null) {
           log.trace("Received {} from {}", response, member.getMember().memberId());
-          handleAppendResponse(member, request, response, timestamp);
+          if (isStaleFailure(member, sequence, response)) {
+            log.trace("Ignoring stale {} from {}", response, member.getMember().memberId());
+          } else {
+            if (response.status() == RaftResponse.Status.OK && response.succeeded()) {
+              member.succeedAppend(sequence);
+            }
+            handleAppendResponse(member, request, response, timestamp);
+          }
         } else {
           handleAppendResponseFailure(member, request, error);
         }
@@ -198,6 +214,17 @@ abstract class AbstractAppender implements AutoCloseable {
     }
   }
 
+  /**
+   * Returns a boolean indicating whether the given response is a current term failure that has been superseded by
+   * a later successful response or a reset of the member's next index.
+   */
+  private boolean isStaleFailure(RaftMemberContext member, long sequence, AppendResponse response) {
+    return response.status() == RaftResponse.Status.OK
+        && !response.succeeded()
+        && response.term() <= raft.getTerm()
+        && member.isStaleAppendFailure(sequence);
+  }
+
   /**
    * Handles an append failure.
    */
@@ -295,14 +322,17 @@ abstract class AbstractAppender implements AutoCloseable {
    * Updates the match index when a response is received.
    */
   protected void updateMatchIndex(RaftMemberContext member, AppendResponse response) {
-    // If the replica returned a valid match index then update the existing match index.
-    member.setMatchIndex(response.lastLogIndex());
+    // If the replica returned a valid match index then update the existing match index. Responses to
+    // pipelined requests may be received out of order, so the match index is only ever increased.
+    member.setMatchIndex(Math.max(member.getMatchIndex(), response.lastLogIndex()));
   }
 
   /**
    * Resets the match index when a response fails.
    */
   protected void resetMatchIndex(RaftMemberContext member, AppendResponse response) {
+    // Stale failures of pipelined requests are filtered out before the response is handled, so the follower's
+    // last index is always honored here, even if the follower's log has shrunk.
     member.setMatchIndex(response.lastLogIndex());
     log.trace("Reset match index for {} to {}", member, member.getMatchIndex());
   }
@@ -312,6 +342,7 @@ abstract class AbstractAppender implements AutoCloseable {
    */
   protected void resetNextIndex(RaftMemberContext member) {
     final RaftLogReader reader = member.getLogReader();
+    member.resetAppend();
     if (member.getMatchIndex() != 0) {
       reader.reset(member.getMatchIndex() + 1);
     } else {
@@ -408,24 +439,34 @@ abstract class AbstractAppender implements AutoCloseable {
 
   /**
    * Builds an install request for the given member.
+   *
+   * @return the next install request, or {@code null} if all chunks of the snapshot have already been sent
    */
   protected InstallRequest buildInstallRequest(RaftMemberContext member, Snapshot snapshot) {
     if (member.getNextSnapshotIndex() != snapshot.index()) {
       member.setNextSnapshotIndex(snapshot.index());
       member.setNextSnapshotId(snapshot.serviceId().id());
       member.setNextSnapshotOffset(0);
+      member.setNextSnapshotComplete(false);
     } else if (member.getNextSnapshotId() != snapshot.serviceId().id()) {
       member.setNextSnapshotId(snapshot.serviceId().id());
       member.setNextSnapshotOffset(0);
+      member.setNextSnapshotComplete(false);
+    }
+
+    // If the last chunk of the snapshot has already been sent, wait for the outstanding chunks to be acknowledged.
+    if (member.isNextSnapshotComplete()) {
+      return null;
     }
 
     InstallRequest request;
     synchronized (snapshot) {
       // Open a new snapshot reader.
       try (SnapshotReader reader = snapshot.openReader()) {
-        // Skip to the next batch of bytes according to the snapshot chunk size and current offset.
-        reader.skip(member.getNextSnapshotOffset() * MAX_BATCH_SIZE);
-        byte[] data = new byte[Math.min(MAX_BATCH_SIZE, reader.remaining())];
+        // Skip to the next chunk of bytes according to the member's current offset.
+        int offset = Math.min(member.getNextSnapshotOffset(), reader.remaining());
+        reader.skip(offset);
+        byte[] data = new byte[Math.min(raft.getSnapshotChunkSize(), reader.remaining())];
         reader.read(data);
 
         // Create the install request, indicating whether this is the last chunk of data based on the number
@@ -437,13 +478,17 @@ abstract class AbstractAppender implements AutoCloseable {
             .withServiceId(snapshot.serviceId().id())
             .withServiceName(snapshot.serviceName())
             .withIndex(snapshot.index())
-            .withOffset(member.getNextSnapshotOffset())
+            .withTimestamp(snapshot.timestamp().unixTimestamp())
+            .withOffset(offset)
             .withData(data)
             .withComplete(!reader.hasRemaining())
             .build();
       }
     }
 
+    // Advance the member's offset so that the next chunk can be sent before this chunk is acknowledged.
+    member.setNextSnapshotOffset(request.chunkOffset() + request.data().length);
+    member.setNextSnapshotComplete(request.complete());
     return request;
   }
 
@@ -473,17 +518,20 @@ abstract class AbstractAppender implements AutoCloseable {
         }
       }
     }, raft.getThreadContext());
+
+    // If more chunks of the snapshot remain and the member can accept them, stream the next chunk.
+    if (!request.complete() && member.canInstall(raft.getMaxSnapshotChunksInFlight())) {
+      appendEntries(member);
+    }
   }
 
   /**
    * Handles an install response failure.
    */
   protected void handleInstallResponseFailure(RaftMemberContext member, InstallRequest request, Throwable error) {
-    // Reset the member's snapshot index and offset to resend the snapshot from the start
-    // once a connection to the member is re-established.
-    member.setNextSnapshotIndex(0);
-    member.setNextSnapshotId(0);
-    member.setNextSnapshotOffset(0);
+    // Rewind the member's snapshot offset to resend the failed chunk once a connection to the member is
+    // re-established. Chunks that were already received by the member are not resent.
+    rewindSnapshot(member, request, request.chunkOffset());
 
     // Log the failed attempt to contact the member.
     failAttempt(member, request, error);
@@ -514,13 +562,10 @@ abstract class AbstractAppender implements AutoCloseable {
       member.setNextSnapshotIndex(0);
       member.setNextSnapshotId(0);
       member.setNextSnapshotOffset(0);
+      member.setNextSnapshotComplete(false);
       member.setSnapshotIndex(request.snapshotIndex());
       member.setSnapshotId(request.serviceId());
     }
-    // If more install requests remain, increment the member's snapshot offset.
-    else {
-      member.setNextSnapshotOffset(request.chunkOffset() + 1);
-    }
 
     // Recursively append entries to the member.
     appendEntries(member);
@@ -531,9 +576,33 @@ abstract class AbstractAppender implements AutoCloseable {
    */
   @SuppressWarnings("unused")
   protected void handleInstallResponseError(RaftMemberContext member, InstallRequest request, InstallResponse response) {
-    log.warn("Failed to install {}", member.getMember().memberId());
-    member.setNextSnapshotIndex(0);
-    member.setNextSnapshotOffset(0);
+    log.debug("Failed to install {}: {}", member.getMember().memberId(), response.error() != null ? response.error() : "");
+
+    // Continue sending the snapshot from the offset expected by the member. When chunks are pipelined, a chunk
+    // that was lost causes the chunks that follow it to be rejected until the lost chunk is resent. Chunks the
+    // member already has are rejected as well, in which case the transfer skips ahead to the member's offset.
+    if (isNextSnapshot(member, request) && response.nextOffset() > member.getNextSnapshotOffset()) {
+      member.setNextSnapshotOffset(response.nextOffset());
+    } else {
+      rewindSnapshot(member, request, response.nextOffset());
+    }
+  }
+
+  /**
+   * Returns a boolean indicating whether the given request is for the snapshot currently being sent to the member.
+   */
+  private boolean isNextSnapshot(RaftMemberContext member, InstallRequest request) {
+    return request.snapshotIndex() == member.getNextSnapshotIndex() && request.serviceId() == member.getNextSnapshotId();
+  }
+
+  /**
+   * Rewinds the offset of the snapshot being sent to the member.
+   */
+  private void rewindSnapshot(RaftMemberContext member, InstallRequest request, int offset) {
+    if (isNextSnapshot(member, request) && offset < member.getNextSnapshotOffset()) {
+      member.setNextSnapshotOffset(offset);
+      member.setNextSnapshotComplete(false);
+    }
   }
 
   @Override
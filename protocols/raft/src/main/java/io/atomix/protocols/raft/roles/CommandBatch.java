@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.roles;
+
+import io.atomix.protocols.raft.protocol.CommandRequest;
+import io.atomix.protocols.raft.protocol.CommandResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Batch of commands pending group commit.
+ * <p>
+ * Commands are added to the batch as they're received by the leader. The batch is flushed to the flush
+ * function once the current tick of the server's thread completes, or as soon as the batch reaches the
+ * maximum number of commands or bytes, whichever comes first. Commands are always flushed in the order
+ * in which they were added.
+ * <p>
+ * This class is not thread safe and must only be used on the server's thread.
+ */
+final class CommandBatch {
+  private final int maxSize;
+  private final int maxBytes;
+  private final Executor executor;
+  private final Consumer<List<PendingCommand>> flusher;
+  private List<PendingCommand> commands = new ArrayList<>();
+  private int bytes;
+  private boolean flushScheduled;
+
+  CommandBatch(int maxSize, int maxBytes, Executor executor, Consumer<List<PendingCommand>> flusher) {
+    checkArgument(maxSize > 0, "maxSize must be positive");
+    checkArgument(maxBytes > 0, "maxBytes must be positive");
+    this.maxSize = maxSize;
+    this.maxBytes = maxBytes;
+    this.executor = checkNotNull(executor, "executor cannot be null");
+    this.flusher = checkNotNull(flusher, "flusher cannot be null");
+  }
+
+  /**
+   * Adds a command to the batch.
+   *
+   * @param request the command request
+   * @param future the command response future
+   */
+  void add(CommandRequest request, CompletableFuture<CommandResponse> future) {
+    commands.add(new PendingCommand(request, future));
+    bytes += request.operation().value() != null ? request.operation().value().length : 0;
+    if (commands.size() >= maxSize || bytes >= maxBytes) {
+      flush();
+    } else if (!flushScheduled) {
+      flushScheduled = true;
+      executor.execute(this::flush);
+    }
+  }
+
+  /**
+   * Flushes all pending commands to the flush function.
+   */
+  void flush() {
+    flushScheduled = false;
+    List<PendingCommand> batch = drain();
+    if (!batch.isEmpty()) {
+      flusher.accept(batch);
+    }
+  }
+
+  /**
+   * Removes and returns all pending commands without flushing them.
+   *
+   * @return the pending commands in the order in which they were added
+   */
+  List<PendingCommand> drain() {
+    List<PendingCommand> batch = commands;
+    commands = new ArrayList<>();
+    bytes = 0;
+    return batch;
+  }
+
+  /**
+   * Command pending group commit.
+   */
+  static final class PendingCommand {
+    private final CommandRequest request;
+    private final CompletableFuture<CommandResponse> future;
+
+    PendingCommand(CommandRequest request, CompletableFuture<CommandResponse> future) {
+      this.request = request;
+      this.future = future;
+    }
+
+    /**
+     * Returns the command request.
+     *
+     * @return the command request
+     */
+    CommandRequest request() {
+      return request;
+    }
+
+    /**
+     * Returns the command response future.
+     *
+     * @return the command response future
+     */
+    CompletableFuture<CommandResponse> future() {
+      return future;
+    }
+  }
+}
@@ -50,6 +50,7 @@ final class LeaderAppender extends AbstractAppender {
   private final long electionTimeout;
   private final long heartbeatInterval;
   private long heartbeatTime;
+  private long flushIndex;
   private final Map<Long, CompletableFuture<Long>> appendFutures = new HashMap<>();
   private final List<TimestampedFuture<Long>> heartbeatFutures = new ArrayList<>();
 
@@ -136,16 +137,26 @@ final class LeaderAppender extends AbstractAppender {
       return CompletableFuture.completedFuture(index);
     }
 
-    // If there are no other stateful servers in the cluster, immediately commit the index.
+    // Flush the entry to the leader's log. Entries are committed once they've been flushed by the leader and
+    // stored by a majority of the cluster.
+    flushEntries(index);
+
+    // If there are no other stateful servers in the cluster, commit the index once it's been flushed.
     if (raft.getCluster().getActiveMemberStates().isEmpty() && raft.getCluster().getPassiveMemberStates().isEmpty()) {
+      if (index > raft.getLog().getFlushedIndex()) {
+        return appendFutures.computeIfAbsent(index, i -> new CompletableFuture<>());
+      }
       long previousCommitIndex = raft.getCommitIndex();
       raft.setCommitIndex(index);
       completeCommits(previousCommitIndex, index);
       return CompletableFuture.completedFuture(index);
     }
-    // If there are no other active members in the cluster, update the commit index and complete the commit.
-    // The updated commit index will be sent to passive/reserve members on heartbeats.
+    // If there are no other active members in the cluster, update the commit index and complete the commit
+    // once the index has been flushed. The updated commit index will be sent to passive/reserve members on heartbeats.
     else if (raft.getCluster().getActiveMemberStates().isEmpty()) {
+      if (index > raft.getLog().getFlushedIndex()) {
+        return appendFutures.computeIfAbsent(index, i -> new CompletableFuture<>());
+      }
       long previousCommitIndex = raft.getCommitIndex();
       raft.setCommitIndex(index);
       completeCommits(previousCommitIndex, index);
@@ -161,6 +172,25 @@ final class LeaderAppender extends AbstractAppender {
     });
   }
 
+  /**
+   * Requests that entries up to the given index be flushed to the leader's log, checking whether entries can be
+   * committed once the flush completes.
+   */
+  private void flushEntries(long index) {
+    if (index > flushIndex && index > raft.getLog().getFlushedIndex()) {
+      flushIndex = index;
+      raft.getLogWriter().flush(index).whenCompleteAsync((result, error) -> {
+        if (error != null) {
+          // Allow the next append or response to request the flush again.
+          log.warn("Failed to flush entries up to index {}", index, error);
+          flushIndex = Math.min(flushIndex, raft.getLog().getFlushedIndex());
+        } else if (open) {
+          commitEntries();
+        }
+      }, raft.getThreadContext());
+    }
+  }
+
   @Override
   protected void appendEntries(RaftMemberContext member) {
     // Prevent recursive, asynchronous appends from being executed if the appender has been closed.
@@ -192,7 +222,7 @@ final class LeaderAppender extends AbstractAppender {
       long currentIndex = member.getLogReader().getCurrentIndex();
       Collection<Snapshot> snapshots = raft.getSnapshotStore().getSnapshotsByIndex(member.getLogReader().getCurrentIndex());
       if (snapshots != null && member.getSnapshotIndex() <= currentIndex) {
-        if (!member.canInstall()) {
+        if (!member.canInstall(raft.getMaxSnapshotChunksInFlight())) {
           return;
         }
 
@@ -205,7 +235,10 @@ final class LeaderAppender extends AbstractAppender {
         }
 
         if (nextSnapshot != null) {
-          sendInstallRequest(member, buildInstallRequest(member, nextSnapshot));
+          InstallRequest request = buildInstallRequest(member, nextSnapshot);
+          if (request != null) {
+            sendInstallRequest(member, request);
+          }
         } else if (member.canAppend()) {
           member.setSnapshotIndex(currentIndex);
           sendAppendRequest(member, buildAppendRequest(member, -1));
@@ -325,7 +358,7 @@ final class LeaderAppender extends AbstractAppender {
     // If the active members list is empty (a configuration change occurred between an append request/response)
     // ensure all commit futures are completed and cleared.
     if (members.isEmpty()) {
-      long commitIndex = raft.getLogWriter().getLastIndex();
+      long commitIndex = Math.min(raft.getLogWriter().getLastIndex(), raft.getLog().getFlushedIndex());
       long previousCommitIndex = raft.setCommitIndex(commitIndex);
       if (commitIndex > previousCommitIndex) {
         log.trace("Committed entries up to {}", commitIndex);
@@ -334,8 +367,19 @@ final class LeaderAppender extends AbstractAppender {
       return;
     }
 
-    // Calculate the current commit index as the median matchIndex.
-    long commitIndex = members.get(getQuorumIndex()).getMatchIndex();
+    // Calculate the current commit index as the median matchIndex. The leader counts toward the quorum only for
+    // entries that have been flushed to its log, so if the leader has not flushed the median index, the commit
+    // index is the greater of the leader's flushed index and the index stored by a quorum of followers alone.
+    int quorumIndex = getQuorumIndex();
+    long matchIndex = members.get(quorumIndex).getMatchIndex();
+    long flushedIndex = raft.getLog().getFlushedIndex();
+    long commitIndex = Math.min(matchIndex, flushedIndex);
+    if (commitIndex < matchIndex) {
+      flushEntries(matchIndex);
+      if (quorumIndex + 1 < members.size()) {
+        commitIndex = Math.max(commitIndex, members.get(quorumIndex + 1).getMatchIndex());
+      }
+    }
 
     // If the commit index has increased then update the commit index. Note that in order to ensure
     // the leader completeness property holds, we verify that the commit index is greater than or equal to
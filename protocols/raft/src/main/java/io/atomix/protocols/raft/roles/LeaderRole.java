@@ -47,6 +47,8 @@ import io.atomix.protocols.raft.protocol.PollResponse;
 import io.atomix.protocols.raft.protocol.QueryRequest;
 import io.atomix.protocols.raft.protocol.QueryResponse;
 import io.atomix.protocols.raft.protocol.RaftResponse;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexResponse;
 import io.atomix.protocols.raft.protocol.ReconfigureRequest;
 import io.atomix.protocols.raft.protocol.ReconfigureResponse;
 import io.atomix.protocols.raft.protocol.TransferRequest;
@@ -71,8 +73,10 @@ import io.atomix.utils.concurrent.Scheduled;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.OptionalLong;
 import java.util.concurrent.CompletableFuture;
@@ -90,10 +94,17 @@ public final class LeaderRole extends ActiveRole {
   private final Map<MemberId, Scheduled> heartbeatTimers = new HashMap<>();
   private long configuring;
   private boolean transferring;
+  private final CommandBatch commandBatch;
+  private CompletableFuture<Void> pendingLeadershipCheck;
 
   public LeaderRole(RaftContext context) {
     super(context);
     this.appender = new LeaderAppender(this);
+    this.commandBatch = new CommandBatch(
+        context.getMaxCommandBatchSize(),
+        context.getMaxCommandBatchBytes(),
+        context.getThreadContext(),
+        this::flushCommands);
   }
 
   @Override
@@ -710,11 +721,19 @@ public final class LeaderRole extends ActiveRole {
 
   /**
    * Commits a command.
+   * <p>
+   * If command batching is enabled, the command is queued and committed along with all other commands received
+   * within the same tick of the server's thread.
    *
    * @param request the command request
    * @param future the command response future
    */
   private void commitCommand(CommandRequest request, CompletableFuture<CommandResponse> future) {
+    if (raft.isCommandBatching()) {
+      commandBatch.add(request, future);
+      return;
+    }
+
     final long term = raft.getTerm();
     final long timestamp = System.currentTimeMillis();
 
@@ -733,28 +752,102 @@ public final class LeaderRole extends ActiveRole {
         // Replicate the command to followers.
         appender.appendEntries(entry.index()).whenComplete((commitIndex, commitError) -> {
           raft.checkThread();
-          if (isOpen()) {
-            // If the command was successfully committed, apply it to the state machine.
-            if (commitError == null) {
-              raft.getStateMachine().<OperationResult>apply(entry.index()).whenComplete((r, e) -> {
-                completeOperation(r, CommandResponse.builder(), e, future);
-              });
-            } else {
-              future.complete(CommandResponse.builder()
-                  .withStatus(RaftResponse.Status.ERROR)
-                  .withError(RaftError.Type.PROTOCOL_ERROR)
-                  .build());
-            }
-          } else {
-            future.complete(CommandResponse.builder()
-                .withStatus(RaftResponse.Status.ERROR)
-                .withError(RaftError.Type.COMMAND_FAILURE)
-                .build());
-          }
+          applyCommand(entry, commitError, future);
         });
       }, raft.getThreadContext());
   }
 
+  /**
+   * Appends a batch of commands to the log and replicates them with a single replication trigger.
+   * <p>
+   * Once the last command in the batch is committed, each command is applied to the state machine individually
+   * and in log order. The state machine applies entries sequentially, so applying up to each command's index
+   * applies exactly one new entry, and each command's result and session events are only available from the
+   * call that applies its own index.
+   *
+   * @param commands the commands to commit in the order in which they were received
+   */
+  private void flushCommands(List<CommandBatch.PendingCommand> commands) {
+    raft.checkThread();
+    if (!isOpen()) {
+      commands.forEach(command -> command.future().complete(CommandResponse.builder()
+          .withStatus(RaftResponse.Status.ERROR)
+          .withError(RaftError.Type.COMMAND_FAILURE)
+          .build()));
+      return;
+    }
+
+    final long term = raft.getTerm();
+    final long timestamp = System.currentTimeMillis();
+
+    // Append all the commands to the log in the order in which they were received.
+    final List<CompletableFuture<Indexed<CommandEntry>>> appends = new ArrayList<>(commands.size());
+    for (CommandBatch.PendingCommand command : commands) {
+      CommandRequest request = command.request();
+      appends.add(appendAndCompact(new CommandEntry(term, timestamp, request.session(), request.sequenceNumber(), request.operation())));
+    }
+
+    CompletableFuture.allOf(appends.toArray(new CompletableFuture[appends.size()])).whenCompleteAsync((result, error) -> {
+      long lastIndex = 0;
+      for (int i = 0; i < commands.size(); i++) {
+        CompletableFuture<Indexed<CommandEntry>> append = appends.get(i);
+        if (append.isCompletedExceptionally()) {
+          commands.get(i).future().complete(CommandResponse.builder()
+              .withStatus(RaftResponse.Status.ERROR)
+              .withError(RaftError.Type.COMMAND_FAILURE)
+              .build());
+        } else {
+          Indexed<CommandEntry> entry = append.join();
+          log.trace("Appended {}", entry);
+          lastIndex = Math.max(lastIndex, entry.index());
+        }
+      }
+
+      if (lastIndex == 0) {
+        return;
+      }
+
+      // Replicate the entire batch to followers and apply the commands once the last command is committed.
+      appender.appendEntries(lastIndex).whenComplete((commitIndex, commitError) -> {
+        raft.checkThread();
+        for (int i = 0; i < commands.size(); i++) {
+          CompletableFuture<Indexed<CommandEntry>> append = appends.get(i);
+          if (!append.isCompletedExceptionally()) {
+            applyCommand(append.join(), commitError, commands.get(i).future());
+          }
+        }
+      });
+    }, raft.getThreadContext());
+  }
+
+  /**
+   * Applies a committed command to the state machine and completes the command response future.
+   *
+   * @param entry the command entry
+   * @param commitError the error that occurred committing the command, if any
+   * @param future the command response future
+   */
+  private void applyCommand(Indexed<CommandEntry> entry, Throwable commitError, CompletableFuture<CommandResponse> future) {
+    if (isOpen()) {
+      // If the command was successfully committed, apply it to the state machine.
+      if (commitError == null) {
+        raft.getStateMachine().<OperationResult>apply(entry.index()).whenComplete((r, e) -> {
+          completeOperation(r, CommandResponse.builder(), e, future);
+        });
+      } else {
+        future.complete(CommandResponse.builder()
+            .withStatus(RaftResponse.Status.ERROR)
+            .withError(RaftError.Type.PROTOCOL_ERROR)
+            .build());
+      }
+    } else {
+      future.complete(CommandResponse.builder()
+          .withStatus(RaftResponse.Status.ERROR)
+          .withError(RaftError.Type.COMMAND_FAILURE)
+          .build());
+    }
+  }
+
   @Override
   public CompletableFuture<QueryResponse> onQuery(final QueryRequest request) {
     raft.checkThread();
@@ -820,17 +913,87 @@ public final class LeaderRole extends ActiveRole {
   /**
    * Executes a linearizable query.
    * <p>
-   * Linearizable queries are first sequenced with commands and then applied to the state machine. Once
-   * applied, we verify the node's leadership prior to responding successfully to the query.
+   * Linearizable queries use the read index protocol: the leader records its commit index, verifies its
+   * leadership with a majority of the cluster, and applies the query once the state machine has caught up
+   * to the recorded read index.
    */
   private CompletableFuture<QueryResponse> queryLinearizable(Indexed<QueryEntry> entry) {
-    return applyQuery(entry)
-        .thenComposeAsync(response -> appender.appendEntries()
-            .thenApply(index -> response)
-            .exceptionally(error -> QueryResponse.builder()
+    return readIndex()
+        .thenComposeAsync(raft::awaitApplied, raft.getThreadContext())
+        .thenCompose(index -> applyQuery(entry))
+        .exceptionally(error -> QueryResponse.builder()
+            .withStatus(RaftResponse.Status.ERROR)
+            .withError(RaftError.Type.QUERY_FAILURE, error.getMessage())
+            .build());
+  }
+
+  @Override
+  public CompletableFuture<ReadIndexResponse> onReadIndex(final ReadIndexRequest request) {
+    raft.checkThread();
+    logRequest(request);
+
+    return readIndex()
+        .handle((index, error) -> {
+          if (error == null) {
+            return ReadIndexResponse.builder()
+                .withStatus(RaftResponse.Status.OK)
+                .withIndex(index)
+                .build();
+          } else {
+            return ReadIndexResponse.builder()
                 .withStatus(RaftResponse.Status.ERROR)
                 .withError(RaftError.Type.QUERY_FAILURE, error.getMessage())
-                .build()), raft.getThreadContext());
+                .build();
+          }
+        })
+        .thenApply(this::logResponse);
+  }
+
+  /**
+   * Returns the read index for a linearizable read.
+   * <p>
+   * The read index is the commit index at the time of the read. The returned future will be completed once
+   * the leader has verified that it's still the leader for the term in which the read index was recorded.
+   */
+  private CompletableFuture<Long> readIndex() {
+    // The leader's commit index is only known to be up to date once an entry from the leader's term has
+    // been committed. Wait for the initial entry to be committed before recording the read index.
+    if (initializing()) {
+      return appender.appendEntries(appender.getIndex())
+          .thenComposeAsync(index -> readIndex(), raft.getThreadContext());
+    }
+
+    final long readIndex = raft.getCommitIndex();
+    return checkLeadership().thenApply(v -> readIndex);
+  }
+
+  /**
+   * Verifies the leader's leadership with a majority of the cluster.
+   * <p>
+   * All reads received within a single iteration of the event loop share the same heartbeat round. Because
+   * the heartbeat is only sent after the current iteration completes, the round is guaranteed to begin after
+   * each of the reads sharing it was received.
+   */
+  private CompletableFuture<Void> checkLeadership() {
+    if (pendingLeadershipCheck == null) {
+      final CompletableFuture<Void> future = new CompletableFuture<>();
+      pendingLeadershipCheck = future;
+      raft.getThreadContext().execute(() -> {
+        pendingLeadershipCheck = null;
+        if (!isOpen()) {
+          future.completeExceptionally(new RaftException.IllegalMemberState("Not the leader"));
+          return;
+        }
+        appender.appendEntries().whenComplete((index, error) -> {
+          if (error == null) {
+            future.complete(null);
+          } else {
+            future.completeExceptionally(error);
+          }
+        });
+      });
+    }
+    return pendingLeadershipCheck;
   }
 
   @Override
@@ -1103,6 +1266,16 @@ public final class LeaderRole extends ActiveRole {
     heartbeatTimers.values().forEach(Scheduled::cancel);
   }
 
+  /**
+   * Fails all pending commands that have not yet been appended to the log.
+   */
+  private void failPendingCommands() {
+    commandBatch.drain().forEach(command -> command.future().complete(CommandResponse.builder()
+        .withStatus(RaftResponse.Status.ERROR)
+        .withError(RaftError.Type.COMMAND_FAILURE)
+        .build()));
+  }
+
   /**
    * Ensures the local server is not the leader.
    */
@@ -1118,6 +1291,7 @@ public final class LeaderRole extends ActiveRole {
         .thenRun(appender::close)
         .thenRun(this::cancelAppendTimer)
         .thenRun(this::cancelHeartbeatTimers)
+        .thenRun(this::failPendingCommands)
         .thenRun(this::stepDown);
   }
 
@@ -19,6 +19,7 @@ import io.atomix.protocols.raft.RaftError;
 import io.atomix.protocols.raft.RaftException;
 import io.atomix.protocols.raft.RaftServer;
 import io.atomix.protocols.raft.ReadConsistency;
+import io.atomix.protocols.raft.cluster.MemberId;
 import io.atomix.protocols.raft.impl.OperationResult;
 import io.atomix.protocols.raft.impl.RaftContext;
 import io.atomix.protocols.raft.protocol.AppendRequest;
@@ -45,6 +46,7 @@ import io.atomix.protocols.raft.protocol.PollResponse;
 import io.atomix.protocols.raft.protocol.QueryRequest;
 import io.atomix.protocols.raft.protocol.QueryResponse;
 import io.atomix.protocols.raft.protocol.RaftResponse;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
 import io.atomix.protocols.raft.protocol.ReconfigureRequest;
 import io.atomix.protocols.raft.protocol.ReconfigureResponse;
 import io.atomix.protocols.raft.protocol.VoteRequest;
@@ -57,6 +59,7 @@ import io.atomix.protocols.raft.storage.log.entry.QueryEntry;
 import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
 import io.atomix.protocols.raft.storage.snapshot.Snapshot;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotWriter;
+import io.atomix.serializer.Serializer;
 import io.atomix.storage.StorageException;
 import io.atomix.storage.journal.Indexed;
 import io.atomix.time.WallClockTimestamp;
@@ -224,8 +227,10 @@ public class PassiveRole extends InactiveRole {
         writer.reset(request.prevLogIndex() + 1);
       }
 
+      final Serializer serializer = raft.getStorage().serializer();
+
       // Iterate through entries and append them.
-      for (RaftLogEntry entry : request.entries()) {
+      for (byte[] bytes : request.entries()) {
         long index = ++lastLogIndex;
 
         // Get the last entry written to the log by the writer.
@@ -247,10 +252,10 @@ public class PassiveRole extends InactiveRole {
             Indexed<RaftLogEntry> existingEntry = reader.next();
 
             // If the existing entry term doesn't match the leader's term for the same entry, truncate
-            // the log and append the leader's entry.
-            if (existingEntry.entry().term() != entry.term()) {
+            // the log and append the leader's entry. The leader's entry is only decoded for the comparison.
+            if (existingEntry.entry().term() != serializer.<RaftLogEntry>decode(bytes).term()) {
               writer.truncate(index - 1);
-              if (!appendEntry(index, entry, writer, future)) {
+              if (!appendEntry(index, bytes, writer, future)) {
                 return;
               }
             }
@@ -260,9 +265,9 @@ public class PassiveRole extends InactiveRole {
           else if (lastEntry.index() == index) {
             // If the last entry term doesn't match the leader's term for the same entry, truncate
             // the log and append the leader's entry.
-            if (lastEntry.entry().term() != entry.term()) {
+            if (lastEntry.entry().term() != serializer.<RaftLogEntry>decode(bytes).term()) {
               writer.truncate(index - 1);
-              if (!appendEntry(index, entry, writer, future)) {
+              if (!appendEntry(index, bytes, writer, future)) {
                 return;
               }
             }
@@ -275,14 +280,14 @@ public class PassiveRole extends InactiveRole {
             }
 
             // Append the entry and log a message.
-            if (!appendEntry(index, entry, writer, future)) {
+            if (!appendEntry(index, bytes, writer, future)) {
               return;
             }
           }
         }
         // Otherwise, if the last entry is null just append the entry and log a message.
         else {
-          if (!appendEntry(index, entry, writer, future)) {
+          if (!appendEntry(index, bytes, writer, future)) {
             return;
           }
         }
@@ -304,16 +309,50 @@ public class PassiveRole extends InactiveRole {
       raft.getStateMachine().applyAll(commitIndex);
     }
 
-    // Return a successful append response.
-    succeedAppend(lastLogIndex, future);
+    // Return a successful append response once the appended entries have been flushed to disk.
+    flushAppend(request, lastLogIndex, future);
+  }
+
+  /**
+   * Completes a successful append once entries up to the given index have been flushed to disk.
+   * <p>
+   * The leader counts the last log index in a successful response toward commitment, so appended entries are not
+   * acknowledged until they've been flushed. The flush is performed asynchronously to avoid blocking the Raft thread.
+   * Requests without entries are acknowledged immediately with the last flushed index.
+   * <p>
+   * Entries can only be truncated by a leader in a later term, so if the term changes while the flush is pending
+   * the appended entries may have been replaced and the append is failed rather than acknowledged.
+   */
+  private void flushAppend(AppendRequest request, long lastLogIndex, CompletableFuture<AppendResponse> future) {
+    long flushedIndex = raft.getLog().getFlushedIndex();
+    if (lastLogIndex <= flushedIndex) {
+      succeedAppend(lastLogIndex, future);
+    } else if (request.entries().isEmpty()) {
+      succeedAppend(flushedIndex, future);
+    } else {
+      long term = raft.getTerm();
+      raft.getLogWriter().flush(lastLogIndex).whenCompleteAsync((index, error) -> {
+        if (error == null && raft.getTerm() == term) {
+          succeedAppend(lastLogIndex, future);
+        } else if (error == null) {
+          log.debug("Term changed while flushing entries up to index {}", lastLogIndex);
+          failAppend(Math.min(raft.getLog().getFlushedIndex(), raft.getLogWriter().getLastIndex()), future);
+        } else {
+          log.warn("Failed to flush entries up to index {}", lastLogIndex, error);
+          failAppend(raft.getLog().getFlushedIndex(), future);
+        }
+      }, raft.getThreadContext());
+    }
   }
 
   /**
    * Attempts to append an entry, returning {@code false} if the append fails due to an {@link StorageException.OutOfDiskSpace} exception.
+   * <p>
+   * The serialized entry is written to the log as-is without being deserialized.
    */
-  private boolean appendEntry(long index, RaftLogEntry entry, RaftLogWriter writer, CompletableFuture<AppendResponse> future) {
+  private boolean appendEntry(long index, byte[] bytes, RaftLogWriter writer, CompletableFuture<AppendResponse> future) {
     try {
-      Indexed<RaftLogEntry> indexed = writer.append(entry);
+      Indexed<RaftLogEntry> indexed = writer.appendBytes(bytes);
       log.trace("Appended {}", indexed);
     } catch (StorageException.OutOfDiskSpace e) {
       log.trace("Append failed: {}", e);
@@ -384,7 +423,17 @@ public class PassiveRole extends InactiveRole {
       return queryForward(request);
     }
 
-    // If the session's consistency level is SEQUENTIAL, handle the request here, otherwise forward it.
+    final Indexed<QueryEntry> entry = new Indexed<>(
+        request.index(),
+        new QueryEntry(
+            raft.getTerm(),
+            System.currentTimeMillis(),
+            request.session(),
+            request.sequenceNumber(),
+            request.operation()), 0);
+
+    // If the session's consistency level is SEQUENTIAL, handle the request here. LINEARIZABLE queries are
+    // evaluated locally using a read index obtained from the leader, and all other queries are forwarded.
     if (session.readConsistency() == ReadConsistency.SEQUENTIAL) {
 
       // If the commit index is not in the log then we've fallen too far behind the leader to perform a local query.
@@ -394,21 +443,46 @@ public class PassiveRole extends InactiveRole {
         return queryForward(request);
       }
 
-      final Indexed<QueryEntry> entry = new Indexed<>(
-          request.index(),
-          new QueryEntry(
-              raft.getTerm(),
-              System.currentTimeMillis(),
-              request.session(),
-              request.sequenceNumber(),
-              request.operation()), 0);
-
       return applyQuery(entry).thenApply(this::logResponse);
+    } else if (session.readConsistency() == ReadConsistency.LINEARIZABLE) {
+      return queryReadIndex(entry);
     } else {
       return queryForward(request);
     }
   }
 
+  /**
+   * Performs a linearizable query using a read index obtained from the leader.
+   * <p>
+   * The leader responds with its commit index once it has verified its leadership with a majority of the
+   * cluster. The query is then applied to the local state machine once it has applied the read index.
+   */
+  private CompletableFuture<QueryResponse> queryReadIndex(Indexed<QueryEntry> entry) {
+    if (raft.getLeader() == null) {
+      return CompletableFuture.completedFuture(logResponse(QueryResponse.builder()
+          .withStatus(RaftResponse.Status.ERROR)
+          .withError(RaftError.Type.NO_LEADER)
+          .build()));
+    }
+
+    log.trace("Requesting read index for {}", entry);
+    return forward(ReadIndexRequest.builder().build(), raft.getProtocol()::readIndex)
+        .thenCompose(response -> {
+          if (response.status() == RaftResponse.Status.OK) {
+            return raft.awaitApplied(response.index()).thenCompose(index -> applyQuery(entry));
+          }
+          return CompletableFuture.completedFuture(QueryResponse.builder()
+              .withStatus(RaftResponse.Status.ERROR)
+              .withError(response.error())
+              .build());
+        })
+        .exceptionally(error -> QueryResponse.builder()
+            .withStatus(RaftResponse.Status.ERROR)
+            .withError(RaftError.Type.NO_LEADER)
+            .build())
+        .thenApply(this::logResponse);
+  }
+
   /**
    * Forwards the query to the leader.
    */
@@ -504,18 +578,33 @@ public class PassiveRole extends InactiveRole {
     // where snapshots must be sent since entries can still legitimately exist prior to the snapshot,
     // and so snapshots aren't simply sent at the beginning of the follower's log, but rather the
     // leader dictates when a snapshot needs to be sent.
-    if (pendingSnapshot != null && request.snapshotIndex() != pendingSnapshot.snapshot().index()) {
+    // Snapshots taken by different servers at the same index are not necessarily identical byte for byte,
+    // so a partially received snapshot can only be resumed by the leader that began sending it.
+    if (pendingSnapshot != null && (request.snapshotIndex() != pendingSnapshot.snapshot().index()
+        || !request.leader().equals(pendingSnapshot.leader()))) {
       pendingSnapshot.rollback();
+      pendingSnapshots.remove(request.serviceId());
       pendingSnapshot = null;
     }
 
     // If there is no pending snapshot, create a new snapshot.
     if (pendingSnapshot == null) {
+      // If the snapshot has already been received, acknowledge the chunk without rewriting the snapshot.
+      // Duplicate chunks may be received when pipelined install requests are resent.
+      Snapshot currentSnapshot = raft.getSnapshotStore().getSnapshotById(ServiceId.from(request.serviceId()));
+      if (currentSnapshot != null && currentSnapshot.index() >= request.snapshotIndex()) {
+        return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
+            .withStatus(RaftResponse.Status.OK)
+            .withNextOffset(request.chunkOffset() + request.data().length)
+            .build()));
+      }
+
       // For new snapshots, the initial snapshot offset must be 0.
       if (request.chunkOffset() > 0) {
         return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
             .withStatus(RaftResponse.Status.ERROR)
             .withError(RaftError.Type.ILLEGAL_MEMBER_STATE, "Request chunk offset is invalid")
+            .withNextOffset(0)
             .build()));
       }
 
@@ -524,33 +613,36 @@ public class PassiveRole extends InactiveRole {
               request.serviceName(),
               request.snapshotIndex(),
               WallClockTimestamp.from(request.snapshotTimestamp()));
-      pendingSnapshot = new PendingSnapshot(snapshot);
+      pendingSnapshot = new PendingSnapshot(snapshot, request.leader());
+      pendingSnapshots.put(request.serviceId(), pendingSnapshot);
     }
 
-    // If the request offset is greater than the next expected snapshot offset, fail the request.
-    if (request.chunkOffset() > pendingSnapshot.nextOffset()) {
+    // If the request offset is not the next expected byte offset, fail the request and indicate the offset
+    // from which the leader should continue sending the snapshot. A greater offset indicates a prior chunk
+    // was lost, and a lesser offset indicates a chunk that was already received was resent. Chunks are only
+    // ever written at the next expected offset, so requests that number chunks rather than bytes are rejected
+    // rather than written at the wrong position.
+    if (request.chunkOffset() != pendingSnapshot.nextOffset()) {
       return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
           .withStatus(RaftResponse.Status.ERROR)
           .withError(RaftError.Type.ILLEGAL_MEMBER_STATE, "Request chunk offset does not match the next chunk offset")
+          .withNextOffset(pendingSnapshot.nextOffset())
           .build()));
     }
 
-    // Write the data to the snapshot.
-    try (SnapshotWriter writer = pendingSnapshot.snapshot().openWriter()) {
-      writer.write(request.data());
-    }
+    // Write the chunk directly to the snapshot.
+    pendingSnapshot.write(request.data());
 
-    // If the snapshot is complete, store the snapshot and reset state, otherwise update the next snapshot offset.
+    // If the snapshot is complete, store the snapshot and reset state.
+    int nextOffset = pendingSnapshot.nextOffset();
     if (request.complete()) {
       pendingSnapshot.commit();
       pendingSnapshots.remove(request.serviceId());
-    } else {
-      pendingSnapshot.incrementOffset();
-      pendingSnapshots.put(request.serviceId(), pendingSnapshot);
     }
 
     return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
         .withStatus(RaftResponse.Status.OK)
+        .withNextOffset(nextOffset)
         .build()));
   }
 
@@ -747,13 +839,19 @@ public class PassiveRole extends InactiveRole {
 
   /**
    * Pending snapshot.
+   * <p>
+   * Chunks are written to the snapshot as they're received through a single writer that remains open
+   * until the snapshot is committed or rolled back.
    */
   private static class PendingSnapshot {
     private final Snapshot snapshot;
-    private long nextOffset;
+    private final MemberId leader;
+    private SnapshotWriter writer;
+    private int nextOffset;
 
-    public PendingSnapshot(Snapshot snapshot) {
+    public PendingSnapshot(Snapshot snapshot, MemberId leader) {
       this.snapshot = snapshot;
+      this.leader = leader;
     }
 
     /**
@@ -766,25 +864,44 @@ public class PassiveRole extends InactiveRole {
     }
 
     /**
-     * Returns and increments the next snapshot offset.
+     * Returns the leader from which the snapshot is being received.
+     *
+     * @return the leader from which the snapshot is being received
+     */
+    public MemberId leader() {
+      return leader;
+    }
+
+    /**
+     * Returns the next snapshot offset.
      *
      * @return the next snapshot offset
      */
-    public long nextOffset() {
+    public int nextOffset() {
       return nextOffset;
     }
 
     /**
-     * Increments the next snapshot offset.
+     * Writes the given bytes to the snapshot and advances the next snapshot offset.
+     *
+     * @param bytes the bytes to write
      */
-    public void incrementOffset() {
-      nextOffset++;
+    public void write(byte[] bytes) {
+      if (writer == null) {
+        writer = snapshot.openWriter();
+      }
+      writer.write(bytes);
+      nextOffset += bytes.length;
     }
 
     /**
      * Commits the snapshot to disk.
      */
     public void commit() {
+      if (writer == null) {
+        writer = snapshot.openWriter();
+      }
+      writer.close();
       snapshot.complete();
     }
 
@@ -792,6 +909,9 @@ public class PassiveRole extends InactiveRole {
      * Closes and deletes the snapshot.
      */
     public void rollback() {
+      if (writer != null) {
+        writer.close();
+      }
       snapshot.close();
       snapshot.delete();
     }
@@ -800,6 +920,7 @@ public class PassiveRole extends InactiveRole {
     public String toString() {
       return toStringHelper(this)
           .add("snapshot", snapshot)
+          .add("leader", leader)
           .add("nextOffset", nextOffset)
           .toString();
     }
@@ -40,6 +40,8 @@ import io.atomix.protocols.raft.protocol.PollRequest;
 import io.atomix.protocols.raft.protocol.PollResponse;
 import io.atomix.protocols.raft.protocol.QueryRequest;
 import io.atomix.protocols.raft.protocol.QueryResponse;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexResponse;
 import io.atomix.protocols.raft.protocol.ReconfigureRequest;
 import io.atomix.protocols.raft.protocol.ReconfigureResponse;
 import io.atomix.protocols.raft.protocol.TransferRequest;
@@ -142,6 +144,14 @@ public interface RaftRole extends Managed<RaftRole> {
    */
   CompletableFuture<TransferResponse> onTransfer(TransferRequest request);
 
+  /**
+   * Handles a read index request.
+   *
+   * @param request The request to handle.
+   * @return A completable future to be completed with the request response.
+   */
+  CompletableFuture<ReadIndexResponse> onReadIndex(ReadIndexRequest request);
+
   /**
    * Handles an append request.
    *
@@ -50,6 +50,7 @@ import org.slf4j.Logger;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -333,7 +334,11 @@ public class DefaultServiceContext implements ServiceContext {
       pendingSnapshot.future.whenComplete((r, e) -> pendingSnapshots.remove(snapshotIndex));
 
       // Serialize sessions to the in-memory snapshot and request a snapshot from the state machine.
-      try (SnapshotWriter writer = snapshot.openWriter()) {
+      // If asynchronous snapshots are enabled, the service may instead capture its state to be written
+      // to the snapshot on the snapshot thread.
+      SnapshotWriter writer = snapshot.openWriter();
+      Consumer<SnapshotWriter> snapshotter = null;
+      try {
         writer.writeLong(serviceId.id());
         writer.writeString(serviceType.id());
         writer.writeString(serviceName);
@@ -350,13 +355,33 @@ public class DefaultServiceContext implements ServiceContext {
           writer.writeLong(session.getEventIndex());
           writer.writeLong(session.getLastCompleted());
         }
-        service.snapshot(writer);
+        if (raft.isAsyncSnapshots()) {
+          snapshotter = service.captureSnapshot();
+        }
+        if (snapshotter == null) {
+          service.snapshot(writer);
+        }
       } catch (Exception e) {
         log.error("Snapshot failed: {}", e);
       }
 
-      // Persist the snapshot to disk in a background thread before completing the snapshot future.
+      if (snapshotter == null) {
+        writer.close();
+      }
+
+      // Write any captured service state and persist the snapshot to disk in a background thread before
+      // completing the snapshot future.
+      Consumer<SnapshotWriter> capturedSnapshotter = snapshotter;
       snapshotExecutor.execute(() -> {
+        if (capturedSnapshotter != null) {
+          try {
+            capturedSnapshotter.accept(writer);
+          } catch (Exception e) {
+            log.error("Snapshot failed: {}", e);
+          } finally {
+            writer.close();
+          }
+        }
         pendingSnapshot.persist();
         future.complete(snapshotIndex);
       });
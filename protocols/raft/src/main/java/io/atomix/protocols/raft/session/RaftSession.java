@@ -163,6 +163,10 @@ public interface RaftSession {
 
   /**
    * Publishes an event to the session.
+   * <p>
+   * Events are immutable and may be shared among sessions. When publishing the same event to many sessions, services
+   * should encode the event once and publish the same {@link RaftEvent} to each session rather than encoding the
+   * event separately for each session.
    *
    * @param event the event to publish
    */
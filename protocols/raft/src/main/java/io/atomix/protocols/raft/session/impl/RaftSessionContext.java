@@ -31,16 +31,18 @@ import io.atomix.protocols.raft.session.RaftSessionEvent;
 import io.atomix.protocols.raft.session.RaftSessionEventListener;
 import io.atomix.protocols.raft.session.SessionId;
 import io.atomix.utils.TimestampPrinter;
+import io.atomix.utils.collection.LongObjectHashMap;
+import io.atomix.utils.concurrent.Scheduled;
 import io.atomix.utils.concurrent.ThreadContext;
 import io.atomix.utils.concurrent.ThreadContextFactory;
 import io.atomix.utils.logging.ContextualLoggerFactory;
 import io.atomix.utils.logging.LoggerContext;
 import org.slf4j.Logger;
 
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
@@ -75,11 +77,13 @@ public class RaftSessionContext implements RaftSession {
   private volatile long commandLowWaterMark;
   private volatile long eventIndex;
   private volatile long completeIndex;
-  private final Map<Long, List<Runnable>> sequenceQueries = new HashMap<>();
-  private final Map<Long, List<Runnable>> indexQueries = new HashMap<>();
-  private final Map<Long, OperationResult> results = new HashMap<>();
-  private final Queue<EventHolder> events = new LinkedList<>();
+  private final LongObjectHashMap<List<Runnable>> sequenceQueries = new LongObjectHashMap<>();
+  private final LongObjectHashMap<List<Runnable>> indexQueries = new LongObjectHashMap<>();
+  private final RaftSessionResults results;
+  private final Queue<EventHolder> events = new ArrayDeque<>();
   private volatile EventHolder currentEventList;
+  private final List<EventHolder> eventBatch = new ArrayList<>();
+  private Scheduled eventBatchTimer;
   private final Set<RaftSessionEventListener> eventListeners = new CopyOnWriteArraySet<>();
 
   public RaftSessionContext(
@@ -106,6 +110,7 @@ public class RaftSessionContext implements RaftSession {
     this.protocol = server.getProtocol();
     this.context = context;
     this.server = server;
+    this.results = new RaftSessionResults(server.isOffHeapResults());
     this.eventExecutor = threadContextFactory.createContext();
     this.log = ContextualLoggerFactory.getLogger(getClass(), LoggerContext.builder(RaftSession.class)
         .addValue(sessionId)
@@ -400,6 +405,9 @@ public class RaftSessionContext implements RaftSession {
    * is applied to the state machine, the command's return value is stored with the sequence number. Once the
    * client acknowledges receipt of the command output the result will be cleared from memory.
    *
+   * <p>
+   * If off-heap results are enabled on the server, the result output is stored in direct memory until it's cleared.
+   *
    * @param sequence The result sequence number.
    * @param result   The result.
    */
@@ -425,6 +433,13 @@ public class RaftSessionContext implements RaftSession {
     }
   }
 
+  /**
+   * Clears all command results and stops storing new results, releasing any off-heap memory held by the session.
+   */
+  void closeResults() {
+    results.close();
+  }
+
   /**
    * Returns the session response for the given sequence number.
    *
@@ -484,11 +499,50 @@ public class RaftSessionContext implements RaftSession {
   public void commit(long index) {
     if (currentEventList != null && currentEventList.eventIndex == index) {
       events.add(currentEventList);
-      sendEvents(currentEventList);
+      if (server.isEventBatching()) {
+        batchEvents(currentEventList);
+      } else {
+        sendEvents(currentEventList);
+      }
     }
     setLastApplied(index);
   }
 
+  /**
+   * Adds committed events to the pending event batch.
+   * <p>
+   * The batch is sent once it reaches the maximum event batch size or the event batch window expires.
+   */
+  private void batchEvents(EventHolder event) {
+    eventBatch.add(event);
+    if (eventBatch.size() >= server.getMaxEventBatchSize()) {
+      flushEvents();
+    } else if (eventBatchTimer == null) {
+      eventBatchTimer = context.executor().schedule(server.getEventBatchWindow(), this::flushEvents);
+    }
+  }
+
+  /**
+   * Sends the pending event batch to the session.
+   */
+  private void flushEvents() {
+    cancelEventBatch();
+    if (!eventBatch.isEmpty()) {
+      sendEvents(new ArrayList<>(eventBatch));
+      eventBatch.clear();
+    }
+  }
+
+  /**
+   * Cancels the pending event batch timer.
+   */
+  private void cancelEventBatch() {
+    if (eventBatchTimer != null) {
+      eventBatchTimer.cancel();
+      eventBatchTimer = null;
+    }
+  }
+
   /**
    * Returns the index of the highest event acked for the session.
    *
@@ -537,8 +591,26 @@ public class RaftSessionContext implements RaftSession {
    */
   public void resendEvents(long index) {
     clearEvents(index);
-    for (EventHolder event : events) {
-      sendEvents(event);
+    if (server.isEventBatching()) {
+      // Pending batched events are still queued and will be resent below.
+      cancelEventBatch();
+      eventBatch.clear();
+      int maxBatchSize = server.getMaxEventBatchSize();
+      List<EventHolder> batch = new ArrayList<>(Math.min(events.size(), maxBatchSize));
+      for (EventHolder event : events) {
+        batch.add(event);
+        if (batch.size() == maxBatchSize) {
+          sendEvents(batch);
+          batch = new ArrayList<>(Math.min(events.size(), maxBatchSize));
+        }
+      }
+      if (!batch.isEmpty()) {
+        sendEvents(batch);
+      }
+    } else {
+      for (EventHolder event : events) {
+        sendEvents(event);
+      }
     }
   }
 
@@ -562,11 +634,65 @@ public class RaftSessionContext implements RaftSession {
     }
   }
 
+  /**
+   * Sends a batch of events for multiple indexes to the session in a single request.
+   */
+  private void sendEvents(List<EventHolder> batch) {
+    if (batch.size() == 1) {
+      sendEvents(batch.get(0));
+      return;
+    }
+
+    // Only send events to the client if this server is the leader.
+    if (server.isLeader()) {
+      eventExecutor.execute(() -> {
+        // Skip events already received by the client. Events for subsequent indexes in the batch are
+        // sequenced by the client according to their position in the batch.
+        long completeIndex = this.completeIndex;
+        int first = 0;
+        while (first < batch.size() && batch.get(first).eventIndex <= completeIndex) {
+          first++;
+        }
+        if (first == batch.size()) {
+          return;
+        }
+
+        int count = 0;
+        for (int i = first; i < batch.size(); i++) {
+          count += batch.get(i).events.size();
+        }
+
+        List<RaftEvent> events = new ArrayList<>(count);
+        long[] eventIndexes = new long[count];
+        for (int i = first; i < batch.size(); i++) {
+          EventHolder event = batch.get(i);
+          for (RaftEvent raftEvent : event.events) {
+            eventIndexes[events.size()] = event.eventIndex;
+            events.add(raftEvent);
+          }
+        }
+
+        PublishRequest request = PublishRequest.builder()
+            .withSession(sessionId().id())
+            .withEventIndex(batch.get(batch.size() - 1).eventIndex)
+            .withPreviousIndex(Math.max(batch.get(first).previousIndex, completeIndex))
+            .withEvents(events)
+            .withEventIndexes(eventIndexes)
+            .build();
+
+        log.trace("Sending {}", request);
+        protocol.publish(member, request);
+      });
+    }
+  }
+
   /**
    * Expires the session.
    */
   public void expire() {
     setState(State.EXPIRED);
+    cancelEventBatch();
+    results.close();
     protocol.unregisterResetListener(sessionId);
   }
 
@@ -575,6 +701,8 @@ public class RaftSessionContext implements RaftSession {
    */
   public void close() {
     setState(State.CLOSED);
+    cancelEventBatch();
+    results.close();
     protocol.unregisterResetListener(sessionId);
   }
 
@@ -603,7 +731,7 @@ public class RaftSessionContext implements RaftSession {
   private static class EventHolder {
     private final long eventIndex;
     private final long previousIndex;
-    private final List<RaftEvent> events = new LinkedList<>();
+    private final List<RaftEvent> events = new ArrayList<>();
 
     private EventHolder(long eventIndex, long previousIndex) {
       this.eventIndex = eventIndex;
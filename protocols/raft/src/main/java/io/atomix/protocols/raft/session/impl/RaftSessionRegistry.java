@@ -20,6 +20,7 @@ import io.atomix.protocols.raft.session.RaftSessionListener;
 import io.atomix.protocols.raft.session.SessionId;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -109,7 +110,7 @@ public class RaftSessionRegistry {
    * @return a collection of sessions associated with the given service
    */
   public Collection<RaftSessionContext> getSessions(ServiceId serviceId) {
-    return sessions.values().stream()
+    return getSessions().stream()
         .filter(session -> session.getService().serviceId().equals(serviceId))
         .collect(Collectors.toSet());
   }
@@ -120,7 +121,21 @@ public class RaftSessionRegistry {
    * @param serviceId the service identifier
    */
   public void removeSessions(ServiceId serviceId) {
-    sessions.entrySet().removeIf(e -> e.getValue().getService().serviceId().equals(serviceId));
+    Collection<RaftSessionContext> removed = getSessions(serviceId);
+    removed.forEach(session -> sessions.remove(session.sessionId().id()));
+    removed.forEach(RaftSessionContext::closeResults);
+  }
+
+  /**
+   * Removes all sessions, releasing any off-heap memory held by their results.
+   */
+  public void close() {
+    Iterator<RaftSessionContext> iterator = sessions.values().iterator();
+    while (iterator.hasNext()) {
+      RaftSessionContext session = iterator.next();
+      iterator.remove();
+      session.closeResults();
+    }
   }
 
   /**
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.session.impl;
+
+import io.atomix.protocols.raft.impl.OperationResult;
+import io.atomix.utils.collection.LongObjectHashMap;
+import io.atomix.utils.memory.DirectMemoryAllocator;
+import io.atomix.utils.memory.NativeMemory;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Cache of command results for a session, keyed by command sequence number.
+ * <p>
+ * When off-heap storage is enabled, the output of successful commands is copied into direct memory and only a
+ * small memory descriptor is retained on the heap. Failed and no-op results carry no output and are always
+ * stored on the heap. Off-heap memory is freed when a result is removed or the cache is cleared or closed.
+ * <p>
+ * Results are registered by the service thread but may be read by the server thread when a command is retried,
+ * so all access is synchronized. This also ensures off-heap memory is never read after it has been freed.
+ */
+final class RaftSessionResults {
+  private static final DirectMemoryAllocator ALLOCATOR = new DirectMemoryAllocator();
+  private static final int INDEX_OFFSET = 0;
+  private static final int EVENT_INDEX_OFFSET = INDEX_OFFSET + Long.BYTES;
+  private static final int RESULT_OFFSET = EVENT_INDEX_OFFSET + Long.BYTES;
+
+  private final boolean offHeap;
+  private final LongObjectHashMap<Object> results = new LongObjectHashMap<>();
+  private boolean closed;
+
+  RaftSessionResults(boolean offHeap) {
+    this.offHeap = offHeap;
+  }
+
+  /**
+   * Stores the result for the given sequence number.
+   *
+   * @param sequence the command sequence number
+   * @param result the command result
+   */
+  synchronized void put(long sequence, OperationResult result) {
+    if (closed) {
+      return;
+    }
+
+    Object value = result;
+    if (offHeap && result.succeeded() && result.result() != null) {
+      byte[] bytes = result.result();
+      NativeMemory memory = ALLOCATOR.allocate(RESULT_OFFSET + bytes.length);
+      memory.putLong(INDEX_OFFSET, result.index());
+      memory.putLong(EVENT_INDEX_OFFSET, result.eventIndex());
+      memory.putBytes(RESULT_OFFSET, bytes, 0, bytes.length);
+      value = memory;
+    }
+    free(results.put(sequence, value));
+  }
+
+  /**
+   * Returns the result for the given sequence number.
+   *
+   * @param sequence the command sequence number
+   * @return the command result or {@code null} if no result is stored for the sequence number
+   */
+  synchronized OperationResult get(long sequence) {
+    Object value = results.get(sequence);
+    if (value instanceof NativeMemory) {
+      NativeMemory memory = (NativeMemory) value;
+      byte[] bytes = new byte[memory.size() - RESULT_OFFSET];
+      memory.getBytes(RESULT_OFFSET, bytes, 0, bytes.length);
+      return OperationResult.succeeded(memory.getLong(INDEX_OFFSET), memory.getLong(EVENT_INDEX_OFFSET), bytes);
+    }
+    return (OperationResult) value;
+  }
+
+  /**
+   * Removes the result for the given sequence number.
+   *
+   * @param sequence the command sequence number
+   */
+  synchronized void remove(long sequence) {
+    free(results.remove(sequence));
+  }
+
+  /**
+   * Removes all results, releasing any off-heap memory.
+   */
+  synchronized void clear() {
+    results.forEach((value, sequence) -> free(value));
+    results.clear();
+  }
+
+  /**
+   * Removes all results and stops storing new results, so that no off-heap memory is allocated once the session
+   * or server has released its results.
+   */
+  synchronized void close() {
+    closed = true;
+    clear();
+  }
+
+  /**
+   * Frees the given result if it is stored off-heap.
+   */
+  private void free(Object value) {
+    if (value instanceof NativeMemory) {
+      ((NativeMemory) value).free();
+    }
+  }
+
+  @Override
+  public synchronized String toString() {
+    return toStringHelper(this)
+        .add("offHeap", offHeap)
+        .add("size", results.size())
+        .toString();
+  }
+}
@@ -22,6 +22,7 @@ import io.atomix.protocols.raft.storage.snapshot.SnapshotStore;
 import io.atomix.protocols.raft.storage.system.MetaStore;
 import io.atomix.serializer.Serializer;
 import io.atomix.storage.StorageLevel;
+import io.atomix.storage.journal.FlushMode;
 import io.atomix.storage.journal.JournalSegmentDescriptor;
 import io.atomix.storage.journal.JournalSegmentFile;
 import io.atomix.storage.statistics.StorageStatistics;
@@ -29,6 +30,7 @@ import io.atomix.storage.statistics.StorageStatistics;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.time.Duration;
 import java.util.function.Predicate;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
@@ -79,8 +81,11 @@ public class RaftStorage {
   private final int maxEntriesPerSegment;
   private final boolean dynamicCompaction;
   private final double freeDiskBuffer;
-  private final boolean flushOnCommit;
+  private final FlushMode flushMode;
+  private final Duration flushInterval;
+  private final int flushBytes;
   private final boolean retainStaleSnapshots;
+  private final int compressionBlockSize;
   private final StorageStatistics statistics;
 
   private RaftStorage(
@@ -92,8 +97,11 @@ public class RaftStorage {
       int maxEntriesPerSegment,
       boolean dynamicCompaction,
       double freeDiskBuffer,
-      boolean flushOnCommit,
-      boolean retainStaleSnapshots) {
+      FlushMode flushMode,
+      Duration flushInterval,
+      int flushBytes,
+      boolean retainStaleSnapshots,
+      int compressionBlockSize) {
     this.prefix = prefix;
     this.storageLevel = storageLevel;
     this.directory = directory;
@@ -102,8 +110,11 @@ public class RaftStorage {
     this.maxEntriesPerSegment = maxEntriesPerSegment;
     this.dynamicCompaction = dynamicCompaction;
     this.freeDiskBuffer = freeDiskBuffer;
-    this.flushOnCommit = flushOnCommit;
+    this.flushMode = flushMode;
+    this.flushInterval = flushInterval;
+    this.flushBytes = flushBytes;
     this.retainStaleSnapshots = retainStaleSnapshots;
+    this.compressionBlockSize = compressionBlockSize;
     this.statistics = new StorageStatistics(directory);
     directory.mkdirs();
   }
@@ -192,13 +203,49 @@ public class RaftStorage {
     return freeDiskBuffer;
   }
 
+  /**
+   * Returns the uncompressed size of the blocks in which log entries are compressed.
+   *
+   * @return The compression block size, or {@code 0} if log entries are not compressed.
+   */
+  public int compressionBlockSize() {
+    return compressionBlockSize;
+  }
+
   /**
    * Returns whether to flush buffers to disk when entries are committed.
    *
    * @return Whether to flush buffers to disk when entries are committed.
    */
   public boolean isFlushOnCommit() {
-    return flushOnCommit;
+    return flushMode == FlushMode.IMMEDIATE;
+  }
+
+  /**
+   * Returns the mode in which log entries are flushed to disk.
+   *
+   * @return The log flush mode.
+   */
+  public FlushMode flushMode() {
+    return flushMode;
+  }
+
+  /**
+   * Returns the interval at which log entries are flushed to disk in {@link FlushMode#PERIODIC} mode.
+   *
+   * @return The log flush interval.
+   */
+  public Duration flushInterval() {
+    return flushInterval;
+  }
+
+  /**
+   * Returns the number of bytes after which log entries are flushed to disk in {@link FlushMode#PERIODIC} mode.
+   *
+   * @return The number of bytes written between flushes.
+   */
+  public int flushBytes() {
+    return flushBytes;
   }
 
   /**
@@ -287,7 +334,10 @@ public class RaftStorage {
         .withSerializer(serializer)
         .withMaxSegmentSize(maxSegmentSize)
         .withMaxEntriesPerSegment(maxEntriesPerSegment)
-        .withFlushOnCommit(flushOnCommit)
+        .withFlushMode(flushMode)
+        .withFlushInterval(flushInterval)
+        .withFlushBytes(flushBytes)
+        .withCompressionBlockSize(compressionBlockSize)
         .build();
   }
 
@@ -347,8 +397,10 @@ public class RaftStorage {
     private static final int DEFAULT_MAX_ENTRIES_PER_SEGMENT = 1024 * 1024;
     private static final boolean DEFAULT_DYNAMIC_COMPACTION = true;
     private static final double DEFAULT_FREE_DISK_BUFFER = .2;
-    private static final boolean DEFAULT_FLUSH_ON_COMMIT = false;
+    private static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(50);
+    private static final int DEFAULT_FLUSH_BYTES = 1024 * 1024;
     private static final boolean DEFAULT_RETAIN_STALE_SNAPSHOTS = false;
+    private static final int DEFAULT_COMPRESSION_BLOCK_SIZE = 1024 * 64;
 
     private String prefix = DEFAULT_PREFIX;
     private StorageLevel storageLevel = StorageLevel.DISK;
@@ -358,8 +410,11 @@ public class RaftStorage {
     private int maxEntriesPerSegment = DEFAULT_MAX_ENTRIES_PER_SEGMENT;
     private boolean dynamicCompaction = DEFAULT_DYNAMIC_COMPACTION;
     private double freeDiskBuffer = DEFAULT_FREE_DISK_BUFFER;
-    private boolean flushOnCommit = DEFAULT_FLUSH_ON_COMMIT;
+    private FlushMode flushMode = FlushMode.OS;
+    private Duration flushInterval = DEFAULT_FLUSH_INTERVAL;
+    private int flushBytes = DEFAULT_FLUSH_BYTES;
     private boolean retainStaleSnapshots = DEFAULT_RETAIN_STALE_SNAPSHOTS;
+    private int compressionBlockSize;
 
     private Builder() {
     }
@@ -528,13 +583,16 @@ public class RaftStorage {
      * for method chaining.
      * <p>
      * When flush-on-commit is enabled, log entry buffers will be automatically flushed to disk each time
-     * an entry is committed in a given segment.
+     * an entry is committed in a given segment. Enabling flush-on-commit is equivalent to using the
+     * {@link FlushMode#IMMEDIATE} flush mode, and disabling it is equivalent to the {@link FlushMode#OS} flush mode.
      *
      * @param flushOnCommit Whether to flush buffers to disk when entries are committed to a segment.
      * @return The storage builder.
      */
     public Builder withFlushOnCommit(boolean flushOnCommit) {
-      this.flushOnCommit = flushOnCommit;
+      this.flushMode = flushMode;
+    this.flushInterval = flushInterval;
+    this.flushBytes = flushBytes;
       return this;
     }
 
@@ -570,6 +628,47 @@ public class RaftStorage {
       return this;
     }
 
+    /**
+     * Enables compression of log segments, returning the builder for method chaining.
+     * <p>
+     * Log entries in compressed segments are grouped into blocks of {@code 1024 * 64} uncompressed bytes which
+     * are compressed together.
+     *
+     * @return The storage builder.
+     */
+    public Builder withCompression() {
+      return withCompression(true);
+    }
+
+    /**
+     * Sets whether to compress log segments, returning the builder for method chaining.
+     *
+     * @param compression Whether to compress log segments.
+     * @return The storage builder.
+     */
+    public Builder withCompression(boolean compression) {
+      this.compressionBlockSize = compression ? DEFAULT_COMPRESSION_BLOCK_SIZE : 0;
+      return this;
+    }
+
+    /**
+     * Sets the uncompressed size of the blocks in which log entries are compressed, returning the builder for
+     * method chaining.
+     * <p>
+     * Larger blocks generally compress better but require more entries to be decompressed when reading a single
+     * entry. Entries in the block being written are held in memory until the block is full or the log is flushed.
+     * A block size of {@code 0} disables compression. By default, compression is disabled.
+     *
+     * @param compressionBlockSize The compression block size in bytes.
+     * @return The storage builder.
+     * @throws IllegalArgumentException If the {@code compressionBlockSize} is negative
+     */
+    public Builder withCompressionBlockSize(int compressionBlockSize) {
+      checkArgument(compressionBlockSize >= 0, "compressionBlockSize cannot be negative");
+      this.compressionBlockSize = compressionBlockSize;
+      return this;
+    }
+
     /**
      * Builds the {@link RaftStorage} object.
      *
@@ -586,8 +685,11 @@ public class RaftStorage {
           maxEntriesPerSegment,
           dynamicCompaction,
           freeDiskBuffer,
-          flushOnCommit,
-          retainStaleSnapshots);
+          flushMode,
+          flushInterval,
+          flushBytes,
+          retainStaleSnapshots,
+          compressionBlockSize);
     }
   }
 
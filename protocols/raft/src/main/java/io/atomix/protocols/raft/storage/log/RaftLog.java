@@ -19,9 +19,11 @@ import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
 import io.atomix.serializer.Serializer;
 import io.atomix.storage.StorageLevel;
 import io.atomix.storage.journal.DelegatingJournal;
+import io.atomix.storage.journal.FlushMode;
 import io.atomix.storage.journal.SegmentedJournal;
 
 import java.io.File;
+import java.time.Duration;
 
 /**
  * Raft log.
@@ -43,14 +45,12 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
   }
 
   private final SegmentedJournal<RaftLogEntry> journal;
-  private final boolean flushOnCommit;
   private final RaftLogWriter writer;
   private volatile long commitIndex;
 
-  protected RaftLog(SegmentedJournal<RaftLogEntry> journal, boolean flushOnCommit) {
+  protected RaftLog(SegmentedJournal<RaftLogEntry> journal) {
     super(journal);
     this.journal = journal;
-    this.flushOnCommit = flushOnCommit;
     this.writer = new RaftLogWriter(journal.writer(), this);
   }
 
@@ -81,7 +81,20 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
    * @return Indicates whether {@code flushOnCommit} is enabled for the log.
    */
   boolean isFlushOnCommit() {
-    return flushOnCommit;
+    return journal.flushMode() == FlushMode.IMMEDIATE;
+  }
+
+  /**
+   * Returns the highest index known to be flushed to disk.
+   * <p>
+   * The flushed index trails the last index written to the log by the entries awaiting a flush according to the
+   * log's {@link FlushMode}. Comparing the time at which an index is flushed to the time at which it's committed
+   * separates local disk latency from replication latency.
+   *
+   * @return The highest index known to be flushed to disk.
+   */
+  public long getFlushedIndex() {
+    return journal.getFlushedIndex();
   }
 
   /**
@@ -137,10 +150,7 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
    * Raft log builder.
    */
   public static class Builder implements io.atomix.utils.Builder<RaftLog> {
-    private static final boolean DEFAULT_FLUSH_ON_COMMIT = false;
-
     private final SegmentedJournal.Builder<RaftLogEntry> journalBuilder = SegmentedJournal.builder();
-    private boolean flushOnCommit = DEFAULT_FLUSH_ON_COMMIT;
 
     protected Builder() {
     }
@@ -245,6 +255,57 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
       return this;
     }
 
+    /**
+     * Sets the log index density, returning the builder for method chaining.
+     * <p>
+     * The index density is the frequency at which the position of entries written to the log will be recorded
+     * in an in-memory index for faster seeking.
+     *
+     * @param indexDensity the index density
+     * @return the log builder
+     * @throws IllegalArgumentException if the density is not between 0 and 1
+     */
+    public Builder withIndexDensity(double indexDensity) {
+      journalBuilder.withIndexDensity(indexDensity);
+      return this;
+    }
+
+    /**
+     * Enables compression of log segments, returning the builder for method chaining.
+     *
+     * @return the log builder
+     */
+    public Builder withCompression() {
+      journalBuilder.withCompression();
+      return this;
+    }
+
+    /**
+     * Sets whether to compress log segments, returning the builder for method chaining.
+     *
+     * @param compression whether to compress log segments
+     * @return the log builder
+     */
+    public Builder withCompression(boolean compression) {
+      journalBuilder.withCompression(compression);
+      return this;
+    }
+
+    /**
+     * Sets the uncompressed size of the blocks in which log entries are compressed, returning the builder for
+     * method chaining.
+     * <p>
+     * A block size of {@code 0} disables compression.
+     *
+     * @param compressionBlockSize the compression block size in bytes
+     * @return the log builder
+     * @throws IllegalArgumentException if the block size is negative
+     */
+    public Builder withCompressionBlockSize(int compressionBlockSize) {
+      journalBuilder.withCompressionBlockSize(compressionBlockSize);
+      return this;
+    }
+
     /**
      * Enables flushing buffers to disk when entries are committed to a segment, returning the builder
      * for method chaining.
@@ -263,19 +324,60 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
      * for method chaining.
      * <p>
      * When flush-on-commit is enabled, log entry buffers will be automatically flushed to disk each time
-     * an entry is committed in a given segment.
+     * an entry is committed in a given segment. Enabling flush-on-commit is equivalent to using the
+     * {@link FlushMode#IMMEDIATE} flush mode, and disabling it is equivalent to the {@link FlushMode#OS} flush mode.
      *
      * @param flushOnCommit Whether to flush buffers to disk when entries are committed to a segment.
      * @return The storage builder.
      */
     public Builder withFlushOnCommit(boolean flushOnCommit) {
-      this.flushOnCommit = flushOnCommit;
+      return withFlushMode(flushOnCommit ? FlushMode.IMMEDIATE : FlushMode.OS);
+    }
+
+    /**
+     * Sets the mode in which log entries are flushed to disk, returning the builder for method chaining.
+     * <p>
+     * Entries are flushed to disk on a dedicated thread. Append responses and commits are delayed until the
+     * entries they cover have been flushed. In {@link FlushMode#IMMEDIATE} mode, entries are flushed as soon as
+     * they're appended or committed. In {@link FlushMode#PERIODIC} mode, entries are flushed at a fixed interval
+     * or after a number of bytes have been written. In {@link FlushMode#OS} mode, flushing is left to the operating
+     * system.
+     *
+     * @param flushMode The log flush mode.
+     * @return The log builder.
+     */
+    public Builder withFlushMode(FlushMode flushMode) {
+      journalBuilder.withFlushMode(flushMode);
+      return this;
+    }
+
+    /**
+     * Sets the interval at which log entries are flushed to disk in {@link FlushMode#PERIODIC} mode, returning
+     * the builder for method chaining.
+     *
+     * @param flushInterval The log flush interval.
+     * @return The log builder.
+     */
+    public Builder withFlushInterval(Duration flushInterval) {
+      journalBuilder.withFlushInterval(flushInterval);
+      return this;
+    }
+
+    /**
+     * Sets the number of bytes after which log entries are flushed to disk in {@link FlushMode#PERIODIC} mode,
+     * returning the builder for method chaining.
+     *
+     * @param flushBytes The number of bytes written between flushes.
+     * @return The log builder.
+     */
+    public Builder withFlushBytes(int flushBytes) {
+      journalBuilder.withFlushBytes(flushBytes);
       return this;
     }
 
     @Override
     public RaftLog build() {
-      return new RaftLog(journalBuilder.build(), flushOnCommit);
+      return new RaftLog(journalBuilder.build());
     }
   }
 }
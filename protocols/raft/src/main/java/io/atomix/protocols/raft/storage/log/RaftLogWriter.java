@@ -19,6 +19,8 @@ import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
 import io.atomix.storage.journal.DelegatingJournalWriter;
 import io.atomix.storage.journal.SegmentedJournalWriter;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Raft log writer.
  */
@@ -41,6 +43,18 @@ public class RaftLogWriter extends DelegatingJournalWriter<RaftLogEntry> {
     writer.reset(index);
   }
 
+  /**
+   * Returns a future to be completed once entries up to the given index have been flushed to disk.
+   * <p>
+   * The flush does not block the calling thread. The returned future may be completed on the log's flusher thread.
+   *
+   * @param index The index up to which to flush entries.
+   * @return A future to be completed with the given index once the index has been flushed to disk.
+   */
+  public CompletableFuture<Long> flush(long index) {
+    return writer.flush(index);
+  }
+
   /**
    * Commits entries up to the given index.
    *
@@ -50,7 +64,7 @@ public class RaftLogWriter extends DelegatingJournalWriter<RaftLogEntry> {
     if (index > log.getCommitIndex()) {
       log.setCommitIndex(index);
       if (log.isFlushOnCommit()) {
-        flush();
+        flush(index);
       }
     }
   }
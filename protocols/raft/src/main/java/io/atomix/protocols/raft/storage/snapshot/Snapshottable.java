@@ -18,6 +18,8 @@ package io.atomix.protocols.raft.storage.snapshot;
 import io.atomix.protocols.raft.service.RaftService;
 import io.atomix.protocols.raft.storage.log.RaftLog;
 
+import java.util.function.Consumer;
+
 /**
  * Support for periodically persisting {@link RaftService} snapshots to disk.
  * <p>
@@ -81,6 +83,22 @@ public interface Snapshottable {
    */
   void snapshot(SnapshotWriter writer);
 
+  /**
+   * Captures a point-in-time view of the state machine state to be written to a snapshot asynchronously.
+   * <p>
+   * This method is called on the state machine thread in place of {@link #snapshot(SnapshotWriter)} when the
+   * server is configured to take asynchronous snapshots. The returned function is called on a background thread
+   * while the state machine continues to apply commands, and must write the state as of the time at which this
+   * method was called in the same format as {@link #snapshot(SnapshotWriter)}. State machines that cannot capture
+   * their state cheaply should return {@code null}, in which case the snapshot is written synchronously.
+   *
+   * @return a function with which to write the captured state to a snapshot, or {@code null} to write the
+   * snapshot synchronously
+   */
+  default Consumer<SnapshotWriter> captureSnapshot() {
+    return null;
+  }
+
   /**
    * Installs a snapshot of the state machine state.
    * <p>
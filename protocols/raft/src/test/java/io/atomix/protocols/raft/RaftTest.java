@@ -20,6 +20,8 @@ import io.atomix.protocols.raft.cluster.RaftClusterEvent;
 import io.atomix.protocols.raft.cluster.RaftMember;
 import io.atomix.protocols.raft.cluster.impl.DefaultRaftMember;
 import io.atomix.protocols.raft.event.EventType;
+import io.atomix.protocols.raft.impl.DefaultRaftServer;
+import io.atomix.protocols.raft.impl.RaftContext;
 import io.atomix.protocols.raft.operation.OperationId;
 import io.atomix.protocols.raft.operation.OperationType;
 import io.atomix.protocols.raft.operation.RaftOperation;
@@ -29,10 +31,13 @@ import io.atomix.protocols.raft.proxy.RaftProxy;
 import io.atomix.protocols.raft.service.AbstractRaftService;
 import io.atomix.protocols.raft.service.Commit;
 import io.atomix.protocols.raft.service.RaftServiceExecutor;
+import io.atomix.protocols.raft.service.ServiceId;
 import io.atomix.protocols.raft.service.ServiceType;
+import io.atomix.protocols.raft.service.impl.DefaultServiceContext;
 import io.atomix.protocols.raft.session.RaftSession;
 import io.atomix.protocols.raft.session.RaftSessionMetadata;
 import io.atomix.protocols.raft.storage.RaftStorage;
+import io.atomix.protocols.raft.storage.log.RaftLogReader;
 import io.atomix.protocols.raft.storage.log.entry.CloseSessionEntry;
 import io.atomix.protocols.raft.storage.log.entry.CommandEntry;
 import io.atomix.protocols.raft.storage.log.entry.ConfigurationEntry;
@@ -68,15 +73,19 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -115,6 +124,9 @@ public class RaftTest extends ConcurrentTestCase {
   protected volatile List<RaftClient> clients = new ArrayList<>();
   protected volatile List<RaftServer> servers = new ArrayList<>();
   protected volatile TestRaftProtocolFactory protocolFactory;
+  protected volatile boolean eventBatching;
+  protected volatile int snapshotChunkSize = 1024 * 32;
+  protected volatile int maxSnapshotChunksInFlight = 1;
 
   /**
    * Tests getting session metadata.
@@ -169,6 +181,76 @@ public class RaftTest extends ConcurrentTestCase {
     testServerJoinLate(RaftMember.Type.PASSIVE, RaftServer.Role.PASSIVE);
   }
 
+  /**
+   * Tests joining a server after many entries have been committed with snapshots streamed in small chunks.
+   */
+  @Test
+  public void testPassiveJoinLateWithStreamingInstall() throws Throwable {
+    snapshotChunkSize = 4;
+    maxSnapshotChunksInFlight = 4;
+
+    createServers(3);
+    RaftClient client = createClient();
+    RaftProxy session = createSession(client);
+    submit(session, 0, 100);
+    await(10000);
+
+    // Wait for the leader to snapshot its services so the snapshots are installed on the joining server.
+    RaftContext leader = getLeaderContext();
+    List<ServiceId> serviceIds = query(leader, context -> context.getServices().copyValues().stream()
+        .map(DefaultServiceContext::serviceId)
+        .collect(Collectors.toList()));
+    awaitCondition(leader, context -> serviceIds.stream()
+        .allMatch(serviceId -> context.getSnapshotStore().getSnapshotById(serviceId) != null));
+
+    RaftServer joiner = createServer(nextMemberId());
+    joiner.listen(members.stream().map(RaftMember::memberId).collect(Collectors.toList())).thenRun(this::resume);
+    await(10000);
+
+    // Wait for the joining server to catch up to the leader's commit index.
+    submit(session, 0, 10);
+    await(10000);
+    long commitIndex = query(leader, RaftContext::getCommitIndex);
+    RaftContext joinerContext = ((DefaultRaftServer) joiner).getContext();
+    awaitCondition(joinerContext, context -> context.getLastApplied() >= commitIndex);
+    for (ServiceId serviceId : serviceIds) {
+      assertNotNull(query(joinerContext, context -> context.getSnapshotStore().getSnapshotById(serviceId)));
+    }
+  }
+
+  /**
+   * Returns the context of the current leader.
+   */
+  private RaftContext getLeaderContext() {
+    return servers.stream()
+        .filter(RaftServer::isLeader)
+        .map(server -> ((DefaultRaftServer) server).getContext())
+        .findFirst()
+        .get();
+  }
+
+  /**
+   * Returns the result of the given function applied to the server context on the server's thread.
+   */
+  private <T> T query(RaftContext context, Function<RaftContext, T> function) throws Exception {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    context.getThreadContext().execute(() -> future.complete(function.apply(context)));
+    return future.get(10, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Waits for the given condition to be met by the server context.
+   */
+  private void awaitCondition(RaftContext context, Predicate<RaftContext> condition) throws Exception {
+    long deadline = System.currentTimeMillis() + 60000;
+    while (!query(context, condition::test)) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new TimeoutException();
+      }
+      Thread.sleep(100);
+    }
+  }
+
   /**
    * Tests joining a server after many entries have been committed.
    */
@@ -600,6 +682,72 @@ public class RaftTest extends ConcurrentTestCase {
     testSubmitQuery(5, ReadConsistency.LINEARIZABLE);
   }
 
+  /**
+   * Tests that linearizable queries are served without appending entries to the log.
+   */
+  @Test
+  public void testLinearizableQueriesDoNotAppendToLog() throws Throwable {
+    createServers(3);
+
+    RaftClient client = createClient();
+    RaftProxy session = createSession(client, ReadConsistency.LINEARIZABLE);
+    session.invoke(WRITE).thenRun(this::resume);
+    await(30000);
+
+    RaftContext leader = getLeaderContext();
+    long lastIndex = query(leader, context -> context.getLogWriter().getLastIndex());
+
+    // Block the followers' threads so the leader cannot confirm its leadership with a heartbeat quorum.
+    CountDownLatch blocked = new CountDownLatch(2);
+    CountDownLatch unblock = new CountDownLatch(1);
+    servers.stream()
+        .filter(server -> !server.isLeader())
+        .map(server -> ((DefaultRaftServer) server).getContext())
+        .forEach(context -> context.getThreadContext().execute(() -> {
+          blocked.countDown();
+          try {
+            unblock.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }));
+    assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+    // The query must wait for the heartbeat quorum, and nothing may be appended to the log while it's in flight.
+    CompletableFuture<Void> future = session.invoke(READ);
+    Thread.sleep(250);
+    assertFalse(future.isDone());
+    assertOnlyKeepAlivesAppended(leader, lastIndex);
+
+    unblock.countDown();
+    future.get(10, TimeUnit.SECONDS);
+    assertOnlyKeepAlivesAppended(leader, lastIndex);
+
+    for (int i = 0; i < 100; i++) {
+      session.invoke(READ).thenRun(this::resume);
+    }
+    await(30000, 100);
+    assertOnlyKeepAlivesAppended(leader, lastIndex);
+  }
+
+  /**
+   * Asserts that only session keep-alive entries have been appended to the given server's log after the given index.
+   * <p>
+   * Session keep-alives may be committed while queries are running, but no other entries may be appended.
+   */
+  private void assertOnlyKeepAlivesAppended(RaftContext server, long lastIndex) throws Exception {
+    List<Class<?>> entryTypes = query(server, context -> {
+      List<Class<?>> types = new ArrayList<>();
+      try (RaftLogReader reader = context.getLog().openReader(lastIndex + 1, RaftLogReader.Mode.ALL)) {
+        while (reader.hasNext()) {
+          types.add(reader.next().type());
+        }
+      }
+      return types;
+    });
+    assertTrue(entryTypes.toString(), entryTypes.stream().allMatch(type -> type == KeepAliveEntry.class));
+  }
+
   /**
    * Tests submitting a query with a configured consistency level.
    */
@@ -876,6 +1024,29 @@ public class RaftTest extends ConcurrentTestCase {
     }
   }
 
+  /**
+   * Tests publishing many concurrent events with event batching enabled.
+   */
+  @Test
+  public void testThreeNodeManyBatchedEvents() throws Throwable {
+    eventBatching = true;
+    createServers(3);
+
+    AtomicLong index = new AtomicLong();
+    RaftClient client = createClient();
+    RaftProxy session = createSession(client);
+    session.<Long>addEventListener(CHANGE_EVENT, clientSerializer::decode, event -> {
+      threadAssertTrue(event > index.getAndSet(event));
+      resume();
+    });
+
+    for (int i = 0; i < 100; i++) {
+      session.invoke(EVENT, clientSerializer::encode, true).thenRun(this::resume);
+    }
+
+    await(30000, 200);
+  }
+
   /**
    * Tests submitting linearizable events.
    */
@@ -1214,6 +1385,9 @@ public class RaftTest extends ConcurrentTestCase {
             .withMaxSegmentSize(1024 * 10)
             .withMaxEntriesPerSegment(10)
             .build())
+        .withEventBatching(eventBatching)
+        .withSnapshotChunkSize(snapshotChunkSize)
+        .withMaxSnapshotChunksInFlight(maxSnapshotChunksInFlight)
         .addService("test", TestStateMachine::new);
 
     RaftServer server = builder.build();
@@ -1297,6 +1471,9 @@ public class RaftTest extends ConcurrentTestCase {
     clients = new ArrayList<>();
     servers = new ArrayList<>();
     protocolFactory = new TestRaftProtocolFactory();
+    eventBatching = false;
+    snapshotChunkSize = 1024 * 32;
+    maxSnapshotChunksInFlight = 1;
   }
 
   private static final OperationId WRITE = OperationId.command("write");
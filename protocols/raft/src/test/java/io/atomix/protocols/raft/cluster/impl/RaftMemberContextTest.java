@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.cluster.impl;
+
+import io.atomix.protocols.raft.cluster.MemberId;
+import io.atomix.protocols.raft.cluster.RaftMember;
+import org.junit.Test;
+
+import java.time.Instant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Raft member context test.
+ */
+public class RaftMemberContextTest {
+  private static final int BYTES = 1024;
+
+  private RaftMemberContext createMember() {
+    return new RaftMemberContext(new DefaultRaftMember(MemberId.from("1"), RaftMember.Type.ACTIVE, Instant.now()), null);
+  }
+
+  @Test
+  public void testAppendWindowIncrease() throws Exception {
+    RaftMemberContext member = createMember();
+    int window = member.getAppendWindow();
+
+    member.startAppend(BYTES);
+    assertEquals(BYTES, member.getAppendingBytes());
+    member.completeAppend(10, BYTES);
+    assertEquals(0, member.getAppendingBytes());
+    assertTrue(member.getAppendWindow() > window);
+
+    // Appends with stable latency keep growing the window.
+    int grownWindow = member.getAppendWindow();
+    member.startAppend(BYTES);
+    member.completeAppend(10, BYTES);
+    assertTrue(member.getAppendWindow() > grownWindow);
+  }
+
+  @Test
+  public void testAppendWindowDecreaseOnLatency() throws Exception {
+    RaftMemberContext member = createMember();
+    for (int i = 0; i < 4; i++) {
+      member.startAppend(BYTES);
+      member.completeAppend(10, BYTES);
+    }
+    int window = member.getAppendWindow();
+
+    member.startAppend(BYTES);
+    member.completeAppend(1000, BYTES);
+    assertEquals(window / 2, member.getAppendWindow());
+  }
+
+  @Test
+  public void testAppendWindowDecreaseOnFailure() throws Exception {
+    RaftMemberContext member = createMember();
+    int minWindow = member.getAppendWindow();
+    for (int i = 0; i < 4; i++) {
+      member.startAppend(BYTES);
+      member.completeAppend(10, BYTES);
+    }
+    int window = member.getAppendWindow();
+
+    member.startAppend(BYTES);
+    member.failAppend(BYTES);
+    assertEquals(0, member.getAppendingBytes());
+    assertEquals(window / 2, member.getAppendWindow());
+
+    // The window never shrinks below the minimum.
+    for (int i = 0; i < 8; i++) {
+      member.startAppend(BYTES);
+      member.failAppend(BYTES);
+    }
+    assertEquals(minWindow, member.getAppendWindow());
+  }
+
+  @Test
+  public void testStaleAppendFailure() throws Exception {
+    RaftMemberContext member = createMember();
+    long first = member.startAppend(BYTES);
+    long second = member.startAppend(BYTES);
+    long third = member.startAppend(BYTES);
+    assertFalse(member.isStaleAppendFailure(first));
+
+    // A failure of a request sent before a successful request is stale.
+    member.succeedAppend(second);
+    assertTrue(member.isStaleAppendFailure(first));
+    assertFalse(member.isStaleAppendFailure(third));
+
+    // Failures of requests sent before the next index was reset are stale.
+    member.resetAppend();
+    assertTrue(member.isStaleAppendFailure(third));
+
+    // A failure of a request sent after the reset is honored, even if the follower's log has shrunk.
+    long fourth = member.startAppend(BYTES);
+    assertFalse(member.isStaleAppendFailure(fourth));
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.roles;
+
+import io.atomix.protocols.raft.operation.OperationId;
+import io.atomix.protocols.raft.operation.RaftOperation;
+import io.atomix.protocols.raft.protocol.CommandRequest;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Command batch test.
+ */
+public class CommandBatchTest {
+  private final Queue<Runnable> tasks = new ArrayDeque<>();
+  private final List<List<Long>> batches = new ArrayList<>();
+
+  private CommandBatch createBatch(int maxSize, int maxBytes) {
+    return new CommandBatch(maxSize, maxBytes, tasks::add, commands -> batches.add(commands.stream()
+        .map(command -> command.request().sequenceNumber())
+        .collect(Collectors.toList())));
+  }
+
+  private void add(CommandBatch batch, long sequence, int bytes) {
+    batch.add(CommandRequest.builder()
+        .withSession(1)
+        .withSequence(sequence)
+        .withOperation(new RaftOperation(OperationId.command("test"), new byte[bytes]))
+        .build(), new CompletableFuture<>());
+  }
+
+  /**
+   * Runs the tasks queued on the server thread, completing the current tick.
+   */
+  private void tick() {
+    Runnable task;
+    while ((task = tasks.poll()) != null) {
+      task.run();
+    }
+  }
+
+  @Test
+  public void testFlushAtEndOfTick() throws Exception {
+    CommandBatch batch = createBatch(100, 1024);
+    add(batch, 1, 1);
+    add(batch, 2, 1);
+    add(batch, 3, 1);
+    assertTrue(batches.isEmpty());
+    assertEquals(1, tasks.size());
+
+    tick();
+    assertEquals(1, batches.size());
+    assertEquals(Arrays.asList(1L, 2L, 3L), batches.get(0));
+  }
+
+  @Test
+  public void testFlushAtMaxSize() throws Exception {
+    CommandBatch batch = createBatch(2, 1024);
+    add(batch, 1, 1);
+    add(batch, 2, 1);
+    assertEquals(1, batches.size());
+    assertEquals(Arrays.asList(1L, 2L), batches.get(0));
+
+    add(batch, 3, 1);
+    tick();
+    assertEquals(2, batches.size());
+    assertEquals(Arrays.asList(3L), batches.get(1));
+  }
+
+  @Test
+  public void testFlushAtMaxBytes() throws Exception {
+    CommandBatch batch = createBatch(100, 10);
+    add(batch, 1, 6);
+    assertTrue(batches.isEmpty());
+    add(batch, 2, 6);
+    assertEquals(1, batches.size());
+    assertEquals(Arrays.asList(1L, 2L), batches.get(0));
+
+    // The byte count is reset once the batch is flushed.
+    add(batch, 3, 6);
+    assertEquals(1, batches.size());
+    tick();
+    assertEquals(2, batches.size());
+  }
+
+  @Test
+  public void testDrain() throws Exception {
+    CommandBatch batch = createBatch(100, 1024);
+    add(batch, 1, 1);
+    add(batch, 2, 1);
+    assertEquals(2, batch.drain().size());
+
+    tick();
+    assertTrue(batches.isEmpty());
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.service.impl;
+
+import io.atomix.protocols.raft.impl.RaftContext;
+import io.atomix.protocols.raft.service.AbstractRaftService;
+import io.atomix.protocols.raft.service.RaftServiceExecutor;
+import io.atomix.protocols.raft.service.ServiceId;
+import io.atomix.protocols.raft.service.ServiceType;
+import io.atomix.protocols.raft.session.impl.RaftSessionRegistry;
+import io.atomix.protocols.raft.storage.RaftStorage;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotStore;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotWriter;
+import io.atomix.storage.StorageLevel;
+import io.atomix.utils.concurrent.Scheduled;
+import io.atomix.utils.concurrent.ThreadContext;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Default service context test.
+ */
+public class DefaultServiceContextTest {
+  private static final ServiceId SERVICE_ID = ServiceId.from(1);
+
+  private final TestContext serviceContext = new TestContext(true);
+  private final TestContext snapshotContext = new TestContext(false);
+  private SnapshotStore snapshotStore;
+
+  private DefaultServiceContext createContext(TestService service, boolean asyncSnapshots) {
+    snapshotStore = new SnapshotStore(RaftStorage.builder()
+        .withPrefix("test")
+        .withStorageLevel(StorageLevel.MEMORY)
+        .build());
+
+    RaftContext raft = mock(RaftContext.class);
+    when(raft.getSessions()).thenReturn(new RaftSessionRegistry());
+    when(raft.getSnapshotStore()).thenReturn(snapshotStore);
+    when(raft.isAsyncSnapshots()).thenReturn(asyncSnapshots);
+
+    TestContext[] contexts = new TestContext[]{serviceContext, snapshotContext};
+    int[] created = new int[1];
+    DefaultServiceContext context = new DefaultServiceContext(
+        SERVICE_ID, "test", ServiceType.from("test"), service, raft, () -> contexts[created[0]++]);
+    context.keepAliveSessions(1, System.currentTimeMillis());
+    return context;
+  }
+
+  /**
+   * Completes the snapshot at the given index and returns the value written by the service.
+   */
+  private long readSnapshot(DefaultServiceContext context, long index) {
+    context.completeSnapshot(index);
+    try (SnapshotReader reader = snapshotStore.getSnapshotById(SERVICE_ID).openReader()) {
+      assertEquals(SERVICE_ID.id().longValue(), reader.readLong());
+      assertEquals("test", reader.readString());
+      assertEquals("test", reader.readString());
+      assertEquals(0, reader.readInt());
+      return reader.readLong();
+    }
+  }
+
+  @Test
+  public void testAsyncSnapshot() throws Exception {
+    TestService service = new TestService(true);
+    DefaultServiceContext context = createContext(service, true);
+
+    service.value = 1;
+    CompletableFuture<Long> future = context.takeSnapshot(1);
+    assertTrue(service.captured);
+    assertFalse(service.snapshotted);
+    assertFalse(future.isDone());
+
+    // The state machine continues to change state while the captured state is written on the snapshot thread.
+    service.value = 2;
+    snapshotContext.run();
+    assertEquals(1, future.join().longValue());
+    assertEquals(1, readSnapshot(context, 1));
+  }
+
+  @Test
+  public void testSyncSnapshotWhenAsyncSnapshotsDisabled() throws Exception {
+    TestService service = new TestService(true);
+    DefaultServiceContext context = createContext(service, false);
+
+    service.value = 1;
+    CompletableFuture<Long> future = context.takeSnapshot(1);
+    assertFalse(service.captured);
+    assertTrue(service.snapshotted);
+
+    snapshotContext.run();
+    assertEquals(1, future.join().longValue());
+    assertEquals(1, readSnapshot(context, 1));
+  }
+
+  @Test
+  public void testSyncSnapshotWhenCaptureUnsupported() throws Exception {
+    TestService service = new TestService(false);
+    DefaultServiceContext context = createContext(service, true);
+
+    service.value = 1;
+    CompletableFuture<Long> future = context.takeSnapshot(1);
+    assertTrue(service.captured);
+    assertTrue(service.snapshotted);
+
+    service.value = 2;
+    snapshotContext.run();
+    assertEquals(1, future.join().longValue());
+    assertEquals(1, readSnapshot(context, 1));
+  }
+
+  /**
+   * Test service that snapshots a single value.
+   */
+  private static class TestService extends AbstractRaftService {
+    private final boolean captureSupported;
+    private long value;
+    private boolean captured;
+    private boolean snapshotted;
+
+    TestService(boolean captureSupported) {
+      this.captureSupported = captureSupported;
+    }
+
+    @Override
+    protected void configure(RaftServiceExecutor executor) {
+    }
+
+    @Override
+    public void snapshot(SnapshotWriter writer) {
+      snapshotted = true;
+      writer.writeLong(value);
+    }
+
+    @Override
+    public Consumer<SnapshotWriter> captureSnapshot() {
+      captured = true;
+      if (!captureSupported) {
+        return null;
+      }
+      long capturedValue = value;
+      return writer -> writer.writeLong(capturedValue);
+    }
+
+    @Override
+    public void install(SnapshotReader reader) {
+      value = reader.readLong();
+    }
+  }
+
+  /**
+   * Test thread context that either runs tasks immediately or queues them until they're explicitly run.
+   */
+  private static class TestContext implements ThreadContext {
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final boolean direct;
+
+    TestContext(boolean direct) {
+      this.direct = direct;
+    }
+
+    /**
+     * Runs all queued tasks.
+     */
+    void run() {
+      Runnable task;
+      while ((task = tasks.poll()) != null) {
+        task.run();
+      }
+    }
+
+    @Override
+    public Scheduled schedule(Duration delay, Runnable callback) {
+      return mock(Scheduled.class);
+    }
+
+    @Override
+    public Scheduled schedule(Duration initialDelay, Duration interval, Runnable callback) {
+      return mock(Scheduled.class);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      tasks.add(command);
+      if (direct) {
+        run();
+      }
+    }
+  }
+}
@@ -17,6 +17,7 @@ package io.atomix.protocols.raft.session.impl;
 
 import io.atomix.protocols.raft.ReadConsistency;
 import io.atomix.protocols.raft.cluster.MemberId;
+import io.atomix.protocols.raft.impl.OperationResult;
 import io.atomix.protocols.raft.impl.RaftContext;
 import io.atomix.protocols.raft.protocol.RaftServerProtocol;
 import io.atomix.protocols.raft.service.ServiceId;
@@ -32,6 +33,7 @@ import org.junit.Test;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -102,7 +104,53 @@ public class RaftSessionRegistryTest {
     assertFalse(listener.eventReceived());
   }
 
+  @Test
+  public void testSessionResults() throws Exception {
+    RaftSessionRegistry sessionManager = new RaftSessionRegistry();
+    RaftSessionContext session = createSession(1, true);
+    sessionManager.registerSession(session);
+
+    session.registerResult(1, OperationResult.succeeded(10, 9, "foo".getBytes()));
+    session.registerResult(2, OperationResult.failed(11, 9, new IllegalStateException()));
+    session.registerResult(3, OperationResult.noop(12, 9));
+
+    OperationResult result = session.getResult(1);
+    assertEquals(10, result.index());
+    assertEquals(9, result.eventIndex());
+    assertArrayEquals("foo".getBytes(), result.result());
+    assertTrue(session.getResult(2).failed());
+    assertNull(session.getResult(3).result());
+
+    session.clearResults(1);
+    assertNull(session.getResult(1));
+    assertNotNull(session.getResult(2));
+
+    sessionManager.closeSession(session.sessionId());
+    assertNull(session.getResult(2));
+    assertNull(session.getResult(3));
+  }
+
+  @Test
+  public void testCloseReleasesResults() throws Exception {
+    RaftSessionRegistry sessionManager = new RaftSessionRegistry();
+    RaftSessionContext session = createSession(1, true);
+    sessionManager.registerSession(session);
+    session.registerResult(1, OperationResult.succeeded(10, 9, "foo".getBytes()));
+
+    sessionManager.close();
+    assertNull(sessionManager.getSession(1));
+    assertNull(session.getResult(1));
+
+    // Results registered by a service thread after the registry is closed are not retained.
+    session.registerResult(2, OperationResult.succeeded(11, 9, "bar".getBytes()));
+    assertNull(session.getResult(2));
+  }
+
   private RaftSessionContext createSession(long sessionId) {
+    return createSession(sessionId, false);
+  }
+
+  private RaftSessionContext createSession(long sessionId, boolean offHeapResults) {
     DefaultServiceContext context = mock(DefaultServiceContext.class);
     when(context.serviceType()).thenReturn(ServiceType.from("test"));
     when(context.serviceName()).thenReturn("test");
@@ -111,6 +159,7 @@ public class RaftSessionRegistryTest {
 
     RaftContext server = mock(RaftContext.class);
     when(server.getProtocol()).thenReturn(mock(RaftServerProtocol.class));
+    when(server.isOffHeapResults()).thenReturn(offHeapResults);
 
     return new RaftSessionContext(
         SessionId.from(sessionId),
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.session.impl;
+
+import io.atomix.protocols.raft.impl.OperationResult;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Raft session results test.
+ */
+public class RaftSessionResultsTest {
+
+  @Test
+  public void testHeapResults() throws Exception {
+    testResults(new RaftSessionResults(false));
+  }
+
+  @Test
+  public void testOffHeapResults() throws Exception {
+    testResults(new RaftSessionResults(true));
+  }
+
+  private void testResults(RaftSessionResults results) {
+    results.put(1, OperationResult.succeeded(10, 9, "foo".getBytes()));
+    results.put(2, OperationResult.failed(11, 9, new IllegalStateException()));
+    results.put(3, OperationResult.noop(12, 9));
+    results.put(4, OperationResult.succeeded(13, 12, null));
+
+    OperationResult result = results.get(1);
+    assertTrue(result.succeeded());
+    assertEquals(10, result.index());
+    assertEquals(9, result.eventIndex());
+    assertArrayEquals("foo".getBytes(), result.result());
+    assertTrue(results.get(2).failed());
+    assertEquals(11, results.get(2).index());
+    assertNull(results.get(3).result());
+    assertEquals(13, results.get(4).index());
+    assertNull(results.get(4).result());
+
+    // Replacing a result releases the previous result.
+    results.put(1, OperationResult.succeeded(14, 12, "bar".getBytes()));
+    assertArrayEquals("bar".getBytes(), results.get(1).result());
+    assertEquals(14, results.get(1).index());
+
+    results.remove(1);
+    assertNull(results.get(1));
+
+    results.clear();
+    assertNull(results.get(2));
+    results.put(5, OperationResult.succeeded(15, 12, "baz".getBytes()));
+    assertArrayEquals("baz".getBytes(), results.get(5).result());
+
+    // Once closed, results are no longer stored.
+    results.close();
+    assertNull(results.get(5));
+    results.put(6, OperationResult.succeeded(16, 12, "qux".getBytes()));
+    assertNull(results.get(6));
+  }
+}
@@ -25,6 +25,7 @@ import io.atomix.rest.resources.ClusterResource;
 import io.atomix.rest.resources.EventsResource;
 import io.atomix.rest.resources.MessagesResource;
 import io.atomix.rest.resources.PrimitivesResource;
+import io.atomix.rest.utils.EventLog;
 import io.atomix.rest.utils.EventManager;
 import io.atomix.rest.utils.PrimitiveCache;
 import io.vertx.core.Vertx;
@@ -54,7 +55,7 @@ public class VertxRestService implements ManagedRestService {
   private final ClusterEventService eventService;
   private final PrimitiveService primitiveService;
   private final PrimitiveCache primitiveCache;
-  private final EventManager eventManager = new EventManager();
+  private final EventManager eventManager;
   private HttpServer server;
   private VertxResteasyDeployment deployment;
   private final AtomicBoolean open = new AtomicBoolean();
@@ -66,6 +67,19 @@ public class VertxRestService implements ManagedRestService {
       ClusterCommunicationService communicationService,
       ClusterEventService eventService,
       PrimitiveService primitiveService) {
+    this(host, port, clusterService, communicationService, eventService, primitiveService,
+        EventLog.DEFAULT_CAPACITY, EventLog.DEFAULT_OVERFLOW_POLICY);
+  }
+
+  public VertxRestService(
+      String host,
+      int port,
+      ClusterService clusterService,
+      ClusterCommunicationService communicationService,
+      ClusterEventService eventService,
+      PrimitiveService primitiveService,
+      int eventBufferSize,
+      EventLog.OverflowPolicy eventOverflowPolicy) {
     this.host = host;
     this.port = port;
     this.vertx = Vertx.vertx();
@@ -74,6 +88,7 @@ public class VertxRestService implements ManagedRestService {
     this.eventService = checkNotNull(eventService);
     this.primitiveService = checkNotNull(primitiveService);
     this.primitiveCache = new PrimitiveCache(primitiveService, PRIMITIVE_CACHE_SIZE);
+    this.eventManager = new EventManager(eventBufferSize, eventOverflowPolicy);
   }
 
   @Override
@@ -88,6 +103,7 @@ public class VertxRestService implements ManagedRestService {
     deployment.getDispatcher().getDefaultContextObjects().put(PrimitiveService.class, primitiveService);
     deployment.getDispatcher().getDefaultContextObjects().put(PrimitiveCache.class, primitiveCache);
     deployment.getDispatcher().getDefaultContextObjects().put(EventManager.class, eventManager);
+    deployment.getDispatcher().getDefaultContextObjects().put(Vertx.class, vertx);
 
     deployment.getRegistry().addPerInstanceResource(ClusterResource.class);
     deployment.getRegistry().addPerInstanceResource(EventsResource.class);
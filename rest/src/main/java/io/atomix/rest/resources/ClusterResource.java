@@ -23,6 +23,10 @@ import io.atomix.cluster.Node;
 import io.atomix.cluster.NodeId;
 import io.atomix.rest.utils.EventLog;
 import io.atomix.rest.utils.EventManager;
+import io.atomix.rest.utils.EventStream;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.Json;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -92,6 +96,17 @@ public class ClusterResource extends AbstractRestResource {
     });
   }
 
+  @GET
+  @Path("/events")
+  @Produces(EventStream.PRODUCES)
+  public void streamEvents(@Context ClusterService clusterService, @Context EventManager events, @Context Vertx vertx, @Context HttpServerResponse httpResponse, @Suspended AsyncResponse response) {
+    EventLog<ClusterEventListener, ClusterEvent> eventLog = events.getOrCreateEventLog(ClusterResource.class, "", l -> e -> l.addEvent(e));
+    if (eventLog.open()) {
+      clusterService.addListener(eventLog.listener());
+    }
+    EventStream.open(eventLog, ClusterResource::encodeEvent, vertx, httpResponse, response);
+  }
+
   @POST
   @Path("/events")
   @Produces(MediaType.APPLICATION_JSON)
@@ -124,6 +139,18 @@ public class ClusterResource extends AbstractRestResource {
     });
   }
 
+  @GET
+  @Path("/events/{id}")
+  @Produces(EventStream.PRODUCES)
+  public void streamEvents(@PathParam("id") String listenerId, @Context EventManager events, @Context Vertx vertx, @Context HttpServerResponse httpResponse, @Suspended AsyncResponse response) {
+    EventLog<ClusterEventListener, ClusterEvent> eventLog = events.getEventLog(ClusterResource.class, listenerId);
+    if (eventLog == null) {
+      response.resume(Response.status(Status.NOT_FOUND).build());
+      return;
+    }
+    EventStream.open(eventLog, ClusterResource::encodeEvent, vertx, httpResponse, response);
+  }
+
   @DELETE
   @Path("/events/{id}")
   public void removeListener(@PathParam("id") String listenerId, @Context ClusterService clusterService, @Context EventManager events) {
@@ -156,6 +183,21 @@ public class ClusterResource extends AbstractRestResource {
     });
   }
 
+  @GET
+  @Path("/nodes/{node}/events")
+  @Produces(EventStream.PRODUCES)
+  public void streamNodeEvents(@PathParam("node") String nodeId, @Context ClusterService clusterService, @Context EventManager events, @Context Vertx vertx, @Context HttpServerResponse httpResponse, @Suspended AsyncResponse response) {
+    EventLog<ClusterEventListener, ClusterEvent> eventLog = events.getOrCreateEventLog(ClusterResource.class, nodeId, l -> e -> {
+      if (e.subject().id().id().equals(nodeId)) {
+        l.addEvent(e);
+      }
+    });
+    if (eventLog.open()) {
+      clusterService.addListener(eventLog.listener());
+    }
+    EventStream.open(eventLog, ClusterResource::encodeEvent, vertx, httpResponse, response);
+  }
+
   @POST
   @Path("/nodes/{node}/events")
   @Produces(MediaType.APPLICATION_JSON)
@@ -192,6 +234,18 @@ public class ClusterResource extends AbstractRestResource {
     });
   }
 
+  @GET
+  @Path("/nodes/{node}/events/{id}")
+  @Produces(EventStream.PRODUCES)
+  public void streamNodeEvents(@PathParam("node") String nodeId, @PathParam("id") String listenerId, @Context EventManager events, @Context Vertx vertx, @Context HttpServerResponse httpResponse, @Suspended AsyncResponse response) {
+    EventLog<ClusterEventListener, ClusterEvent> eventLog = events.getEventLog(ClusterResource.class, getNodeListener(nodeId, listenerId));
+    if (eventLog == null) {
+      response.resume(Response.status(Status.NOT_FOUND).build());
+      return;
+    }
+    EventStream.open(eventLog, ClusterResource::encodeEvent, vertx, httpResponse, response);
+  }
+
   @DELETE
   @Path("/nodes/{node}/events/{id}")
   public void removeNodeListener(@PathParam("node") String nodeId, @PathParam("id") String listenerId, @Context ClusterService clusterService, @Context EventManager events) {
@@ -205,6 +259,13 @@ public class ClusterResource extends AbstractRestResource {
     return String.format("%s-%s", nodeId, id);
   }
 
+  /**
+   * Encodes a cluster event as a node event.
+   */
+  private static String encodeEvent(ClusterEvent event) {
+    return Json.encode(new NodeEvent(event.subject().id(), event.type()));
+  }
+
   /**
    * Node information.
    */
@@ -21,6 +21,10 @@ import io.atomix.primitives.leadership.LeadershipEvent;
 import io.atomix.primitives.leadership.LeadershipEventListener;
 import io.atomix.rest.utils.EventLog;
 import io.atomix.rest.utils.EventManager;
+import io.atomix.rest.utils.EventStream;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.Json;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -97,12 +101,26 @@ public class LeaderElectorResource {
 
   @GET
   @Path("/{id}")
+  @Produces(MediaType.APPLICATION_JSON)
   public void listen(@PathParam("id") String id, @Context EventManager events, @Suspended AsyncResponse response) {
     EventLog<LeadershipEventListener<String>, LeadershipEvent<String>> eventLog = events.getEventLog(
         AsyncLeaderElector.class, getEventLogName(id));
     consumeNextEvent(eventLog, id, response);
   }
 
+  @GET
+  @Path("/{id}")
+  @Produces(EventStream.PRODUCES)
+  public void stream(@PathParam("id") String id, @Context EventManager events, @Context Vertx vertx, @Context HttpServerResponse httpResponse, @Suspended AsyncResponse response) {
+    EventLog<LeadershipEventListener<String>, LeadershipEvent<String>> eventLog = events.getEventLog(
+        AsyncLeaderElector.class, getEventLogName(id));
+    if (eventLog == null) {
+      response.resume(Response.status(Status.NOT_FOUND).build());
+      return;
+    }
+    EventStream.open(eventLog, event -> Json.encode(new LeadershipResponse(event.newLeadership())), vertx, httpResponse, response);
+  }
+
   /**
    * Recursively consumes events from the given event log until the next event for the given ID is located.
    */
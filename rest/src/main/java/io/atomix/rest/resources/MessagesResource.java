@@ -21,6 +21,9 @@ import io.atomix.cluster.messaging.ClusterCommunicationService;
 import io.atomix.cluster.messaging.MessageSubject;
 import io.atomix.rest.utils.EventLog;
 import io.atomix.rest.utils.EventManager;
+import io.atomix.rest.utils.EventStream;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +43,7 @@ import javax.ws.rs.core.Response.Status;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -108,6 +112,21 @@ public class MessagesResource {
     });
   }
 
+  @GET
+  @Path("/{subject}")
+  @Produces(EventStream.PRODUCES)
+  public void stream(@PathParam("subject") String subject, @Context ClusterCommunicationService communicationService, @Context EventManager events, @Context Vertx vertx, @Context HttpServerResponse httpResponse, @Suspended AsyncResponse response) {
+    EventLog<Consumer<String>, String> eventLog = events.getOrCreateEventLog(
+        ClusterCommunicationService.class, subject, l -> e -> l.addEvent(e));
+    CompletableFuture<Void> openFuture;
+    if (eventLog.open()) {
+      openFuture = communicationService.addSubscriber(new MessageSubject(subject), eventLog.listener(), MoreExecutors.directExecutor());
+    } else {
+      openFuture = CompletableFuture.completedFuture(null);
+    }
+    EventStream.open(openFuture, eventLog, Function.identity(), vertx, httpResponse, response);
+  }
+
   @DELETE
   @Path("/{subject}")
   public Response delete(@PathParam("subject") String subject, @Context ClusterCommunicationService communicationService, @Context EventManager events) {
@@ -168,6 +187,19 @@ public class MessagesResource {
     });
   }
 
+  @GET
+  @Path("/{subject}/subscribers/{id}")
+  @Produces(EventStream.PRODUCES)
+  public void streamSession(@PathParam("subject") String subject, @PathParam("id") String id, @Context EventManager events, @Context Vertx vertx, @Context HttpServerResponse httpResponse, @Suspended AsyncResponse response) {
+    EventLog<Consumer<String>, String> eventLog = events.getEventLog(ClusterCommunicationService.class, getEventLogName(subject, id));
+    if (eventLog == null) {
+      LOGGER.warn("Unknown subscriber {}", id);
+      response.resume(Response.status(Status.NOT_FOUND).build());
+      return;
+    }
+    EventStream.open(eventLog, Function.identity(), vertx, httpResponse, response);
+  }
+
   @DELETE
   @Path("/{subject}/subscribers/{id}")
   public Response unsubscribe(@PathParam("subject") String subject, @PathParam("id") String id, @Context ClusterCommunicationService communicationService, @Context EventManager events) {
@@ -15,22 +15,64 @@
  */
 package io.atomix.rest.utils;
 
+import io.atomix.utils.concurrent.Futures;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * Session registry.
+ * <p>
+ * Events are buffered in a bounded queue until consumed. Once the buffer is full, the log's {@link OverflowPolicy}
+ * determines whether the oldest event is dropped or the consumer is disconnected.
  */
 public class EventLog<L, E> {
+  public static final int DEFAULT_CAPACITY = 100;
+  public static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.DROP_OLDEST;
+
+  /**
+   * Event buffer overflow policy.
+   */
+  public enum OverflowPolicy {
+
+    /**
+     * Drops the oldest buffered event to make room for a new event.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Discards all buffered events and fails the next attempt to consume events from the log.
+     */
+    DISCONNECT,
+  }
+
   private final L listener;
+  private final int capacity;
+  private final OverflowPolicy overflowPolicy;
   private final AtomicBoolean open = new AtomicBoolean();
-  private final Queue<E> events = new ConcurrentLinkedQueue<>();
-  private final Queue<CompletableFuture<E>> futures = new ConcurrentLinkedQueue<>();
+  private final Deque<E> events = new ArrayDeque<>();
+  private final Queue<CompletableFuture<List<E>>> futures = new ArrayDeque<>();
+  private long droppedEvents;
+  private boolean overflowed;
 
   public EventLog(Function<EventLog<L, E>, L> listenerFactory) {
+    this(listenerFactory, DEFAULT_CAPACITY, DEFAULT_OVERFLOW_POLICY);
+  }
+
+  public EventLog(Function<EventLog<L, E>, L> listenerFactory, int capacity, OverflowPolicy overflowPolicy) {
+    checkArgument(capacity > 0, "capacity must be positive");
+    this.capacity = capacity;
+    this.overflowPolicy = checkNotNull(overflowPolicy, "overflowPolicy cannot be null");
     this.listener = listenerFactory.apply(this);
   }
 
@@ -52,20 +94,52 @@ public class EventLog<L, E> {
     return listener;
   }
 
+  /**
+   * Returns the total number of events dropped due to buffer overflows.
+   *
+   * @return the total number of events dropped due to buffer overflows
+   */
+  public synchronized long droppedEvents() {
+    return droppedEvents;
+  }
+
   /**
    * Completes the given response with the next event.
    *
    * @return a future to be completed with the next event
    */
   public CompletableFuture<E> nextEvent() {
-    E event = events.poll();
-    if (event != null) {
-      return CompletableFuture.completedFuture(event);
-    } else {
-      CompletableFuture<E> future = new CompletableFuture<>();
-      futures.add(future);
-      return future;
+    return nextEvents(1).thenApply(events -> events.get(0));
+  }
+
+  /**
+   * Returns a future to be completed with a batch of events.
+   * <p>
+   * If events are buffered, the future is completed immediately with up to {@code maxEvents} buffered events.
+   * Otherwise, the future will be completed with the next event added to the log. Futures that are cancelled
+   * before an event arrives are skipped.
+   *
+   * @param maxEvents the maximum number of events to return
+   * @return a future to be completed with one or more events
+   */
+  public synchronized CompletableFuture<List<E>> nextEvents(int maxEvents) {
+    checkArgument(maxEvents > 0, "maxEvents must be positive");
+    if (overflowed) {
+      overflowed = false;
+      return Futures.exceptionalFuture(new IllegalStateException("Event buffer overflow"));
     }
+
+    if (!events.isEmpty()) {
+      List<E> batch = new ArrayList<>(Math.min(maxEvents, events.size()));
+      while (batch.size() < maxEvents && !events.isEmpty()) {
+        batch.add(events.poll());
+      }
+      return CompletableFuture.completedFuture(batch);
+    }
+
+    CompletableFuture<List<E>> future = new CompletableFuture<>();
+    futures.add(future);
+    return future;
   }
 
   /**
@@ -74,15 +148,44 @@ public class EventLog<L, E> {
    * @param event the event to add
    */
   public void addEvent(E event) {
-    CompletableFuture<E> future = futures.poll();
-    if (future != null) {
-      future.complete(event);
-    } else {
-      events.add(event);
-      if (events.size() > 100) {
-        events.remove();
+    List<E> batch = Collections.singletonList(event);
+    for (;;) {
+      CompletableFuture<List<E>> future;
+      synchronized (this) {
+        future = futures.poll();
+        if (future == null) {
+          bufferEvent(event);
+          return;
+        }
+      }
+
+      // Complete the future outside the lock. If the consumer has already given up on the future, try the next one.
+      if (future.complete(batch)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Buffers the given event, applying the overflow policy if the buffer is full.
+   */
+  private void bufferEvent(E event) {
+    if (events.size() == capacity) {
+      switch (overflowPolicy) {
+        case DROP_OLDEST:
+          events.poll();
+          droppedEvents++;
+          break;
+        case DISCONNECT:
+          droppedEvents += events.size();
+          events.clear();
+          overflowed = true;
+          break;
+        default:
+          throw new AssertionError();
       }
     }
+    events.add(event);
   }
 
   /**
@@ -90,6 +193,11 @@ public class EventLog<L, E> {
    */
   public boolean close() {
     if (open.compareAndSet(true, false)) {
+      List<CompletableFuture<List<E>>> futures;
+      synchronized (this) {
+        futures = new ArrayList<>(this.futures);
+        this.futures.clear();
+      }
       futures.forEach(future -> future.completeExceptionally(new IllegalStateException("Closed session")));
       return true;
     }
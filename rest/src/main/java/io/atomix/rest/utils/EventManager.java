@@ -20,11 +20,28 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * Rest event manager.
+ * <p>
+ * All event logs created by the manager share the same per-log buffer capacity and {@link EventLog.OverflowPolicy}.
  */
 public class EventManager {
   private final Map<Class<?>, Map<String, EventLog>> eventRegistries = new ConcurrentHashMap<>();
+  private final int eventBufferSize;
+  private final EventLog.OverflowPolicy overflowPolicy;
+
+  public EventManager() {
+    this(EventLog.DEFAULT_CAPACITY, EventLog.DEFAULT_OVERFLOW_POLICY);
+  }
+
+  public EventManager(int eventBufferSize, EventLog.OverflowPolicy overflowPolicy) {
+    checkArgument(eventBufferSize > 0, "eventBufferSize must be positive");
+    this.eventBufferSize = eventBufferSize;
+    this.overflowPolicy = checkNotNull(overflowPolicy, "overflowPolicy cannot be null");
+  }
 
   /**
    * Returns an event log if it already exists.
@@ -52,7 +69,7 @@ public class EventManager {
   @SuppressWarnings("unchecked")
   public <L, E> EventLog<L, E> getOrCreateEventLog(Class<?> type, String name, Function<EventLog<L, E>, L> listenerFactory) {
     return eventRegistries.computeIfAbsent(type, t -> new ConcurrentHashMap<>())
-        .computeIfAbsent(name, n -> new EventLog<>(listenerFactory));
+        .computeIfAbsent(name, n -> new EventLog<>(listenerFactory, eventBufferSize, overflowPolicy));
   }
 
   /**
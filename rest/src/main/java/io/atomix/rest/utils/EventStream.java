@@ -0,0 +1,200 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.rest.utils;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.Response;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Server-sent event stream for an event log.
+ * <p>
+ * Event resources serve a stream from the same path as their long polling {@code GET} method when the request
+ * accepts {@link #MEDIA_TYPE}. Events that are buffered while a frame is being written are written together in
+ * the next frame, and the next batch is not read from the event log until the connection's write queue has drained,
+ * so slow consumers are bounded by the event log's buffer and {@link EventLog.OverflowPolicy}.
+ * <p>
+ * Stream instances are only accessed on the connection's Vert.x context.
+ */
+public class EventStream<E> {
+  private static final Logger LOGGER = LoggerFactory.getLogger(EventStream.class);
+
+  /**
+   * Server-sent events media type.
+   */
+  public static final String MEDIA_TYPE = "text/event-stream";
+
+  /**
+   * Media type produced by event stream resource methods.
+   * <p>
+   * The stream is ranked below the long polling representation of the same resource so that clients that don't
+   * explicitly accept {@link #MEDIA_TYPE} continue to long poll.
+   */
+  public static final String PRODUCES = MEDIA_TYPE + ";qs=0.5";
+
+  static final int MAX_BATCH_SIZE = 128;
+
+  /**
+   * Streams events from the given event log to the given response.
+   *
+   * @param eventLog the event log from which to stream events
+   * @param encoder the event encoder
+   * @param vertx the Vert.x instance
+   * @param httpResponse the response to which to write events
+   * @param response the suspended JAX-RS response, which is only resumed if the stream cannot be opened
+   * @param <E> the event type
+   */
+  public static <E> void open(
+      EventLog<?, E> eventLog,
+      Function<E, String> encoder,
+      Vertx vertx,
+      HttpServerResponse httpResponse,
+      AsyncResponse response) {
+    open(CompletableFuture.completedFuture(null), eventLog, encoder, vertx, httpResponse, response);
+  }
+
+  /**
+   * Streams events from the given event log to the given response once the given future is complete.
+   * <p>
+   * This method must be called from the request's Vert.x context, to which the stream is bound.
+   *
+   * @param openFuture a future to be completed once the event log's listener has been registered
+   * @param eventLog the event log from which to stream events
+   * @param encoder the event encoder
+   * @param vertx the Vert.x instance
+   * @param httpResponse the response to which to write events
+   * @param response the suspended JAX-RS response, which is only resumed if the stream cannot be opened
+   * @param <E> the event type
+   */
+  public static <E> void open(
+      CompletableFuture<Void> openFuture,
+      EventLog<?, E> eventLog,
+      Function<E, String> encoder,
+      Vertx vertx,
+      HttpServerResponse httpResponse,
+      AsyncResponse response) {
+    Context context = vertx.getOrCreateContext();
+    openFuture.whenComplete((result, error) -> {
+      if (error == null) {
+        context.runOnContext(v -> new EventStream<>(eventLog, encoder, httpResponse, context).open());
+      } else {
+        LOGGER.warn("Failed to open event stream", error);
+        response.resume(Response.serverError().build());
+      }
+    });
+  }
+
+  private final EventLog<?, E> eventLog;
+  private final Function<E, String> encoder;
+  private final HttpServerResponse response;
+  private final Context context;
+  private CompletableFuture<List<E>> nextFuture;
+  private long droppedEvents;
+  private boolean closed;
+
+  EventStream(EventLog<?, E> eventLog, Function<E, String> encoder, HttpServerResponse response, Context context) {
+    this.eventLog = eventLog;
+    this.encoder = encoder;
+    this.response = response;
+    this.context = context;
+  }
+
+  /**
+   * Opens the stream.
+   */
+  void open() {
+    droppedEvents = eventLog.droppedEvents();
+    response.setChunked(true)
+        .putHeader("Content-Type", MEDIA_TYPE)
+        .putHeader("Cache-Control", "no-cache")
+        .closeHandler(v -> close());
+    response.write(":\n\n");
+    next();
+  }
+
+  /**
+   * Reads the next batch of events from the event log.
+   */
+  private void next() {
+    if (closed) {
+      return;
+    }
+    CompletableFuture<List<E>> future = eventLog.nextEvents(MAX_BATCH_SIZE);
+    nextFuture = future;
+    future.whenComplete((events, error) -> {
+      if (!future.isCancelled()) {
+        context.runOnContext(v -> write(events, error));
+      }
+    });
+  }
+
+  /**
+   * Writes a batch of events to the response as a single frame.
+   */
+  private void write(List<E> events, Throwable error) {
+    if (closed) {
+      return;
+    }
+
+    if (error != null) {
+      LOGGER.debug("Closing event stream: {}", error.getMessage());
+      closed = true;
+      response.end();
+      return;
+    }
+
+    StringBuilder frame = new StringBuilder();
+    long droppedEvents = eventLog.droppedEvents();
+    if (droppedEvents > this.droppedEvents) {
+      frame.append("event: dropped\ndata: ").append(droppedEvents - this.droppedEvents).append("\n\n");
+      this.droppedEvents = droppedEvents;
+    }
+    for (E event : events) {
+      for (String line : encoder.apply(event).split("\r\n|\r|\n", -1)) {
+        frame.append("data: ").append(line).append('\n');
+      }
+      frame.append('\n');
+    }
+    response.write(frame.toString());
+
+    if (response.writeQueueFull()) {
+      response.drainHandler(v -> {
+        response.drainHandler(null);
+        next();
+      });
+    } else {
+      next();
+    }
+  }
+
+  /**
+   * Closes the stream, releasing any pending read from the event log.
+   */
+  private void close() {
+    closed = true;
+    if (nextFuture != null) {
+      nextFuture.cancel(false);
+    }
+  }
+}
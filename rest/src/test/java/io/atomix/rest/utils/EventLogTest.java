@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.rest.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Event log test.
+ */
+public class EventLogTest {
+  @Test
+  public void testEventLog() throws Exception {
+    EventLog<Consumer<String>, String> eventLog = new EventLog<>(l -> e -> l.addEvent(e));
+    assertTrue(eventLog.open());
+    assertFalse(eventLog.open());
+
+    CompletableFuture<String> nextEvent = eventLog.nextEvent();
+    assertFalse(nextEvent.isDone());
+
+    eventLog.listener().accept("a");
+    eventLog.listener().accept("b");
+
+    assertTrue(nextEvent.isDone());
+    assertEquals("a", nextEvent.get());
+    assertEquals("b", eventLog.nextEvent().get());
+
+    assertTrue(eventLog.close());
+    assertFalse(eventLog.close());
+  }
+
+  @Test
+  public void testBatchedEvents() throws Exception {
+    EventLog<Consumer<String>, String> eventLog = new EventLog<>(l -> e -> l.addEvent(e));
+
+    CompletableFuture<List<String>> nextEvents = eventLog.nextEvents(2);
+    assertFalse(nextEvents.isDone());
+
+    eventLog.listener().accept("a");
+    assertEquals(Arrays.asList("a"), nextEvents.get());
+
+    eventLog.listener().accept("b");
+    eventLog.listener().accept("c");
+    eventLog.listener().accept("d");
+    assertEquals(Arrays.asList("b", "c"), eventLog.nextEvents(2).get());
+    assertEquals(Arrays.asList("d"), eventLog.nextEvents(2).get());
+  }
+
+  @Test
+  public void testCancelledConsumer() throws Exception {
+    EventLog<Consumer<String>, String> eventLog = new EventLog<>(l -> e -> l.addEvent(e));
+
+    CompletableFuture<List<String>> cancelled = eventLog.nextEvents(1);
+    cancelled.cancel(false);
+    CompletableFuture<List<String>> nextEvents = eventLog.nextEvents(1);
+
+    eventLog.listener().accept("a");
+    assertEquals(Arrays.asList("a"), nextEvents.get());
+  }
+
+  @Test
+  public void testDropOldestOverflow() throws Exception {
+    EventLog<Consumer<String>, String> eventLog = new EventLog<>(l -> e -> l.addEvent(e), 2, EventLog.OverflowPolicy.DROP_OLDEST);
+
+    eventLog.listener().accept("a");
+    eventLog.listener().accept("b");
+    eventLog.listener().accept("c");
+    assertEquals(1, eventLog.droppedEvents());
+    assertEquals(Arrays.asList("b", "c"), eventLog.nextEvents(10).get());
+  }
+
+  @Test
+  public void testDisconnectOverflow() throws Exception {
+    EventLog<Consumer<String>, String> eventLog = new EventLog<>(l -> e -> l.addEvent(e), 2, EventLog.OverflowPolicy.DISCONNECT);
+
+    eventLog.listener().accept("a");
+    eventLog.listener().accept("b");
+    eventLog.listener().accept("c");
+    assertEquals(2, eventLog.droppedEvents());
+
+    try {
+      eventLog.nextEvents(10).join();
+      fail();
+    } catch (Exception e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+    assertEquals(Arrays.asList("c"), eventLog.nextEvents(10).get());
+  }
+}
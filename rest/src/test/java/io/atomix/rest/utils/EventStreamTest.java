@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.rest.utils;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerResponse;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Event stream test.
+ */
+public class EventStreamTest {
+  private final StringBuilder output = new StringBuilder();
+  private HttpServerResponse response;
+  private Context context;
+  private Handler<Void> closeHandler;
+  private Handler<Void> drainHandler;
+  private boolean writeQueueFull;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setupResponse() {
+    response = mock(HttpServerResponse.class);
+    when(response.setChunked(anyBoolean())).thenReturn(response);
+    when(response.putHeader(anyString(), anyString())).thenReturn(response);
+    when(response.closeHandler(any(Handler.class))).thenAnswer(invocation -> {
+      closeHandler = (Handler<Void>) invocation.getArguments()[0];
+      return response;
+    });
+    when(response.drainHandler(any(Handler.class))).thenAnswer(invocation -> {
+      drainHandler = (Handler<Void>) invocation.getArguments()[0];
+      return response;
+    });
+    when(response.write(anyString())).thenAnswer(invocation -> {
+      output.append((String) invocation.getArguments()[0]);
+      return response;
+    });
+    when(response.writeQueueFull()).thenAnswer(invocation -> writeQueueFull);
+
+    context = mock(Context.class);
+    doAnswer(invocation -> {
+      ((Handler<Void>) invocation.getArguments()[0]).handle(null);
+      return null;
+    }).when(context).runOnContext(any(Handler.class));
+  }
+
+  private EventStream<String> openStream(EventLog<Consumer<String>, String> eventLog) {
+    EventStream<String> stream = new EventStream<>(eventLog, Function.identity(), response, context);
+    stream.open();
+    assertEquals(":\n\n", output.toString());
+    output.setLength(0);
+    return stream;
+  }
+
+  @Test
+  public void testBatchedEvents() throws Exception {
+    EventLog<Consumer<String>, String> eventLog = new EventLog<>(l -> e -> l.addEvent(e));
+    openStream(eventLog);
+
+    eventLog.listener().accept("a");
+    assertEquals("data: a\n\n", output.toString());
+
+    eventLog.listener().accept("b\nc");
+    assertEquals("data: a\n\ndata: b\ndata: c\n\n", output.toString());
+  }
+
+  @Test
+  public void testBackpressure() throws Exception {
+    EventLog<Consumer<String>, String> eventLog = new EventLog<>(l -> e -> l.addEvent(e));
+    openStream(eventLog);
+
+    writeQueueFull = true;
+    eventLog.listener().accept("a");
+    assertEquals("data: a\n\n", output.toString());
+    assertNotNull(drainHandler);
+
+    // Events are buffered in the log rather than written until the write queue drains.
+    eventLog.listener().accept("b");
+    eventLog.listener().accept("c");
+    assertEquals("data: a\n\n", output.toString());
+
+    writeQueueFull = false;
+    output.setLength(0);
+    drainHandler.handle(null);
+    assertEquals("data: b\n\ndata: c\n\n", output.toString());
+  }
+
+  @Test
+  public void testDroppedEvents() throws Exception {
+    EventLog<Consumer<String>, String> eventLog = new EventLog<>(l -> e -> l.addEvent(e), 2, EventLog.OverflowPolicy.DROP_OLDEST);
+    openStream(eventLog);
+
+    writeQueueFull = true;
+    eventLog.listener().accept("a");
+    eventLog.listener().accept("b");
+    eventLog.listener().accept("c");
+    eventLog.listener().accept("d");
+    assertEquals(1, eventLog.droppedEvents());
+
+    writeQueueFull = false;
+    output.setLength(0);
+    drainHandler.handle(null);
+    assertEquals("event: dropped\ndata: 1\n\ndata: c\n\ndata: d\n\n", output.toString());
+  }
+
+  @Test
+  public void testDisconnectOnOverflow() throws Exception {
+    EventLog<Consumer<String>, String> eventLog = new EventLog<>(l -> e -> l.addEvent(e), 2, EventLog.OverflowPolicy.DISCONNECT);
+    openStream(eventLog);
+
+    writeQueueFull = true;
+    eventLog.listener().accept("a");
+    eventLog.listener().accept("b");
+    eventLog.listener().accept("c");
+    eventLog.listener().accept("d");
+    verify(response, never()).end();
+
+    output.setLength(0);
+    drainHandler.handle(null);
+    verify(response).end();
+    assertEquals("", output.toString());
+  }
+
+  @Test
+  public void testClientDisconnect() throws Exception {
+    EventLog<Consumer<String>, String> eventLog = new EventLog<>(l -> e -> l.addEvent(e));
+    openStream(eventLog);
+    assertNotNull(closeHandler);
+
+    // Closing the connection releases the pending read so the event is left for the next consumer.
+    closeHandler.handle(null);
+    eventLog.listener().accept("a");
+    assertEquals("", output.toString());
+    assertEquals(Arrays.asList("a"), eventLog.nextEvents(1).get());
+    assertFalse(eventLog.nextEvents(1).isDone());
+  }
+}
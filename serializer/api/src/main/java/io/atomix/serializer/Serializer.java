@@ -16,6 +16,9 @@
 
 package io.atomix.serializer;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 /**
  * Interface for serialization of store artifacts.
  */
@@ -39,6 +42,34 @@ public interface Serializer {
    */
   <T> T decode(byte[] bytes);
 
+  /**
+   * Serialize the specified object into the given buffer, starting at the buffer's current position.
+   * <p>
+   * Serializing into a buffer allows callers to reuse the buffer rather than allocating a new byte array
+   * for each object.
+   *
+   * @param object object to serialize.
+   * @param buffer buffer to which to write the serialized bytes.
+   * @param <T>    encoded type
+   * @throws BufferOverflowException if the buffer does not have enough remaining capacity for the object
+   */
+  default <T> void encode(T object, ByteBuffer buffer) {
+    buffer.put(encode(object));
+  }
+
+  /**
+   * Deserialize the remaining bytes in the specified buffer.
+   *
+   * @param buffer buffer from which to read the serialized bytes.
+   * @param <T>    decoded type
+   * @return deserialized object.
+   */
+  default <T> T decode(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return decode(bytes);
+  }
+
   /**
    * Creates a new Serializer instance from a Namespace.
    *
@@ -56,6 +87,16 @@ public interface Serializer {
       public <T> T decode(byte[] bytes) {
         return namespace.deserialize(bytes);
       }
+
+      @Override
+      public <T> void encode(T object, ByteBuffer buffer) {
+        namespace.serialize(object, buffer);
+      }
+
+      @Override
+      public <T> T decode(ByteBuffer buffer) {
+        return namespace.deserialize(buffer);
+      }
     };
   }
 
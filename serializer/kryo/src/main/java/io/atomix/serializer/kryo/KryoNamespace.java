@@ -16,6 +16,7 @@
 package io.atomix.serializer.kryo;
 
 import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
 import com.esotericsoftware.kryo.Registration;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.ByteBufferInput;
@@ -27,16 +28,17 @@ import com.esotericsoftware.kryo.pool.KryoFactory;
 import com.esotericsoftware.kryo.pool.KryoPool;
 import com.esotericsoftware.kryo.serializers.CompatibleFieldSerializer;
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import io.atomix.serializer.Namespace;
 import org.apache.commons.lang3.tuple.Pair;
 import org.objenesis.strategy.StdInstantiatorStrategy;
 import org.slf4j.Logger;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -311,13 +313,20 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
    *
    * @param obj    Object to serialize
    * @param buffer to write to
+   * @throws BufferOverflowException if the buffer does not have enough remaining capacity for the object
    */
   public void serialize(final Object obj, final ByteBuffer buffer) {
-    ByteBufferOutput out = new ByteBufferOutput(buffer);
+    ByteBufferOutput out = new BoundedByteBufferOutput(buffer);
     Kryo kryo = borrow();
     try {
       kryo.writeClassAndObject(out, obj);
       out.flush();
+    } catch (KryoException e) {
+      // Field serializers wrap runtime exceptions thrown while writing nested objects.
+      if (Throwables.getCausalChain(e).stream().anyMatch(cause -> cause instanceof BufferOverflowException)) {
+        throw new BufferOverflowException();
+      }
+      throw e;
     } finally {
       release(kryo);
     }
@@ -359,7 +368,8 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
    * @return deserialized Object
    */
   public <T> T deserialize(final byte[] bytes) {
-    Input in = new Input(new ByteArrayInputStream(bytes));
+    // Read directly from the array rather than copying it into a stream buffer.
+    Input in = new Input(bytes);
     Kryo kryo = borrow();
     try {
       @SuppressWarnings("unchecked")
@@ -587,4 +597,24 @@ public final class KryoNamespace implements Namespace, KryoFactory, KryoPool {
       return false;
     }
   }
+
+  /**
+   * Byte buffer output that fails with a {@link BufferOverflowException} once the buffer's capacity is exhausted.
+   * <p>
+   * The output writes directly to the wrapped buffer and never grows it, so an overflow is detected by comparing
+   * the bytes required against the capacity remaining from the current position.
+   */
+  private static class BoundedByteBufferOutput extends ByteBufferOutput {
+    BoundedByteBufferOutput(ByteBuffer buffer) {
+      super(buffer);
+    }
+
+    @Override
+    protected boolean require(int required) {
+      if (capacity - position < required) {
+        throw new BufferOverflowException();
+      }
+      return false;
+    }
+  }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import io.atomix.serializer.Serializer;
+
+/**
+ * Compressed segment reader.
+ * <p>
+ * The reader decompresses one block at a time into a reusable {@link JournalSegmentBlock block} and reads entries
+ * from the decompressed block. Entries that have not yet been written to the segment are read from the writer's
+ * open block.
+ */
+public class CompressedJournalSegmentReader<E> extends JournalSegmentReader<E> {
+  private final CompressedJournalSegmentWriter<E> writer;
+  private final JournalSegmentBlock block;
+  private int truncations;
+
+  public CompressedJournalSegmentReader(
+      JournalSegmentDescriptor descriptor,
+      JournalIndex index,
+      Serializer serializer,
+      CompressedJournalSegmentWriter<E> writer) {
+    super(descriptor, index, serializer, false);
+    this.writer = writer;
+    this.block = new JournalSegmentBlock(descriptor.maxSegmentSize());
+    this.truncations = writer.truncations();
+    readNext();
+  }
+
+  @Override
+  public void reset() {
+    block.clear();
+    super.reset();
+  }
+
+  @Override
+  protected void readNext() {
+    // Compute the index of the next entry in the segment.
+    final long index = getNextIndex();
+
+    // If the segment was truncated since the last read, blocks may have been rewritten. Seek back to the
+    // closest indexed block preceding the next entry.
+    if (truncations != writer.truncations()) {
+      truncations = writer.truncations();
+      block.clear();
+      buffer.clear();
+      JournalIndex.Position position = this.index.lookup(index);
+      if (position != null) {
+        buffer.position(position.position());
+      }
+    }
+
+    // Read blocks until the block containing the next entry is found.
+    if (!block.contains(index)) {
+      while (block.read(buffer) && block.lastIndex() < index) {
+        continue;
+      }
+    }
+
+    JournalSegmentBlock openBlock = writer.openBlock();
+    if (block.contains(index)) {
+      nextBytes = block.get(index);
+    } else if (openBlock.contains(index)) {
+      nextBytes = openBlock.get(index);
+    } else {
+      nextBytes = null;
+      nextEntry = null;
+      return;
+    }
+    nextEntry = new Indexed<>(index, nextBytes, serializer);
+  }
+
+  @Override
+  public void close() {
+    block.close();
+    super.close();
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import io.atomix.serializer.Serializer;
+
+/**
+ * Compressed segment writer.
+ * <p>
+ * Entries are appended to an open {@link JournalSegmentBlock block} in memory. Once the uncompressed size of the
+ * open block reaches the segment's {@link JournalSegmentDescriptor#blockSize() block size}, the segment is full,
+ * the next entry could grow the compressed block beyond the segment size, or the writer is flushed, the block is
+ * compressed and written to the segment. Entries in the open block are
+ * visible to segment readers but are only persisted once the block is written.
+ * <p>
+ * The position of each entry in the segment index is the position of the block containing the entry.
+ */
+public class CompressedJournalSegmentWriter<E> extends JournalSegmentWriter<E> {
+  private final JournalSegmentBlock block;
+  private int truncations;
+  private long unmodifiedIndex = Long.MAX_VALUE;
+
+  public CompressedJournalSegmentWriter(JournalSegmentDescriptor descriptor, JournalIndex index, Serializer serializer) {
+    super(descriptor, index, serializer, false);
+    this.block = new JournalSegmentBlock(descriptor.maxSegmentSize());
+    reset();
+  }
+
+  /**
+   * Initializes the writer by seeking to the end of the last valid block in the segment.
+   */
+  private void reset() {
+    long nextIndex = firstIndex;
+    buffer.clear();
+    int position = buffer.position();
+    while (block.read(buffer) && block.firstIndex() == nextIndex) {
+      indexBlock();
+      lastEntry = decode(block.lastIndex());
+      nextIndex = block.lastIndex() + 1;
+      position = buffer.position();
+    }
+    block.clear();
+    buffer.position(position);
+  }
+
+  /**
+   * Returns the open block.
+   *
+   * @return the block of entries that have not yet been written to the segment
+   */
+  JournalSegmentBlock openBlock() {
+    return block;
+  }
+
+  /**
+   * Returns the number of times the segment has been truncated.
+   * <p>
+   * Readers use the truncation count to detect when blocks they have already read may have been rewritten.
+   *
+   * @return the number of times the segment has been truncated
+   */
+  int truncations() {
+    return truncations;
+  }
+
+  /**
+   * Returns the size of the underlying buffer, including the uncompressed size of the open block.
+   *
+   * @return The size of the underlying buffer.
+   */
+  @Override
+  public long size() {
+    return super.size() + (block.isEmpty() ? 0 : JournalSegmentBlock.HEADER_BYTES + block.size());
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  protected <T extends E> Indexed<T> append(T entry, byte[] bytes, int length) {
+    final long index = getNextIndex();
+
+    // Write the open block before it grows beyond the maximum length that can be read back from the segment.
+    if (!block.isEmpty() && !block.canAppend(length)) {
+      writeBlock();
+    }
+    block.append(index, bytes, length);
+
+    Indexed<E> indexedEntry = indexed(index, entry, bytes, length);
+    this.lastEntry = indexedEntry;
+
+    // Write the block to the segment once it's full so entries are not held in memory across segments.
+    if (block.size() >= descriptor.blockSize() || isFull()) {
+      writeBlock();
+    }
+    return (Indexed<T>) indexedEntry;
+  }
+
+  @Override
+  public void truncate(long index) {
+    unmodifiedIndex = Long.MAX_VALUE;
+
+    // If the index is greater than or equal to the last index, skip the truncate.
+    if (index >= getLastIndex()) {
+      return;
+    }
+
+    truncations++;
+
+    // If the index is in the open block, truncate the block in memory.
+    if (!block.isEmpty() && index >= block.firstIndex()) {
+      block.truncate(index);
+      lastEntry = decode(index);
+      return;
+    }
+
+    block.clear();
+    lastEntry = null;
+
+    // Truncate the segment index.
+    this.index.truncate(index);
+
+    // If the index is less than the segment index, clear the segment buffer.
+    if (index < firstIndex) {
+      buffer.zero().clear();
+      return;
+    }
+
+    // Seek to the closest indexed block preceding the index.
+    buffer.clear();
+    JournalIndex.Position position = this.index.lookup(index);
+    if (position != null) {
+      buffer.position(position.position());
+    }
+
+    // Find the block containing the index and reopen it with the entries up to the index.
+    while (block.read(buffer)) {
+      if (block.lastIndex() >= index) {
+        buffer.position(block.position());
+        block.truncate(index);
+        lastEntry = decode(index);
+        break;
+      }
+      lastEntry = decode(block.lastIndex());
+    }
+
+    // Zero blocks after the given index.
+    buffer.zero(buffer.position());
+
+    // If the index was in a block that was already written, write the truncated block back to the segment so the
+    // entries preceding the index that were already persisted are not left only in memory. The rewritten block
+    // must be flushed to disk again before its entries are durable.
+    if (!block.isEmpty()) {
+      unmodifiedIndex = block.firstIndex() - 1;
+      writeBlock();
+    }
+  }
+
+  @Override
+  long getWrittenIndex() {
+    return block.isEmpty() ? getLastIndex() : block.firstIndex() - 1;
+  }
+
+  @Override
+  long getUnmodifiedIndex() {
+    return Math.min(unmodifiedIndex, getLastIndex());
+  }
+
+  @Override
+  void writeBuffered() {
+    writeBlock();
+  }
+
+  @Override
+  public void flush() {
+    writeBlock();
+    super.flush();
+  }
+
+  @Override
+  public void close() {
+    writeBlock();
+    block.close();
+    super.close();
+  }
+
+  /**
+   * Compresses and writes the open block to the segment.
+   */
+  private void writeBlock() {
+    if (!block.isEmpty()) {
+      block.write(buffer);
+      indexBlock();
+      block.clear();
+    }
+  }
+
+  /**
+   * Records the position of the current block for each entry in the block.
+   */
+  private void indexBlock() {
+    for (long i = block.firstIndex(); i <= block.lastIndex(); i++) {
+      this.index.index(i, block.position());
+    }
+  }
+
+  /**
+   * Decodes the entry at the given index in the current block.
+   */
+  private Indexed<E> decode(long index) {
+    return new Indexed<>(index, block.get(index), serializer);
+  }
+}
@@ -37,6 +37,11 @@ public class DelegatingJournalReader<E> implements JournalReader<E> {
     return delegate.getCurrentEntry();
   }
 
+  @Override
+  public byte[] getCurrentBytes() {
+    return delegate.getCurrentBytes();
+  }
+
   @Override
   public long getNextIndex() {
     return delegate.getNextIndex();
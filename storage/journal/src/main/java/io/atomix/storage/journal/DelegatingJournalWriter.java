@@ -47,6 +47,16 @@ public class DelegatingJournalWriter<E> implements JournalWriter<E> {
     return delegate.append(entry);
   }
 
+  @Override
+  public <T extends E> Indexed<T> append(T entry, byte[] bytes) {
+    return delegate.append(entry, bytes);
+  }
+
+  @Override
+  public Indexed<E> appendBytes(byte[] bytes) {
+    return delegate.appendBytes(bytes);
+  }
+
   @Override
   public void append(Indexed<E> entry) {
     delegate.append(entry);
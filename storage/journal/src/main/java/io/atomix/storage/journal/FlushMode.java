@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+/**
+ * Journal flush modes which control when entries written to a journal are flushed to disk.
+ */
+public enum FlushMode {
+
+  /**
+   * Flushes entries to disk as soon as a flush is requested.
+   */
+  IMMEDIATE,
+
+  /**
+   * Flushes entries to disk at a fixed interval or once a number of bytes have been written, whichever comes first.
+   */
+  PERIODIC,
+
+  /**
+   * Never explicitly flushes entries to disk, leaving writes to be flushed by the operating system.
+   */
+  OS
+
+}
@@ -15,15 +15,22 @@
  */
 package io.atomix.storage.journal;
 
+import io.atomix.serializer.Serializer;
+
 import static com.google.common.base.MoreObjects.toStringHelper;
 
 /**
  * Indexed journal entry.
+ * <p>
+ * Entries read from or appended to the journal in their serialized form are only deserialized the first time
+ * {@link #entry()} is called, so entries that are only copied between journals are never deserialized.
  */
 public class Indexed<E> {
   private final long index;
-  private final E entry;
+  private E entry;
   private final int size;
+  private byte[] bytes;
+  private Serializer serializer;
 
   public Indexed(long index, E entry, int size) {
     this.index = index;
@@ -31,6 +38,20 @@ public class Indexed<E> {
     this.size = size;
   }
 
+  /**
+   * Creates an indexed entry that is deserialized from the given bytes on demand.
+   *
+   * @param index the entry index
+   * @param bytes the serialized entry, which must not be modified
+   * @param serializer the serializer with which to deserialize the entry
+   */
+  Indexed(long index, byte[] bytes, Serializer serializer) {
+    this.index = index;
+    this.size = bytes.length;
+    this.bytes = bytes;
+    this.serializer = serializer;
+  }
+
   /**
    * Returns the entry index.
    *
@@ -46,6 +67,11 @@ public class Indexed<E> {
    * @return The indexed entry.
    */
   public E entry() {
+    if (bytes != null) {
+      entry = serializer.decode(bytes);
+      bytes = null;
+      serializer = null;
+    }
     return entry;
   }
 
@@ -64,7 +90,7 @@ public class Indexed<E> {
    * @return The entry class.
    */
   public Class<?> type() {
-    return entry.getClass();
+    return entry().getClass();
   }
 
   /**
@@ -81,7 +107,7 @@ public class Indexed<E> {
   public String toString() {
     return toStringHelper(this)
         .add("index", index)
-        .add("entry", entry)
+        .add("entry", entry())
         .toString();
   }
 }
\ No newline at end of file
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import io.atomix.storage.StorageException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static io.atomix.utils.concurrent.Threads.namedThreads;
+
+/**
+ * Journal flusher.
+ * <p>
+ * The flusher flushes journal segments to disk on a dedicated thread according to the journal's {@link FlushMode}
+ * and tracks the highest index known to be on disk. The journal writer reports entries as they're written to segment
+ * buffers, and callers may request a future to be completed once a given index has been flushed.
+ */
+class JournalFlusher<E> implements AutoCloseable {
+  private final Logger log = LoggerFactory.getLogger(getClass());
+  private final SegmentedJournal<E> journal;
+  private final FlushMode mode;
+  private final long flushBytes;
+  private final ScheduledExecutorService executor;
+  private final NavigableMap<Long, CompletableFuture<Long>> futures = new TreeMap<>();
+  private volatile long writtenIndex;
+  private volatile long flushedIndex;
+  private long truncations;
+  private long unflushedBytes;
+  private boolean flushPending;
+  private boolean open = true;
+
+  JournalFlusher(SegmentedJournal<E> journal, FlushMode mode, long flushInterval, long flushBytes, long lastIndex) {
+    this.journal = journal;
+    this.mode = mode;
+    this.flushBytes = flushBytes;
+    this.writtenIndex = lastIndex;
+    this.flushedIndex = lastIndex;
+    if (mode == FlushMode.OS) {
+      this.executor = null;
+    } else {
+      this.executor = Executors.newSingleThreadScheduledExecutor(
+          namedThreads("atomix-journal-flusher-" + journal.name() + "-%d", log));
+      if (mode == FlushMode.PERIODIC) {
+        executor.scheduleAtFixedRate(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  /**
+   * Returns the highest index known to be flushed to disk.
+   *
+   * @return the highest index known to be flushed to disk
+   */
+  long getFlushedIndex() {
+    return flushedIndex;
+  }
+
+  /**
+   * Records entries written to the segment buffers up to the given index.
+   * <p>
+   * This method must be called from the writer thread.
+   *
+   * @param index the last index written to the segment buffers
+   * @param bytes the number of bytes written since the last call
+   */
+  void written(long index, long bytes) {
+    writtenIndex = index;
+    if (mode == FlushMode.OS) {
+      flushedIndex = index;
+    } else if (mode == FlushMode.PERIODIC) {
+      unflushedBytes += bytes;
+      if (unflushedBytes >= flushBytes) {
+        unflushedBytes = 0;
+        scheduleFlush();
+      }
+    }
+  }
+
+  /**
+   * Records the truncation of the journal to the given index.
+   * <p>
+   * Truncation may rewrite entries preceding the truncation index, in which case the flushed index is reset to
+   * the last index that was left unmodified so the rewritten entries are flushed again.
+   * <p>
+   * This method must be called from the writer thread.
+   *
+   * @param index the index to which the journal was truncated
+   * @param unmodifiedIndex the last index left unmodified on disk by the truncation
+   */
+  synchronized void truncated(long index, long unmodifiedIndex) {
+    truncations++;
+    writtenIndex = Math.min(writtenIndex, index);
+    flushedIndex = Math.min(flushedIndex, Math.min(index, unmodifiedIndex));
+  }
+
+  /**
+   * Returns a future to be completed once entries up to the given index have been flushed to disk.
+   * <p>
+   * Entries must have been {@link #written(long, long) written} to the segment buffers before they can be flushed.
+   * In {@link FlushMode#IMMEDIATE} mode a flush is scheduled if necessary. In {@link FlushMode#PERIODIC} mode the
+   * future is completed by the next periodic flush. In {@link FlushMode#OS} mode the future is completed immediately.
+   *
+   * @param index the index up to which to flush entries
+   * @return a future to be completed once the index has been flushed to disk
+   */
+  CompletableFuture<Long> flush(long index) {
+    if (mode == FlushMode.OS || index <= flushedIndex) {
+      return CompletableFuture.completedFuture(index);
+    }
+
+    synchronized (this) {
+      if (!open) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        future.completeExceptionally(new StorageException("journal closed"));
+        return future;
+      }
+      CompletableFuture<Long> future = futures.computeIfAbsent(index, i -> new CompletableFuture<>());
+      if (mode == FlushMode.IMMEDIATE) {
+        scheduleFlush();
+      }
+      return future;
+    }
+  }
+
+  /**
+   * Schedules a flush on the flusher thread if one is not already pending.
+   */
+  private synchronized void scheduleFlush() {
+    if (open && !flushPending) {
+      flushPending = true;
+      executor.execute(this::flush);
+    }
+  }
+
+  /**
+   * Flushes all written entries to disk.
+   * <p>
+   * This method may be called from any thread.
+   */
+  void flush() {
+    long index;
+    long truncations;
+    synchronized (this) {
+      flushPending = false;
+      index = writtenIndex;
+      truncations = this.truncations;
+    }
+
+    long previousIndex = flushedIndex;
+    if (index > previousIndex) {
+      long startTime = System.nanoTime();
+      for (JournalSegment<E> segment : journal.getSegments(previousIndex + 1, index)) {
+        try {
+          segment.sync();
+        } catch (RuntimeException e) {
+          // Segments may be closed by compaction or truncation while being flushed.
+          if (segment.isOpen()) {
+            log.error("Failed to flush segment {}", segment, e);
+            failFutures(index, e);
+            return;
+          }
+        }
+      }
+      log.trace("{} - Flushed entries {} through {} in {}us", journal.name(), previousIndex + 1, index,
+          TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+    }
+
+    Map<Long, CompletableFuture<Long>> completedFutures;
+    synchronized (this) {
+      // If the journal was truncated during the flush, entries may have been overwritten after being flushed.
+      // Flush again so futures waiting on the rewritten entries aren't left pending without a scheduled flush.
+      if (truncations == this.truncations) {
+        if (index > flushedIndex) {
+          flushedIndex = index;
+        }
+      } else if (mode == FlushMode.IMMEDIATE && !futures.isEmpty()) {
+        scheduleFlush();
+      }
+      Map<Long, CompletableFuture<Long>> headMap = futures.headMap(flushedIndex, true);
+      completedFutures = new TreeMap<>(headMap);
+      headMap.clear();
+    }
+    completedFutures.forEach((i, future) -> future.complete(i));
+  }
+
+  /**
+   * Fails futures waiting for entries up to the given index to be flushed.
+   * <p>
+   * Entries remain unflushed, so the next flush will attempt to flush them again.
+   */
+  private void failFutures(long index, Throwable cause) {
+    Map<Long, CompletableFuture<Long>> failedFutures;
+    synchronized (this) {
+      Map<Long, CompletableFuture<Long>> headMap = futures.headMap(index, true);
+      failedFutures = new TreeMap<>(headMap);
+      headMap.clear();
+    }
+    failedFutures.values().forEach(future -> future.completeExceptionally(new StorageException(cause)));
+  }
+
+  @Override
+  public void close() {
+    List<CompletableFuture<Long>> pendingFutures;
+    synchronized (this) {
+      open = false;
+      pendingFutures = new ArrayList<>(futures.values());
+      futures.clear();
+    }
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+    pendingFutures.forEach(future -> future.completeExceptionally(new StorageException("journal closed")));
+  }
+}
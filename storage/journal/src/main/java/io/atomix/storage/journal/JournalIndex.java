@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Journal segment index.
+ * <p>
+ * The journal index maps entry indexes to their physical positions within a segment, allowing readers to seek
+ * to an entry without decoding all entries that precede it in the segment.
+ */
+public interface JournalIndex {
+
+  /**
+   * Adds an entry for the given index at the given position.
+   *
+   * @param index the index for which to add the entry
+   * @param position the position of the given index
+   */
+  void index(long index, int position);
+
+  /**
+   * Looks up the position of the given index.
+   * <p>
+   * The returned position is the position of the greatest indexed entry that is less than or equal to the
+   * given index, or {@code null} if no such entry has been indexed.
+   *
+   * @param index the index to lookup
+   * @return the position of the closest preceding indexed entry or {@code null}
+   */
+  Position lookup(long index);
+
+  /**
+   * Truncates the index to the given index.
+   * <p>
+   * All entries with indexes greater than the given index will be removed from the index.
+   *
+   * @param index the index to which to truncate the index
+   */
+  void truncate(long index);
+
+  /**
+   * Indexed entry position.
+   */
+  class Position {
+    private final long index;
+    private final int position;
+
+    public Position(long index, int position) {
+      this.index = index;
+      this.position = position;
+    }
+
+    /**
+     * Returns the index of the entry at the position.
+     *
+     * @return the index of the entry at the position
+     */
+    public long index() {
+      return index;
+    }
+
+    /**
+     * Returns the position of the entry within the segment.
+     *
+     * @return the position of the entry within the segment
+     */
+    public int position() {
+      return position;
+    }
+
+    @Override
+    public String toString() {
+      return toStringHelper(this)
+          .add("index", index)
+          .add("position", position)
+          .toString();
+    }
+  }
+}
@@ -38,6 +38,17 @@ public interface JournalReader<E> extends Iterator<Indexed<E>>, AutoCloseable {
    */
   Indexed<E> getCurrentEntry();
 
+  /**
+   * Returns the serialized bytes of the current entry.
+   * <p>
+   * The returned bytes are the entry exactly as it's stored in the journal and can be appended to another
+   * journal via {@link JournalWriter#appendBytes(byte[])} without being decoded and re-encoded. The returned
+   * array is shared with the current entry and must not be modified.
+   *
+   * @return The serialized bytes of the current entry or {@code null} if no entry has been read.
+   */
+  byte[] getCurrentBytes();
+
   /**
    * Returns the next reader index.
    *
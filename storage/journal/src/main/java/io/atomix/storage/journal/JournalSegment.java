@@ -29,14 +29,22 @@ public class JournalSegment<E> implements AutoCloseable {
   protected final JournalSegmentFile file;
   protected final JournalSegmentDescriptor descriptor;
   protected final Serializer serializer;
+  private final JournalIndex index;
   private final JournalSegmentWriter<E> writer;
   private boolean open = true;
 
   public JournalSegment(JournalSegmentFile file, JournalSegmentDescriptor descriptor, Serializer serializer) {
+    this(file, descriptor, serializer, new SparseJournalIndex(SegmentedJournal.Builder.DEFAULT_INDEX_DENSITY));
+  }
+
+  public JournalSegment(JournalSegmentFile file, JournalSegmentDescriptor descriptor, Serializer serializer, JournalIndex index) {
     this.file = file;
     this.descriptor = descriptor;
     this.serializer = serializer;
-    this.writer = new JournalSegmentWriter<>(descriptor, serializer);
+    this.index = index;
+    this.writer = descriptor.isCompressed()
+        ? new CompressedJournalSegmentWriter<>(descriptor, index, serializer)
+        : new JournalSegmentWriter<>(descriptor, index, serializer);
   }
 
   /**
@@ -146,7 +154,20 @@ public class JournalSegment<E> implements AutoCloseable {
    */
   JournalSegmentReader<E> createReader() {
     checkOpen();
-    return new JournalSegmentReader<>(descriptor, serializer);
+    if (descriptor.isCompressed()) {
+      return new CompressedJournalSegmentReader<>(descriptor, index, serializer, (CompressedJournalSegmentWriter<E>) writer);
+    }
+    return new JournalSegmentReader<>(descriptor, index, serializer);
+  }
+
+  /**
+   * Flushes the segment buffer to disk.
+   * <p>
+   * Unlike {@link JournalSegmentWriter#flush()}, this method may be called from a thread other than the writer
+   * thread. Entries held in memory by the writer are not written to the segment.
+   */
+  void sync() {
+    descriptor.buffer().flush();
   }
 
   /**
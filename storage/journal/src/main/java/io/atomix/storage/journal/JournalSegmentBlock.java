@@ -0,0 +1,358 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import io.atomix.storage.StorageException;
+import io.atomix.storage.buffer.Buffer;
+
+import java.nio.BufferUnderflowException;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Block of entries that are compressed together in a compressed journal segment.
+ * <p>
+ * The format of a block in the segment is as follows:
+ * <ul>
+ * <li>32-bit signed block length</li>
+ * <li>32-bit unsigned CRC32 checksum of the block bytes</li>
+ * <li>64-bit index of the first entry in the block</li>
+ * <li>32-bit signed entry count</li>
+ * <li>32-bit signed uncompressed length</li>
+ * <li>n-bit deflated entry bytes</li>
+ * </ul>
+ * The uncompressed bytes are a sequence of entries, each preceded by its 32-bit signed length. As with uncompressed
+ * segments, a zero block length terminates the segment.
+ * <p>
+ * Blocks are held uncompressed in memory. The same block instance is reused for every block a reader or writer
+ * visits, so the uncompressed and compressed buffers are only reallocated when a larger block is encountered.
+ */
+final class JournalSegmentBlock implements AutoCloseable {
+  private static final int METADATA_BYTES = Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+  /**
+   * The number of bytes preceding the deflated entry bytes of a block.
+   */
+  static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + METADATA_BYTES;
+
+  private final int maxLength;
+  private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+  private final Inflater inflater = new Inflater();
+  private final CRC32 crc32 = new CRC32();
+  private byte[] bytes = new byte[1024];
+  private byte[] compressed = new byte[1024];
+  private int[] offsets = new int[64];
+  private long firstIndex;
+  private int count;
+  private int size;
+  private int position = -1;
+
+  /**
+   * @param maxLength the maximum length of a block in the segment
+   */
+  JournalSegmentBlock(int maxLength) {
+    this.maxLength = maxLength;
+  }
+
+  /**
+   * Returns the position of the block in the segment.
+   *
+   * @return the position of the block in the segment or {@code -1} if the block has not been read or written
+   */
+  int position() {
+    return position;
+  }
+
+  /**
+   * Returns the index of the first entry in the block.
+   *
+   * @return the index of the first entry in the block
+   */
+  long firstIndex() {
+    return firstIndex;
+  }
+
+  /**
+   * Returns the index of the last entry in the block.
+   *
+   * @return the index of the last entry in the block
+   */
+  long lastIndex() {
+    return firstIndex + count - 1;
+  }
+
+  /**
+   * Returns the uncompressed size of the entries in the block.
+   *
+   * @return the uncompressed size of the entries in the block
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns a boolean indicating whether the block is empty.
+   *
+   * @return indicates whether the block is empty
+   */
+  boolean isEmpty() {
+    return count == 0;
+  }
+
+  /**
+   * Returns a boolean indicating whether the block contains the given index.
+   *
+   * @param index the index to check
+   * @return indicates whether the block contains the entry at the given index
+   */
+  boolean contains(long index) {
+    return count > 0 && index >= firstIndex && index <= lastIndex();
+  }
+
+  /**
+   * Returns a boolean indicating whether an entry of the given length can be appended to the block.
+   * <p>
+   * An entry can be appended only if the block is guaranteed to compress to no more than the maximum block length,
+   * since longer blocks are rejected when read.
+   *
+   * @param length the length of the entry
+   * @return indicates whether the entry can be appended without exceeding the maximum block length
+   */
+  boolean canAppend(int length) {
+    return (long) size + Integer.BYTES + length <= Integer.MAX_VALUE
+        && maxCompressedLength(size + Integer.BYTES + length) <= maxLength;
+  }
+
+  /**
+   * Returns the maximum length of a block with the given uncompressed size.
+   * <p>
+   * The deflated length is bounded as in zlib's {@code compressBound}, which holds for any input.
+   */
+  static long maxCompressedLength(int size) {
+    return (long) METADATA_BYTES + size + (size >>> 12) + (size >>> 14) + (size >>> 25) + 13;
+  }
+
+  /**
+   * Returns a copy of the bytes of the entry at the given index.
+   *
+   * @param index the index of the entry to read
+   * @return the entry bytes
+   */
+  byte[] get(long index) {
+    int offset = offsets[(int) (index - firstIndex)];
+    return Arrays.copyOfRange(bytes, offset + Integer.BYTES, offsets[(int) (index - firstIndex) + 1]);
+  }
+
+  /**
+   * Appends an entry to the block.
+   *
+   * @param index the entry index
+   * @param entry an array containing the entry bytes, starting at offset {@code 0}
+   * @param length the length of the entry
+   * @throws StorageException if the entry cannot be appended without exceeding the maximum block length
+   */
+  void append(long index, byte[] entry, int length) {
+    if (!canAppend(length)) {
+      throw new StorageException("Entry of " + length + " bytes exceeds the maximum block length");
+    }
+    if (count == 0) {
+      firstIndex = index;
+    }
+    bytes = ensureCapacity(bytes, size + Integer.BYTES + length);
+    writeInt(bytes, size, length);
+    System.arraycopy(entry, 0, bytes, size + Integer.BYTES, length);
+    size += Integer.BYTES + length;
+    offsets = ensureCapacity(offsets, count + 2);
+    offsets[++count] = size;
+  }
+
+  /**
+   * Truncates the block to the given index.
+   *
+   * @param index the index of the last entry to retain
+   */
+  void truncate(long index) {
+    count = (int) Math.max(Math.min(index - firstIndex + 1, count), 0);
+    size = offsets[count];
+  }
+
+  /**
+   * Clears the block.
+   */
+  void clear() {
+    count = 0;
+    size = 0;
+    position = -1;
+  }
+
+  /**
+   * Compresses the block and writes it to the given buffer at the buffer's current position.
+   *
+   * @param buffer the buffer to which to write the block
+   */
+  void write(Buffer buffer) {
+    deflater.reset();
+    deflater.setInput(bytes, 0, size);
+    deflater.finish();
+    int length = METADATA_BYTES;
+    while (!deflater.finished()) {
+      if (length == compressed.length) {
+        compressed = Arrays.copyOf(compressed, compressed.length * 2);
+      }
+      length += deflater.deflate(compressed, length, compressed.length - length);
+    }
+
+    writeLong(compressed, 0, firstIndex);
+    writeInt(compressed, Long.BYTES, count);
+    writeInt(compressed, Long.BYTES + Integer.BYTES, size);
+
+    crc32.reset();
+    crc32.update(compressed, 0, length);
+
+    position = buffer.position();
+    buffer.writeInt(length)
+        .writeUnsignedInt(crc32.getValue())
+        .write(compressed, 0, length);
+  }
+
+  /**
+   * Reads and decompresses the block at the buffer's current position.
+   * <p>
+   * If no valid block is found at the buffer's position, the block is cleared and the buffer's position is left
+   * unchanged.
+   *
+   * @param buffer the buffer from which to read the block
+   * @return indicates whether a valid block was read
+   */
+  boolean read(Buffer buffer) {
+    final int position = buffer.position();
+    buffer.mark();
+    try {
+      final int length = buffer.readInt();
+      if (length < METADATA_BYTES || length > maxLength) {
+        return fail(buffer);
+      }
+
+      // Read the block bytes and verify the checksum before trusting any of the block metadata.
+      final long checksum = buffer.readUnsignedInt();
+      compressed = ensureCapacity(compressed, length);
+      buffer.read(compressed, 0, length);
+      crc32.reset();
+      crc32.update(compressed, 0, length);
+      if (checksum != crc32.getValue()) {
+        return fail(buffer);
+      }
+
+      final long firstIndex = readLong(compressed, 0);
+      final int count = readInt(compressed, Long.BYTES);
+      final int size = readInt(compressed, Long.BYTES + Integer.BYTES);
+      if (count < 0 || size < 0) {
+        return fail(buffer);
+      }
+      bytes = ensureCapacity(bytes, size);
+
+      inflater.reset();
+      inflater.setInput(compressed, METADATA_BYTES, length - METADATA_BYTES);
+      int inflated = 0;
+      while (inflated < size && !inflater.finished()) {
+        int read = inflater.inflate(bytes, inflated, size - inflated);
+        if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        inflated += read;
+      }
+      if (inflated != size) {
+        return fail(buffer);
+      }
+
+      // Compute the offset of each entry in the uncompressed bytes.
+      offsets = ensureCapacity(offsets, count + 2);
+      int offset = 0;
+      for (int i = 0; i < count; i++) {
+        offsets[i] = offset;
+        if (offset + Integer.BYTES > size) {
+          return fail(buffer);
+        }
+        final int entryLength = readInt(bytes, offset);
+        offset += Integer.BYTES + entryLength;
+        if (entryLength < 0 || offset > size) {
+          return fail(buffer);
+        }
+      }
+      offsets[count] = offset;
+      if (offset != size) {
+        return fail(buffer);
+      }
+
+      this.firstIndex = firstIndex;
+      this.count = count;
+      this.size = size;
+      this.position = position;
+      return true;
+    } catch (BufferUnderflowException | DataFormatException e) {
+      return fail(buffer);
+    }
+  }
+
+  /**
+   * Resets the buffer to its position prior to a failed read and clears the block.
+   */
+  private boolean fail(Buffer buffer) {
+    buffer.reset();
+    clear();
+    return false;
+  }
+
+  @Override
+  public void close() {
+    deflater.end();
+    inflater.end();
+  }
+
+  private static byte[] ensureCapacity(byte[] array, int capacity) {
+    return array.length >= capacity ? array : Arrays.copyOf(array, Math.max(capacity, array.length * 2));
+  }
+
+  private static int[] ensureCapacity(int[] array, int capacity) {
+    return array.length >= capacity ? array : Arrays.copyOf(array, Math.max(capacity, array.length * 2));
+  }
+
+  private static void writeInt(byte[] bytes, int offset, int value) {
+    bytes[offset] = (byte) (value >>> 24);
+    bytes[offset + 1] = (byte) (value >>> 16);
+    bytes[offset + 2] = (byte) (value >>> 8);
+    bytes[offset + 3] = (byte) value;
+  }
+
+  private static void writeLong(byte[] bytes, int offset, long value) {
+    writeInt(bytes, offset, (int) (value >>> 32));
+    writeInt(bytes, offset + Integer.BYTES, (int) value);
+  }
+
+  private static int readInt(byte[] bytes, int offset) {
+    return (bytes[offset] & 0xFF) << 24
+        | (bytes[offset + 1] & 0xFF) << 16
+        | (bytes[offset + 2] & 0xFF) << 8
+        | (bytes[offset + 3] & 0xFF);
+  }
+
+  private static long readLong(byte[] bytes, int offset) {
+    return (long) readInt(bytes, offset) << 32 | readInt(bytes, offset + Integer.BYTES) & 0xFFFFFFFFL;
+  }
+}
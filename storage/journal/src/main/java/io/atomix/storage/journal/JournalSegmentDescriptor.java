@@ -49,6 +49,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * <li>{@code locked} (8-bit boolean) - A boolean indicating whether the segment is locked. Segments will be locked once
  * all entries have been committed to the segment. The lock state of each segment is used to determine log compaction
  * and recovery behavior.</li>
+ * <li>{@code blockSize} (32-bit signed integer) - The uncompressed size of the blocks in which entries are compressed,
+ * or {@code 0} if entries in the segment are not compressed. Segments written before compression was supported
+ * always report {@code 0} since the field occupies previously reserved header bytes.</li>
  * </ul>
  * The remainder of the 64 segment header bytes are reserved for future metadata.
  *
@@ -68,6 +71,7 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
   private static final int MAX_SIZE_LENGTH = Bytes.INTEGER;    // 32-bit signed integer
   private static final int MAX_ENTRIES_LENGTH = Bytes.INTEGER; // 32-bit signed integer
   private static final int UPDATED_LENGTH = Bytes.LONG;        // 64-bit signed integer
+  private static final int LOCKED_LENGTH = Bytes.BOOLEAN;      // 8-bit boolean
 
   // The positions of each field in the header.
   private static final int VERSION_POSITION = 0;                                         // 0
@@ -76,6 +80,8 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
   private static final int MAX_SIZE_POSITION = INDEX_POSITION + INDEX_LENGTH;            // 20
   private static final int MAX_ENTRIES_POSITION = MAX_SIZE_POSITION + MAX_SIZE_LENGTH;   // 24
   private static final int UPDATED_POSITION = MAX_ENTRIES_POSITION + MAX_ENTRIES_LENGTH; // 28
+  private static final int LOCKED_POSITION = UPDATED_POSITION + UPDATED_LENGTH;          // 36
+  private static final int BLOCK_SIZE_POSITION = LOCKED_POSITION + LOCKED_LENGTH;        // 37
 
   /**
    * Returns a descriptor builder.
@@ -107,6 +113,7 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
   private final int maxEntries;
   private volatile long updated;
   private volatile boolean locked;
+  private final int blockSize;
 
   /**
    * @throws NullPointerException if {@code buffer} is null
@@ -120,6 +127,7 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
     this.maxEntries = buffer.readInt();
     this.updated = buffer.readLong();
     this.locked = buffer.readBoolean();
+    this.blockSize = buffer.readInt();
     buffer.skip(BYTES - buffer.position()); // 64 bytes reserved for the header
   }
 
@@ -185,6 +193,24 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
     return maxEntries;
   }
 
+  /**
+   * Returns the uncompressed size of the blocks in which entries are compressed.
+   *
+   * @return The compression block size, or {@code 0} if entries in the segment are not compressed.
+   */
+  public int blockSize() {
+    return blockSize;
+  }
+
+  /**
+   * Returns a boolean indicating whether entries in the segment are compressed.
+   *
+   * @return Indicates whether entries in the segment are compressed.
+   */
+  public boolean isCompressed() {
+    return blockSize > 0;
+  }
+
   /**
    * Returns last time the segment was updated.
    * <p>
@@ -220,6 +246,7 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
         .writeInt(maxEntries)
         .writeLong(updated)
         .writeBoolean(locked)
+        .writeInt(blockSize)
         .skip(BYTES - buffer.position())
         .flush();
     return this;
@@ -248,6 +275,7 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
         .add("id", id)
         .add("index", index)
         .add("updated", updated)
+        .add("blockSize", blockSize)
         .toString();
   }
 
@@ -306,6 +334,17 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
       return this;
     }
 
+    /**
+     * Sets the uncompressed size of the blocks in which entries are compressed.
+     *
+     * @param blockSize The compression block size, or {@code 0} to disable compression.
+     * @return The segment descriptor builder.
+     */
+    public Builder withBlockSize(int blockSize) {
+      buffer.writeInt(BLOCK_SIZE_POSITION, blockSize);
+      return this;
+    }
+
     /**
      * Builds the segment descriptor.
      *
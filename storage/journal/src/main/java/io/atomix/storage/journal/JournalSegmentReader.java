@@ -20,6 +20,7 @@ import io.atomix.storage.buffer.Buffer;
 import io.atomix.storage.buffer.HeapBuffer;
 
 import java.nio.BufferUnderflowException;
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 import java.util.zip.CRC32;
 import java.util.zip.Checksum;
@@ -30,18 +31,32 @@ import java.util.zip.Checksum;
  * @author <a href="http://github.com/kuujo>Jordan Halterman</a>
  */
 public class JournalSegmentReader<E> implements JournalReader<E> {
-  private final Buffer buffer;
-  private final Serializer serializer;
+  protected final Buffer buffer;
+  protected final JournalIndex index;
+  protected final Serializer serializer;
   private final HeapBuffer memory = HeapBuffer.allocate();
+  private final Checksum crc32 = new CRC32();
   private final long firstIndex;
   private Indexed<E> currentEntry;
-  private Indexed<E> nextEntry;
+  private byte[] currentBytes;
+  protected Indexed<E> nextEntry;
+  protected byte[] nextBytes;
 
-  public JournalSegmentReader(JournalSegmentDescriptor descriptor, Serializer serializer) {
+  public JournalSegmentReader(JournalSegmentDescriptor descriptor, JournalIndex index, Serializer serializer) {
+    this(descriptor, index, serializer, true);
+  }
+
+  /**
+   * @param initialize whether to read the first entry in the segment on construction
+   */
+  protected JournalSegmentReader(JournalSegmentDescriptor descriptor, JournalIndex index, Serializer serializer, boolean initialize) {
     this.buffer = descriptor.buffer().slice().duplicate();
+    this.index = index;
     this.serializer = serializer;
     this.firstIndex = descriptor.index();
-    readNext();
+    if (initialize) {
+      readNext();
+    }
   }
 
   @Override
@@ -54,6 +69,11 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
     return currentEntry;
   }
 
+  @Override
+  public byte[] getCurrentBytes() {
+    return currentBytes;
+  }
+
   @Override
   public long getNextIndex() {
     return currentEntry != null ? currentEntry.index() + 1 : firstIndex;
@@ -62,6 +82,23 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
   @Override
   public void reset(long index) {
     reset();
+
+    // Seek to the closest indexed position preceding the index to avoid reading the entire segment.
+    JournalIndex.Position position = this.index.lookup(index - 1);
+    if (position != null) {
+      currentEntry = new Indexed<>(position.index() - 1, null, 0);
+      currentBytes = null;
+      buffer.position(position.position());
+      nextEntry = null;
+      nextBytes = null;
+      readNext();
+
+      // If the indexed entry could not be read, fall back to reading from the start of the segment.
+      if (nextEntry == null) {
+        reset();
+      }
+    }
+
     while (getNextIndex() < index && hasNext()) {
       next();
     }
@@ -71,7 +108,9 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
   public void reset() {
     buffer.clear();
     currentEntry = null;
+    currentBytes = null;
     nextEntry = null;
+    nextBytes = null;
     readNext();
   }
 
@@ -92,9 +131,11 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
 
     // Set the current entry to the next entry.
     currentEntry = nextEntry;
+    currentBytes = nextBytes;
 
     // Reset the next entry to null.
     nextEntry = null;
+    nextBytes = null;
 
     // Read the next entry in the segment.
     readNext();
@@ -107,7 +148,7 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
    * Reads the next entry in the segment.
    */
   @SuppressWarnings("unchecked")
-  private void readNext() {
+  protected void readNext() {
     // Compute the index of the next entry in the segment.
     final long index = getNextIndex();
 
@@ -133,13 +174,14 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
       memory.flip();
 
       // Compute the checksum for the entry bytes.
-      final Checksum crc32 = new CRC32();
+      crc32.reset();
       crc32.update(memory.array(), 0, length);
 
-      // If the stored checksum equals the computed checksum, return the entry.
+      // If the stored checksum equals the computed checksum, return the entry. The entry is deserialized on demand
+      // so readers that only copy the serialized entry never decode it.
       if (checksum == crc32.getValue()) {
-        E entry = serializer.decode(memory.array());
-        nextEntry = new Indexed<>(index, entry, length);
+        nextBytes = Arrays.copyOf(memory.array(), length);
+        nextEntry = new Indexed<>(index, nextBytes, serializer);
       } else {
         buffer.reset();
         nextEntry = null;
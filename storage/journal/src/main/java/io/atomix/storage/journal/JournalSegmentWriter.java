@@ -15,6 +15,7 @@
  */
 package io.atomix.storage.journal;
 
+import io.atomix.serializer.Namespace;
 import io.atomix.serializer.Serializer;
 import io.atomix.storage.buffer.Buffer;
 import io.atomix.storage.buffer.FileBuffer;
@@ -22,6 +23,9 @@ import io.atomix.storage.buffer.HeapBuffer;
 import io.atomix.storage.buffer.MappedBuffer;
 import io.atomix.storage.buffer.SlicedBuffer;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.zip.CRC32;
 import java.util.zip.Checksum;
 
@@ -41,19 +45,32 @@ import java.util.zip.Checksum;
  * @author <a href="http://github.com/kuujo>Jordan Halterman</a>
  */
 public class JournalSegmentWriter<E> implements JournalWriter<E> {
-  private final JournalSegmentDescriptor descriptor;
-  private final Buffer buffer;
-  private final Serializer serializer;
+  protected final JournalSegmentDescriptor descriptor;
+  protected final JournalIndex index;
+  protected final Buffer buffer;
+  protected final Serializer serializer;
   private final HeapBuffer memory = HeapBuffer.allocate();
-  private final long firstIndex;
-  private Indexed<E> lastEntry;
+  private final Checksum crc32 = new CRC32();
+  private ByteBuffer encodeBuffer = ByteBuffer.allocate(Namespace.DEFAULT_BUFFER_SIZE);
+  protected final long firstIndex;
+  protected Indexed<E> lastEntry;
 
-  public JournalSegmentWriter(JournalSegmentDescriptor descriptor, Serializer serializer) {
+  public JournalSegmentWriter(JournalSegmentDescriptor descriptor, JournalIndex index, Serializer serializer) {
+    this(descriptor, index, serializer, true);
+  }
+
+  /**
+   * @param initialize whether to initialize the writer by reading the segment as an uncompressed segment
+   */
+  protected JournalSegmentWriter(JournalSegmentDescriptor descriptor, JournalIndex index, Serializer serializer, boolean initialize) {
     this.descriptor = descriptor;
+    this.index = index;
     this.buffer = descriptor.buffer().slice();
     this.serializer = serializer;
     this.firstIndex = descriptor.index();
-    reset(0);
+    if (initialize) {
+      reset(0);
+    }
   }
 
   /**
@@ -66,7 +83,17 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
     // Clear the buffer indexes.
     buffer.clear();
 
+    // If resetting to a specific index, seek to the closest indexed position preceding the index.
+    if (index > 0) {
+      JournalIndex.Position position = this.index.lookup(index);
+      if (position != null) {
+        nextIndex = position.index();
+        buffer.position(position.position());
+      }
+    }
+
     // Read the entry length.
+    int position = buffer.position();
     int length = buffer.mark().readInt();
 
     // If the length is non-zero, read the entry.
@@ -80,19 +107,20 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
       memory.flip();
 
       // Compute the checksum for the entry bytes.
-      final Checksum crc32 = new CRC32();
+      crc32.reset();
       crc32.update(memory.array(), 0, length);
 
       // If the stored checksum equals the computed checksum, return the entry.
       if (checksum == crc32.getValue()) {
-        final E entry = serializer.decode(memory.array());
-        lastEntry = new Indexed<>(nextIndex, entry, length);
+        lastEntry = new Indexed<>(nextIndex, Arrays.copyOf(memory.array(), length), serializer);
+        this.index.index(nextIndex, position);
         nextIndex++;
       } else {
         break;
       }
 
       // Read the next entry length.
+      position = buffer.position();
       length = buffer.mark().readInt();
     }
 
@@ -174,29 +202,88 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
   @Override
   @SuppressWarnings("unchecked")
   public <T extends E> Indexed<T> append(T entry) {
+    // Serialize the entry into the reusable encode buffer and write it to the segment.
+    final ByteBuffer bytes = encode(entry);
+    return append(entry, bytes.array(), bytes.position());
+  }
+
+  @Override
+  public <T extends E> Indexed<T> append(T entry, byte[] bytes) {
+    return append(entry, bytes, bytes.length);
+  }
+
+  @Override
+  public Indexed<E> appendBytes(byte[] bytes) {
+    return append(null, bytes, bytes.length);
+  }
+
+  /**
+   * Appends an entry with the given serialized bytes to the segment.
+   *
+   * @param entry the entry to append, or {@code null} to deserialize the entry from the bytes on demand
+   * @param bytes an array containing the serialized entry, starting at offset {@code 0}
+   * @param length the length of the serialized entry
+   * @return the indexed entry
+   */
+  @SuppressWarnings("unchecked")
+  protected <T extends E> Indexed<T> append(T entry, byte[] bytes, int length) {
     // Store the entry index.
     final long index = getNextIndex();
 
-    // Serialize the entry.
-    final byte[] bytes = serializer.encode(entry);
-    final int length = bytes.length;
-
     // Compute the checksum for the entry.
-    final Checksum crc32 = new CRC32();
+    crc32.reset();
     crc32.update(bytes, 0, length);
     final long checksum = crc32.getValue();
 
     // Write the entry length and entry to the segment.
+    final int position = buffer.position();
     buffer.writeInt(length)
         .writeUnsignedInt(checksum)
-        .write(bytes);
+        .write(bytes, 0, length);
+
+    // Record the position of the entry in the segment index.
+    this.index.index(index, position);
 
     // Update the last entry with the correct index/term/length.
-    Indexed<E> indexedEntry = new Indexed<>(index, entry, length);
+    Indexed<E> indexedEntry = indexed(index, entry, bytes, length);
     this.lastEntry = indexedEntry;
     return (Indexed<T>) indexedEntry;
   }
 
+  /**
+   * Returns an indexed entry for an appended entry.
+   *
+   * @param index the entry index
+   * @param entry the appended entry, or {@code null} to deserialize the entry from the bytes on demand
+   * @param bytes an array containing the serialized entry, which is only retained if the entry is {@code null}
+   * @param length the length of the serialized entry
+   * @return the indexed entry
+   */
+  protected Indexed<E> indexed(long index, E entry, byte[] bytes, int length) {
+    return entry != null ? new Indexed<>(index, entry, length) : new Indexed<>(index, bytes, serializer);
+  }
+
+  /**
+   * Serializes the given entry into the encode buffer, growing the buffer if necessary.
+   *
+   * @param entry the entry to serialize
+   * @return the encode buffer, positioned after the serialized entry
+   */
+  private ByteBuffer encode(E entry) {
+    while (true) {
+      encodeBuffer.clear();
+      try {
+        serializer.encode(entry, encodeBuffer);
+        return encodeBuffer;
+      } catch (BufferOverflowException e) {
+        if (encodeBuffer.capacity() >= Namespace.MAX_BUFFER_SIZE) {
+          throw e;
+        }
+        encodeBuffer = ByteBuffer.allocate(Math.min(encodeBuffer.capacity() * 2, Namespace.MAX_BUFFER_SIZE));
+      }
+    }
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public void truncate(long index) {
@@ -208,6 +295,9 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
     // Reset the last entry.
     lastEntry = null;
 
+    // Truncate the segment index.
+    this.index.truncate(index);
+
     // If the index is less than the segment index, clear the segment buffer.
     if (index < descriptor.index()) {
       buffer.zero().clear();
@@ -221,6 +311,34 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
     buffer.zero(buffer.position());
   }
 
+  /**
+   * Returns the last index written to the segment buffer.
+   * <p>
+   * Entries up to the written index are flushed to disk when the segment buffer is flushed.
+   *
+   * @return the last index written to the segment buffer
+   */
+  long getWrittenIndex() {
+    return getLastIndex();
+  }
+
+  /**
+   * Returns the last index whose bytes in the segment buffer were left unmodified by the most recent truncation.
+   * <p>
+   * Entries after this index may have been rewritten by the truncation and must be flushed to disk again.
+   *
+   * @return the last index left unmodified by the most recent truncation
+   */
+  long getUnmodifiedIndex() {
+    return getLastIndex();
+  }
+
+  /**
+   * Writes any entries buffered in memory to the segment buffer without flushing the buffer to disk.
+   */
+  void writeBuffered() {
+  }
+
   @Override
   public void flush() {
     buffer.flush();
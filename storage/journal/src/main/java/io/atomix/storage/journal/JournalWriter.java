@@ -51,6 +51,30 @@ public interface JournalWriter<E> extends AutoCloseable {
    */
   <T extends E> Indexed<T> append(T entry);
 
+  /**
+   * Appends a pre-serialized entry to the journal.
+   * <p>
+   * The given bytes must be the serialized form of the given entry, e.g. as returned by
+   * {@link JournalReader#getCurrentBytes()}. The bytes are written to the journal as-is without
+   * re-serializing the entry.
+   *
+   * @param entry The entry to append.
+   * @param bytes The serialized entry bytes.
+   * @return The appended indexed entry.
+   */
+  <T extends E> Indexed<T> append(T entry, byte[] bytes);
+
+  /**
+   * Appends a serialized entry to the journal without deserializing it.
+   * <p>
+   * The bytes are written to the journal as-is, and the returned entry is only deserialized if
+   * {@link Indexed#entry()} is called. The bytes must not be modified after they're appended.
+   *
+   * @param bytes The serialized entry bytes.
+   * @return The appended indexed entry.
+   */
+  Indexed<E> appendBytes(byte[] bytes);
+
   /**
    * Appends an indexed entry to the log.
    *
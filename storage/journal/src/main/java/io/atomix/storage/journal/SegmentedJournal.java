@@ -27,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
 import java.util.NavigableMap;
@@ -64,11 +65,17 @@ public class SegmentedJournal<E> implements Journal<E> {
   private final Serializer serializer;
   private final int maxSegmentSize;
   private final int maxEntriesPerSegment;
+  private final double indexDensity;
+  private final int compressionBlockSize;
+  private final FlushMode flushMode;
+  private final Duration flushInterval;
+  private final int flushBytes;
 
   private final NavigableMap<Long, JournalSegment<E>> segments = new ConcurrentSkipListMap<>();
   private final Collection<SegmentedJournalReader<E>> readers = Sets.newConcurrentHashSet();
   private JournalSegment<E> currentSegment;
 
+  private final JournalFlusher<E> flusher;
   private final SegmentedJournalWriter<E> writer;
   private volatile boolean open = true;
 
@@ -79,13 +86,58 @@ public class SegmentedJournal<E> implements Journal<E> {
       Serializer serializer,
       int maxSegmentSize,
       int maxEntriesPerSegment) {
+    this(name, storageLevel, directory, serializer, maxSegmentSize, maxEntriesPerSegment, Builder.DEFAULT_INDEX_DENSITY);
+  }
+
+  public SegmentedJournal(
+      String name,
+      StorageLevel storageLevel,
+      File directory,
+      Serializer serializer,
+      int maxSegmentSize,
+      int maxEntriesPerSegment,
+      double indexDensity) {
+    this(name, storageLevel, directory, serializer, maxSegmentSize, maxEntriesPerSegment, indexDensity, 0);
+  }
+
+  public SegmentedJournal(
+      String name,
+      StorageLevel storageLevel,
+      File directory,
+      Serializer serializer,
+      int maxSegmentSize,
+      int maxEntriesPerSegment,
+      double indexDensity,
+      int compressionBlockSize) {
+    this(name, storageLevel, directory, serializer, maxSegmentSize, maxEntriesPerSegment, indexDensity, compressionBlockSize,
+        FlushMode.OS, Builder.DEFAULT_FLUSH_INTERVAL, Builder.DEFAULT_FLUSH_BYTES);
+  }
+
+  public SegmentedJournal(
+      String name,
+      StorageLevel storageLevel,
+      File directory,
+      Serializer serializer,
+      int maxSegmentSize,
+      int maxEntriesPerSegment,
+      double indexDensity,
+      int compressionBlockSize,
+      FlushMode flushMode,
+      Duration flushInterval,
+      int flushBytes) {
     this.name = checkNotNull(name, "name cannot be null");
     this.storageLevel = checkNotNull(storageLevel, "storageLevel cannot be null");
     this.directory = checkNotNull(directory, "directory cannot be null");
     this.serializer = checkNotNull(serializer, "serializer cannot be null");
     this.maxSegmentSize = maxSegmentSize;
     this.maxEntriesPerSegment = maxEntriesPerSegment;
+    this.indexDensity = indexDensity;
+    this.compressionBlockSize = compressionBlockSize;
+    this.flushMode = checkNotNull(flushMode, "flushMode cannot be null");
+    this.flushInterval = checkNotNull(flushInterval, "flushInterval cannot be null");
+    this.flushBytes = flushBytes;
     open();
+    this.flusher = new JournalFlusher<>(this, flushMode, flushInterval.toMillis(), flushBytes, currentSegment.lastIndex());
     this.writer = openWriter();
   }
 
@@ -146,6 +198,77 @@ public class SegmentedJournal<E> implements Journal<E> {
     return maxEntriesPerSegment;
   }
 
+  /**
+   * Returns the density of the segment indexes.
+   * <p>
+   * The index density is the fraction of entries in each segment whose positions are stored in the segment's
+   * in-memory index.
+   *
+   * @return The segment index density.
+   */
+  public double indexDensity() {
+    return indexDensity;
+  }
+
+  /**
+   * Returns the uncompressed size of the blocks in which new segments compress entries.
+   * <p>
+   * Existing segments retain the format with which they were created, so a journal may contain both compressed
+   * and uncompressed segments.
+   *
+   * @return The compression block size, or {@code 0} if new segments are not compressed.
+   */
+  public int compressionBlockSize() {
+    return compressionBlockSize;
+  }
+
+  /**
+   * Returns the mode in which entries are flushed to disk.
+   *
+   * @return The journal flush mode.
+   */
+  public FlushMode flushMode() {
+    return flushMode;
+  }
+
+  /**
+   * Returns the interval at which entries are flushed to disk in {@link FlushMode#PERIODIC} mode.
+   *
+   * @return The journal flush interval.
+   */
+  public Duration flushInterval() {
+    return flushInterval;
+  }
+
+  /**
+   * Returns the number of bytes after which entries are flushed to disk in {@link FlushMode#PERIODIC} mode.
+   *
+   * @return The number of bytes written between flushes.
+   */
+  public int flushBytes() {
+    return flushBytes;
+  }
+
+  /**
+   * Returns the highest index known to be flushed to disk.
+   * <p>
+   * In {@link FlushMode#OS} mode, entries are considered flushed once they've been written to the segment buffers.
+   *
+   * @return The highest index known to be flushed to disk.
+   */
+  public long getFlushedIndex() {
+    return flusher.getFlushedIndex();
+  }
+
+  /**
+   * Returns the journal flusher.
+   *
+   * @return The journal flusher.
+   */
+  JournalFlusher<E> flusher() {
+    return flusher;
+  }
+
   /**
    * Opens a new journal writer.
    *
@@ -173,6 +296,7 @@ public class SegmentedJournal<E> implements Journal<E> {
           .withIndex(1)
           .withMaxSegmentSize(maxSegmentSize)
           .withMaxEntries(maxEntriesPerSegment)
+          .withBlockSize(compressionBlockSize)
           .build();
 
       currentSegment = createSegment(descriptor);
@@ -213,6 +337,7 @@ public class SegmentedJournal<E> implements Journal<E> {
           .withIndex(1)
           .withMaxSegmentSize(maxSegmentSize)
           .withMaxEntries(maxEntriesPerSegment)
+          .withBlockSize(compressionBlockSize)
           .build();
 
       currentSegment = createSegment(descriptor);
@@ -247,6 +372,7 @@ public class SegmentedJournal<E> implements Journal<E> {
         .withIndex(index)
         .withMaxSegmentSize(maxSegmentSize)
         .withMaxEntries(maxEntriesPerSegment)
+        .withBlockSize(compressionBlockSize)
         .build();
     currentSegment = createSegment(descriptor);
     segments.put(index, currentSegment);
@@ -291,6 +417,7 @@ public class SegmentedJournal<E> implements Journal<E> {
         .withIndex(currentSegment.lastIndex() + 1)
         .withMaxSegmentSize(maxSegmentSize)
         .withMaxEntries(maxEntriesPerSegment)
+        .withBlockSize(compressionBlockSize)
         .build();
 
     currentSegment = createSegment(descriptor);
@@ -310,6 +437,20 @@ public class SegmentedJournal<E> implements Journal<E> {
     return nextSegment != null ? nextSegment.getValue() : null;
   }
 
+  /**
+   * Returns the segments containing the given range of indexes.
+   *
+   * @param firstIndex The first index in the range.
+   * @param lastIndex The last index in the range.
+   * @return The segments containing the given range of indexes.
+   */
+  Collection<JournalSegment<E>> getSegments(long firstIndex, long lastIndex) {
+    Long firstKey = segments.floorKey(firstIndex);
+    return firstKey != null
+        ? segments.subMap(firstKey, true, lastIndex, true).values()
+        : segments.headMap(lastIndex, true).values();
+  }
+
   /**
    * Returns the segment for the given index.
    *
@@ -367,7 +508,7 @@ public class SegmentedJournal<E> implements Journal<E> {
    * @return The segment instance.
    */
   protected JournalSegment<E> newSegment(JournalSegmentFile segmentFile, JournalSegmentDescriptor descriptor) {
-    return new JournalSegment<>(segmentFile, descriptor, serializer);
+    return new JournalSegment<>(segmentFile, descriptor, serializer, new SparseJournalIndex(indexDensity));
   }
 
   /**
@@ -627,6 +768,7 @@ public class SegmentedJournal<E> implements Journal<E> {
 
   @Override
   public void close() {
+    flusher.close();
     segments.values().forEach(segment -> {
       log.debug("Closing segment: {}", segment);
       segment.close();
@@ -643,6 +785,10 @@ public class SegmentedJournal<E> implements Journal<E> {
     private static final String DEFAULT_DIRECTORY = System.getProperty("user.dir");
     private static final int DEFAULT_MAX_SEGMENT_SIZE = 1024 * 1024 * 32;
     private static final int DEFAULT_MAX_ENTRIES_PER_SEGMENT = 1024 * 1024;
+    static final double DEFAULT_INDEX_DENSITY = .005;
+    private static final int DEFAULT_COMPRESSION_BLOCK_SIZE = 1024 * 64;
+    static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(50);
+    static final int DEFAULT_FLUSH_BYTES = 1024 * 1024;
 
     protected String name = DEFAULT_NAME;
     protected StorageLevel storageLevel = StorageLevel.DISK;
@@ -650,6 +796,11 @@ public class SegmentedJournal<E> implements Journal<E> {
     protected Serializer serializer;
     protected int maxSegmentSize = DEFAULT_MAX_SEGMENT_SIZE;
     protected int maxEntriesPerSegment = DEFAULT_MAX_ENTRIES_PER_SEGMENT;
+    protected double indexDensity = DEFAULT_INDEX_DENSITY;
+    protected int compressionBlockSize;
+    protected FlushMode flushMode = FlushMode.OS;
+    protected Duration flushInterval = DEFAULT_FLUSH_INTERVAL;
+    protected int flushBytes = DEFAULT_FLUSH_BYTES;
 
     protected Builder() {
     }
@@ -757,6 +908,121 @@ public class SegmentedJournal<E> implements Journal<E> {
       return this;
     }
 
+    /**
+     * Sets the journal index density, returning the builder for method chaining.
+     * <p>
+     * The index density is the frequency at which the position of entries written to the journal will be recorded
+     * in an in-memory index for faster seeking. A density of {@code 1} indexes every entry, while a density of
+     * {@code .01} indexes every 100th entry. Readers seeking to an index read at most {@code 1 / density} entries.
+     * <p>
+     * By default, the index density is {@code .005}.
+     *
+     * @param indexDensity the index density
+     * @return the journal builder
+     * @throws IllegalArgumentException if the density is not between 0 and 1
+     */
+    public Builder<E> withIndexDensity(double indexDensity) {
+      checkArgument(indexDensity > 0 && indexDensity <= 1, "index density must be in the range (0, 1]");
+      this.indexDensity = indexDensity;
+      return this;
+    }
+
+    /**
+     * Enables compression of new journal segments, returning the builder for method chaining.
+     * <p>
+     * Entries in compressed segments are grouped into blocks of {@code 1024 * 64} uncompressed bytes which are
+     * compressed together.
+     *
+     * @return the journal builder
+     */
+    public Builder<E> withCompression() {
+      return withCompression(true);
+    }
+
+    /**
+     * Sets whether to compress new journal segments, returning the builder for method chaining.
+     *
+     * @param compression whether to compress new journal segments
+     * @return the journal builder
+     */
+    public Builder<E> withCompression(boolean compression) {
+      this.compressionBlockSize = compression ? DEFAULT_COMPRESSION_BLOCK_SIZE : 0;
+      return this;
+    }
+
+    /**
+     * Sets the uncompressed size of the blocks in which entries are compressed, returning the builder for method
+     * chaining.
+     * <p>
+     * Entries are compressed in blocks to allow entries to be compressed against one another. Larger blocks generally
+     * compress better but require more entries to be decompressed when reading a single entry. Entries in the block
+     * being written are held in memory until the block is full or the journal is flushed. A block size of {@code 0}
+     * disables compression.
+     * <p>
+     * By default, compression is disabled.
+     *
+     * @param compressionBlockSize the compression block size in bytes
+     * @return the journal builder
+     * @throws IllegalArgumentException if the block size is negative
+     */
+    public Builder<E> withCompressionBlockSize(int compressionBlockSize) {
+      checkArgument(compressionBlockSize >= 0, "compressionBlockSize cannot be negative");
+      this.compressionBlockSize = compressionBlockSize;
+      return this;
+    }
+
+    /**
+     * Sets the mode in which entries are flushed to disk, returning the builder for method chaining.
+     * <p>
+     * Flushes are performed on a dedicated thread per journal. In {@link FlushMode#IMMEDIATE} mode, entries are
+     * flushed as soon as a flush is requested. In {@link FlushMode#PERIODIC} mode, entries are flushed at the
+     * configured {@link #withFlushInterval(Duration) interval} or once the configured
+     * {@link #withFlushBytes(int) number of bytes} have been written. In {@link FlushMode#OS} mode, entries are only
+     * flushed when the writer is explicitly {@link JournalWriter#flush() flushed}.
+     * <p>
+     * By default, the flush mode is {@link FlushMode#OS}.
+     *
+     * @param flushMode the journal flush mode
+     * @return the journal builder
+     */
+    public Builder<E> withFlushMode(FlushMode flushMode) {
+      this.flushMode = checkNotNull(flushMode, "flushMode cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the interval at which entries are flushed to disk in {@link FlushMode#PERIODIC} mode, returning the
+     * builder for method chaining.
+     * <p>
+     * By default, the flush interval is {@code 50} milliseconds.
+     *
+     * @param flushInterval the journal flush interval
+     * @return the journal builder
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    public Builder<E> withFlushInterval(Duration flushInterval) {
+      checkNotNull(flushInterval, "flushInterval cannot be null");
+      checkArgument(flushInterval.toMillis() > 0, "flushInterval must be positive");
+      this.flushInterval = flushInterval;
+      return this;
+    }
+
+    /**
+     * Sets the number of bytes after which entries are flushed to disk in {@link FlushMode#PERIODIC} mode,
+     * returning the builder for method chaining.
+     * <p>
+     * By default, entries are flushed after {@code 1024 * 1024} bytes have been written.
+     *
+     * @param flushBytes the number of bytes written between flushes
+     * @return the journal builder
+     * @throws IllegalArgumentException if the number of bytes is not positive
+     */
+    public Builder<E> withFlushBytes(int flushBytes) {
+      checkArgument(flushBytes > 0, "flushBytes must be positive");
+      this.flushBytes = flushBytes;
+      return this;
+    }
+
     /**
      * Builds the journal.
      *
@@ -764,7 +1030,18 @@ public class SegmentedJournal<E> implements Journal<E> {
      */
     @Override
     public SegmentedJournal<E> build() {
-      return new SegmentedJournal<>(name, storageLevel, directory, serializer, maxSegmentSize, maxEntriesPerSegment);
+      return new SegmentedJournal<>(
+          name,
+          storageLevel,
+          directory,
+          serializer,
+          maxSegmentSize,
+          maxEntriesPerSegment,
+          indexDensity,
+          compressionBlockSize,
+          flushMode,
+          flushInterval,
+          flushBytes);
     }
   }
 }
\ No newline at end of file
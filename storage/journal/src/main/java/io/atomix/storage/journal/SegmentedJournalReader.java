@@ -39,6 +39,7 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
   private void initialize(long index) {
     currentSegment = journal.getSegment(index);
     currentReader = currentSegment.createReader();
+    currentReader.reset(index);
     long nextIndex = getNextIndex();
     while (index > nextIndex && hasNext()) {
       next();
@@ -76,6 +77,12 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
     return previousEntry;
   }
 
+  @Override
+  public byte[] getCurrentBytes() {
+    // The bytes of entries in prior segments are not retained once the reader has moved to the next segment.
+    return currentReader.getCurrentEntry() != null ? currentReader.getCurrentBytes() : null;
+  }
+
   @Override
   public long getNextIndex() {
     return currentReader.getNextIndex();
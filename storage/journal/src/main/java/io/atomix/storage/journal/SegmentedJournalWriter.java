@@ -15,6 +15,8 @@
  */
 package io.atomix.storage.journal;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Log writer.
  *
@@ -56,24 +58,65 @@ public class SegmentedJournalWriter<E> implements JournalWriter<E> {
     currentSegment = journal.resetSegments(index);
     currentWriter = currentSegment.writer();
     journal.resetHead(index);
+    journal.flusher().truncated(index - 1, index - 1);
   }
 
   @Override
   public <T extends E> Indexed<T> append(T entry) {
     if (currentWriter.isFull()) {
-      currentSegment = journal.getNextSegment();
-      currentWriter = currentSegment.writer();
+      nextSegment();
+    }
+    Indexed<T> indexed = currentWriter.append(entry);
+    written(indexed.size());
+    return indexed;
+  }
+
+  @Override
+  public <T extends E> Indexed<T> append(T entry, byte[] bytes) {
+    if (currentWriter.isFull()) {
+      nextSegment();
     }
-    return currentWriter.append(entry);
+    Indexed<T> indexed = currentWriter.append(entry, bytes);
+    written(indexed.size());
+    return indexed;
+  }
+
+  @Override
+  public Indexed<E> appendBytes(byte[] bytes) {
+    if (currentWriter.isFull()) {
+      nextSegment();
+    }
+    Indexed<E> indexed = currentWriter.appendBytes(bytes);
+    written(indexed.size());
+    return indexed;
   }
 
   @Override
   public void append(Indexed<E> entry) {
     if (currentWriter.isFull()) {
-      currentSegment = journal.getNextSegment();
-      currentWriter = currentSegment.writer();
+      nextSegment();
     }
     currentWriter.append(entry);
+    written(entry.size());
+  }
+
+  /**
+   * Reports entries written by the current segment writer to the journal flusher.
+   */
+  private void written(long bytes) {
+    // Entries held in memory by the segment writer can only be flushed once they're written to the segment buffer.
+    // This holds in OS mode as well, since entries held in memory are lost if the process crashes.
+    journal.flusher().written(currentWriter.getWrittenIndex(), bytes);
+  }
+
+  /**
+   * Rolls the writer over to the next segment.
+   */
+  private void nextSegment() {
+    currentWriter.writeBuffered();
+    written(0);
+    currentSegment = journal.getNextSegment();
+    currentWriter = currentSegment.writer();
   }
 
   @Override
@@ -91,11 +134,37 @@ public class SegmentedJournalWriter<E> implements JournalWriter<E> {
 
     // Reset segment readers.
     journal.resetTail(index + 1);
+    journal.flusher().truncated(index, currentWriter.getUnmodifiedIndex());
+  }
+
+  /**
+   * Returns a future to be completed once entries up to the given index have been flushed to disk.
+   * <p>
+   * Unlike {@link #flush()}, this method does not block the writer thread. The flush is performed on the journal's
+   * flusher thread according to the journal's {@link FlushMode}. Entries held in memory by the segment writer are
+   * written to the segment buffer before the flush is requested in all modes.
+   *
+   * @param index the index up to which to flush entries
+   * @return a future to be completed with the given index once the index has been flushed to disk
+   */
+  public CompletableFuture<Long> flush(long index) {
+    if (index > currentWriter.getWrittenIndex()) {
+      currentWriter.writeBuffered();
+      written(0);
+    }
+    return journal.flusher().flush(index);
   }
 
   @Override
   public void flush() {
-    currentWriter.flush();
+    if (journal.flushMode() == FlushMode.OS) {
+      currentWriter.flush();
+      written(0);
+    } else {
+      currentWriter.writeBuffered();
+      written(0);
+      journal.flusher().flush();
+    }
   }
 
   @Override
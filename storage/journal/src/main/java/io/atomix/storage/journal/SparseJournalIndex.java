@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Sparse journal index.
+ * <p>
+ * The sparse index records the position of every {@code n}th entry in a segment, where {@code n} is determined
+ * by the configured index density. Lookups return the closest preceding indexed entry, so readers seeking to an
+ * arbitrary index never have to read more than {@code n} entries.
+ */
+public class SparseJournalIndex implements JournalIndex {
+  private static final int MIN_DENSITY = 1000;
+
+  private final int stride;
+  private final ConcurrentNavigableMap<Long, Integer> positions = new ConcurrentSkipListMap<>();
+
+  public SparseJournalIndex(double density) {
+    checkArgument(density > 0 && density <= 1, "density must be in the range (0, 1]");
+    this.stride = (int) Math.ceil(MIN_DENSITY / (density * MIN_DENSITY));
+  }
+
+  /**
+   * Returns the number of entries between indexed positions.
+   *
+   * @return the number of entries between indexed positions
+   */
+  public int stride() {
+    return stride;
+  }
+
+  @Override
+  public void index(long index, int position) {
+    if (index % stride == 0) {
+      positions.put(index, position);
+    }
+  }
+
+  @Override
+  public Position lookup(long index) {
+    Map.Entry<Long, Integer> entry = positions.floorEntry(index);
+    return entry != null ? new Position(entry.getKey(), entry.getValue()) : null;
+  }
+
+  @Override
+  public void truncate(long index) {
+    positions.tailMap(index, false).clear();
+  }
+}
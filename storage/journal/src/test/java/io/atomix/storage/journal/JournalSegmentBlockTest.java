@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import io.atomix.storage.StorageException;
+import io.atomix.storage.buffer.HeapBuffer;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Journal segment block test.
+ */
+public class JournalSegmentBlockTest {
+  private static final int MAX_LENGTH = 4096;
+
+  @Test
+  public void testBlockAtMaxLength() throws Exception {
+    JournalSegmentBlock block = new JournalSegmentBlock(MAX_LENGTH);
+
+    // Find the largest entry that fits in the block and fill it with incompressible bytes.
+    int length = MAX_LENGTH;
+    while (!block.canAppend(length)) {
+      length--;
+    }
+    assertFalse(block.canAppend(length + 1));
+    byte[] entry = new byte[length];
+    new Random(0).nextBytes(entry);
+    block.append(1, entry, length);
+    assertFalse(block.canAppend(0));
+
+    HeapBuffer buffer = HeapBuffer.allocate(MAX_LENGTH * 2);
+    block.write(buffer);
+    assertTrue(buffer.position() <= Integer.BYTES + Integer.BYTES + MAX_LENGTH);
+    buffer.flip();
+
+    JournalSegmentBlock readBlock = new JournalSegmentBlock(MAX_LENGTH);
+    assertTrue(readBlock.read(buffer));
+    assertEquals(1, readBlock.firstIndex());
+    assertEquals(1, readBlock.lastIndex());
+    assertArrayEquals(entry, readBlock.get(1));
+
+    block.close();
+    readBlock.close();
+  }
+
+  @Test
+  public void testBlockOverMaxLength() throws Exception {
+    JournalSegmentBlock block = new JournalSegmentBlock(MAX_LENGTH);
+    byte[] entry = new byte[MAX_LENGTH];
+    try {
+      block.append(1, entry, entry.length);
+      fail();
+    } catch (StorageException e) {
+    }
+    assertTrue(block.isEmpty());
+    block.close();
+  }
+}
@@ -25,6 +25,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Segment descriptor test.
@@ -51,11 +53,15 @@ public class JournalSegmentDescriptorTest {
     assertEquals(descriptor.index(), 1025);
     assertEquals(descriptor.maxSegmentSize(), 1024 * 1024);
     assertEquals(descriptor.maxEntries(), 2048);
+    assertEquals(descriptor.blockSize(), 0);
+    assertFalse(descriptor.isCompressed());
 
     assertEquals(descriptor.updated(), 0);
     long time = System.currentTimeMillis();
     descriptor.update(time);
     assertEquals(descriptor.updated(), time);
+    assertEquals(descriptor.blockSize(), 4096);
+    assertTrue(descriptor.isCompressed());
   }
 
   /**
@@ -106,6 +112,7 @@ public class JournalSegmentDescriptorTest {
       .withIndex(1025)
       .withMaxSegmentSize(1024 * 1024)
       .withMaxEntries(2048)
+      .withBlockSize(4096)
       .build();
 
     long time = System.currentTimeMillis();
@@ -119,6 +126,8 @@ public class JournalSegmentDescriptorTest {
     assertEquals(descriptor.maxSegmentSize(), 1024 * 1024);
     assertEquals(descriptor.maxEntries(), 2048);
     assertEquals(descriptor.updated(), time);
+    assertEquals(descriptor.blockSize(), 4096);
+    assertTrue(descriptor.isCompressed());
   }
 
   /**
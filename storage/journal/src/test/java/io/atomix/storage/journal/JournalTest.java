@@ -20,8 +20,20 @@ import io.atomix.serializer.kryo.KryoNamespace;
 import io.atomix.storage.StorageLevel;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -136,4 +148,407 @@ public class JournalTest {
     assertEquals(reader.getCurrentIndex(), 2);
     assertFalse(reader.hasNext());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testIndexedSeek() throws Exception {
+    Journal<TestEntry> journal = SegmentedJournal.<TestEntry>builder()
+        .withName("test")
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.MEMORY)
+        .withMaxEntriesPerSegment(100)
+        .withIndexDensity(.1)
+        .build();
+
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 1; i <= 1000; i++) {
+      assertEquals(i, writer.append(new TestEntry(32)).index());
+    }
+
+    JournalReader<TestEntry> reader = journal.openReader(555);
+    assertEquals(555, reader.getNextIndex());
+    assertEquals(554, reader.getCurrentIndex());
+    assertEquals(555, reader.next().index());
+
+    for (long index : new long[]{1, 2, 99, 100, 101, 210, 999, 1000, 150, 11, 10}) {
+      reader.reset(index);
+      assertEquals(index, reader.getNextIndex());
+      assertTrue(reader.hasNext());
+      assertEquals(index, reader.next().index());
+    }
+
+    writer.truncate(615);
+    assertEquals(616, writer.getNextIndex());
+    reader.reset(611);
+    assertEquals(611, reader.next().index());
+    assertEquals(612, reader.next().index());
+    assertEquals(613, reader.next().index());
+    assertEquals(614, reader.next().index());
+    assertEquals(615, reader.next().index());
+    assertFalse(reader.hasNext());
+
+    assertEquals(616, writer.append(new TestEntry(32)).index());
+    reader.reset(616);
+    assertEquals(616, reader.next().index());
+  }
+
+  @Test
+  public void testRawEntryCopy() throws Exception {
+    Journal<TestEntry> source = SegmentedJournal.<TestEntry>builder()
+        .withName("source")
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.MEMORY)
+        .withMaxEntriesPerSegment(10)
+        .build();
+    Journal<TestEntry> target = SegmentedJournal.<TestEntry>builder()
+        .withName("target")
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.MEMORY)
+        .withMaxEntriesPerSegment(7)
+        .build();
+
+    JournalWriter<TestEntry> sourceWriter = source.writer();
+    for (int i = 1; i <= 25; i++) {
+      sourceWriter.append(new TestEntry(i));
+    }
+
+    JournalReader<TestEntry> sourceReader = source.openReader(1);
+    assertNull(sourceReader.getCurrentBytes());
+
+    JournalWriter<TestEntry> targetWriter = target.writer();
+    while (sourceReader.hasNext()) {
+      Indexed<TestEntry> entry = sourceReader.next();
+      byte[] bytes = sourceReader.getCurrentBytes();
+      assertArrayEquals(serializer.encode(entry.entry()), bytes);
+      Indexed<TestEntry> appended = targetWriter.append(entry.entry(), bytes);
+      assertEquals(entry.index(), appended.index());
+      assertEquals(entry.size(), appended.size());
+    }
+
+    sourceReader.reset(1);
+    JournalReader<TestEntry> targetReader = target.openReader(1);
+    while (sourceReader.hasNext()) {
+      assertTrue(targetReader.hasNext());
+      Indexed<TestEntry> entry = sourceReader.next();
+      assertEquals(entry.index(), targetReader.next().index());
+      assertArrayEquals(sourceReader.getCurrentBytes(), targetReader.getCurrentBytes());
+    }
+    assertFalse(targetReader.hasNext());
+  }
+
+  @Test
+  public void testRawEntryAppend() throws Exception {
+    Journal<TestEntry> source = SegmentedJournal.<TestEntry>builder()
+        .withName("source")
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.MEMORY)
+        .withMaxEntriesPerSegment(10)
+        .build();
+    Journal<TestEntry> target = SegmentedJournal.<TestEntry>builder()
+        .withName("target")
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.MEMORY)
+        .withMaxEntriesPerSegment(7)
+        .withCompressionBlockSize(256)
+        .build();
+
+    JournalWriter<TestEntry> sourceWriter = source.writer();
+    for (int i = 1; i <= 25; i++) {
+      sourceWriter.append(new TestEntry(i));
+    }
+
+    JournalReader<TestEntry> sourceReader = source.openReader(1);
+    JournalWriter<TestEntry> targetWriter = target.writer();
+    while (sourceReader.hasNext()) {
+      Indexed<TestEntry> entry = sourceReader.next();
+      Indexed<TestEntry> appended = targetWriter.appendBytes(sourceReader.getCurrentBytes());
+      assertEquals(entry.index(), appended.index());
+      assertEquals(entry.size(), appended.size());
+      assertArrayEquals(serializer.encode(entry.entry()), serializer.encode(appended.entry()));
+    }
+    assertEquals(25, targetWriter.getLastEntry().index());
+    assertArrayEquals(serializer.encode(new TestEntry(25)), serializer.encode(targetWriter.getLastEntry().entry()));
+
+    sourceReader.reset(1);
+    JournalReader<TestEntry> targetReader = target.openReader(1);
+    while (sourceReader.hasNext()) {
+      assertTrue(targetReader.hasNext());
+      Indexed<TestEntry> entry = sourceReader.next();
+      Indexed<TestEntry> copy = targetReader.next();
+      assertEquals(entry.index(), copy.index());
+      assertArrayEquals(serializer.encode(entry.entry()), serializer.encode(copy.entry()));
+    }
+    assertFalse(targetReader.hasNext());
+  }
+
+  @Test
+  public void testLargeEntries() throws Exception {
+    Journal<TestEntry> journal = createJournal();
+    JournalWriter<TestEntry> writer = journal.writer();
+
+    // Entries larger than the writer's initial encode buffer force the buffer to grow.
+    for (int i = 1; i <= 10; i++) {
+      assertEquals(i, writer.append(new TestEntry(i * 2048)).index());
+    }
+
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    for (int i = 1; i <= 10; i++) {
+      assertEquals(i, reader.next().index());
+      assertArrayEquals(serializer.encode(new TestEntry(i * 2048)), reader.getCurrentBytes());
+    }
+    assertFalse(reader.hasNext());
+  }
+
+  @Test
+  public void testCompressedWriteRead() throws Exception {
+    Journal<TestEntry> journal = SegmentedJournal.<TestEntry>builder()
+        .withName("compressed")
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.MEMORY)
+        .withMaxEntriesPerSegment(100)
+        .withIndexDensity(.1)
+        .withCompressionBlockSize(1024)
+        .build();
+
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 1; i <= 1000; i++) {
+      assertEquals(i, writer.append(new TestEntry(32)).index());
+    }
+
+    byte[] bytes = serializer.encode(new TestEntry(32));
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    for (int i = 1; i <= 1000; i++) {
+      assertTrue(reader.hasNext());
+      assertEquals(i, reader.next().index());
+      assertArrayEquals(bytes, reader.getCurrentBytes());
+    }
+    assertFalse(reader.hasNext());
+
+    for (long index : new long[]{1, 2, 99, 100, 101, 210, 999, 1000, 150, 11, 10}) {
+      reader.reset(index);
+      assertEquals(index, reader.getNextIndex());
+      assertTrue(reader.hasNext());
+      assertEquals(index, reader.next().index());
+    }
+
+    writer.truncate(615);
+    assertEquals(616, writer.getNextIndex());
+    reader.reset(611);
+    for (int i = 611; i <= 615; i++) {
+      assertEquals(i, reader.next().index());
+    }
+    assertFalse(reader.hasNext());
+
+    // Entries that have not yet been compressed are visible to readers.
+    assertEquals(616, writer.append(new TestEntry(32)).index());
+    assertTrue(reader.hasNext());
+    assertEquals(616, reader.next().index());
+    assertEquals(617, writer.append(new TestEntry(32)).index());
+    assertTrue(reader.hasNext());
+    assertEquals(617, reader.next().index());
+    assertFalse(reader.hasNext());
+  }
+
+  @Test
+  public void testCompressedRecovery() throws Exception {
+    File directory = new File("target/test-logs/compressed");
+    deleteDirectory(directory);
+
+    Journal<TestEntry> journal = createCompressedDiskJournal(directory);
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 1; i <= 250; i++) {
+      assertEquals(i, writer.append(new TestEntry(i % 64)).index());
+    }
+    writer.flush();
+    journal.close();
+
+    journal = createCompressedDiskJournal(directory);
+    assertEquals(251, journal.writer().getNextIndex());
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    for (int i = 1; i <= 250; i++) {
+      assertTrue(reader.hasNext());
+      assertEquals(i, reader.next().index());
+      assertArrayEquals(serializer.encode(new TestEntry(i % 64)), reader.getCurrentBytes());
+    }
+    assertFalse(reader.hasNext());
+    journal.close();
+
+    deleteDirectory(directory);
+  }
+
+  @Test
+  public void testCompressedTruncateWithinWrittenBlock() throws Exception {
+    File directory = new File("target/test-logs/compressed-truncate");
+    deleteDirectory(directory);
+
+    Journal<TestEntry> journal = createCompressedDiskJournal(directory);
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 1; i <= 50; i++) {
+      assertEquals(i, writer.append(new TestEntry(i % 64)).index());
+    }
+    writer.flush();
+
+    // Truncate into the middle of a block that was already written to the segment.
+    writer.truncate(30);
+    assertEquals(31, writer.getNextIndex());
+
+    // Reopen the journal without flushing or closing the writer to simulate a crash.
+    Journal<TestEntry> recovered = createCompressedDiskJournal(directory);
+    assertEquals(31, recovered.writer().getNextIndex());
+    JournalReader<TestEntry> reader = recovered.openReader(1);
+    for (int i = 1; i <= 30; i++) {
+      assertTrue(reader.hasNext());
+      assertEquals(i, reader.next().index());
+      assertArrayEquals(serializer.encode(new TestEntry(i % 64)), reader.getCurrentBytes());
+    }
+    assertFalse(reader.hasNext());
+    recovered.close();
+    journal.close();
+
+    deleteDirectory(directory);
+  }
+
+  @Test
+  public void testImmediateFlush() throws Exception {
+    SegmentedJournal<TestEntry> journal = SegmentedJournal.<TestEntry>builder()
+        .withName("flush")
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.MEMORY)
+        .withMaxEntriesPerSegment(10)
+        .withCompressionBlockSize(1024)
+        .withFlushMode(FlushMode.IMMEDIATE)
+        .build();
+
+    SegmentedJournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 1; i <= 25; i++) {
+      writer.append(new TestEntry(32));
+    }
+    assertTrue(journal.getFlushedIndex() < 25);
+    assertEquals(25, writer.flush(25).get(10, TimeUnit.SECONDS).longValue());
+    assertEquals(25, journal.getFlushedIndex());
+
+    writer.truncate(20);
+    assertEquals(20, journal.getFlushedIndex());
+    assertTrue(writer.flush(20).isDone());
+
+    writer.append(new TestEntry(32));
+    CompletableFuture<Long> future = writer.flush(21);
+    assertEquals(21, future.get(10, TimeUnit.SECONDS).longValue());
+    assertEquals(21, journal.getFlushedIndex());
+    journal.close();
+  }
+
+  @Test
+  public void testPeriodicFlush() throws Exception {
+    SegmentedJournal<TestEntry> journal = SegmentedJournal.<TestEntry>builder()
+        .withName("flush")
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.MEMORY)
+        .withFlushMode(FlushMode.PERIODIC)
+        .withFlushInterval(Duration.ofMillis(10))
+        .build();
+
+    SegmentedJournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 1; i <= 10; i++) {
+      writer.append(new TestEntry(32));
+    }
+    assertEquals(10, writer.flush(10).get(10, TimeUnit.SECONDS).longValue());
+    assertEquals(10, journal.getFlushedIndex());
+    journal.close();
+  }
+
+  @Test
+  public void testOsFlush() throws Exception {
+    SegmentedJournal<TestEntry> journal = SegmentedJournal.<TestEntry>builder()
+        .withName("flush")
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.MEMORY)
+        .build();
+
+    SegmentedJournalWriter<TestEntry> writer = journal.writer();
+    writer.append(new TestEntry(32));
+    assertEquals(1, journal.getFlushedIndex());
+    assertTrue(writer.flush(1).isDone());
+    journal.close();
+  }
+
+  @Test
+  public void testCompressedOsFlush() throws Exception {
+    SegmentedJournal<TestEntry> journal = SegmentedJournal.<TestEntry>builder()
+        .withName("flush")
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.MEMORY)
+        .withCompressionBlockSize(1024)
+        .build();
+
+    // Entries in the open block are not reported as flushed until the block is written to the segment.
+    SegmentedJournalWriter<TestEntry> writer = journal.writer();
+    writer.append(new TestEntry(32));
+    assertEquals(0, journal.getFlushedIndex());
+    assertEquals(1, writer.flush(1).get(10, TimeUnit.SECONDS).longValue());
+    assertEquals(1, journal.getFlushedIndex());
+    journal.close();
+  }
+
+  @Test
+  public void testCompressedBlocksLimitedToSegmentSize() throws Exception {
+    File directory = new File("target/test-logs/compressed-limit");
+    deleteDirectory(directory);
+
+    // Blocks are larger than segments and entries are incompressible, so blocks must be written early.
+    Random random = new Random(0);
+    byte[][] entries = new byte[20][];
+    Journal<TestEntry> journal = createLimitedDiskJournal(directory);
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 0; i < entries.length; i++) {
+      entries[i] = new byte[1500];
+      random.nextBytes(entries[i]);
+      assertEquals(i + 1, writer.append(new TestEntry(entries[i])).index());
+    }
+    writer.flush();
+    journal.close();
+
+    journal = createLimitedDiskJournal(directory);
+    assertEquals(entries.length + 1, journal.writer().getNextIndex());
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    for (int i = 0; i < entries.length; i++) {
+      assertTrue(reader.hasNext());
+      assertEquals(i + 1, reader.next().index());
+      assertArrayEquals(serializer.encode(new TestEntry(entries[i])), reader.getCurrentBytes());
+    }
+    assertFalse(reader.hasNext());
+    journal.close();
+
+    deleteDirectory(directory);
+  }
+
+  private Journal<TestEntry> createLimitedDiskJournal(File directory) {
+    return SegmentedJournal.<TestEntry>builder()
+        .withName("compressed-limit")
+        .withDirectory(directory)
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.DISK)
+        .withMaxSegmentSize(4096)
+        .withCompressionBlockSize(1024 * 64)
+        .build();
+  }
+
+  private Journal<TestEntry> createCompressedDiskJournal(File directory) {
+    return SegmentedJournal.<TestEntry>builder()
+        .withName("compressed")
+        .withDirectory(directory)
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.DISK)
+        .withMaxEntriesPerSegment(100)
+        .withCompressionBlockSize(512)
+        .build();
+  }
+
+  private static void deleteDirectory(File directory) throws IOException {
+    if (directory.exists()) {
+      Files.walk(directory.toPath())
+          .sorted(Comparator.reverseOrder())
+          .map(Path::toFile)
+          .forEach(File::delete);
+    }
+  }
+}
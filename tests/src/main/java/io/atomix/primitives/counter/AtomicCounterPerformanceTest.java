@@ -0,0 +1,381 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.counter;
+
+import io.atomix.primitives.counter.impl.RaftAtomicCounter;
+import io.atomix.primitives.counter.impl.RaftAtomicCounterService;
+import io.atomix.primitives.counter.impl.CombiningAsyncAtomicCounter;
+import io.atomix.primitives.counter.impl.DefaultAsyncStripedCounter;
+import io.atomix.protocols.raft.RaftClient;
+import io.atomix.protocols.raft.RaftError;
+import io.atomix.protocols.raft.RaftServer;
+import io.atomix.protocols.raft.ReadConsistency;
+import io.atomix.protocols.raft.cluster.MemberId;
+import io.atomix.protocols.raft.cluster.RaftMember;
+import io.atomix.protocols.raft.cluster.impl.DefaultRaftMember;
+import io.atomix.protocols.raft.operation.OperationType;
+import io.atomix.protocols.raft.operation.RaftOperation;
+import io.atomix.protocols.raft.operation.impl.DefaultOperationId;
+import io.atomix.protocols.raft.protocol.AppendRequest;
+import io.atomix.protocols.raft.protocol.AppendResponse;
+import io.atomix.protocols.raft.protocol.CloseSessionRequest;
+import io.atomix.protocols.raft.protocol.CloseSessionResponse;
+import io.atomix.protocols.raft.protocol.CommandRequest;
+import io.atomix.protocols.raft.protocol.CommandResponse;
+import io.atomix.protocols.raft.protocol.ConfigureRequest;
+import io.atomix.protocols.raft.protocol.ConfigureResponse;
+import io.atomix.protocols.raft.protocol.HeartbeatRequest;
+import io.atomix.protocols.raft.protocol.HeartbeatResponse;
+import io.atomix.protocols.raft.protocol.InstallRequest;
+import io.atomix.protocols.raft.protocol.InstallResponse;
+import io.atomix.protocols.raft.protocol.JoinRequest;
+import io.atomix.protocols.raft.protocol.JoinResponse;
+import io.atomix.protocols.raft.protocol.KeepAliveRequest;
+import io.atomix.protocols.raft.protocol.KeepAliveResponse;
+import io.atomix.protocols.raft.protocol.LeaveRequest;
+import io.atomix.protocols.raft.protocol.LeaveResponse;
+import io.atomix.protocols.raft.protocol.LocalRaftProtocolFactory;
+import io.atomix.protocols.raft.protocol.MetadataRequest;
+import io.atomix.protocols.raft.protocol.MetadataResponse;
+import io.atomix.protocols.raft.protocol.OpenSessionRequest;
+import io.atomix.protocols.raft.protocol.OpenSessionResponse;
+import io.atomix.protocols.raft.protocol.PollRequest;
+import io.atomix.protocols.raft.protocol.PollResponse;
+import io.atomix.protocols.raft.protocol.PublishRequest;
+import io.atomix.protocols.raft.protocol.QueryRequest;
+import io.atomix.protocols.raft.protocol.QueryResponse;
+import io.atomix.protocols.raft.protocol.RaftResponse;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexResponse;
+import io.atomix.protocols.raft.protocol.ReconfigureRequest;
+import io.atomix.protocols.raft.protocol.ReconfigureResponse;
+import io.atomix.protocols.raft.protocol.ResetRequest;
+import io.atomix.protocols.raft.protocol.VoteRequest;
+import io.atomix.protocols.raft.protocol.VoteResponse;
+import io.atomix.protocols.raft.proxy.CommunicationStrategy;
+import io.atomix.protocols.raft.proxy.RaftProxy;
+import io.atomix.protocols.raft.session.SessionId;
+import io.atomix.protocols.raft.storage.RaftStorage;
+import io.atomix.protocols.raft.storage.log.entry.CloseSessionEntry;
+import io.atomix.protocols.raft.storage.log.entry.CommandEntry;
+import io.atomix.protocols.raft.storage.log.entry.ConfigurationEntry;
+import io.atomix.protocols.raft.storage.log.entry.InitializeEntry;
+import io.atomix.protocols.raft.storage.log.entry.KeepAliveEntry;
+import io.atomix.protocols.raft.storage.log.entry.MetadataEntry;
+import io.atomix.protocols.raft.storage.log.entry.OpenSessionEntry;
+import io.atomix.protocols.raft.storage.log.entry.QueryEntry;
+import io.atomix.protocols.raft.storage.system.Configuration;
+import io.atomix.serializer.Serializer;
+import io.atomix.serializer.kryo.KryoNamespace;
+import io.atomix.storage.StorageLevel;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Atomic counter performance test.
+ * <p>
+ * Compares the throughput of {@link RaftAtomicCounter} with {@link CombiningAsyncAtomicCounter} and
+ * {@link DefaultAsyncStripedCounter} when many clients increment the same counter concurrently.
+ */
+public class AtomicCounterPerformanceTest implements Runnable {
+
+  private static final int TOTAL_OPERATIONS = 1000000;
+  private static final int NUM_CLIENTS = 64;
+  private static final int OPERATIONS_PER_CLIENT = 16;
+  private static final int STRIPES = 4;
+
+  /**
+   * Runs the test.
+   */
+  public static void main(String[] args) {
+    new AtomicCounterPerformanceTest().run();
+  }
+
+  private static final Serializer protocolSerializer = Serializer.using(KryoNamespace.builder()
+      .register(HeartbeatRequest.class)
+      .register(HeartbeatResponse.class)
+      .register(OpenSessionRequest.class)
+      .register(OpenSessionResponse.class)
+      .register(CloseSessionRequest.class)
+      .register(CloseSessionResponse.class)
+      .register(KeepAliveRequest.class)
+      .register(KeepAliveResponse.class)
+      .register(QueryRequest.class)
+      .register(QueryResponse.class)
+      .register(CommandRequest.class)
+      .register(CommandResponse.class)
+      .register(MetadataRequest.class)
+      .register(MetadataResponse.class)
+      .register(JoinRequest.class)
+      .register(JoinResponse.class)
+      .register(LeaveRequest.class)
+      .register(LeaveResponse.class)
+      .register(ConfigureRequest.class)
+      .register(ConfigureResponse.class)
+      .register(ReconfigureRequest.class)
+      .register(ReconfigureResponse.class)
+      .register(InstallRequest.class)
+      .register(InstallResponse.class)
+      .register(PollRequest.class)
+      .register(PollResponse.class)
+      .register(VoteRequest.class)
+      .register(VoteResponse.class)
+      .register(AppendRequest.class)
+      .register(AppendResponse.class)
+      .register(PublishRequest.class)
+      .register(ResetRequest.class)
+      .register(RaftResponse.Status.class)
+      .register(RaftError.class)
+      .register(RaftError.Type.class)
+      .register(RaftOperation.class)
+      .register(ReadConsistency.class)
+      .register(byte[].class)
+      .register(long[].class)
+      .register(CloseSessionEntry.class)
+      .register(CommandEntry.class)
+      .register(ConfigurationEntry.class)
+      .register(InitializeEntry.class)
+      .register(KeepAliveEntry.class)
+      .register(MetadataEntry.class)
+      .register(OpenSessionEntry.class)
+      .register(QueryEntry.class)
+      .register(DefaultOperationId.class)
+      .register(OperationType.class)
+      .register(ArrayList.class)
+      .register(Collections.emptyList().getClass())
+      .register(HashSet.class)
+      .register(DefaultRaftMember.class)
+      .register(MemberId.class)
+      .register(SessionId.class)
+      .register(RaftMember.Type.class)
+      .register(Instant.class)
+      .register(Configuration.class)
+      .register(ReadIndexRequest.class)
+      .register(ReadIndexResponse.class)
+      .build());
+
+  private static final Serializer storageSerializer = Serializer.using(KryoNamespace.builder()
+      .register(CloseSessionEntry.class)
+      .register(CommandEntry.class)
+      .register(ConfigurationEntry.class)
+      .register(InitializeEntry.class)
+      .register(KeepAliveEntry.class)
+      .register(MetadataEntry.class)
+      .register(OpenSessionEntry.class)
+      .register(QueryEntry.class)
+      .register(RaftOperation.class)
+      .register(DefaultOperationId.class)
+      .register(OperationType.class)
+      .register(ReadConsistency.class)
+      .register(ArrayList.class)
+      .register(HashSet.class)
+      .register(DefaultRaftMember.class)
+      .register(MemberId.class)
+      .register(RaftMember.Type.class)
+      .register(Instant.class)
+      .register(Configuration.class)
+      .register(byte[].class)
+      .register(long[].class)
+      .build());
+
+  private int nextId;
+  private List<MemberId> members = new ArrayList<>();
+  private List<RaftClient> clients = new ArrayList<>();
+  private List<RaftServer> servers = new ArrayList<>();
+  private LocalRaftProtocolFactory protocolFactory;
+  private final AtomicInteger totalOperations = new AtomicInteger();
+
+  @Override
+  public void run() {
+    try {
+      long raftTime = runIteration("raft", client -> new RaftAtomicCounter(createProxy(client, "raft")),
+          AsyncAtomicCounter::incrementAndGet, AsyncAtomicCounter::get);
+      long combiningTime = runIteration("combining", client ->
+              new CombiningAsyncAtomicCounter(new RaftAtomicCounter(createProxy(client, "combining"))),
+          AsyncAtomicCounter::incrementAndGet, AsyncAtomicCounter::get);
+      long stripedTime = runIteration("striped", client -> {
+        List<AsyncAtomicCounter> stripes = new ArrayList<>();
+        for (int i = 0; i < STRIPES; i++) {
+          stripes.add(new RaftAtomicCounter(createProxy(client, "striped-" + i)));
+        }
+        return new DefaultAsyncStripedCounter("striped", stripes);
+      }, AsyncStripedCounter::increment, AsyncStripedCounter::get);
+
+      System.out.println(String.format("RaftAtomicCounter: %d ops/s", throughput(raftTime)));
+      System.out.println(String.format("CombiningAsyncAtomicCounter: %d ops/s", throughput(combiningTime)));
+      System.out.println(String.format("DefaultAsyncStripedCounter (%d stripes): %d ops/s",
+          STRIPES, throughput(stripedTime)));
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+    shutdown();
+    System.exit(0);
+  }
+
+  /**
+   * Runs a single performance test iteration, returning the iteration run time.
+   */
+  private <T> long runIteration(
+      String name,
+      Function<RaftClient, T> counterFactory,
+      Function<T, CompletableFuture<?>> increment,
+      Function<T, CompletableFuture<Long>> get) throws Exception {
+    reset();
+    createServers(3);
+
+    List<T> counters = new ArrayList<>();
+    for (int i = 0; i < NUM_CLIENTS; i++) {
+      counters.add(counterFactory.apply(createClient()));
+    }
+
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    long startTime = System.currentTimeMillis();
+    for (T counter : counters) {
+      for (int i = 0; i < OPERATIONS_PER_CLIENT; i++) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        runCounter(counter, increment, future);
+        futures.add(future);
+      }
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).join();
+    long runTime = System.currentTimeMillis() - startTime;
+
+    long value = get.apply(counters.get(0)).join();
+    System.out.println(String.format("%s: value: %d/%d, runTime: %dms", name, value, TOTAL_OPERATIONS, runTime));
+    return runTime;
+  }
+
+  /**
+   * Runs increments for a single counter until all operations have been submitted.
+   */
+  private <T> void runCounter(T counter, Function<T, CompletableFuture<?>> increment, CompletableFuture<Void> future) {
+    if (totalOperations.incrementAndGet() > TOTAL_OPERATIONS) {
+      future.complete(null);
+    } else {
+      increment.apply(counter).whenComplete((result, error) -> runCounter(counter, increment, future));
+    }
+  }
+
+  private long throughput(long runTime) {
+    return TOTAL_OPERATIONS * 1000L / Math.max(runTime, 1);
+  }
+
+  /**
+   * Resets the test state.
+   */
+  private void reset() {
+    totalOperations.set(0);
+    shutdown();
+    members = new ArrayList<>();
+    clients = new ArrayList<>();
+    servers = new ArrayList<>();
+    protocolFactory = new LocalRaftProtocolFactory(protocolSerializer);
+  }
+
+  /**
+   * Shuts down clients and servers.
+   */
+  private void shutdown() {
+    clients.forEach(c -> {
+      try {
+        c.close().get(10, TimeUnit.SECONDS);
+      } catch (Exception e) {
+      }
+    });
+
+    servers.forEach(s -> {
+      try {
+        if (s.isRunning()) {
+          s.shutdown().get(10, TimeUnit.SECONDS);
+        }
+      } catch (Exception e) {
+      }
+    });
+  }
+
+  /**
+   * Returns the next unique member identifier.
+   *
+   * @return The next unique member identifier.
+   */
+  private MemberId nextMemberId() {
+    return MemberId.from(String.valueOf(++nextId));
+  }
+
+  /**
+   * Creates a set of Raft servers.
+   */
+  private void createServers(int nodes) throws Exception {
+    for (int i = 0; i < nodes; i++) {
+      members.add(nextMemberId());
+    }
+
+    CountDownLatch latch = new CountDownLatch(nodes);
+    for (int i = 0; i < nodes; i++) {
+      RaftServer server = RaftServer.builder(members.get(i))
+          .withProtocol(protocolFactory.newServerProtocol(members.get(i)))
+          .withStorage(RaftStorage.builder()
+              .withStorageLevel(StorageLevel.MEMORY)
+              .withDirectory(new File(String.format("target/perf-logs/%s", members.get(i))))
+              .withSerializer(storageSerializer)
+              .build())
+          .addService("counter", RaftAtomicCounterService::new)
+          .build();
+      server.bootstrap(members).thenRun(latch::countDown);
+      servers.add(server);
+    }
+
+    latch.await(30000, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Creates a Raft client.
+   */
+  private RaftClient createClient() {
+    MemberId memberId = nextMemberId();
+    RaftClient client = RaftClient.builder()
+        .withMemberId(memberId)
+        .withProtocol(protocolFactory.newClientProtocol(memberId))
+        .build();
+    client.connect(members).join();
+    clients.add(client);
+    return client;
+  }
+
+  /**
+   * Creates a counter proxy.
+   */
+  private RaftProxy createProxy(RaftClient client, String name) {
+    return client.newProxyBuilder()
+        .withName(name)
+        .withServiceType("counter")
+        .withReadConsistency(ReadConsistency.LINEARIZABLE)
+        .withCommunicationStrategy(CommunicationStrategy.LEADER)
+        .build()
+        .open()
+        .join();
+  }
+}
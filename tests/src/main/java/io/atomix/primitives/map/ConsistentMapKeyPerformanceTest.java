@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitives.map;
+
+import com.google.common.collect.Maps;
+import com.google.common.io.BaseEncoding;
+import io.atomix.primitives.map.impl.ByteArrayKey;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations;
+import io.atomix.primitives.map.impl.RaftConsistentMapOperations.Put;
+import io.atomix.serializer.Serializer;
+import io.atomix.serializer.kryo.KryoNamespace;
+import io.atomix.serializer.kryo.KryoNamespaces;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Consistent map key performance test.
+ * <p>
+ * Compares the log and memory footprint of base16 string keys with binary {@link ByteArrayKey}s.
+ */
+public class ConsistentMapKeyPerformanceTest implements Runnable {
+
+  private static final int TOTAL_KEYS = 1000000;
+  private static final byte[] VALUE = new byte[0];
+
+  private static final Serializer KEY_SERIALIZER = Serializer.using(KryoNamespaces.BASIC);
+  private static final Serializer SERIALIZER = Serializer.using(KryoNamespace.builder()
+      .register(KryoNamespaces.BASIC)
+      .register(RaftConsistentMapOperations.NAMESPACE)
+      .build());
+
+  /**
+   * Runs the consistent map key performance test.
+   */
+  public static void main(String[] args) {
+    new ConsistentMapKeyPerformanceTest().run();
+  }
+
+  @Override
+  public void run() {
+    try {
+      runTest();
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+    System.exit(0);
+  }
+
+  /**
+   * Runs the test.
+   */
+  private void runTest() throws Exception {
+    System.out.println(String.format("Encoding %d keys", TOTAL_KEYS));
+    byte[][] keys = new byte[TOTAL_KEYS][];
+    for (int i = 0; i < TOTAL_KEYS; i++) {
+      keys[i] = KEY_SERIALIZER.encode("key-" + i);
+    }
+
+    long stringLogBytes = logBytes(keys, BaseEncoding.base16()::encode);
+    long binaryLogBytes = logBytes(keys, ByteArrayKey::wrap);
+    long stringSnapshotBytes = snapshotBytes(keys, BaseEncoding.base16()::encode);
+    long binarySnapshotBytes = snapshotBytes(keys, ByteArrayKey::wrap);
+    long stringHeapBytes = heapBytes(keys, BaseEncoding.base16()::encode);
+    long binaryHeapBytes = heapBytes(keys, ByteArrayKey::wrap);
+
+    System.out.println(String.format("base16 keys: %d log bytes, %d snapshot bytes, ~%d heap bytes",
+        stringLogBytes, stringSnapshotBytes, stringHeapBytes));
+    System.out.println(String.format("binary keys: %d log bytes, %d snapshot bytes, ~%d heap bytes",
+        binaryLogBytes, binarySnapshotBytes, binaryHeapBytes));
+    System.out.println(String.format("reduction: %.1f%% log, %.1f%% snapshot, %.1f%% heap",
+        reduction(stringLogBytes, binaryLogBytes),
+        reduction(stringSnapshotBytes, binarySnapshotBytes),
+        reduction(stringHeapBytes, binaryHeapBytes)));
+  }
+
+  /**
+   * Returns the total size of the put commands written to the log for all keys.
+   */
+  private <K> long logBytes(byte[][] keys, Function<byte[], K> keyEncoder) {
+    long bytes = 0;
+    for (byte[] key : keys) {
+      bytes += SERIALIZER.encode(new Put<>(keyEncoder.apply(key), VALUE)).length;
+    }
+    return bytes;
+  }
+
+  /**
+   * Returns the serialized size of a map containing all keys.
+   */
+  private <K> long snapshotBytes(byte[][] keys, Function<byte[], K> keyEncoder) {
+    return SERIALIZER.encode(newMap(keys, keyEncoder)).length;
+  }
+
+  /**
+   * Returns an estimate of the heap retained by a map containing all keys.
+   */
+  private <K> long heapBytes(byte[][] keys, Function<byte[], K> keyEncoder) throws InterruptedException {
+    long before = usedMemory();
+    Map<K, byte[]> map = newMap(keys, keyEncoder);
+    long after = usedMemory();
+    if (map.size() != keys.length) {
+      throw new IllegalStateException();
+    }
+    return after - before;
+  }
+
+  /**
+   * Creates a map containing all keys.
+   */
+  private <K> Map<K, byte[]> newMap(byte[][] keys, Function<byte[], K> keyEncoder) {
+    Map<K, byte[]> map = Maps.newHashMapWithExpectedSize(keys.length);
+    for (byte[] key : keys) {
+      // Copy binary keys so that they do not share arrays with the source keys.
+      map.put(keyEncoder.apply(key.clone()), VALUE);
+    }
+    return map;
+  }
+
+  /**
+   * Returns the used heap memory after a garbage collection.
+   */
+  private long usedMemory() throws InterruptedException {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private double reduction(long before, long after) {
+    return (1 - (double) after / before) * 100;
+  }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.gossip;
+
+import com.google.common.collect.Maps;
+import io.atomix.protocols.gossip.protocol.AntiEntropyAdvertisement;
+import io.atomix.protocols.gossip.protocol.AntiEntropyProtocol;
+import io.atomix.protocols.gossip.protocol.AntiEntropyResponse;
+import io.atomix.protocols.gossip.protocol.GossipMessage;
+import io.atomix.protocols.gossip.protocol.GossipUpdate;
+import io.atomix.serializer.Serializer;
+import io.atomix.serializer.kryo.KryoNamespace;
+import io.atomix.serializer.kryo.KryoNamespaces;
+import io.atomix.time.LogicalTimestamp;
+import io.atomix.utils.AbstractIdentifier;
+import io.atomix.utils.Identifier;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Anti-entropy performance test.
+ * <p>
+ * Compares the number of bytes exchanged by digest tree anti-entropy rounds with the size of a flat
+ * advertisement carrying a digest for every key.
+ */
+public class AntiEntropyPerformanceTest implements Runnable {
+
+  private static final int TOTAL_KEYS = 1000000;
+  private static final double DIVERGENCE = 0.001;
+  private static final int DIGEST_TREE_DEPTH = 4;
+  private static final Duration ANTI_ENTROPY_INTERVAL = Duration.ofMillis(500);
+
+  private static final Serializer SERIALIZER = Serializer.using(KryoNamespace.builder()
+      .register(KryoNamespaces.BASIC)
+      .nextId(KryoNamespaces.BEGIN_USER_CUSTOM_ID)
+      .register(AntiEntropyAdvertisement.class)
+      .register(AntiEntropyResponse.class)
+      .register(AntiEntropyResponse.Status.class)
+      .register(GossipMessage.class)
+      .register(GossipUpdate.class)
+      .register(GossipUpdate.Digest.class)
+      .register(LogicalTimestamp.class)
+      .build());
+
+  /**
+   * Runs the anti-entropy performance test.
+   */
+  public static void main(String[] args) {
+    new AntiEntropyPerformanceTest().run();
+  }
+
+  private final Map<PeerId, LocalAntiEntropyProtocol> network = Maps.newConcurrentMap();
+  private final AtomicLong advertisementBytes = new AtomicLong();
+  private final AtomicLong gossipBytes = new AtomicLong();
+  private final AtomicInteger rounds = new AtomicInteger();
+
+  @Override
+  public void run() {
+    try {
+      runTest();
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+    System.exit(0);
+  }
+
+  /**
+   * Runs the test.
+   */
+  private void runTest() throws Exception {
+    ScheduledExecutorService executor = Executors.newScheduledThreadPool(4);
+    PeerId peerA = new PeerId("a");
+    PeerId peerB = new PeerId("b");
+
+    // Peer B never advertises, so all traffic results from A's anti-entropy rounds.
+    AtomicInteger peerBUpdates = new AtomicInteger();
+    GossipService<String, String> serviceB = newService(peerB, () -> Collections.emptyList(), executor);
+    serviceB.addListener(event -> peerBUpdates.incrementAndGet());
+
+    Collection<Identifier> peers = Collections.singletonList(peerB);
+    AtomicReference<Collection<Identifier>> peerProvider = new AtomicReference<>(peers);
+    GossipService<String, String> serviceA = newService(peerA, peerProvider::get, executor);
+
+    System.out.println(String.format("Replicating %d keys", TOTAL_KEYS));
+    for (int i = 0; i < TOTAL_KEYS; i++) {
+      serviceA.process(new GossipEvent<>("key-" + i, "value-" + i));
+    }
+    awaitUpdates(peerBUpdates, TOTAL_KEYS);
+
+    // Diverge the peers by updating keys on A without gossiping them to B.
+    peerProvider.set(Collections.emptyList());
+    int divergentKeys = (int) (TOTAL_KEYS * DIVERGENCE);
+    int stride = TOTAL_KEYS / divergentKeys;
+    for (int i = 0; i < divergentKeys; i++) {
+      serviceA.process(new GossipEvent<>("key-" + (i * stride), "updated-" + i));
+    }
+
+    peerBUpdates.set(0);
+    advertisementBytes.set(0);
+    gossipBytes.set(0);
+    rounds.set(0);
+    peerProvider.set(peers);
+
+    long startTime = System.currentTimeMillis();
+    awaitUpdates(peerBUpdates, divergentKeys);
+    long repairTime = System.currentTimeMillis() - startTime;
+    long repairAdvertisementBytes = advertisementBytes.get();
+    long repairGossipBytes = gossipBytes.get();
+    int repairRounds = rounds.get();
+
+    // Measure the cost of rounds between peers that are in sync.
+    Thread.sleep(ANTI_ENTROPY_INTERVAL.toMillis() * 2);
+    advertisementBytes.set(0);
+    rounds.set(0);
+    Thread.sleep(ANTI_ENTROPY_INTERVAL.toMillis() * 10);
+    long syncedRoundBytes = rounds.get() > 0 ? advertisementBytes.get() / rounds.get() : 0;
+
+    long flatAdvertisementBytes = flatAdvertisementSize();
+
+    System.out.println(String.format("keys: %d, divergentKeys: %d, digestTreeDepth: %d",
+        TOTAL_KEYS, divergentKeys, DIGEST_TREE_DEPTH));
+    System.out.println(String.format("flat advertisement: %d bytes per round", flatAdvertisementBytes));
+    System.out.println(String.format("digest tree repair: %d bytes of advertisements in %d rounds, "
+            + "%d bytes of updates, %dms",
+        repairAdvertisementBytes, repairRounds, repairGossipBytes, repairTime));
+    System.out.println(String.format("digest tree in sync: %d bytes per round", syncedRoundBytes));
+    System.out.println(String.format("advertisement reduction: %.1fx",
+        (double) flatAdvertisementBytes * Math.max(repairRounds, 1) / Math.max(repairAdvertisementBytes, 1)));
+
+    serviceA.close();
+    serviceB.close();
+    executor.shutdownNow();
+  }
+
+  /**
+   * Creates a new anti-entropy service for the given peer.
+   */
+  private GossipService<String, String> newService(
+      PeerId peerId, Supplier<Collection<Identifier>> peerProvider, ScheduledExecutorService executor) {
+    LocalAntiEntropyProtocol protocol = new LocalAntiEntropyProtocol();
+    network.put(peerId, protocol);
+    return new AntiEntropyService.Builder<String, String>()
+        .withProtocol(protocol)
+        .withPeerProvider(peerProvider)
+        .withCommunicationExecutor(executor)
+        .withAntiEntropyInterval(ANTI_ENTROPY_INTERVAL)
+        .withSerializer(SERIALIZER)
+        .withDigestTreeDepth(DIGEST_TREE_DEPTH)
+        .build();
+  }
+
+  /**
+   * Waits for the given number of updates to be received.
+   */
+  private void awaitUpdates(AtomicInteger counter, int updates) throws InterruptedException {
+    while (counter.get() < updates) {
+      Thread.sleep(10);
+    }
+  }
+
+  /**
+   * Returns the size of a flat advertisement containing a digest for every key.
+   */
+  private long flatAdvertisementSize() {
+    Map<String, GossipUpdate.Digest> digests = Maps.newHashMapWithExpectedSize(TOTAL_KEYS);
+    for (int i = 0; i < TOTAL_KEYS; i++) {
+      digests.put("key-" + i, new GossipUpdate.Digest(LogicalTimestamp.of(i + 1), false));
+    }
+    return SERIALIZER.encode(new AntiEntropyAdvertisement<>(digests)).length;
+  }
+
+  /**
+   * Local peer identifier.
+   */
+  private static class PeerId extends AbstractIdentifier<String> {
+    PeerId(String id) {
+      super(id);
+    }
+  }
+
+  /**
+   * Local anti-entropy protocol that serializes messages to count the bytes exchanged.
+   */
+  private class LocalAntiEntropyProtocol implements AntiEntropyProtocol<Identifier> {
+    private volatile Consumer gossipListener;
+    private volatile Function advertisementHandler;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K> CompletableFuture<AntiEntropyResponse<K>> advertise(
+        Identifier identifier, AntiEntropyAdvertisement<K> advertisement) {
+      LocalAntiEntropyProtocol peer = network.get(identifier);
+      if (peer == null || peer.advertisementHandler == null) {
+        CompletableFuture<AntiEntropyResponse<K>> future = new CompletableFuture<>();
+        future.completeExceptionally(new IllegalStateException("unknown peer"));
+        return future;
+      }
+      // Each round begins with an advertisement of the root of the digest tree.
+      if (advertisement.hashes().containsKey(0)) {
+        rounds.incrementAndGet();
+      }
+      byte[] request = SERIALIZER.encode(advertisement);
+      byte[] response = SERIALIZER.encode(peer.advertisementHandler.apply(SERIALIZER.decode(request)));
+      advertisementBytes.addAndGet(request.length + response.length);
+      return CompletableFuture.completedFuture(SERIALIZER.decode(response));
+    }
+
+    @Override
+    public <K> void registerAdvertisementHandler(Function<AntiEntropyAdvertisement<K>, AntiEntropyResponse<K>> handler) {
+      this.advertisementHandler = handler;
+    }
+
+    @Override
+    public void unregisterAdvertisementHandler() {
+      this.advertisementHandler = null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> void gossip(Identifier identifier, GossipMessage<K, V> message) {
+      LocalAntiEntropyProtocol peer = network.get(identifier);
+      if (peer != null && peer.gossipListener != null) {
+        byte[] bytes = SERIALIZER.encode(message);
+        gossipBytes.addAndGet(bytes.length);
+        peer.gossipListener.accept(SERIALIZER.decode(bytes));
+      }
+    }
+
+    @Override
+    public <K, V> void registerGossipListener(Consumer<GossipMessage<K, V>> listener) {
+      this.gossipListener = listener;
+    }
+
+    @Override
+    public void unregisterGossipListener() {
+      this.gossipListener = null;
+    }
+  }
+}
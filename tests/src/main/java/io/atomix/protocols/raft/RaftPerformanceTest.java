@@ -23,6 +23,9 @@ import io.atomix.messaging.netty.NettyMessagingService;
 import io.atomix.protocols.raft.cluster.MemberId;
 import io.atomix.protocols.raft.cluster.RaftMember;
 import io.atomix.protocols.raft.cluster.impl.DefaultRaftMember;
+import io.atomix.protocols.raft.event.EventType;
+import io.atomix.protocols.raft.event.RaftEvent;
+import io.atomix.protocols.raft.event.impl.DefaultEventType;
 import io.atomix.protocols.raft.operation.OperationId;
 import io.atomix.protocols.raft.operation.OperationType;
 import io.atomix.protocols.raft.operation.RaftOperation;
@@ -60,6 +63,8 @@ import io.atomix.protocols.raft.protocol.RaftClientProtocol;
 import io.atomix.protocols.raft.protocol.RaftResponse;
 import io.atomix.protocols.raft.protocol.RaftServerMessagingProtocol;
 import io.atomix.protocols.raft.protocol.RaftServerProtocol;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexResponse;
 import io.atomix.protocols.raft.protocol.ReconfigureRequest;
 import io.atomix.protocols.raft.protocol.ReconfigureResponse;
 import io.atomix.protocols.raft.protocol.ResetRequest;
@@ -70,6 +75,7 @@ import io.atomix.protocols.raft.proxy.RaftProxy;
 import io.atomix.protocols.raft.service.AbstractRaftService;
 import io.atomix.protocols.raft.service.Commit;
 import io.atomix.protocols.raft.service.RaftServiceExecutor;
+import io.atomix.protocols.raft.session.RaftSession;
 import io.atomix.protocols.raft.session.SessionId;
 import io.atomix.protocols.raft.storage.RaftStorage;
 import io.atomix.protocols.raft.storage.log.entry.CloseSessionEntry;
@@ -105,12 +111,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 /**
@@ -131,6 +139,13 @@ public class RaftPerformanceTest implements Runnable {
   private static final ReadConsistency READ_CONSISTENCY = ReadConsistency.LINEARIZABLE;
   private static final CommunicationStrategy COMMUNICATION_STRATEGY = CommunicationStrategy.ANY;
 
+  private static final boolean COMMAND_BATCHING = false;
+
+  private static final int NUM_LISTENERS = 0;
+  private static final boolean EVENT_BATCHING = false;
+
+  private static final boolean REPLICATION_FLOW_CONTROL = false;
+
   /**
    * Runs the test.
    */
@@ -175,6 +190,8 @@ public class RaftPerformanceTest implements Runnable {
       .register(RaftError.class)
       .register(RaftError.Type.class)
       .register(RaftOperation.class)
+      .register(RaftEvent.class)
+      .register(DefaultEventType.class)
       .register(ReadConsistency.class)
       .register(byte[].class)
       .register(long[].class)
@@ -199,6 +216,8 @@ public class RaftPerformanceTest implements Runnable {
       .register(RaftMember.Type.class)
       .register(Instant.class)
       .register(Configuration.class)
+      .register(ReadIndexRequest.class)
+      .register(ReadIndexResponse.class)
       .build());
 
   private static final Serializer storageSerializer = Serializer.using(KryoNamespace.builder()
@@ -244,6 +263,7 @@ public class RaftPerformanceTest implements Runnable {
   private final AtomicInteger totalOperations = new AtomicInteger();
   private final AtomicInteger writeCount = new AtomicInteger();
   private final AtomicInteger readCount = new AtomicInteger();
+  private final AtomicLong eventCount = new AtomicLong();
 
   static {
     for (int i = 0; i < 1024; i++) {
@@ -292,6 +312,13 @@ public class RaftPerformanceTest implements Runnable {
       futures[i] = future;
     }
 
+    // Create sessions that receive an event for every write.
+    for (int i = 0; i < NUM_LISTENERS; i++) {
+      RaftProxy proxy = createProxy(createClient()).open().join();
+      proxy.addEventListener(CHANGE_EVENT, eventCount::incrementAndGet);
+      proxy.invoke(LISTEN).join();
+    }
+
     long startTime = System.currentTimeMillis();
     for (int i = 0; i < clients.length; i++) {
       runProxy(proxies[i], futures[i]);
@@ -299,11 +326,12 @@ public class RaftPerformanceTest implements Runnable {
     CompletableFuture.allOf(futures).join();
     long endTime = System.currentTimeMillis();
     long runTime = endTime - startTime;
-    System.out.println(String.format("readCount: %d/%d, writeCount: %d/%d, runTime: %dms",
+    System.out.println(String.format("readCount: %d/%d, writeCount: %d/%d, eventCount: %d, runTime: %dms",
       readCount.get(),
       TOTAL_OPERATIONS,
       writeCount.get(),
       TOTAL_OPERATIONS,
+      eventCount.get(),
       runTime));
     return runTime;
   }
@@ -340,6 +368,7 @@ public class RaftPerformanceTest implements Runnable {
     totalOperations.set(0);
     readCount.set(0);
     writeCount.set(0);
+    eventCount.set(0);
 
     shutdown();
 
@@ -466,6 +495,9 @@ public class RaftPerformanceTest implements Runnable {
             .withMaxEntriesPerSegment(32768)
             .withMaxSegmentSize(1024 * 1024)
             .build())
+        .withCommandBatching(COMMAND_BATCHING)
+        .withEventBatching(EVENT_BATCHING)
+        .withReplicationFlowControl(REPLICATION_FLOW_CONTROL)
         .addService("test", PerformanceStateMachine::new);
 
     RaftServer server = builder.build();
@@ -516,12 +548,15 @@ public class RaftPerformanceTest implements Runnable {
   private static final OperationId GET = OperationId.query("get");
   private static final OperationId REMOVE = OperationId.command("remove");
   private static final OperationId INDEX = OperationId.command("index");
+  private static final OperationId LISTEN = OperationId.command("listen");
+  private static final EventType CHANGE_EVENT = EventType.from("change");
 
   /**
    * Performance test state machine.
    */
   public class PerformanceStateMachine extends AbstractRaftService {
     private Map<String, String> map = new HashMap<>();
+    private Set<RaftSession> listeners = new HashSet<>();
 
     @Override
     protected void configure(RaftServiceExecutor executor) {
@@ -529,6 +564,7 @@ public class RaftPerformanceTest implements Runnable {
       executor.register(GET, clientSerializer::decode, this::get, clientSerializer::encode);
       executor.register(REMOVE, clientSerializer::decode, this::remove, clientSerializer::encode);
       executor.register(INDEX, this::index, clientSerializer::encode);
+      executor.register(LISTEN, this::listen);
     }
 
     @Override
@@ -538,6 +574,10 @@ public class RaftPerformanceTest implements Runnable {
         writer.writeString(entry.getKey());
         writer.writeString(entry.getValue());
       }
+      writer.writeInt(listeners.size());
+      for (RaftSession session : listeners) {
+        writer.writeLong(session.sessionId().id());
+      }
     }
 
     @Override
@@ -549,10 +589,31 @@ public class RaftPerformanceTest implements Runnable {
         String value = reader.readString();
         map.put(key, value);
       }
+      listeners = new HashSet<>();
+      int listenerCount = reader.readInt();
+      for (int i = 0; i < listenerCount; i++) {
+        RaftSession session = sessions().getSession(reader.readLong());
+        if (session != null) {
+          listeners.add(session);
+        }
+      }
+    }
+
+    @Override
+    public void onExpire(RaftSession session) {
+      listeners.remove(session);
+    }
+
+    @Override
+    public void onClose(RaftSession session) {
+      listeners.remove(session);
     }
 
     protected long put(Commit<Map.Entry<String, String>> commit) {
       map.put(commit.value().getKey(), commit.value().getValue());
+      for (RaftSession session : listeners) {
+        session.publish(CHANGE_EVENT);
+      }
       return commit.index();
     }
 
@@ -568,6 +629,10 @@ public class RaftPerformanceTest implements Runnable {
     protected long index(Commit<Void> commit) {
       return commit.index();
     }
+
+    protected void listen(Commit<Void> commit) {
+      listeners.add(commit.session());
+    }
   }
 
   /**
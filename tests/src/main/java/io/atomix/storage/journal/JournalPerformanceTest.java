@@ -0,0 +1,163 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import io.atomix.serializer.Serializer;
+import io.atomix.serializer.kryo.KryoNamespace;
+import io.atomix.storage.StorageLevel;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+
+/**
+ * Journal performance test.
+ * <p>
+ * Measures the throughput of the journal write and read paths along with the number of bytes allocated per entry,
+ * using the per-thread allocation counters of the HotSpot {@link com.sun.management.ThreadMXBean}.
+ */
+public class JournalPerformanceTest implements Runnable {
+
+  private static final int TOTAL_ENTRIES = 1000000;
+  private static final int WARMUP_ENTRIES = 100000;
+  private static final int ENTRY_SIZE = 64;
+  private static final File DIRECTORY = new File("target/perf-logs/journal");
+
+  private static final Serializer serializer = Serializer.using(KryoNamespace.builder()
+      .register(byte[].class)
+      .build());
+
+  /**
+   * Runs the test.
+   */
+  public static void main(String[] args) {
+    new JournalPerformanceTest().run();
+  }
+
+  private final com.sun.management.ThreadMXBean threadBean =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  @Override
+  public void run() {
+    try {
+      for (StorageLevel storageLevel : new StorageLevel[]{StorageLevel.MAPPED, StorageLevel.DISK}) {
+        runIteration(storageLevel, 0);
+        runIteration(storageLevel, 1024 * 64);
+      }
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+    System.exit(0);
+  }
+
+  /**
+   * Runs a single performance test iteration.
+   */
+  private void runIteration(StorageLevel storageLevel, int compressionBlockSize) throws IOException {
+    String name = String.format("%s%s", storageLevel, compressionBlockSize > 0 ? " (compressed)" : "");
+
+    // Warm up the write and read paths before measuring.
+    deleteDirectory();
+    try (SegmentedJournal<byte[]> journal = createJournal(storageLevel, compressionBlockSize)) {
+      write(journal, WARMUP_ENTRIES);
+      read(journal, false);
+    }
+
+    deleteDirectory();
+    try (SegmentedJournal<byte[]> journal = createJournal(storageLevel, compressionBlockSize)) {
+      long allocated = allocatedBytes();
+      long startTime = System.nanoTime();
+      write(journal, TOTAL_ENTRIES);
+      report(name, "write", startTime, allocated);
+
+      allocated = allocatedBytes();
+      startTime = System.nanoTime();
+      read(journal, false);
+      report(name, "read", startTime, allocated);
+
+      allocated = allocatedBytes();
+      startTime = System.nanoTime();
+      read(journal, true);
+      report(name, "read bytes", startTime, allocated);
+    }
+    deleteDirectory();
+  }
+
+  /**
+   * Writes the given number of entries to the journal.
+   */
+  private void write(SegmentedJournal<byte[]> journal, int entries) {
+    byte[] entry = new byte[ENTRY_SIZE];
+    JournalWriter<byte[]> writer = journal.writer();
+    for (int i = 0; i < entries; i++) {
+      writer.append(entry);
+    }
+    writer.flush();
+  }
+
+  /**
+   * Reads all entries from the journal, optionally reading the raw bytes of each entry.
+   */
+  private void read(SegmentedJournal<byte[]> journal, boolean readBytes) {
+    try (JournalReader<byte[]> reader = journal.openReader(1)) {
+      while (reader.hasNext()) {
+        reader.next();
+        if (readBytes) {
+          reader.getCurrentBytes();
+        }
+      }
+    }
+  }
+
+  /**
+   * Prints the throughput and allocation rate of an operation.
+   */
+  private void report(String name, String operation, long startTime, long allocated) {
+    long runTime = Math.max(System.nanoTime() - startTime, 1);
+    long bytesPerEntry = (allocatedBytes() - allocated) / TOTAL_ENTRIES;
+    System.out.println(String.format("%s %s: %d entries/s, %d bytes allocated/entry",
+        name, operation, TOTAL_ENTRIES * 1000000000L / runTime, bytesPerEntry));
+  }
+
+  /**
+   * Returns the number of bytes allocated by the current thread.
+   */
+  private long allocatedBytes() {
+    return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private SegmentedJournal<byte[]> createJournal(StorageLevel storageLevel, int compressionBlockSize) {
+    return SegmentedJournal.<byte[]>builder()
+        .withName("perf")
+        .withDirectory(DIRECTORY)
+        .withStorageLevel(storageLevel)
+        .withSerializer(serializer)
+        .withCompressionBlockSize(compressionBlockSize)
+        .build();
+  }
+
+  private void deleteDirectory() throws IOException {
+    if (DIRECTORY.exists()) {
+      Files.walk(DIRECTORY.toPath())
+          .sorted(Comparator.reverseOrder())
+          .map(Path::toFile)
+          .forEach(File::delete);
+    }
+  }
+}
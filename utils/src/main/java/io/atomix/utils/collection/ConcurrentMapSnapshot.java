@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.collection;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Point-in-time view of a concurrent map that is being modified by a single writer thread.
+ * <p>
+ * Creating a snapshot is constant time. While the snapshot is in use, the writer must call {@link #preserve(Object)}
+ * before it modifies a key or mutates the value mapped to a key. The first call for each key records the key's
+ * original value in an undo log. A reader thread can then {@link #copyTo(Map) copy} the map as it was when the
+ * snapshot was created, while the writer continues to modify it.
+ * <p>
+ * Values that were mapped when the snapshot was created must not be mutated in place once they have been preserved.
+ * Writers that mutate values should replace the value with a copy the first time a key is preserved.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class ConcurrentMapSnapshot<K, V> {
+  private static final Object ABSENT = new Object();
+
+  private final ConcurrentMap<K, V> map;
+  private final ConcurrentMap<K, Object> originals = new ConcurrentHashMap<>();
+
+  public ConcurrentMapSnapshot(ConcurrentMap<K, V> map) {
+    this.map = checkNotNull(map, "map cannot be null");
+  }
+
+  /**
+   * Records the original value of the given key before it is modified.
+   * <p>
+   * This method must be called by the writer thread prior to any modification of the key.
+   *
+   * @param key the key that is about to be modified
+   * @return {@code true} if this is the first modification of the key since the snapshot was created
+   */
+  public boolean preserve(K key) {
+    if (originals.containsKey(key)) {
+      return false;
+    }
+    V value = map.get(key);
+    originals.put(key, value != null ? value : ABSENT);
+    return true;
+  }
+
+  /**
+   * Copies the entries of the map as of the time the snapshot was created to the given map.
+   * <p>
+   * This method may be called from any thread concurrently with modifications of the map by the writer thread.
+   *
+   * @param target the map to which to copy the snapshot
+   * @param <M> the target map type
+   * @return the target map
+   */
+  @SuppressWarnings("unchecked")
+  public <M extends Map<K, V>> M copyTo(M target) {
+    // The original value of a key is always recorded before the key is modified, so any value read from the map
+    // for which no original value has been recorded is the value as of the time the snapshot was created.
+    for (Map.Entry<K, V> entry : map.entrySet()) {
+      V value = entry.getValue();
+      if (!originals.containsKey(entry.getKey())) {
+        target.put(entry.getKey(), value);
+      }
+    }
+
+    // Keys modified before they were read above are restored from the undo log.
+    for (Map.Entry<K, Object> entry : originals.entrySet()) {
+      if (entry.getValue() != ABSENT) {
+        target.put(entry.getKey(), (V) entry.getValue());
+      }
+    }
+    return target;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("modified", originals.size())
+        .toString();
+  }
+}
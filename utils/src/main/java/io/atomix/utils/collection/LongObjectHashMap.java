@@ -0,0 +1,333 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongFunction;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Open-addressing hash map with primitive {@code long} keys.
+ * <p>
+ * Keys and values are stored in parallel arrays using linear probing, so the map does not allocate boxed keys
+ * or entry objects. Removals shift subsequent entries back into the vacated slot rather than leaving tombstones.
+ * Values may not be {@code null}.
+ * <p>
+ * This map is not thread-safe.
+ *
+ * @param <V> the value type
+ */
+public class LongObjectHashMap<V> {
+  private static final int DEFAULT_CAPACITY = 8;
+  private static final int MAX_CAPACITY = 1 << 30;
+
+  private long[] keys;
+  private Object[] values;
+  private int mask;
+  private int size;
+  private int resizeThreshold;
+
+  public LongObjectHashMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a map sized to hold the given number of entries without resizing.
+   *
+   * @param expectedSize the expected number of entries
+   */
+  public LongObjectHashMap(int expectedSize) {
+    checkArgument(expectedSize >= 0, "expectedSize cannot be negative");
+    allocate(capacityFor(expectedSize));
+  }
+
+  /**
+   * Returns the number of entries in the map.
+   *
+   * @return the number of entries in the map
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns a boolean indicating whether the map is empty.
+   *
+   * @return indicates whether the map is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns a boolean indicating whether the map contains the given key.
+   *
+   * @param key the key to check
+   * @return indicates whether the map contains the key
+   */
+  public boolean containsKey(long key) {
+    return values[indexOf(key)] != null;
+  }
+
+  /**
+   * Returns the value for the given key.
+   *
+   * @param key the key for which to return the value
+   * @return the value or {@code null} if the map does not contain the key
+   */
+  @SuppressWarnings("unchecked")
+  public V get(long key) {
+    return (V) values[indexOf(key)];
+  }
+
+  /**
+   * Associates the given value with the given key.
+   *
+   * @param key the key to update
+   * @param value the value to associate with the key
+   * @return the previous value or {@code null} if the map did not contain the key
+   */
+  @SuppressWarnings("unchecked")
+  public V put(long key, V value) {
+    checkNotNull(value, "value cannot be null");
+    int index = indexOf(key);
+    V previous = (V) values[index];
+    if (previous == null) {
+      insertAt(index, key, value);
+    } else {
+      values[index] = value;
+    }
+    return previous;
+  }
+
+  /**
+   * Associates the given value with the given key if the map does not already contain the key.
+   *
+   * @param key the key to update
+   * @param value the value to associate with the key
+   * @return the existing value or {@code null} if the value was added
+   */
+  @SuppressWarnings("unchecked")
+  public V putIfAbsent(long key, V value) {
+    checkNotNull(value, "value cannot be null");
+    int index = indexOf(key);
+    V previous = (V) values[index];
+    if (previous == null) {
+      insertAt(index, key, value);
+    }
+    return previous;
+  }
+
+  /**
+   * Returns the value for the given key, computing and adding it if the map does not contain the key.
+   *
+   * @param key the key for which to return the value
+   * @param mappingFunction the function with which to compute a missing value
+   * @return the existing or computed value
+   */
+  @SuppressWarnings("unchecked")
+  public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+    int index = indexOf(key);
+    V value = (V) values[index];
+    if (value == null) {
+      value = checkNotNull(mappingFunction.apply(key), "value cannot be null");
+      insertAt(index, key, value);
+    }
+    return value;
+  }
+
+  /**
+   * Removes the given key from the map.
+   *
+   * @param key the key to remove
+   * @return the removed value or {@code null} if the map did not contain the key
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(long key) {
+    int index = indexOf(key);
+    V value = (V) values[index];
+    if (value != null) {
+      removeAt(index);
+    }
+    return value;
+  }
+
+  /**
+   * Removes all entries whose values match the given predicate.
+   *
+   * @param filter the predicate with which to test values
+   * @return indicates whether any entries were removed
+   */
+  @SuppressWarnings("unchecked")
+  public boolean removeIf(Predicate<? super V> filter) {
+    // Removal shifts entries between slots, so collect the keys to remove before removing them.
+    long[] removed = new long[size];
+    int count = 0;
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null && filter.test((V) values[i])) {
+        removed[count++] = keys[i];
+      }
+    }
+    for (int i = 0; i < count; i++) {
+      remove(removed[i]);
+    }
+    return count > 0;
+  }
+
+  /**
+   * Removes all entries from the map.
+   */
+  public void clear() {
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  /**
+   * Returns a copy of the values in the map.
+   *
+   * @return a list of the values in the map
+   */
+  @SuppressWarnings("unchecked")
+  public List<V> values() {
+    List<V> values = new ArrayList<>(size);
+    for (Object value : this.values) {
+      if (value != null) {
+        values.add((V) value);
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Performs the given action for each entry in the map.
+   * <p>
+   * The map must not be modified by the action.
+   *
+   * @param action the action to perform for each value and key
+   */
+  @SuppressWarnings("unchecked")
+  public void forEach(ObjLongConsumer<? super V> action) {
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null) {
+        action.accept((V) values[i], keys[i]);
+      }
+    }
+  }
+
+  /**
+   * Returns the index of the slot containing the given key or the empty slot at which the key would be inserted.
+   */
+  private int indexOf(long key) {
+    int index = hash(key) & mask;
+    while (values[index] != null && keys[index] != key) {
+      index = (index + 1) & mask;
+    }
+    return index;
+  }
+
+  /**
+   * Inserts a new entry at the given empty slot.
+   */
+  private void insertAt(int index, long key, Object value) {
+    keys[index] = key;
+    values[index] = value;
+    if (++size > resizeThreshold) {
+      resize(values.length << 1);
+    }
+  }
+
+  /**
+   * Removes the entry at the given slot, shifting back any subsequent entries in the probe sequence.
+   */
+  private void removeAt(int index) {
+    values[index] = null;
+    size--;
+    int gap = index;
+    int next = (index + 1) & mask;
+    while (values[next] != null) {
+      int ideal = hash(keys[next]) & mask;
+      // Move the entry into the gap if the gap lies between the entry's ideal slot and its current slot.
+      if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+        keys[gap] = keys[next];
+        values[gap] = values[next];
+        values[next] = null;
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+  }
+
+  /**
+   * Resizes the table to the given capacity.
+   */
+  private void resize(int capacity) {
+    checkArgument(capacity <= MAX_CAPACITY, "map is too large");
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldValues.length; i++) {
+      if (oldValues[i] != null) {
+        int index = indexOf(oldKeys[i]);
+        keys[index] = oldKeys[i];
+        values[index] = oldValues[i];
+      }
+    }
+  }
+
+  /**
+   * Allocates a table with the given capacity.
+   */
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+    resizeThreshold = capacity / 2;
+  }
+
+  /**
+   * Returns the table capacity required to hold the given number of entries.
+   */
+  private static int capacityFor(int expectedSize) {
+    int capacity = DEFAULT_CAPACITY;
+    while (capacity / 2 < expectedSize && capacity < MAX_CAPACITY) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  /**
+   * Spreads the key bits so that sequential keys do not cluster.
+   */
+  private static int hash(long key) {
+    long hash = key * 0x9e3779b97f4a7c15L;
+    return (int) (hash ^ (hash >>> 32));
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("size", size)
+        .add("capacity", values.length)
+        .toString();
+  }
+}
@@ -294,6 +294,30 @@ public class NativeMemory implements Memory {
     putLong(offset, Double.doubleToRawLongBits(d));
   }
 
+  /**
+   * Copies bytes from the given memory offset into a byte array.
+   *
+   * @param offset The offset from which to copy the bytes.
+   * @param bytes  The array into which to copy the bytes.
+   * @param index  The array index at which to begin copying.
+   * @param length The number of bytes to copy.
+   */
+  public void getBytes(int offset, byte[] bytes, int index, int length) {
+    UNSAFE.copyMemory(null, address(offset), bytes, Unsafe.ARRAY_BYTE_BASE_OFFSET + index, length);
+  }
+
+  /**
+   * Copies bytes from a byte array to the given memory offset.
+   *
+   * @param offset The offset at which to copy the bytes.
+   * @param bytes  The array from which to copy the bytes.
+   * @param index  The array index at which to begin copying.
+   * @param length The number of bytes to copy.
+   */
+  public void putBytes(int offset, byte[] bytes, int index, int length) {
+    UNSAFE.copyMemory(bytes, Unsafe.ARRAY_BYTE_BASE_OFFSET + index, null, address(offset), length);
+  }
+
   @Override
   public void clear() {
     UNSAFE.setMemory(address, size, (byte) 0);
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.collection;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Concurrent map snapshot test.
+ */
+public class ConcurrentMapSnapshotTest {
+  @Test
+  public void testSnapshot() throws Exception {
+    ConcurrentMap<String, Integer> map = new ConcurrentHashMap<>();
+    map.put("a", 1);
+    map.put("b", 2);
+    map.put("c", 3);
+
+    ConcurrentMapSnapshot<String, Integer> snapshot = new ConcurrentMapSnapshot<>(map);
+
+    assertTrue(snapshot.preserve("a"));
+    map.put("a", 10);
+    assertFalse(snapshot.preserve("a"));
+    map.put("a", 100);
+
+    assertTrue(snapshot.preserve("b"));
+    map.remove("b");
+
+    assertTrue(snapshot.preserve("d"));
+    map.put("d", 4);
+
+    Map<String, Integer> expected = new HashMap<>();
+    expected.put("a", 1);
+    expected.put("b", 2);
+    expected.put("c", 3);
+    assertEquals(expected, snapshot.copyTo(new HashMap<>()));
+
+    assertEquals(Integer.valueOf(100), map.get("a"));
+    assertEquals(Integer.valueOf(4), map.get("d"));
+  }
+
+  @Test
+  public void testConcurrentModification() throws Exception {
+    ConcurrentMap<Integer, Integer> map = new ConcurrentHashMap<>();
+    for (int i = 0; i < 10000; i++) {
+      map.put(i, i);
+    }
+
+    ConcurrentMapSnapshot<Integer, Integer> snapshot = new ConcurrentMapSnapshot<>(map);
+    Thread writer = new Thread(() -> {
+      for (int i = 0; i < 20000; i++) {
+        snapshot.preserve(i);
+        if (i % 2 == 0) {
+          map.remove(i);
+        } else {
+          map.put(i, -i);
+        }
+      }
+    });
+    writer.start();
+    Map<Integer, Integer> copy = snapshot.copyTo(new HashMap<>());
+    writer.join();
+
+    assertEquals(10000, copy.size());
+    for (int i = 0; i < 10000; i++) {
+      assertEquals(Integer.valueOf(i), copy.get(i));
+    }
+  }
+}
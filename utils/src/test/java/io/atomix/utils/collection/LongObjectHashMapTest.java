@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.collection;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Long object hash map test.
+ */
+public class LongObjectHashMapTest {
+  @Test
+  public void testMapOperations() throws Exception {
+    LongObjectHashMap<String> map = new LongObjectHashMap<>();
+    assertTrue(map.isEmpty());
+    assertNull(map.put(0, "a"));
+    assertNull(map.put(-1, "b"));
+    assertEquals("a", map.put(0, "c"));
+    assertEquals("c", map.get(0));
+    assertEquals("b", map.putIfAbsent(-1, "d"));
+    assertEquals("e", map.computeIfAbsent(Long.MAX_VALUE, k -> "e"));
+    assertEquals("e", map.computeIfAbsent(Long.MAX_VALUE, k -> "f"));
+    assertEquals(3, map.size());
+    assertTrue(map.containsKey(-1));
+    assertEquals("b", map.remove(-1));
+    assertFalse(map.containsKey(-1));
+    assertNull(map.remove(-1));
+    assertEquals(2, map.size());
+
+    assertTrue(map.removeIf(v -> v.equals("c")));
+    assertFalse(map.removeIf(v -> v.equals("c")));
+    assertEquals(1, map.values().size());
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertNull(map.get(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testRandomOperations() throws Exception {
+    LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+    Map<Long, Long> expected = new HashMap<>();
+    Random random = new Random(1234);
+    for (int i = 0; i < 100000; i++) {
+      // Use a small key space so that inserts and removals collide and exercise probe sequence repair.
+      long key = random.nextInt(2048) * 1024L;
+      if (random.nextBoolean()) {
+        assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+      } else {
+        assertEquals(expected.remove(key), map.remove(key));
+      }
+    }
+
+    assertEquals(expected.size(), map.size());
+    for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+      assertEquals(entry.getValue(), map.get(entry.getKey()));
+    }
+    map.forEach((value, key) -> assertEquals(expected.get(key), value));
+  }
+}